@@ -1,5 +1,7 @@
 package com.sportygroup.jackpot;
 
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
 import org.springframework.context.annotation.ComponentScan;
@@ -19,10 +21,12 @@ import org.springframework.context.annotation.ComponentScan;
 @ComponentScan(basePackages = "com.sportygroup.jackpot")
 public class JackpotServiceApplication {
 
+    private static final Logger log = LoggerFactory.getLogger(JackpotServiceApplication.class);
+
     public static void main(String[] args) {
         SpringApplication.run(JackpotServiceApplication.class, args);
-        System.out.println("Bet Application Service Started!!!");
-        System.out.println("Access Bet API at: http://localhost:8080/api/bets");
-        System.out.println("Access Reward API at: http://localhost:8080/api/jackpots/evaluate-reward");
+        log.info("Bet Application Service Started!!!");
+        log.info("Access Bet API at: http://localhost:8080/api/bets");
+        log.info("Access Reward API at: http://localhost:8080/api/jackpots/evaluate-reward");
     }
 }
\ No newline at end of file
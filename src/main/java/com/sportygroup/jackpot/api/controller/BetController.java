@@ -1,19 +1,34 @@
 package com.sportygroup.jackpot.api.controller;
 
 import com.sportygroup.jackpot.api.controller.request.BetRequest;
+import com.sportygroup.jackpot.api.controller.response.BetPublishResponse;
 import com.sportygroup.jackpot.model.Bet;
+import com.sportygroup.jackpot.model.BetPublishResult;
+import com.sportygroup.jackpot.model.enums.BetPublishStatus;
 import com.sportygroup.jackpot.service.BetService;
+import com.sportygroup.jackpot.service.admission.AdmissionLimiter;
 import com.sportygroup.jackpot.util.IdGenerator;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
+import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
+import reactor.util.function.Tuple2;
 
+import java.time.Duration;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
 
 /**
  * REST Controller for handling bet-related API requests.
@@ -24,46 +39,183 @@ import java.time.LocalDateTime;
 @RequestMapping("/api/bets")
 public class BetController {
 
+    private static final Logger log = LoggerFactory.getLogger(BetController.class);
+
+    // Bulk requests are handed to the BetService in chunks of at most this many bets.
+    private static final int BATCH_CHUNK_SIZE = 500;
+    // A partially filled chunk is flushed after this delay, so slow NDJSON streams still make progress.
+    private static final Duration BATCH_CHUNK_TIMEOUT = Duration.ofMillis(20);
+
     private final BetService betService;
+    private final AdmissionLimiter admissionLimiter;
 
     /**
      * Constructor for dependency injection.
      * Spring automatically injects the required service beans.
      * @param betService The bet service.
+     * @param admissionLimiter The admission limiter, absent when admission control is disabled.
      */
     @Autowired
-    public BetController(BetService betService) {
+    public BetController(BetService betService, ObjectProvider<AdmissionLimiter> admissionLimiter) {
+        this(betService, admissionLimiter.getIfAvailable());
+    }
+
+    /**
+     * Creates a controller.
+     * @param betService The bet service.
+     * @param admissionLimiter The admission limiter, or null to admit every bet.
+     */
+    public BetController(BetService betService, AdmissionLimiter admissionLimiter) {
         this.betService = betService;
+        this.admissionLimiter = admissionLimiter;
     }
 
     /**
      * API endpoint to publish a bet to Kafka (mocked).
+     * When the AdmissionLimiter is enabled and the jackpot's concurrency limit is reached, the bet is
+     * rejected with 429 Too Many Requests and a Retry-After header, without being saved or published.
      *
      * @param request The BetRequest containing bet details.
      * @return A Mono emitting a ResponseEntity indicating success or failure.
      */
     @PostMapping
     public Mono<ResponseEntity<Bet>> publishBet(@RequestBody BetRequest request) {
-        if (request.getUserId() == null || request.getUserId().isBlank() ||
-                request.getJackpotId() == null || request.getJackpotId().isBlank() ||
-                request.getBetAmount() == null || request.getBetAmount().signum() <= 0) {
+        if (!isValid(request)) {
             return Mono.just(ResponseEntity.badRequest().build());
         }
 
-        Bet bet = new Bet(
+        Bet bet = toBet(request);
+
+        if (admissionLimiter == null) {
+            return publish(bet, betService.publishBet(bet));
+        }
+        return Mono.defer(() -> {
+            AdmissionLimiter.Permit permit = admissionLimiter.tryAcquire(bet.getJackpotId());
+            if (permit == null) {
+                return Mono.just(ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS)
+                        .header(HttpHeaders.RETRY_AFTER, retryAfterSeconds())
+                        .<Bet>build());
+            }
+            return publish(bet, permit.track(betService.publishBet(bet)));
+        });
+    }
+
+    private Mono<ResponseEntity<Bet>> publish(Bet bet, Mono<Bet> publication) {
+        return publication
+                .map(savedBet -> new ResponseEntity<>(savedBet, HttpStatus.CREATED))
+                .onErrorResume(e -> {
+                    log.error("Error publishing bet {}", bet.getBetId(), e);
+                    return Mono.just(ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build());
+                });
+    }
+
+    /**
+     * API endpoint to publish many bets in one request.
+     * Accepts either a JSON array or a newline-delimited JSON stream (application/x-ndjson) of BetRequests.
+     * Requests are decoded incrementally and handed to the BetService in chunks, so neither the request
+     * nor the response is buffered as a whole. One BetPublishResponse is streamed back per submitted bet,
+     * in submission order; invalid bets are reported as REJECTED without failing the rest of the request.
+     * When the AdmissionLimiter is enabled, every bet of a chunk needs a permit of its jackpot, as on `POST /api/bets`;
+     * bets beyond their jackpot's limit are reported as REJECTED with the delay to retry after.
+     *
+     * @param requests The stream of BetRequests.
+     * @return A Flux emitting the outcome of every submitted bet.
+     */
+    @PostMapping(value = "/batch",
+            consumes = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_NDJSON_VALUE},
+            produces = {MediaType.APPLICATION_NDJSON_VALUE, MediaType.APPLICATION_JSON_VALUE})
+    public Flux<BetPublishResponse> publishBets(@RequestBody Flux<BetRequest> requests) {
+        return requests.index()
+                .bufferTimeout(BATCH_CHUNK_SIZE, BATCH_CHUNK_TIMEOUT, true)
+                .concatMap(this::publishChunk);
+    }
+
+    /**
+     * Publishes one chunk of indexed requests. Valid and admitted requests are published together through the
+     * BetService; the responses of rejected and published bets are merged back into request order.
+     * The permits of the admitted bets are completed with the outcome of each bet's publication.
+     * @param chunk The indexed requests of the chunk.
+     * @return A Flux emitting the responses of the chunk, in request order.
+     */
+    private Flux<BetPublishResponse> publishChunk(List<Tuple2<Long, BetRequest>> chunk) {
+        BetPublishResponse[] responses = new BetPublishResponse[chunk.size()];
+        List<Bet> bets = new ArrayList<>(chunk.size());
+        List<Integer> betPositions = new ArrayList<>(chunk.size());
+        List<AdmissionLimiter.Permit> permits = new ArrayList<>(admissionLimiter == null ? 0 : chunk.size());
+
+        for (int i = 0; i < chunk.size(); i++) {
+            long index = chunk.get(i).getT1();
+            BetRequest request = chunk.get(i).getT2();
+            if (!isValid(request)) {
+                responses[i] = new BetPublishResponse(index, null, request.getJackpotId(), BetPublishStatus.REJECTED,
+                        "userId, jackpotId and a positive betAmount are required");
+                continue;
+            }
+            if (admissionLimiter != null) {
+                AdmissionLimiter.Permit permit = admissionLimiter.tryAcquire(request.getJackpotId());
+                if (permit == null) {
+                    responses[i] = new BetPublishResponse(index, null, request.getJackpotId(), BetPublishStatus.REJECTED,
+                            "Too many bets in flight for the jackpot, retry after " + retryAfterSeconds() + "s");
+                    continue;
+                }
+                permits.add(permit);
+            }
+            bets.add(toBet(request));
+            betPositions.add(i);
+        }
+
+        if (bets.isEmpty()) {
+            return Flux.fromArray(responses);
+        }
+
+        return betService.publishBets(bets)
+                .collectList()
+                .doOnNext(results -> {
+                    for (int j = 0; j < permits.size(); j++) {
+                        if (results.get(j).isPublished()) {
+                            permits.get(j).release();
+                        } else {
+                            permits.get(j).drop();
+                        }
+                    }
+                })
+                .doOnError(e -> permits.forEach(AdmissionLimiter.Permit::drop))
+                .doOnCancel(() -> permits.forEach(AdmissionLimiter.Permit::ignore))
+                .flatMapMany(results -> {
+                    for (int j = 0; j < results.size(); j++) {
+                        int position = betPositions.get(j);
+                        responses[position] = toResponse(chunk.get(position).getT1(), results.get(j));
+                    }
+                    return Flux.fromIterable(Arrays.asList(responses));
+                });
+    }
+
+    private String retryAfterSeconds() {
+        long millis = admissionLimiter.getRetryAfter().toMillis();
+        return String.valueOf(Math.max(1, (millis + 999) / 1000));
+    }
+
+    private BetPublishResponse toResponse(long index, BetPublishResult result) {
+        Bet bet = result.getBet();
+        if (result.isPublished()) {
+            return new BetPublishResponse(index, bet.getBetId(), bet.getJackpotId(), BetPublishStatus.ACCEPTED, null);
+        }
+        return new BetPublishResponse(index, bet.getBetId(), bet.getJackpotId(), BetPublishStatus.FAILED, result.getErrorMessage());
+    }
+
+    private boolean isValid(BetRequest request) {
+        return request.getUserId() != null && !request.getUserId().isBlank() &&
+                request.getJackpotId() != null && !request.getJackpotId().isBlank() &&
+                request.getBetAmount() != null && request.getBetAmount().signum() > 0;
+    }
+
+    private Bet toBet(BetRequest request) {
+        return new Bet(
                 IdGenerator.generateId(),
                 request.getUserId(),
                 request.getJackpotId(),
                 request.getBetAmount(),
                 LocalDateTime.now()
         );
-
-        return betService.publishBet(bet)
-                .map(savedBet -> new ResponseEntity<>(savedBet, HttpStatus.CREATED))
-                .onErrorResume(e -> {
-                    System.err.println("Error publishing bet: " + e.getMessage());
-                    e.printStackTrace();
-                    return Mono.just(ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build());
-                });
     }
 }
\ No newline at end of file
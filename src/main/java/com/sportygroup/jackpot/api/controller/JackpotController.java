@@ -1,100 +1,123 @@
 package com.sportygroup.jackpot.api.controller;
 
 import com.sportygroup.jackpot.api.controller.response.JackpotRewardResponse;
-import com.sportygroup.jackpot.model.JackpotReward;
+import com.sportygroup.jackpot.model.JackpotLedger;
+import com.sportygroup.jackpot.repository.BetOutcomeRepository;
 import com.sportygroup.jackpot.repository.BetRepository;
 import com.sportygroup.jackpot.service.JackpotService;
+import com.sportygroup.jackpot.service.execution.ExecutionSchedulers;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Scheduler;
 
 /**
  * REST Controller for handling jackpot reward evaluation requests.
- * This acts as the API endpoint to evaluate if a bet wins a jackpot reward.
+ * This acts as the API endpoint to look up whether a bet won a jackpot reward.
  * Endpoints now return Mono<ResponseEntity<T>> for non-blocking operations.
  */
 @RestController
 @RequestMapping("/api/jackpots")
 public class JackpotController {
 
+    private static final Logger log = LoggerFactory.getLogger(JackpotController.class);
+
     private final JackpotService jackpotService;
     private final BetRepository betRepository;
+    private final BetOutcomeRepository betOutcomeRepository;
+    private final Scheduler repositoryScheduler;
 
     /**
      * Constructor for dependency injection.
      * @param jackpotService The jackpot service.
      * @param betRepository The bet repository.
+     * @param betOutcomeRepository The index of settled bet outcomes.
+     * @param executionSchedulers The schedulers providing the repository scheduler, absent to look up on the calling thread.
      */
     @Autowired
-    public JackpotController(JackpotService jackpotService, BetRepository betRepository) {
+    public JackpotController(JackpotService jackpotService, BetRepository betRepository, BetOutcomeRepository betOutcomeRepository,
+                             ObjectProvider<ExecutionSchedulers> executionSchedulers) {
+        this(jackpotService, betRepository, betOutcomeRepository, executionSchedulers.getIfAvailable(ExecutionSchedulers::immediate)
+                .getRepositoryScheduler());
+    }
+
+    /**
+     * Creates a controller whose lookups run on the given scheduler.
+     * @param jackpotService The jackpot service.
+     * @param betRepository The bet repository.
+     * @param betOutcomeRepository The index of settled bet outcomes.
+     * @param repositoryScheduler The scheduler repository lookups are subscribed on.
+     */
+    public JackpotController(JackpotService jackpotService, BetRepository betRepository, BetOutcomeRepository betOutcomeRepository,
+                             Scheduler repositoryScheduler) {
         this.jackpotService = jackpotService;
         this.betRepository = betRepository;
+        this.betOutcomeRepository = betOutcomeRepository;
+        this.repositoryScheduler = repositoryScheduler;
     }
 
     /**
-     * API endpoint to evaluate if a bet wins a jackpot reward.
+     * API endpoint to check if a bet won a jackpot reward.
      *
-     * This method first attempts to retrieve the full Bet object from the repository using the provided betId.
-     * If the bet is not found (meaning the betId does not exist in the system),
-     * it now returns a 404 Not Found response with an empty body, adhering to a stricter API contract.
-     * The evaluation proceeds only if the Bet is found in the repository.
+     * Bets are evaluated exactly once, when they are settled by the consumer. This endpoint serves the
+     * stored outcome of that settlement from the BetOutcomeRepository, so polling it never draws a new
+     * random number, never resets a pool, and costs one index lookup.
+     * If the bet has no outcome yet, the bet repository decides between a 202 Accepted (the bet exists
+     * but is still being settled) and a 404 Not Found with an empty body (the betId does not exist).
      *
-     * @param betId The ID of the bet to evaluate for reward, passed as a query parameter.
+     * @param betId The ID of the bet to look up, passed as a query parameter.
      * @return A Mono emitting a ResponseEntity with JackpotRewardResponse indicating if a reward was won,
-     * or a 404 Not Found with an empty body if the betId does not exist.
+     * a 202 Accepted if the bet is not settled yet, or a 404 Not Found with an empty body if the betId does not exist.
      */
     @GetMapping("/evaluate-reward")
     public Mono<ResponseEntity<JackpotRewardResponse>> evaluateReward(@RequestParam String betId) {
         if (betId == null || betId.isBlank()) {
             return Mono.just(ResponseEntity.badRequest().body(null));
         }
-        return betRepository.findById(betId)
-                .flatMap(betToEvaluate -> {
-                    return jackpotService.evaluateReward(betToEvaluate)
-                            .map(optionalReward -> {
-                                if (optionalReward.isPresent()) {
-                                    JackpotReward reward = optionalReward.get();
-                                    return ResponseEntity.ok(new JackpotRewardResponse(
-                                            reward.getBetId(),
-                                            reward.getUserId(),
-                                            reward.getJackpotId(),
-                                            true,
-                                            reward.getJackpotRewardAmount(),
-                                            "Congratulations! You won the jackpot!"
-                                    ));
-                                } else {
-                                    return ResponseEntity.ok(new JackpotRewardResponse(
-                                            betToEvaluate.getBetId(),
-                                            betToEvaluate.getUserId(),
-                                            betToEvaluate.getJackpotId(),
-                                            false,
-                                            null,
-                                            "Sorry, this bet did not win the jackpot."
-                                    ));
-                                }
-                            })
-                            .onErrorResume(IllegalArgumentException.class, e -> {
-                                System.err.println("Error evaluating reward due to configuration issue: " + e.getMessage());
-                                return Mono.just(ResponseEntity.status(HttpStatus.BAD_REQUEST).body(new JackpotRewardResponse(
-                                        betToEvaluate.getBetId(), betToEvaluate.getUserId(), betToEvaluate.getJackpotId(),
-                                        false, null, "Error: Invalid jackpot configuration. " + e.getMessage()
-                                )));
-                            })
-                            .onErrorResume(Exception.class, e -> {
-                                System.err.println("Error evaluating reward for bet " + betToEvaluate.getBetId() + ": " + e.getMessage());
-                                e.printStackTrace();
-                                return Mono.just(ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(new JackpotRewardResponse(
-                                        betToEvaluate.getBetId(), betToEvaluate.getUserId(), betToEvaluate.getJackpotId(),
-                                        false, null, "An unexpected error occurred during evaluation."
-                                )));
-                            });
-                })
+        return betOutcomeRepository.findByBetId(betId)
+                .subscribeOn(repositoryScheduler)
+                .map(outcome -> ResponseEntity.ok(new JackpotRewardResponse(
+                        outcome.getBetId(),
+                        outcome.getUserId(),
+                        outcome.getJackpotId(),
+                        outcome.isWon(),
+                        outcome.getRewardAmount(),
+                        outcome.isWon() ? "Congratulations! You won the jackpot!" : "Sorry, this bet did not win the jackpot."
+                )))
+                .switchIfEmpty(Mono.defer(() -> betRepository.findById(betId)
+                        .subscribeOn(repositoryScheduler)
+                        .map(pendingBet -> ResponseEntity.status(HttpStatus.ACCEPTED).body(new JackpotRewardResponse(
+                                pendingBet.getBetId(),
+                                pendingBet.getUserId(),
+                                pendingBet.getJackpotId(),
+                                false,
+                                null,
+                                "This bet has not been settled yet."
+                        )))))
                 .switchIfEmpty(Mono.defer(() -> {
-                    System.out.println("JackpotController: Bet with ID '" + betId + "' not found in repository. Returning 404 Not Found with empty body.");
+                    log.debug("Bet with ID '{}' not found in repository. Returning 404 Not Found with empty body.", betId);
                     return Mono.just(ResponseEntity.status(HttpStatus.NOT_FOUND).body(null));
                 }));
     }
 
+    /**
+     * API endpoint to reconcile a jackpot's pool with its contribution and reward history.
+     * Used by load tests to verify that no contribution or payout was lost once traffic has stopped.
+     *
+     * @param jackpotId The ID of the jackpot.
+     * @return A Mono emitting a ResponseEntity with the JackpotLedger, or a 404 Not Found if the jackpot does not exist.
+     */
+    @GetMapping("/{jackpotId}/ledger")
+    public Mono<ResponseEntity<JackpotLedger>> getLedger(@PathVariable String jackpotId) {
+        return jackpotService.getLedger(jackpotId)
+                .subscribeOn(repositoryScheduler)
+                .map(ResponseEntity::ok)
+                .defaultIfEmpty(ResponseEntity.notFound().build());
+    }
+
 }
\ No newline at end of file
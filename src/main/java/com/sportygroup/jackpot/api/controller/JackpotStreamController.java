@@ -0,0 +1,59 @@
+package com.sportygroup.jackpot.api.controller;
+
+import com.sportygroup.jackpot.repository.JackpotRepository;
+import com.sportygroup.jackpot.service.stream.JackpotPoolStreamService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.http.codec.ServerSentEvent;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * REST Controller streaming live jackpot pools as Server-Sent Events.
+ * Lobby pages can subscribe once instead of polling for pool values.
+ */
+@RestController
+@RequestMapping("/api/jackpots")
+public class JackpotStreamController {
+
+    private final JackpotPoolStreamService jackpotPoolStreamService;
+    private final JackpotRepository jackpotRepository;
+
+    /**
+     * Constructor for dependency injection.
+     * @param jackpotPoolStreamService The pool stream service.
+     * @param jackpotRepository The jackpot repository, used to reject unknown jackpots.
+     */
+    @Autowired
+    public JackpotStreamController(JackpotPoolStreamService jackpotPoolStreamService, JackpotRepository jackpotRepository) {
+        this.jackpotPoolStreamService = jackpotPoolStreamService;
+        this.jackpotRepository = jackpotRepository;
+    }
+
+    /**
+     * API endpoint streaming the pool of one jackpot.
+     * @param jackpotId The ID of the jackpot.
+     * @return A Mono emitting a ResponseEntity with the event stream, or a 404 Not Found if the jackpot does not exist.
+     */
+    @GetMapping(value = "/{jackpotId}/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public Mono<ResponseEntity<Flux<ServerSentEvent<String>>>> streamJackpot(@PathVariable String jackpotId) {
+        return jackpotRepository.findById(jackpotId)
+                .map(jackpot -> ResponseEntity.ok(jackpotPoolStreamService.streamJackpot(jackpotId)))
+                .defaultIfEmpty(ResponseEntity.status(HttpStatus.NOT_FOUND).build());
+    }
+
+    /**
+     * API endpoint streaming the pools of all jackpots.
+     * @return A Flux of pool update events, one event per changed jackpot.
+     */
+    @GetMapping(value = "/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public Flux<ServerSentEvent<String>> streamAllJackpots() {
+        return jackpotPoolStreamService.streamAllJackpots();
+    }
+}
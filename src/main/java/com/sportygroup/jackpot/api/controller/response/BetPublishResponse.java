@@ -0,0 +1,46 @@
+package com.sportygroup.jackpot.api.controller.response;
+
+import com.sportygroup.jackpot.model.enums.BetPublishStatus;
+
+/**
+ * DTO (Data Transfer Object) for the per-bet outcome of a bulk bet publication.
+ * Used by the BetController to stream one status per submitted bet. The index is the
+ * position of the bet in the submitted array or stream, so rejected bets without an ID
+ * can still be matched to their request.
+ */
+public class BetPublishResponse {
+
+    private final long index;
+    private final String betId;
+    private final String jackpotId;
+    private final BetPublishStatus status;
+    private final String message;
+
+    public BetPublishResponse(long index, String betId, String jackpotId, BetPublishStatus status, String message) {
+        this.index = index;
+        this.betId = betId;
+        this.jackpotId = jackpotId;
+        this.status = status;
+        this.message = message;
+    }
+
+    public long getIndex() {
+        return index;
+    }
+
+    public String getBetId() {
+        return betId;
+    }
+
+    public String getJackpotId() {
+        return jackpotId;
+    }
+
+    public BetPublishStatus getStatus() {
+        return status;
+    }
+
+    public String getMessage() {
+        return message;
+    }
+}
@@ -1,7 +1,16 @@
 package com.sportygroup.jackpot.config;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sportygroup.jackpot.consumer.BetDeduplicator;
 import com.sportygroup.jackpot.consumer.KafkaConsumerService;
+import com.sportygroup.jackpot.metrics.JackpotMetrics;
+import com.sportygroup.jackpot.model.enums.ExecutionMode;
+import com.sportygroup.jackpot.repository.BetArchive;
+import com.sportygroup.jackpot.repository.BetOutcomeRepository;
 import com.sportygroup.jackpot.repository.BetRepository;
+import com.sportygroup.jackpot.repository.BoundedBetRepository;
+import com.sportygroup.jackpot.repository.DiscardingBetArchive;
+import com.sportygroup.jackpot.repository.InMemBetOutcomeRepository;
 import com.sportygroup.jackpot.repository.InMemBetRepository;
 import com.sportygroup.jackpot.repository.InMemJackpotContributionRepository;
 import com.sportygroup.jackpot.repository.InMemJackpotRepository;
@@ -9,21 +18,53 @@ import com.sportygroup.jackpot.repository.InMemJackpotRewardRepository;
 import com.sportygroup.jackpot.repository.JackpotContributionRepository;
 import com.sportygroup.jackpot.repository.JackpotRepository;
 import com.sportygroup.jackpot.repository.JackpotRewardRepository;
+import com.sportygroup.jackpot.repository.MappedJackpotContributionRepository;
+import com.sportygroup.jackpot.repository.changelog.ChangelogJackpotRepository;
+import com.sportygroup.jackpot.repository.changelog.JackpotChangelog;
+import com.sportygroup.jackpot.repository.journal.JackpotJournal;
+import com.sportygroup.jackpot.repository.journal.JournaledJackpotRepository;
+import com.sportygroup.jackpot.repository.r2dbc.R2dbcBetRepository;
+import com.sportygroup.jackpot.repository.r2dbc.R2dbcJackpotContributionRepository;
+import com.sportygroup.jackpot.repository.r2dbc.R2dbcJackpotRepository;
+import com.sportygroup.jackpot.repository.r2dbc.R2dbcJackpotRewardRepository;
 import com.sportygroup.jackpot.producer.KafkaProducerService;
 import com.sportygroup.jackpot.producer.MockKafkaProducerService;
 import com.sportygroup.jackpot.service.BetService;
 import com.sportygroup.jackpot.service.JackpotConfigLoader;
 import com.sportygroup.jackpot.service.JackpotService;
+import com.sportygroup.jackpot.service.admission.AdmissionLimiter;
+import com.sportygroup.jackpot.service.admission.AdmissionLimits;
 import com.sportygroup.jackpot.service.contribution.ContributionStrategy;
+import com.sportygroup.jackpot.service.execution.ExecutionSchedulers;
 import com.sportygroup.jackpot.service.contribution.FixedContributionStrategy;
 import com.sportygroup.jackpot.service.contribution.VariableContributionStrategy;
 import com.sportygroup.jackpot.service.reward.FixedChanceRewardStrategy;
+import com.sportygroup.jackpot.service.reward.RandomProvider;
 import com.sportygroup.jackpot.service.reward.RewardStrategy;
+import com.sportygroup.jackpot.service.reward.ThreadLocalRandomProvider;
 import com.sportygroup.jackpot.service.reward.VariableChanceRewardStrategy;
+import com.sportygroup.jackpot.service.settlement.SettlementEngine;
+import com.sportygroup.jackpot.service.stream.JackpotPoolStreamService;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.r2dbc.spi.ConnectionFactories;
+import io.r2dbc.spi.ConnectionFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.bind.Bindable;
+import org.springframework.boot.context.properties.bind.Binder;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+import org.springframework.core.ResolvableType;
+import org.springframework.core.env.Environment;
+import org.springframework.core.io.ClassPathResource;
 import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.r2dbc.connection.init.ConnectionFactoryInitializer;
+import org.springframework.r2dbc.connection.init.ResourceDatabasePopulator;
 
+import java.nio.file.Path;
+import java.time.Duration;
 import java.util.HashMap;
 import java.util.Map;
 
@@ -35,57 +76,295 @@ import java.util.Map;
 public class AppConfig {
 
     /**
-     * Defines the in-memory BetRepository bean.
-     * @return An instance of InMemBetRepository.
+     * Defines the JackpotMetrics bean instrumenting the bet, contribution and reward pipeline.
+     * Per-jackpot meters are tagged for at most `jackpot.metrics.max-tagged-jackpots` jackpots; the rest
+     * share the tag `jackpot=other`.
+     * @param meterRegistry The application's MeterRegistry.
+     * @param maxTaggedJackpots The maximum number of jackpots with their own per-jackpot meters.
+     * @return An instance of JackpotMetrics.
      */
     @Bean
-    public BetRepository betRepository() {
+    public JackpotMetrics jackpotMetrics(
+            MeterRegistry meterRegistry,
+            @Value("${jackpot.metrics.max-tagged-jackpots:100}") int maxTaggedJackpots) {
+        return new JackpotMetrics(meterRegistry, maxTaggedJackpots);
+    }
+
+    /**
+     * Defines the BetRepository bean.
+     * With `jackpot.r2dbc.enabled=true` bets are stored in the `bets` table, written with multi-row inserts
+     * of at most `jackpot.r2dbc.max-rows-per-insert` rows.
+     * Otherwise, with `jackpot.bet-store.bounded=true` bets are kept in a size- and TTL-bounded store that hands
+     * evicted bets to the BetArchive; otherwise every bet is kept in memory.
+     * @param betArchive The injected BetArchive receiving evicted bets.
+     * @param connectionFactory The R2DBC connection factory, used when R2DBC persistence is enabled.
+     * @param r2dbcEnabled Whether the R2DBC repositories are used.
+     * @param maxRowsPerInsert The maximum number of rows written by one insert statement.
+     * @param maxInsertsInFlight The maximum number of insert statements executing at the same time.
+     * @param bounded Whether the bounded store is used.
+     * @param maximumSize The maximum number of bets kept in memory by the bounded store.
+     * @param timeToLive How long the bounded store keeps a bet after it was saved.
+     * @param meterRegistry The registry the bounded store's cache statistics are exported to.
+     * @return An instance of R2dbcBetRepository, BoundedBetRepository or InMemBetRepository.
+     */
+    @Bean
+    public BetRepository betRepository(
+            BetArchive betArchive,
+            MeterRegistry meterRegistry,
+            ObjectProvider<ConnectionFactory> connectionFactory,
+            @Value("${jackpot.r2dbc.enabled:false}") boolean r2dbcEnabled,
+            @Value("${jackpot.r2dbc.max-rows-per-insert:500}") int maxRowsPerInsert,
+            @Value("${jackpot.r2dbc.max-inserts-in-flight:4}") int maxInsertsInFlight,
+            @Value("${jackpot.bet-store.bounded:false}") boolean bounded,
+            @Value("${jackpot.bet-store.max-size:1000000}") long maximumSize,
+            @Value("${jackpot.bet-store.ttl:24h}") Duration timeToLive) {
+        if (r2dbcEnabled) {
+            return new R2dbcBetRepository(connectionFactory.getObject(), maxRowsPerInsert, maxInsertsInFlight);
+        }
+        if (bounded) {
+            BoundedBetRepository boundedBetRepository = new BoundedBetRepository(maximumSize, timeToLive, betArchive);
+            boundedBetRepository.bindTo(meterRegistry);
+            return boundedBetRepository;
+        }
         return new InMemBetRepository();
     }
 
     /**
-     * Defines the in-memory JackpotRepository bean.
-     * @return An instance of InMemJackpotRepository.
+     * Defines the BetArchive bean receiving bets evicted from the bounded store.
+     * Evicted bets are discarded until a persistent archive is provided.
+     * @return An instance of DiscardingBetArchive.
+     */
+    @Bean
+    public BetArchive betArchive() {
+        return new DiscardingBetArchive();
+    }
+
+    /**
+     * Defines the R2DBC ConnectionFactory bean, only when `jackpot.r2dbc.enabled=true`.
+     * Spring Boot's R2DBC auto-configuration is excluded in application.properties, so no embedded database
+     * is started while the in-memory, journal or mapped stores are in use.
+     * @param url The R2DBC URL of the database.
+     * @return The connection factory of the R2DBC repositories.
+     */
+    @Bean
+    @ConditionalOnProperty(name = "jackpot.r2dbc.enabled", havingValue = "true")
+    public ConnectionFactory connectionFactory(
+            @Value("${jackpot.r2dbc.url:r2dbc:h2:mem:///jackpot;DB_CLOSE_DELAY=-1}") String url) {
+        return ConnectionFactories.get(url);
+    }
+
+    /**
+     * Defines the initializer creating the tables of `schema.sql` on startup, only when `jackpot.r2dbc.enabled=true`.
+     * @param connectionFactory The R2DBC connection factory.
+     * @param initializeSchema Whether `schema.sql` is run; disable it for databases whose schema is managed elsewhere.
+     * @return An instance of ConnectionFactoryInitializer.
+     */
+    @Bean
+    @ConditionalOnProperty(name = "jackpot.r2dbc.enabled", havingValue = "true")
+    public ConnectionFactoryInitializer connectionFactoryInitializer(
+            ConnectionFactory connectionFactory,
+            @Value("${jackpot.r2dbc.initialize-schema:true}") boolean initializeSchema) {
+        ConnectionFactoryInitializer initializer = new ConnectionFactoryInitializer();
+        initializer.setConnectionFactory(connectionFactory);
+        initializer.setDatabasePopulator(new ResourceDatabasePopulator(new ClassPathResource("schema.sql")));
+        initializer.setEnabled(initializeSchema);
+        return initializer;
+    }
+
+    /**
+     * Defines the JackpotRepository bean.
+     * When a JackpotChangelog is defined (`kafka` profile with `jackpot.kafka.changelog.enabled=true`), pools are
+     * kept in memory for the owned partitions and written to the changelog topic by a ChangelogJackpotRepository.
+     * The changelog is then the only state store and takes precedence over the R2DBC and journal settings.
+     * Otherwise, with `jackpot.r2dbc.enabled=true` jackpots are stored in the `jackpots` table and pool changes are
+     * single versioned updates evaluated by the database; the journal settings are then ignored.
+     * Otherwise, with `jackpot.journal.enabled=true` the in-memory repository is wrapped in a JournaledJackpotRepository
+     * that writes every pool change to a write-ahead log under `jackpot.journal.directory` and restores the
+     * journaled pools when the jackpots are registered on startup. Its `close` method is picked up as
+     * destroy method and flushes the journal on shutdown.
+     * @param jackpotMetrics The injected JackpotMetrics counting CAS retries and failures.
+     * @param jackpotChangelog The changelog of partition-owned jackpot state, if enabled.
+     * @param stripedPoolMaxStaleness How old a reused sum of a STRIPED in-memory pool may be, 1 ms unless configured.
+     * @param connectionFactory The R2DBC connection factory, used when R2DBC persistence is enabled.
+     * @param r2dbcEnabled Whether the R2DBC repositories are used.
+     * @param journalEnabled Whether pool changes are journaled.
+     * @param directory The directory of the WAL segments and snapshots.
+     * @param queueCapacity The maximum number of journal entries waiting to be written.
+     * @param maxBatchSize The maximum number of journal entries written with one fsync.
+     * @param snapshotEveryEntries The number of journal entries after which a snapshot is taken.
+     * @param awaitDurability Whether writes wait for their journal entry to be forced to disk.
+     * @return An instance of ChangelogJackpotRepository, R2dbcJackpotRepository, JournaledJackpotRepository or InMemJackpotRepository.
      */
     @Bean
-    public JackpotRepository jackpotRepository() {
-        return new InMemJackpotRepository();
+    public JackpotRepository jackpotRepository(
+            JackpotMetrics jackpotMetrics,
+            ObjectProvider<JackpotChangelog> jackpotChangelog,
+            @Value("${jackpot.pool.striped.max-staleness:1ms}") Duration stripedPoolMaxStaleness,
+            ObjectProvider<ConnectionFactory> connectionFactory,
+            @Value("${jackpot.r2dbc.enabled:false}") boolean r2dbcEnabled,
+            @Value("${jackpot.journal.enabled:false}") boolean journalEnabled,
+            @Value("${jackpot.journal.directory:./data/journal}") String directory,
+            @Value("${jackpot.journal.queue-capacity:65536}") int queueCapacity,
+            @Value("${jackpot.journal.max-batch-size:4096}") int maxBatchSize,
+            @Value("${jackpot.journal.snapshot-every-entries:1000000}") long snapshotEveryEntries,
+            @Value("${jackpot.journal.await-durability:true}") boolean awaitDurability) {
+        JackpotChangelog changelog = jackpotChangelog.getIfAvailable();
+        if (changelog != null) {
+            return new ChangelogJackpotRepository(new InMemJackpotRepository(jackpotMetrics, stripedPoolMaxStaleness), changelog);
+        }
+        if (r2dbcEnabled) {
+            return new R2dbcJackpotRepository(connectionFactory.getObject());
+        }
+        if (journalEnabled) {
+            JackpotJournal jackpotJournal = new JackpotJournal(Path.of(directory), queueCapacity, maxBatchSize, snapshotEveryEntries);
+            return new JournaledJackpotRepository(new InMemJackpotRepository(jackpotMetrics, stripedPoolMaxStaleness), jackpotJournal, awaitDurability);
+        }
+        return new InMemJackpotRepository(jackpotMetrics, stripedPoolMaxStaleness);
     }
 
     /**
-     * Defines the in-memory JackpotContributionRepository bean.
-     * @return An instance of InMemJackpotContributionRepository.
+     * Defines the JackpotContributionRepository bean.
+     * With `jackpot.r2dbc.enabled=true` contributions are stored in the `jackpot_contributions` table,
+     * written with multi-row inserts. Otherwise, with `jackpot.contribution-store.type=mapped` contributions are appended to memory-mapped ledger
+     * segments under `jackpot.contribution-store.directory`; otherwise they are kept in memory.
+     * The ledger's `close` method is picked up as destroy method and flushes the segments on shutdown.
+     * @param connectionFactory The R2DBC connection factory, used when R2DBC persistence is enabled.
+     * @param r2dbcEnabled Whether the R2DBC repositories are used.
+     * @param maxRowsPerInsert The maximum number of rows written by one insert statement.
+     * @param maxInsertsInFlight The maximum number of insert statements executing at the same time.
+     * @param storeType The contribution store type, `memory` or `mapped`.
+     * @param directory The directory of the ledger segments.
+     * @param recordsPerSegment The number of records per ledger segment.
+     * @return An instance of R2dbcJackpotContributionRepository, MappedJackpotContributionRepository or InMemJackpotContributionRepository.
      */
     @Bean
-    public JackpotContributionRepository jackpotContributionRepository() {
+    public JackpotContributionRepository jackpotContributionRepository(
+            ObjectProvider<ConnectionFactory> connectionFactory,
+            @Value("${jackpot.r2dbc.enabled:false}") boolean r2dbcEnabled,
+            @Value("${jackpot.r2dbc.max-rows-per-insert:500}") int maxRowsPerInsert,
+            @Value("${jackpot.r2dbc.max-inserts-in-flight:4}") int maxInsertsInFlight,
+            @Value("${jackpot.contribution-store.type:memory}") String storeType,
+            @Value("${jackpot.contribution-store.directory:./data/contributions}") String directory,
+            @Value("${jackpot.contribution-store.records-per-segment:262144}") int recordsPerSegment) {
+        if (r2dbcEnabled) {
+            return new R2dbcJackpotContributionRepository(connectionFactory.getObject(), maxRowsPerInsert, maxInsertsInFlight);
+        }
+        if ("mapped".equalsIgnoreCase(storeType)) {
+            return new MappedJackpotContributionRepository(Path.of(directory), recordsPerSegment);
+        }
         return new InMemJackpotContributionRepository();
     }
 
     /**
-     * Defines the in-memory JackpotRewardRepository bean.
-     * @return An instance of InMemJackpotRewardRepository.
+     * Defines the JackpotRewardRepository bean.
+     * With `jackpot.r2dbc.enabled=true` rewards are stored in the `jackpot_rewards` table; otherwise they are kept in memory.
+     * @param connectionFactory The R2DBC connection factory, used when R2DBC persistence is enabled.
+     * @param r2dbcEnabled Whether the R2DBC repositories are used.
+     * @return An instance of R2dbcJackpotRewardRepository or InMemJackpotRewardRepository.
      */
     @Bean
-    public JackpotRewardRepository jackpotRewardRepository() {
+    public JackpotRewardRepository jackpotRewardRepository(
+            ObjectProvider<ConnectionFactory> connectionFactory,
+            @Value("${jackpot.r2dbc.enabled:false}") boolean r2dbcEnabled) {
+        if (r2dbcEnabled) {
+            return new R2dbcJackpotRewardRepository(connectionFactory.getObject());
+        }
         return new InMemJackpotRewardRepository();
     }
 
+    /**
+     * Defines the in-memory BetOutcomeRepository bean, bounded like the bet store.
+     * @param maximumSize The maximum number of outcomes kept, from `jackpot.bet-store.max-size`.
+     * @param timeToLive How long an outcome is kept, from `jackpot.bet-store.ttl`.
+     * @return An instance of InMemBetOutcomeRepository.
+     */
+    @Bean
+    public BetOutcomeRepository betOutcomeRepository(
+            @Value("${jackpot.bet-store.max-size:1000000}") long maximumSize,
+            @Value("${jackpot.bet-store.ttl:24h}") Duration timeToLive) {
+        return new InMemBetOutcomeRepository(maximumSize, timeToLive);
+    }
+
+    /**
+     * Defines the BetDeduplicator bean, enabled unless `jackpot.dedup.enabled=false`.
+     * Its memory is fixed by the configured sizes: `generations * bits-per-generation / 8` bytes for the
+     * Bloom filter plus one reference per exact slot and the betIds those slots hold.
+     * @param window How long a betId is remembered by the Bloom filter.
+     * @param generations The number of generations the window is split into.
+     * @param bitsPerGeneration The size of each generation's bit set.
+     * @param hashFunctions The number of bits set per betId.
+     * @param exactSetCapacity The number of slots of the exact set confirming Bloom filter hits.
+     * @param meterRegistry The registry the duplicate and unconfirmed hit counters are exported to.
+     * @return An instance of BetDeduplicator.
+     */
+    @Bean
+    @ConditionalOnProperty(name = "jackpot.dedup.enabled", havingValue = "true", matchIfMissing = true)
+    public BetDeduplicator betDeduplicator(
+            @Value("${jackpot.dedup.window:10m}") Duration window,
+            @Value("${jackpot.dedup.generations:4}") int generations,
+            @Value("${jackpot.dedup.bits-per-generation:8388608}") int bitsPerGeneration,
+            @Value("${jackpot.dedup.hash-functions:5}") int hashFunctions,
+            @Value("${jackpot.dedup.exact-set-capacity:262144}") int exactSetCapacity,
+            MeterRegistry meterRegistry) {
+        BetDeduplicator betDeduplicator = new BetDeduplicator(window, generations, bitsPerGeneration, hashFunctions, exactSetCapacity);
+        betDeduplicator.bindTo(meterRegistry);
+        return betDeduplicator;
+    }
+
     /**
      * Defines the mock KafkaConsumerService bean.
+     * Bets are settled through the SettlementEngine when it is enabled, and redelivered bets are dropped
+     * by the BetDeduplicator when it is enabled. The outcome of every settled bet is stored in the BetOutcomeRepository.
      * @return An instance of KafkaConsumerService.
      */
     @Bean
-    public KafkaConsumerService kafkaConsumerService(JackpotService jackpotService) {
-        return new KafkaConsumerService(jackpotService);
+    public KafkaConsumerService kafkaConsumerService(JackpotService jackpotService, ObjectProvider<SettlementEngine> settlementEngine,
+                                                     ObjectProvider<BetDeduplicator> betDeduplicator, BetOutcomeRepository betOutcomeRepository) {
+        return new KafkaConsumerService(jackpotService, settlementEngine.getIfAvailable(), betDeduplicator.getIfAvailable(),
+                betOutcomeRepository);
+    }
+
+    /**
+     * Defines the ExecutionSchedulers bean, deciding where repository and settlement work runs.
+     * `jackpot.execution.repository.mode` applies to the repository calls of HTTP requests and
+     * `jackpot.execution.settlement.mode` to the settlement of bets published by the mock producer.
+     * Modes are `event-loop`, `parallel`, `bounded-elastic` and `virtual-threads`.
+     * Settlement writes block when the journal backs the jackpot repository or the mapped ledger backs the
+     * contribution repository. It then defaults to `bounded-elastic`, and the modes that must not block are refused.
+     * @param jackpotChangelog The jackpot changelog, which replaces the journal when present.
+     * @param repositoryMode The execution mode of repository calls.
+     * @param settlementMode The execution mode of settlement, or blank to choose it from the stores.
+     * @param r2dbcEnabled Whether the R2DBC repositories replace the journal and the mapped ledger.
+     * @param journalEnabled Whether the jackpot repository is journaled.
+     * @param contributionStoreType The contribution store type, `memory` or `mapped`.
+     * @return An instance of ExecutionSchedulers.
+     */
+    @Bean(destroyMethod = "dispose")
+    public ExecutionSchedulers executionSchedulers(
+            ObjectProvider<JackpotChangelog> jackpotChangelog,
+            @Value("${jackpot.execution.repository.mode:event-loop}") String repositoryMode,
+            @Value("${jackpot.execution.settlement.mode:}") String settlementMode,
+            @Value("${jackpot.r2dbc.enabled:false}") boolean r2dbcEnabled,
+            @Value("${jackpot.journal.enabled:false}") boolean journalEnabled,
+            @Value("${jackpot.contribution-store.type:memory}") String contributionStoreType) {
+        boolean journaled = journalEnabled && !r2dbcEnabled && jackpotChangelog.getIfAvailable() == null;
+        boolean mapped = "mapped".equalsIgnoreCase(contributionStoreType) && !r2dbcEnabled;
+        return new ExecutionSchedulers(ExecutionMode.fromValue(repositoryMode),
+                ExecutionSchedulers.settlementMode(settlementMode, journaled || mapped));
     }
 
     /**
      * Defines the mock KafkaProducerService bean.
+     * Published bets are consumed on the settlement scheduler, standing in for a real consumer's threads.
+     * With the `kafka` profile, KafkaConfig provides a real producer instead.
+     * @param kafkaConsumerService The injected KafkaConsumerService.
+     * @param executionSchedulers The injected ExecutionSchedulers.
      * @return An instance of MockKafkaProducerService.
      */
     @Bean
-    public KafkaProducerService kafkaProducerService(KafkaConsumerService kafkaConsumerService) {
-        return new MockKafkaProducerService(kafkaConsumerService);
+    @Profile("!kafka")
+    public KafkaProducerService kafkaProducerService(KafkaConsumerService kafkaConsumerService, ExecutionSchedulers executionSchedulers) {
+        return new MockKafkaProducerService(kafkaConsumerService, executionSchedulers.getSettlementScheduler());
     }
 
     /**
@@ -137,24 +416,41 @@ public class AppConfig {
 
     // --- Reward Strategies ---
 
+    /**
+     * Defines the RandomProvider bean the reward strategies draw from.
+     * Every thread gets its own generator. With `jackpot.random.seed` set, each thread's generator is derived
+     * from the seed and the thread's name, so replays with the same seed draw the same numbers.
+     * @param seed The optional seed; blank for generators seeded from system entropy.
+     * @return An instance of ThreadLocalRandomProvider.
+     */
+    @Bean
+    public RandomProvider randomProvider(@Value("${jackpot.random.seed:}") String seed) {
+        if (seed.isBlank()) {
+            return ThreadLocalRandomProvider.unseeded();
+        }
+        return ThreadLocalRandomProvider.seeded(Long.parseLong(seed.trim()));
+    }
+
     /**
      * Defines the FixedChanceRewardStrategy bean.
      * The bean name "fixedChanceRewardStrategy" is used for lookup in JackpotService.
+     * @param randomProvider The injected RandomProvider.
      * @return An instance of FixedChanceRewardStrategy.
      */
     @Bean
-    public FixedChanceRewardStrategy fixedChanceRewardStrategy() {
-        return new FixedChanceRewardStrategy();
+    public FixedChanceRewardStrategy fixedChanceRewardStrategy(RandomProvider randomProvider) {
+        return new FixedChanceRewardStrategy(randomProvider);
     }
 
     /**
      * Defines the VariableChanceRewardStrategy bean.
      * The bean name "variableChanceRewardStrategy" is used for lookup in JackpotService.
+     * @param randomProvider The injected RandomProvider.
      * @return An instance of VariableChanceRewardStrategy.
      */
     @Bean
-    public VariableChanceRewardStrategy variableChanceRewardStrategy() {
-        return new VariableChanceRewardStrategy();
+    public VariableChanceRewardStrategy variableChanceRewardStrategy(RandomProvider randomProvider) {
+        return new VariableChanceRewardStrategy(randomProvider);
     }
 
     /**
@@ -179,11 +475,85 @@ public class AppConfig {
      * Defines the BetService bean.
      * @param betRepository The injected BetRepository.
      * @param kafkaProducerService The injected KafkaProducerService.
+     * @param jackpotMetrics The injected JackpotMetrics.
+     * @param executionSchedulers The injected ExecutionSchedulers, providing the scheduler bets are saved on.
      * @return An instance of BetService.
      */
     @Bean
-    public BetService betService(BetRepository betRepository, KafkaProducerService kafkaProducerService) {
-        return new BetService(betRepository, kafkaProducerService);
+    public BetService betService(BetRepository betRepository, KafkaProducerService kafkaProducerService, JackpotMetrics jackpotMetrics,
+                                 ExecutionSchedulers executionSchedulers) {
+        return new BetService(betRepository, kafkaProducerService, jackpotMetrics, executionSchedulers.getRepositoryScheduler());
+    }
+
+    /**
+     * Defines the AdmissionLimiter bean bounding the concurrent bets of each jackpot on `POST /api/bets`.
+     * The limits below apply to jackpots without limits of their own. A jackpot's own thresholds are bound from
+     * `jackpot.admission.jackpots[<jackpotId>].<threshold>`, using the same threshold names; thresholds it does not
+     * set keep the defaults. When the SettlementEngine is enabled, its queue depth is the settlement backlog;
+     * otherwise the backlog is 0.
+     * @param environment The environment the per-jackpot thresholds are bound from.
+     * @param jackpotConfigLoader The injected JackpotConfigLoader, telling known jackpots from unknown IDs.
+     * @param settlementEngine The sharded settlement engine, when enabled.
+     * @param jackpotMetrics The injected JackpotMetrics.
+     * @param initialLimit The number of concurrent bets admitted before any latency was observed.
+     * @param minLimit The lowest the concurrency limit can shrink to.
+     * @param maxLimit The highest the concurrency limit can grow to.
+     * @param latencyTolerance How many times the baseline latency a bet may take before the limit shrinks.
+     * @param maxSettlementBacklog The settlement queue depth above which the limit shrinks.
+     * @param retryAfter How long a rejected client is asked to wait before retrying.
+     * @return An instance of AdmissionLimiter.
+     */
+    @Bean
+    @ConditionalOnProperty(name = "jackpot.admission.enabled", havingValue = "true", matchIfMissing = true)
+    public AdmissionLimiter admissionLimiter(
+            Environment environment,
+            JackpotConfigLoader jackpotConfigLoader,
+            ObjectProvider<SettlementEngine> settlementEngine,
+            JackpotMetrics jackpotMetrics,
+            @Value("${jackpot.admission.initial-limit:20}") int initialLimit,
+            @Value("${jackpot.admission.min-limit:4}") int minLimit,
+            @Value("${jackpot.admission.max-limit:1000}") int maxLimit,
+            @Value("${jackpot.admission.latency-tolerance:2.0}") double latencyTolerance,
+            @Value("${jackpot.admission.max-settlement-backlog:5000}") int maxSettlementBacklog,
+            @Value("${jackpot.admission.retry-after:1s}") Duration retryAfter) {
+        SettlementEngine engine = settlementEngine.getIfAvailable();
+        AdmissionLimits defaultLimits = new AdmissionLimits(initialLimit, minLimit, maxLimit, latencyTolerance, maxSettlementBacklog);
+        AdmissionLimiter admissionLimiter = new AdmissionLimiter(
+                defaultLimits,
+                jackpotConfigLoader,
+                engine == null ? () -> 0 : engine::getQueuedTasks,
+                retryAfter,
+                jackpotMetrics
+        );
+        Bindable<Map<String, Map<String, String>>> jackpotThresholds = Bindable.of(ResolvableType.forClassWithGenerics(Map.class,
+                ResolvableType.forClass(String.class), ResolvableType.forClassWithGenerics(Map.class, String.class, String.class)));
+        Binder.get(environment).bind("jackpot.admission.jackpots", jackpotThresholds)
+                .orElse(Map.of())
+                .forEach((jackpotId, thresholds) ->
+                        admissionLimiter.addJackpotLimits(jackpotId, jackpotLimits(jackpotId, thresholds, defaultLimits)));
+        return admissionLimiter;
+    }
+
+    /**
+     * Builds the limits of one jackpot from its bound thresholds, keeping the defaults for the ones it does not set.
+     */
+    private static AdmissionLimits jackpotLimits(String jackpotId, Map<String, String> thresholds, AdmissionLimits defaultLimits) {
+        Map<String, String> remaining = new HashMap<>(thresholds);
+        String initialLimit = remaining.remove("initial-limit");
+        String minLimit = remaining.remove("min-limit");
+        String maxLimit = remaining.remove("max-limit");
+        String latencyTolerance = remaining.remove("latency-tolerance");
+        String maxSettlementBacklog = remaining.remove("max-settlement-backlog");
+        if (!remaining.isEmpty()) {
+            throw new IllegalArgumentException("Unknown admission thresholds for jackpot " + jackpotId + ": " + remaining.keySet());
+        }
+        return defaultLimits.with(
+                initialLimit == null ? null : Integer.valueOf(initialLimit.trim()),
+                minLimit == null ? null : Integer.valueOf(minLimit.trim()),
+                maxLimit == null ? null : Integer.valueOf(maxLimit.trim()),
+                latencyTolerance == null ? null : Double.valueOf(latencyTolerance.trim()),
+                maxSettlementBacklog == null ? null : Integer.valueOf(maxSettlementBacklog.trim())
+        );
     }
 
     /**
@@ -193,6 +563,7 @@ public class AppConfig {
      * @param jackpotRewardRepository The injected JackpotRewardRepository.
      * @param contributionStrategies The injected map of contribution strategies.
      * @param rewardStrategies The injected map of reward strategies.
+     * @param jackpotMetrics The injected JackpotMetrics.
      * @return An instance of JackpotService.
      */
     @Bean
@@ -201,13 +572,59 @@ public class AppConfig {
             JackpotContributionRepository jackpotContributionRepository,
             JackpotRewardRepository jackpotRewardRepository,
             Map<String, ContributionStrategy> contributionStrategies,
-            Map<String, RewardStrategy> rewardStrategies) {
+            Map<String, RewardStrategy> rewardStrategies,
+            JackpotMetrics jackpotMetrics) {
         return new JackpotService(
                 jackpotRepository,
                 jackpotContributionRepository,
                 jackpotRewardRepository,
                 contributionStrategies,
-                rewardStrategies
+                rewardStrategies,
+                jackpotMetrics
         );
     }
-}
\ No newline at end of file
+
+    /**
+     * Defines the sharded SettlementEngine bean, enabled by `jackpot.settlement.shards.enabled=true`.
+     * A shard count of 0 uses one shard per available processor. The shards share the JackpotService's plan cache.
+     * @param shardCount The configured number of shards.
+     * @param queueCapacity The capacity of each shard's queue.
+     * @param jackpotMetrics The injected JackpotMetrics.
+     * @return An instance of SettlementEngine.
+     */
+    @Bean(destroyMethod = "shutdown")
+    @ConditionalOnProperty(name = "jackpot.settlement.shards.enabled", havingValue = "true")
+    public SettlementEngine settlementEngine(
+            JackpotRepository jackpotRepository,
+            JackpotContributionRepository jackpotContributionRepository,
+            JackpotRewardRepository jackpotRewardRepository,
+            JackpotService jackpotService,
+            @Value("${jackpot.settlement.shards.count:0}") int shardCount,
+            @Value("${jackpot.settlement.shards.queue-capacity:10000}") int queueCapacity,
+            JackpotMetrics jackpotMetrics) {
+        return new SettlementEngine(
+                jackpotRepository,
+                jackpotContributionRepository,
+                jackpotRewardRepository,
+                jackpotService::planOf,
+                shardCount > 0 ? shardCount : Runtime.getRuntime().availableProcessors(),
+                queueCapacity,
+                jackpotMetrics
+        );
+    }
+
+    /**
+     * Defines the JackpotPoolStreamService bean backing the pool SSE endpoints.
+     * @param jackpotRepository The injected JackpotRepository.
+     * @param objectMapper The application's ObjectMapper.
+     * @param maxUpdatesPerSecond The maximum number of pool updates pushed per jackpot per second.
+     * @return An instance of JackpotPoolStreamService.
+     */
+    @Bean(destroyMethod = "shutdown")
+    public JackpotPoolStreamService jackpotPoolStreamService(
+            JackpotRepository jackpotRepository,
+            ObjectMapper objectMapper,
+            @Value("${jackpot.stream.max-updates-per-second:4}") int maxUpdatesPerSecond) {
+        return new JackpotPoolStreamService(jackpotRepository, objectMapper, maxUpdatesPerSecond);
+    }
+}
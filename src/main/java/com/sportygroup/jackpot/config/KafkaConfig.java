@@ -0,0 +1,144 @@
+package com.sportygroup.jackpot.config;
+
+import com.sportygroup.jackpot.consumer.ChangelogRebalanceListener;
+import com.sportygroup.jackpot.model.Bet;
+import com.sportygroup.jackpot.producer.KafkaProducerService;
+import com.sportygroup.jackpot.producer.KafkaTemplateProducerService;
+import com.sportygroup.jackpot.repository.JackpotRepository;
+import com.sportygroup.jackpot.repository.changelog.ChangelogJackpotRepository;
+import com.sportygroup.jackpot.repository.changelog.JackpotChangelog;
+import com.sportygroup.jackpot.service.settlement.SettlementEngine;
+import org.apache.kafka.clients.admin.NewTopic;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.kafka.ConcurrentKafkaListenerContainerFactoryConfigurer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+import org.springframework.kafka.config.ConcurrentKafkaListenerContainerFactory;
+import org.springframework.kafka.config.ContainerCustomizer;
+import org.springframework.kafka.config.TopicBuilder;
+import org.springframework.kafka.core.ConsumerFactory;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.kafka.listener.ConcurrentMessageListenerContainer;
+import org.springframework.kafka.listener.ContainerProperties;
+
+import java.time.Duration;
+
+/**
+ * Spring configuration for running against a real Kafka broker, active with the `kafka` profile.
+ * It replaces the MockKafkaProducerService defined in AppConfig with a KafkaTemplate-backed producer.
+ * Combine with the `local` profile to use the broker started by EmbeddedKafkaConfig.
+ */
+@Configuration
+@Profile("kafka")
+public class KafkaConfig {
+
+    /**
+     * Declares the bets topic. Bets are keyed by jackpotId, so the partition count bounds
+     * how many consumers can settle bets in parallel.
+     * @param topic The topic name.
+     * @param partitions The number of partitions.
+     * @return The topic definition, created by KafkaAdmin if missing.
+     */
+    @Bean
+    public NewTopic jackpotBetsTopic(@Value("${kafka.topic.jackpot-bets}") String topic,
+                                     @Value("${kafka.topic.jackpot-bets.partitions:6}") int partitions) {
+        return TopicBuilder.name(topic).partitions(partitions).replicas(1).build();
+    }
+
+    /**
+     * Declares the compacted changelog topic holding the latest pool of every jackpot. It has as many
+     * partitions as the bets topic, so changelog partition `p` holds the jackpots whose bets go to partition `p`.
+     * @param topic The changelog topic name.
+     * @param partitions The number of partitions of the bets topic.
+     * @return The topic definition, created by KafkaAdmin if missing.
+     */
+    @Bean
+    @ConditionalOnProperty(name = "jackpot.kafka.changelog.enabled", havingValue = "true")
+    public NewTopic jackpotChangelogTopic(@Value("${kafka.topic.jackpot-changelog}") String topic,
+                                          @Value("${kafka.topic.jackpot-bets.partitions:6}") int partitions) {
+        return TopicBuilder.name(topic).partitions(partitions).replicas(1).compact().build();
+    }
+
+    /**
+     * Defines the JackpotChangelog bean. Its presence makes AppConfig keep jackpot state per owned partition.
+     * Its `close` method is picked up as destroy method and flushes the producer on shutdown.
+     * @param bootstrapServers The Kafka bootstrap servers.
+     * @param topic The changelog topic.
+     * @param betsTopic The bets topic the changelog is co-partitioned with.
+     * @param restoreTimeout How long restoring the changelog partitions of an assignment may take.
+     * @return An instance of JackpotChangelog.
+     */
+    @Bean
+    @ConditionalOnProperty(name = "jackpot.kafka.changelog.enabled", havingValue = "true")
+    public JackpotChangelog jackpotChangelog(@Value("${spring.kafka.bootstrap-servers}") String bootstrapServers,
+                                             @Value("${kafka.topic.jackpot-changelog}") String topic,
+                                             @Value("${kafka.topic.jackpot-bets}") String betsTopic,
+                                             @Value("${jackpot.kafka.changelog.restore-timeout:60s}") Duration restoreTimeout) {
+        return new JackpotChangelog(bootstrapServers, topic, betsTopic, restoreTimeout);
+    }
+
+    /**
+     * Defines the rebalance listener restoring the jackpots of newly assigned partitions from the changelog.
+     * @param jackpotChangelog The changelog the state is restored from.
+     * @param jackpotRepository The repository, a ChangelogJackpotRepository whenever the changelog is enabled.
+     * @param betsTopic The bets topic.
+     * @param settlementEngine The sharded settlement engine, when enabled.
+     * @return An instance of ChangelogRebalanceListener.
+     */
+    @Bean
+    @ConditionalOnProperty(name = "jackpot.kafka.changelog.enabled", havingValue = "true")
+    public ChangelogRebalanceListener changelogRebalanceListener(JackpotChangelog jackpotChangelog, JackpotRepository jackpotRepository,
+                                                                 @Value("${kafka.topic.jackpot-bets}") String betsTopic,
+                                                                 ObjectProvider<SettlementEngine> settlementEngine) {
+        return new ChangelogRebalanceListener(jackpotChangelog, (ChangelogJackpotRepository) jackpotRepository, betsTopic,
+                settlementEngine.getIfAvailable());
+    }
+
+    /**
+     * Registers the changelog rebalance listener on every listener container. Spring Boot applies the
+     * customizer to its default container factory, and the configurer applies it to the batch factory below.
+     * @param changelogRebalanceListener The rebalance listener.
+     * @return The container customizer.
+     */
+    @Bean
+    @ConditionalOnProperty(name = "jackpot.kafka.changelog.enabled", havingValue = "true")
+    public ContainerCustomizer<Object, Object, ConcurrentMessageListenerContainer<Object, Object>> changelogContainerCustomizer(
+            ChangelogRebalanceListener changelogRebalanceListener) {
+        return container -> container.getContainerProperties().setConsumerRebalanceListener(changelogRebalanceListener);
+    }
+
+    /**
+     * Defines the real KafkaProducerService bean.
+     * @param kafkaTemplate The KafkaTemplate configured from `spring.kafka.producer.*`.
+     * @param topic The topic bets are published to.
+     * @return An instance of KafkaTemplateProducerService.
+     */
+    @Bean
+    public KafkaProducerService kafkaProducerService(KafkaTemplate<String, Bet> kafkaTemplate,
+                                                     @Value("${kafka.topic.jackpot-bets}") String topic) {
+        return new KafkaTemplateProducerService(kafkaTemplate, topic);
+    }
+
+    /**
+     * Defines the listener container factory used by KafkaBatchBetListener.
+     * It inherits the `spring.kafka.listener.*` settings and switches to batch delivery,
+     * committing offsets once per poll after the listener returned.
+     * @param configurer Applies the Spring Boot listener settings.
+     * @param consumerFactory The consumer factory configured from `spring.kafka.consumer.*`.
+     * @return A batch-enabled listener container factory.
+     */
+    @Bean
+    @ConditionalOnProperty(name = "jackpot.kafka.listener.batch-enabled", havingValue = "true")
+    public ConcurrentKafkaListenerContainerFactory<Object, Object> batchKafkaListenerContainerFactory(
+            ConcurrentKafkaListenerContainerFactoryConfigurer configurer,
+            ConsumerFactory<Object, Object> consumerFactory) {
+        ConcurrentKafkaListenerContainerFactory<Object, Object> factory = new ConcurrentKafkaListenerContainerFactory<>();
+        configurer.configure(factory, consumerFactory);
+        factory.setBatchListener(true);
+        factory.getContainerProperties().setAckMode(ContainerProperties.AckMode.BATCH);
+        return factory;
+    }
+}
\ No newline at end of file
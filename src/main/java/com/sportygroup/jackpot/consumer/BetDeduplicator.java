@@ -0,0 +1,228 @@
+package com.sportygroup.jackpot.consumer;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.LongSupplier;
+
+/**
+ * Detects bets delivered more than once, so a redelivered record is dropped before it touches any repository.
+ * Memory is fixed at construction and does not grow with throughput:
+ *
+ * - A time-windowed Bloom filter remembers the betIds seen during the last `window`. It is split into
+ *   generations that each cover `window / generations`; when the current generation is over, the oldest
+ *   one is cleared and reused, so a betId is remembered for between `window * (generations - 1) / generations`
+ *   and `window`. A miss proves the bet is new, so most bets are accepted without further work.
+ * - A bounded exact set confirms the filter's hits. It is a direct-mapped array of recent betIds: every
+ *   bet overwrites the slot its hash points to. A hit whose betId is still in its slot is a duplicate.
+ *   A hit whose slot holds another betId is either a false positive or a bet that was pushed out of the
+ *   set, and is accepted, since dropping a real bet is worse than settling a rare stale duplicate.
+ *
+ * The state is local to this instance, so it catches redeliveries to the same consumer, e.g. a retried
+ * poll or a rebalance that hands a partition back.
+ * Bound to a MeterRegistry, the dropped duplicates and the accepted unconfirmed hits are exported as the
+ * `jackpot.dedup.duplicates` and `jackpot.dedup.unconfirmed.hits` counters.
+ */
+public class BetDeduplicator implements MeterBinder {
+
+    private static final Logger log = LoggerFactory.getLogger(BetDeduplicator.class);
+
+    private final AtomicLongArray[] generations;
+    private final long generationNanos;
+    private final int bitMask;
+    private final int hashFunctions;
+    private final AtomicReferenceArray<String> recentBetIds;
+    private final int slotMask;
+    private final LongSupplier nanoTime;
+    private final LongAdder duplicates = new LongAdder();
+    private final LongAdder unconfirmedHits = new LongAdder();
+
+    private volatile int currentGeneration;
+    private volatile long currentGenerationStart;
+
+    /**
+     * Creates a deduplicator.
+     * @param window How long a betId is remembered by the Bloom filter.
+     * @param generations The number of generations the window is split into, at least 2.
+     * @param bitsPerGeneration The size of each generation's bit set, rounded up to a power of two.
+     * @param hashFunctions The number of bits set per betId.
+     * @param exactSetCapacity The number of slots of the exact set, rounded up to a power of two.
+     */
+    public BetDeduplicator(Duration window, int generations, int bitsPerGeneration, int hashFunctions, int exactSetCapacity) {
+        this(window, generations, bitsPerGeneration, hashFunctions, exactSetCapacity, System::nanoTime);
+    }
+
+    BetDeduplicator(Duration window, int generations, int bitsPerGeneration, int hashFunctions, int exactSetCapacity,
+                    LongSupplier nanoTime) {
+        if (generations < 2 || bitsPerGeneration < 64 || hashFunctions < 1 || exactSetCapacity < 1 || window.isNegative() || window.isZero()) {
+            throw new IllegalArgumentException("BetDeduplicator requires a positive window, at least 2 generations, "
+                    + "64 bits per generation, 1 hash function and 1 exact slot.");
+        }
+        int bits = powerOfTwoAtLeast(bitsPerGeneration);
+        this.generations = new AtomicLongArray[generations];
+        for (int i = 0; i < generations; i++) {
+            this.generations[i] = new AtomicLongArray(bits / 64);
+        }
+        this.generationNanos = window.toNanos() / generations;
+        this.bitMask = bits - 1;
+        this.hashFunctions = hashFunctions;
+        int slots = powerOfTwoAtLeast(exactSetCapacity);
+        this.recentBetIds = new AtomicReferenceArray<>(slots);
+        this.slotMask = slots - 1;
+        this.nanoTime = nanoTime;
+        this.currentGenerationStart = nanoTime.getAsLong();
+    }
+
+    /**
+     * Records a delivery of a bet and tells whether it is the first one.
+     * @param betId The ID of the delivered bet.
+     * @return True if the bet should be processed, false if it is a duplicate.
+     */
+    public boolean markDelivered(String betId) {
+        rotateIfDue();
+        long hash = hash(betId);
+        int slot = (int) (hash >>> 32) & slotMask;
+
+        if (!mightContainAndAdd(hash)) {
+            recentBetIds.set(slot, betId);
+            return true;
+        }
+
+        String previous = recentBetIds.getAndSet(slot, betId);
+        if (betId.equals(previous)) {
+            duplicates.increment();
+            log.debug("Dropping duplicate delivery of bet {}", betId);
+            return false;
+        }
+        unconfirmedHits.increment();
+        return true;
+    }
+
+    /**
+     * Forgets the delivery of a bet whose processing failed, so a redelivery is processed again.
+     * The Bloom filter cannot forget, but its hit is no longer confirmed by the exact set.
+     * @param betId The ID of the bet.
+     */
+    public void forget(String betId) {
+        int slot = (int) (hash(betId) >>> 32) & slotMask;
+        recentBetIds.compareAndSet(slot, betId, null);
+    }
+
+    /**
+     * Returns the number of deliveries dropped as duplicates.
+     * @return The duplicate count.
+     */
+    public long getDuplicateCount() {
+        return duplicates.sum();
+    }
+
+    /**
+     * Returns the number of Bloom filter hits the exact set could not confirm, which were accepted.
+     * @return The unconfirmed hit count.
+     */
+    public long getUnconfirmedHitCount() {
+        return unconfirmedHits.sum();
+    }
+
+    /**
+     * Exports the duplicate and unconfirmed hit counts as Micrometer counters.
+     * @param registry The registry to bind the counters to.
+     */
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        FunctionCounter.builder("jackpot.dedup.duplicates", duplicates, LongAdder::sum)
+                .description("Deliveries dropped as duplicates confirmed by the exact set")
+                .register(registry);
+        FunctionCounter.builder("jackpot.dedup.unconfirmed.hits", unconfirmedHits, LongAdder::sum)
+                .description("Bloom filter hits the exact set could not confirm, accepted as new bets")
+                .register(registry);
+    }
+
+    private boolean mightContainAndAdd(long hash) {
+        int h1 = (int) hash;
+        int h2 = (int) (hash >>> 32) | 1;
+
+        boolean seen = false;
+        int current = currentGeneration;
+        for (int g = 0; g < generations.length && !seen; g++) {
+            if (g != current) {
+                seen = containsAll(generations[g], h1, h2);
+            }
+        }
+
+        boolean inCurrent = true;
+        AtomicLongArray words = generations[current];
+        for (int i = 0; i < hashFunctions; i++) {
+            int bit = (h1 + i * h2) & bitMask;
+            long mask = 1L << bit;
+            if ((words.get(bit >>> 6) & mask) == 0) {
+                inCurrent = false;
+                words.accumulateAndGet(bit >>> 6, mask, (word, m) -> word | m);
+            }
+        }
+        return seen || inCurrent;
+    }
+
+    private boolean containsAll(AtomicLongArray words, int h1, int h2) {
+        for (int i = 0; i < hashFunctions; i++) {
+            int bit = (h1 + i * h2) & bitMask;
+            if ((words.get(bit >>> 6) & (1L << bit)) == 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private void rotateIfDue() {
+        if (nanoTime.getAsLong() - currentGenerationStart < generationNanos) {
+            return;
+        }
+        synchronized (this) {
+            long now = nanoTime.getAsLong();
+            // A long idle period may have outlived several generations; clear each one that expired.
+            int rotations = 0;
+            while (now - currentGenerationStart >= generationNanos && rotations < generations.length) {
+                int next = (currentGeneration + 1) % generations.length;
+                AtomicLongArray words = generations[next];
+                for (int i = 0; i < words.length(); i++) {
+                    words.set(i, 0L);
+                }
+                currentGeneration = next;
+                currentGenerationStart += generationNanos;
+                rotations++;
+            }
+            if (now - currentGenerationStart >= generationNanos) {
+                currentGenerationStart = now;
+            }
+        }
+    }
+
+    /**
+     * 64-bit FNV-1a over the UTF-16 code units, finished with the MurmurHash3 mixer.
+     */
+    private static long hash(String betId) {
+        long hash = 0xcbf29ce484222325L;
+        for (int i = 0; i < betId.length(); i++) {
+            hash ^= betId.charAt(i);
+            hash *= 0x100000001b3L;
+        }
+        hash ^= hash >>> 33;
+        hash *= 0xff51afd7ed558ccdL;
+        hash ^= hash >>> 33;
+        hash *= 0xc4ceb9fe1a85ec53L;
+        hash ^= hash >>> 33;
+        return hash;
+    }
+
+    private static int powerOfTwoAtLeast(int value) {
+        int power = Integer.highestOneBit(value);
+        return power == value ? value : power << 1;
+    }
+}
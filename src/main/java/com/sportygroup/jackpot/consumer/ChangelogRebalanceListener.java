@@ -0,0 +1,130 @@
+package com.sportygroup.jackpot.consumer;
+
+import com.sportygroup.jackpot.repository.changelog.ChangelogJackpotRepository;
+import com.sportygroup.jackpot.repository.changelog.JackpotChangelog;
+import com.sportygroup.jackpot.service.settlement.SettlementEngine;
+import org.apache.kafka.clients.consumer.Consumer;
+import org.apache.kafka.common.TopicPartition;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.kafka.listener.ConsumerAwareRebalanceListener;
+
+import java.math.BigDecimal;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Rebuilds the state of the jackpots owned by this instance whenever bets partitions are assigned to it.
+ * The listener container calls `onPartitionsAssigned` on the consumer thread before it fetches any record
+ * of the new partitions, so the restored pools are in place before the first bet is settled. A partition
+ * is always restored on assignment, even if this instance owned it before, because another instance may
+ * have changed its jackpots in between.
+ *
+ * Each container of a concurrent listener registers its own assignments here, so the owned partitions are
+ * tracked for the whole instance, by the JackpotChangelog. A partition counts as owned only once its restore
+ * succeeded, and stops counting when it is revoked or lost: changes to its jackpots are then rejected, and the
+ * settlement shards drop what they kept about them.
+ */
+public class ChangelogRebalanceListener implements ConsumerAwareRebalanceListener {
+
+    private static final Logger log = LoggerFactory.getLogger(ChangelogRebalanceListener.class);
+
+    private final JackpotChangelog jackpotChangelog;
+    private final ChangelogJackpotRepository jackpotRepository;
+    private final String betsTopic;
+    private final SettlementEngine settlementEngine;
+
+    /**
+     * Creates the listener.
+     * @param jackpotChangelog The changelog the state is restored from.
+     * @param jackpotRepository The repository the restored pools are applied to.
+     * @param betsTopic The bets topic whose assignments trigger a restore.
+     */
+    public ChangelogRebalanceListener(JackpotChangelog jackpotChangelog, ChangelogJackpotRepository jackpotRepository, String betsTopic) {
+        this(jackpotChangelog, jackpotRepository, betsTopic, null);
+    }
+
+    /**
+     * Creates the listener for sharded settlement.
+     * @param jackpotChangelog The changelog the state is restored from.
+     * @param jackpotRepository The repository the restored pools are applied to.
+     * @param betsTopic The bets topic whose assignments trigger a restore.
+     * @param settlementEngine The settlement engine whose shards forget the restored jackpots, or null if disabled.
+     */
+    public ChangelogRebalanceListener(JackpotChangelog jackpotChangelog, ChangelogJackpotRepository jackpotRepository, String betsTopic,
+                                      SettlementEngine settlementEngine) {
+        this.jackpotChangelog = jackpotChangelog;
+        this.jackpotRepository = jackpotRepository;
+        this.betsTopic = betsTopic;
+        this.settlementEngine = settlementEngine;
+    }
+
+    /**
+     * Restores the jackpots of the assigned bets partitions from the matching changelog partitions.
+     * The settlement shards, if enabled, then drop what they kept about the restored jackpots.
+     * @param consumer The consumer the partitions were assigned to.
+     * @param partitions The assigned partitions.
+     */
+    @Override
+    public void onPartitionsAssigned(Consumer<?, ?> consumer, Collection<TopicPartition> partitions) {
+        List<Integer> assigned = partitionsOfBetsTopic(partitions);
+        if (assigned.isEmpty()) {
+            return;
+        }
+        Map<String, BigDecimal> pools = jackpotChangelog.restore(assigned);
+        jackpotRepository.restore(pools).block();
+        if (settlementEngine != null) {
+            settlementEngine.invalidate(pools.keySet());
+        }
+        jackpotChangelog.assign(assigned);
+        log.info("Now owning bets partitions {}", jackpotChangelog.getOwnedPartitions());
+    }
+
+    /**
+     * Gives up ownership of revoked partitions once their offsets are committed.
+     * @param consumer The consumer the partitions were revoked from.
+     * @param partitions The revoked partitions.
+     */
+    @Override
+    public void onPartitionsRevokedAfterCommit(Consumer<?, ?> consumer, Collection<TopicPartition> partitions) {
+        release(partitionsOfBetsTopic(partitions));
+    }
+
+    /**
+     * Gives up ownership of partitions lost without a clean revocation.
+     * @param consumer The consumer the partitions were lost by.
+     * @param partitions The lost partitions.
+     */
+    @Override
+    public void onPartitionsLost(Consumer<?, ?> consumer, Collection<TopicPartition> partitions) {
+        release(partitionsOfBetsTopic(partitions));
+    }
+
+    /**
+     * Returns the bets partitions currently owned by this instance.
+     * @return The owned partition numbers.
+     */
+    public Set<Integer> getOwnedPartitions() {
+        return jackpotChangelog.getOwnedPartitions();
+    }
+
+    private void release(List<Integer> partitions) {
+        if (partitions.isEmpty()) {
+            return;
+        }
+        List<String> released = jackpotRepository.revoke(partitions).block();
+        if (settlementEngine != null) {
+            settlementEngine.invalidate(released);
+        }
+        log.info("Gave up bets partitions {} with jackpots {}", partitions, released);
+    }
+
+    private List<Integer> partitionsOfBetsTopic(Collection<TopicPartition> partitions) {
+        return partitions.stream()
+                .filter(tp -> tp.topic().equals(betsTopic))
+                .map(TopicPartition::partition)
+                .toList();
+    }
+}
@@ -0,0 +1,43 @@
+package com.sportygroup.jackpot.consumer;
+
+import com.sportygroup.jackpot.model.Bet;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Profile;
+import org.springframework.kafka.annotation.KafkaListener;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * Batch Kafka listener for the "jackpot-bets" topic, active with the `kafka` profile and
+ * `jackpot.kafka.listener.batch-enabled=true`. It replaces KafkaBetListener.
+ * Each poll (up to `spring.kafka.consumer.max-poll-records` bets) is settled through
+ * KafkaConsumerService#consumeBets, which aggregates contributions per jackpot. The container runs
+ * with AckMode.BATCH and the listener waits for the batch to be applied, so offsets are committed
+ * only once the batch's state is in place.
+ */
+@Component
+@Profile("kafka")
+@ConditionalOnProperty(name = "jackpot.kafka.listener.batch-enabled", havingValue = "true")
+public class KafkaBatchBetListener {
+
+    private final KafkaConsumerService kafkaConsumerService;
+
+    /**
+     * Constructor for dependency injection.
+     * @param kafkaConsumerService The service settling consumed bets.
+     */
+    public KafkaBatchBetListener(KafkaConsumerService kafkaConsumerService) {
+        this.kafkaConsumerService = kafkaConsumerService;
+    }
+
+    /**
+     * Consumes one poll of bet records.
+     * @param bets The bets deserialized from the record values, in partition order.
+     */
+    @KafkaListener(topics = "${kafka.topic.jackpot-bets}", groupId = "${spring.kafka.consumer.group-id}",
+            containerFactory = "batchKafkaListenerContainerFactory")
+    public void onBets(List<Bet> bets) {
+        kafkaConsumerService.consumeBets(bets).block();
+    }
+}
@@ -0,0 +1,39 @@
+package com.sportygroup.jackpot.consumer;
+
+import com.sportygroup.jackpot.model.Bet;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Profile;
+import org.springframework.kafka.annotation.KafkaListener;
+import org.springframework.stereotype.Component;
+
+/**
+ * Kafka listener for the "jackpot-bets" topic, active with the `kafka` profile.
+ * It hands every record to KafkaConsumerService and waits for the settlement to finish on the
+ * listener container thread, so offsets are only committed for bets that were fully processed
+ * and bets of a partition are settled in order.
+ * Replaced by KafkaBatchBetListener when `jackpot.kafka.listener.batch-enabled=true`.
+ */
+@Component
+@Profile("kafka")
+@ConditionalOnProperty(name = "jackpot.kafka.listener.batch-enabled", havingValue = "false", matchIfMissing = true)
+public class KafkaBetListener {
+
+    private final KafkaConsumerService kafkaConsumerService;
+
+    /**
+     * Constructor for dependency injection.
+     * @param kafkaConsumerService The service settling consumed bets.
+     */
+    public KafkaBetListener(KafkaConsumerService kafkaConsumerService) {
+        this.kafkaConsumerService = kafkaConsumerService;
+    }
+
+    /**
+     * Consumes a single bet record.
+     * @param bet The bet deserialized from the record value.
+     */
+    @KafkaListener(topics = "${kafka.topic.jackpot-bets}", groupId = "${spring.kafka.consumer.group-id}")
+    public void onBet(Bet bet) {
+        kafkaConsumerService.consumeBet(bet).block();
+    }
+}
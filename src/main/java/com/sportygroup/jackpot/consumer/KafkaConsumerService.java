@@ -1,54 +1,218 @@
 package com.sportygroup.jackpot.consumer;
 
 import com.sportygroup.jackpot.model.Bet;
+import com.sportygroup.jackpot.model.BetOutcome;
 import com.sportygroup.jackpot.model.JackpotReward;
+import com.sportygroup.jackpot.repository.BetOutcomeRepository;
 import com.sportygroup.jackpot.service.JackpotService;
+import com.sportygroup.jackpot.service.SettlementCommittedException;
+import com.sportygroup.jackpot.service.settlement.SettlementEngine;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.lang.Nullable;
 import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
+import reactor.util.concurrent.Queues;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicInteger;
 
 /**
  * Service responsible for simulating a Kafka Consumer that processes bets.
  * This class encapsulates the logic for jackpot contribution and reward evaluation,
  * acting as the listener for the "jackpot-bets" topic in this mocked setup.
+ * When a SettlementEngine is configured, bets are handed to the shard owning their jackpot instead.
+ * When a BetDeduplicator is configured, redelivered bets are dropped before any repository is touched.
+ * When a BetOutcomeRepository is configured, the outcome of every settled bet is stored in it, so clients
+ * asking whether their bet won are served the settled outcome instead of triggering a new evaluation.
  */
 @Service
 public class KafkaConsumerService {
 
+    private static final Logger log = LoggerFactory.getLogger(KafkaConsumerService.class);
+
     private final JackpotService jackpotService;
+    private final SettlementEngine settlementEngine;
+    private final BetDeduplicator betDeduplicator;
+    private final BetOutcomeRepository betOutcomeRepository;
 
     /**
-     * Constructor for dependency injection.
+     * Constructor for dependency injection. The optional collaborators are null when their beans are disabled.
      * @param jackpotService The jackpot service.
+     * @param settlementEngine The settlement engine, or null to settle on the calling thread.
+     * @param betDeduplicator The deduplicator dropping redelivered bets, or null to process every delivery.
+     * @param betOutcomeRepository The index receiving the outcome of every settled bet, or null to keep no outcomes.
      */
     @Autowired
-    public KafkaConsumerService(JackpotService jackpotService) {
+    public KafkaConsumerService(JackpotService jackpotService, @Nullable SettlementEngine settlementEngine,
+                                @Nullable BetDeduplicator betDeduplicator, @Nullable BetOutcomeRepository betOutcomeRepository) {
         this.jackpotService = jackpotService;
+        this.settlementEngine = settlementEngine;
+        this.betDeduplicator = betDeduplicator;
+        this.betOutcomeRepository = betOutcomeRepository;
+    }
+
+    /**
+     * Constructor for tests and benchmarks settling every delivery through the JackpotService, keeping no outcomes.
+     * @param jackpotService The jackpot service.
+     */
+    public KafkaConsumerService(JackpotService jackpotService) {
+        this(jackpotService, null, null, null);
     }
 
     /**
      * Simulates consuming a bet message from Kafka.
-     * This method orchestrates the contribution of the bet to the jackpot
-     * and the evaluation of the bet for a jackpot reward.
+     * This method settles the bet in one pool transition: its contribution to the jackpot
+     * and its evaluation for a jackpot reward.
+     * A redelivered bet completes immediately; a bet whose pool change did not commit is forgotten by the
+     * deduplicator, so its redelivery is processed again. A bet failing with a SettlementCommittedException
+     * stays remembered, since its redelivery would contribute twice. The outcome is indexed once the bet is settled.
      *
      * @param bet The bet consumed from the "Kafka topic".
      * @return A Mono that completes when the bet processing is done.
      */
     public Mono<Void> consumeBet(Bet bet) {
-        System.out.println("KafkaConsumerService: Consuming bet " + bet.getBetId() + " for processing.");
+        log.debug("Consuming bet {} for processing.", bet.getBetId());
+
+        if (betDeduplicator != null && !betDeduplicator.markDelivered(bet.getBetId())) {
+            return Mono.empty();
+        }
 
-        return jackpotService.contributeToJackpot(bet)
-                .doOnSuccess(v -> System.out.println("KafkaConsumerService: Bet " + bet.getBetId() + " contributed to jackpot."))
-                .then(Mono.defer(() -> jackpotService.evaluateReward(bet)))
-                .doOnSuccess(optionalReward -> {
+        if (settlementEngine != null) {
+            return settlementEngine.settle(bet)
+                    .doOnSuccess(optionalReward -> log.debug("Bet {} settled on shard. Won: {}", bet.getBetId(), optionalReward.isPresent()))
+                    .doOnError(e -> forgetUncommitted(bet, e))
+                    .flatMap(optionalReward -> recordOutcome(bet, optionalReward));
+        }
+
+        return jackpotService.settle(bet)
+                .doOnSuccess(settlement -> {
+                    Optional<JackpotReward> optionalReward = settlement.getReward();
                     if (optionalReward.isPresent()) {
-                        JackpotReward reward = optionalReward.get();
-                        System.out.println("KafkaConsumerService: Bet " + bet.getBetId() + " won jackpot reward: " + reward.getJackpotRewardAmount());
+                        log.debug("Bet {} won jackpot reward: {}", bet.getBetId(), optionalReward.get().getJackpotRewardAmount());
                     } else {
-                        System.out.println("KafkaConsumerService: Bet " + bet.getBetId() + " did not win a jackpot reward.");
+                        log.debug("Bet {} did not win a jackpot reward.", bet.getBetId());
                     }
                 })
-                .doOnError(e -> System.err.println("KafkaConsumerService: Error processing bet " + bet.getBetId() + ": " + e.getMessage()))
+                .doOnError(e -> forgetUncommitted(bet, e))
+                .flatMap(settlement -> recordOutcome(bet, settlement.getReward()));
+    }
+
+    /**
+     * Consumes a batch of bet messages polled from Kafka.
+     * Bets are grouped by jackpot, keeping their consumption order inside each group. Every group is settled
+     * in order through `JackpotService.settle(String, List)`, which pays one aggregated pool update and one bulk
+     * save of contribution records per win-free run of bets. Groups are independent and processed concurrently.
+     * A failing group (e.g. an unknown jackpot) does not stop the others: every group runs to its end, then the
+     * batch fails, so the listener does not commit the offsets and the container redelivers the batch. The bets
+     * whose pool change did not commit are forgotten by the deduplicator and settled on redelivery, while the
+     * committed ones are dropped as redeliveries.
+     * Redelivered bets, including repeats inside the batch, are dropped before grouping.
+     *
+     * @param polledBets The bets of one poll, in partition order.
+     * @return A Mono that completes when the state of every group has been applied, or fails once every group
+     *         has run if any of them failed.
+     */
+    public Mono<Void> consumeBets(List<Bet> polledBets) {
+        log.debug("Consuming batch of {} bets for processing.", polledBets.size());
+
+        List<Bet> bets = polledBets;
+        if (betDeduplicator != null) {
+            bets = new ArrayList<>(polledBets.size());
+            for (Bet bet : polledBets) {
+                if (betDeduplicator.markDelivered(bet.getBetId())) {
+                    bets.add(bet);
+                }
+            }
+        }
+
+        if (settlementEngine != null) {
+            return Flux.fromIterable(bets)
+                    .flatMapSequentialDelayError(bet -> settlementEngine.settle(bet)
+                            .doOnError(e -> forgetUncommitted(bet, e))
+                            .flatMap(optionalReward -> recordOutcome(bet, optionalReward)), Queues.SMALL_BUFFER_SIZE, Queues.XS_BUFFER_SIZE)
+                    .then();
+        }
+
+        Map<String, List<Bet>> betsByJackpot = new LinkedHashMap<>();
+        for (Bet bet : bets) {
+            betsByJackpot.computeIfAbsent(bet.getJackpotId(), jackpotId -> new ArrayList<>()).add(bet);
+        }
+
+        return Flux.fromIterable(betsByJackpot.entrySet())
+                .flatMapDelayError(group -> settleGroup(group.getKey(), group.getValue()), Queues.SMALL_BUFFER_SIZE, Queues.XS_BUFFER_SIZE)
                 .then();
     }
+
+    /**
+     * Settles the bets of one jackpot in order and stores their outcomes. On error, only the bets whose pool
+     * change did not commit are forgotten by the deduplicator: the ones with a result, and those a
+     * SettlementCommittedException counts, are part of the pool and must not be settled again.
+     */
+    private Mono<Void> settleGroup(String jackpotId, List<Bet> bets) {
+        AtomicInteger settled = new AtomicInteger();
+        AtomicInteger wins = new AtomicInteger();
+        return jackpotService.settle(jackpotId, bets)
+                .concatMap(optionalReward -> {
+                    Bet bet = bets.get(settled.getAndIncrement());
+                    if (optionalReward.isPresent()) {
+                        wins.incrementAndGet();
+                    }
+                    return recordOutcome(bet, optionalReward);
+                })
+                .then()
+                .doOnSuccess(ignored -> log.debug("{} bets settled for jackpot {}, wins: {}", bets.size(), jackpotId, wins.get()))
+                .doOnError(e -> {
+                    int committed = settled.get();
+                    if (e instanceof SettlementCommittedException) {
+                        committed = Math.max(committed, ((SettlementCommittedException) e).getCommittedBets());
+                    }
+                    List<Bet> uncommitted = bets.subList(committed, bets.size());
+                    uncommitted.forEach(this::forget);
+                    log.warn("Error processing bets for jackpot {}, {} of them not committed: {}", jackpotId, uncommitted.size(), e.getMessage());
+                });
+    }
+
+    /**
+     * Stores the outcome of a settled bet. Runs after the error handling of the settlement, so a bet
+     * whose outcome could not be stored is not forgotten and settled again.
+     */
+    private Mono<Void> recordOutcome(Bet bet, Optional<JackpotReward> optionalReward) {
+        if (betOutcomeRepository == null) {
+            return Mono.empty();
+        }
+        return betOutcomeRepository.save(new BetOutcome(
+                bet.getBetId(),
+                bet.getUserId(),
+                bet.getJackpotId(),
+                optionalReward.isPresent(),
+                optionalReward.map(JackpotReward::getJackpotRewardAmount).orElse(null),
+                LocalDateTime.now()
+        )).then();
+    }
+
+    /**
+     * Forgets a failed bet unless its pool change was committed.
+     */
+    private void forgetUncommitted(Bet bet, Throwable error) {
+        if (error instanceof SettlementCommittedException) {
+            log.warn("Bet {} was settled but its records were not saved: {}", bet.getBetId(), error.getMessage());
+            return;
+        }
+        forget(bet);
+        log.warn("Error processing bet {}: {}", bet.getBetId(), error.getMessage());
+    }
+
+    private void forget(Bet bet) {
+        if (betDeduplicator != null) {
+            betDeduplicator.forget(bet.getBetId());
+        }
+    }
 }
\ No newline at end of file
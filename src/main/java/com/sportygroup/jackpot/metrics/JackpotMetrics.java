@@ -0,0 +1,350 @@
+package com.sportygroup.jackpot.metrics;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.composite.CompositeMeterRegistry;
+import org.reactivestreams.Subscription;
+import reactor.core.CoreSubscriber;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.MonoOperator;
+import reactor.util.context.Context;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicIntegerFieldUpdater;
+
+/**
+ * Micrometer instrumentation of the bet, contribution and reward pipeline, and of bet admission.
+ *
+ * Every meter is registered once and kept in a field or in the per-jackpot map, so recording an event
+ * is a map lookup plus a counter or timer update, without building tags or meter IDs on the hot path.
+ * Per-jackpot meters are tagged with the jackpot ID for the first `maxTaggedJackpots` jackpots seen;
+ * any further jackpot is recorded under the shared tag `jackpot=other`, which keeps the number of
+ * time series bounded no matter how many jackpots exist. Pool gauges are only kept for tagged jackpots.
+ * Timed operations are wrapped in a single operator whose subscriber reads `System.nanoTime()` on subscription
+ * and records into the fixed timer once, so timing a bet allocates one operator and one subscriber.
+ */
+public class JackpotMetrics {
+
+    /**
+     * Tag value shared by all jackpots beyond the tagged limit.
+     */
+    public static final String OTHER_JACKPOTS = "other";
+
+    private static final Duration MIN_EXPECTED_LATENCY = Duration.ofNanos(10_000);
+    private static final Duration MAX_EXPECTED_LATENCY = Duration.ofSeconds(10);
+
+    private final MeterRegistry meterRegistry;
+    private final int maxTaggedJackpots;
+
+    private final Timer betPublishTimer;
+    private final Timer settlementTimer;
+    private final Counter poolUpdateRetries;
+    private final Counter poolUpdateFailures;
+    private final Counter poolAddRetries;
+    private final Counter poolTransitionRetries;
+
+    private final ConcurrentHashMap<String, JackpotMeters> jackpotMeters = new ConcurrentHashMap<>();
+    private final JackpotMeters otherJackpotMeters;
+
+    /**
+     * Creates the metrics and registers the fixed meters.
+     * @param meterRegistry The registry the meters are registered with.
+     * @param maxTaggedJackpots The maximum number of jackpots with their own per-jackpot meters.
+     */
+    public JackpotMetrics(MeterRegistry meterRegistry, int maxTaggedJackpots) {
+        this.meterRegistry = meterRegistry;
+        this.maxTaggedJackpots = maxTaggedJackpots;
+        this.betPublishTimer = latencyTimer("jackpot.bet.publish", "Time to save and publish a bet");
+        this.settlementTimer = latencyTimer("jackpot.settlement", "Time to contribute and evaluate a bet in one pool transition");
+        this.poolUpdateRetries = Counter.builder("jackpot.pool.cas.retries")
+                .description("Compare-and-set attempts on a jackpot pool that lost a race and were retried")
+                .tag("operation", "update")
+                .register(meterRegistry);
+        this.poolAddRetries = Counter.builder("jackpot.pool.cas.retries")
+                .description("Compare-and-set attempts on a jackpot pool that lost a race and were retried")
+                .tag("operation", "addToPool")
+                .register(meterRegistry);
+        this.poolTransitionRetries = Counter.builder("jackpot.pool.cas.retries")
+                .description("Compare-and-set attempts on a jackpot pool that lost a race and were retried")
+                .tag("operation", "transitionPool")
+                .register(meterRegistry);
+        this.poolUpdateFailures = Counter.builder("jackpot.pool.cas.failures")
+                .description("Jackpot pool updates that gave up after exhausting their retries")
+                .tag("operation", "update")
+                .register(meterRegistry);
+        this.otherJackpotMeters = new JackpotMeters(meterRegistry, OTHER_JACKPOTS);
+    }
+
+    /**
+     * Creates metrics backed by an empty composite registry, whose meters record nothing.
+     * Used by components constructed without a MeterRegistry, e.g. in tests and benchmarks.
+     * @return Metrics that discard every event.
+     */
+    public static JackpotMetrics disabled() {
+        return new JackpotMetrics(new CompositeMeterRegistry(), 0);
+    }
+
+    /**
+     * Times the publication of a bet, from subscription until the returned Mono terminates or is cancelled.
+     * @param publication The Mono saving and publishing the bet.
+     * @return The timed Mono.
+     */
+    public <T> Mono<T> timeBetPublish(Mono<T> publication) {
+        return timed(publication, betPublishTimer);
+    }
+
+    /**
+     * Times the settlement of a bet, fused by JackpotService or on a SettlementEngine shard.
+     * @param settlement The Mono settling the bet.
+     * @return The timed Mono.
+     */
+    public <T> Mono<T> timeSettlement(Mono<T> settlement) {
+        return timed(settlement, settlementTimer);
+    }
+
+    /**
+     * Records contributed bets and the pool they left behind.
+     * @param jackpotId The ID of the jackpot contributed to.
+     * @param bets The number of bets contributed.
+     * @param amount The total amount contributed.
+     * @param poolAfterContribution The pool right after the contribution.
+     */
+    public void recordContribution(String jackpotId, int bets, BigDecimal amount, BigDecimal poolAfterContribution) {
+        JackpotMeters meters = metersOf(jackpotId);
+        meters.contributions.increment(bets);
+        meters.contributionAmount.increment(amount.doubleValue());
+        meters.pool = poolAfterContribution.doubleValue();
+    }
+
+    /**
+     * Records a won jackpot and the pool it was reset to.
+     * @param jackpotId The ID of the won jackpot.
+     * @param rewardAmount The amount paid out.
+     * @param poolAfterReset The pool right after the reset.
+     */
+    public void recordWin(String jackpotId, BigDecimal rewardAmount, BigDecimal poolAfterReset) {
+        JackpotMeters meters = metersOf(jackpotId);
+        meters.wins.increment();
+        meters.rewardAmount.increment(rewardAmount.doubleValue());
+        meters.pool = poolAfterReset.doubleValue();
+    }
+
+    /**
+     * Records an admission decision of the AdmissionLimiter and the limit it was taken against.
+     * @param jackpotId The ID of the jackpot the bet was placed on, or null for bets on unknown jackpots.
+     * @param admitted Whether the bet was admitted.
+     * @param limit The jackpot's concurrency limit.
+     * @param inFlight The number of the jackpot's bets in flight after the decision.
+     */
+    public void recordAdmission(String jackpotId, boolean admitted, int limit, int inFlight) {
+        JackpotMeters meters = jackpotId == null ? otherJackpotMeters : metersOf(jackpotId);
+        (admitted ? meters.admitted : meters.rejected).increment();
+        meters.admissionLimit = limit;
+        meters.admissionInFlight = inFlight;
+    }
+
+    /**
+     * Records a lost compare-and-set race of `JackpotRepository.update` that is retried.
+     */
+    public void recordPoolUpdateRetry() {
+        poolUpdateRetries.increment();
+    }
+
+    /**
+     * Records a `JackpotRepository.update` that failed after exhausting its retries.
+     */
+    public void recordPoolUpdateFailure() {
+        poolUpdateFailures.increment();
+    }
+
+    /**
+     * Records a lost compare-and-set race of `JackpotRepository.addToPool` that is retried.
+     */
+    public void recordPoolAddRetry() {
+        poolAddRetries.increment();
+    }
+
+    /**
+     * Records a lost compare-and-set race of `JackpotRepository.transitionPool` that is retried.
+     */
+    public void recordPoolTransitionRetry() {
+        poolTransitionRetries.increment();
+    }
+
+    private JackpotMeters metersOf(String jackpotId) {
+        JackpotMeters meters = jackpotMeters.get(jackpotId);
+        if (meters != null) {
+            return meters;
+        }
+        if (jackpotMeters.size() >= maxTaggedJackpots) {
+            return otherJackpotMeters;
+        }
+        synchronized (jackpotMeters) {
+            meters = jackpotMeters.get(jackpotId);
+            if (meters == null) {
+                if (jackpotMeters.size() >= maxTaggedJackpots) {
+                    return otherJackpotMeters;
+                }
+                meters = new JackpotMeters(meterRegistry, jackpotId);
+                Gauge.builder("jackpot.pool.size", meters, m -> m.pool)
+                        .description("Current pool of a jackpot, as of its last contribution or win")
+                        .tag("jackpot", jackpotId)
+                        .register(meterRegistry);
+                Gauge.builder("jackpot.admission.limit", meters, m -> m.admissionLimit)
+                        .description("Concurrency limit of a jackpot's bets, as of its last admission decision")
+                        .tag("jackpot", jackpotId)
+                        .register(meterRegistry);
+                Gauge.builder("jackpot.admission.in.flight", meters, m -> m.admissionInFlight)
+                        .description("Admitted bets of a jackpot not yet published, as of its last admission decision")
+                        .tag("jackpot", jackpotId)
+                        .register(meterRegistry);
+                jackpotMeters.put(jackpotId, meters);
+            }
+            return meters;
+        }
+    }
+
+    private Timer latencyTimer(String name, String description) {
+        return Timer.builder(name)
+                .description(description)
+                .publishPercentileHistogram()
+                .minimumExpectedValue(MIN_EXPECTED_LATENCY)
+                .maximumExpectedValue(MAX_EXPECTED_LATENCY)
+                .register(meterRegistry);
+    }
+
+    private static <T> Mono<T> timed(Mono<T> operation, Timer timer) {
+        return new TimedMono<>(operation, timer);
+    }
+
+    /**
+     * Times each subscription to its source, from subscription until it terminates or is cancelled.
+     */
+    private static final class TimedMono<T> extends MonoOperator<T, T> {
+        private final Timer timer;
+
+        private TimedMono(Mono<T> source, Timer timer) {
+            super(source);
+            this.timer = timer;
+        }
+
+        @Override
+        public void subscribe(CoreSubscriber<? super T> actual) {
+            source.subscribe(new TimedSubscriber<>(actual, timer, System.nanoTime()));
+        }
+    }
+
+    /**
+     * Passes all signals through and records the elapsed time on the first terminal signal or cancellation.
+     */
+    private static final class TimedSubscriber<T> implements CoreSubscriber<T>, Subscription {
+        private static final AtomicIntegerFieldUpdater<TimedSubscriber> RECORDED =
+                AtomicIntegerFieldUpdater.newUpdater(TimedSubscriber.class, "recorded");
+
+        private final CoreSubscriber<? super T> actual;
+        private final Timer timer;
+        private final long startedAt;
+        private Subscription subscription;
+        private volatile int recorded;
+
+        private TimedSubscriber(CoreSubscriber<? super T> actual, Timer timer, long startedAt) {
+            this.actual = actual;
+            this.timer = timer;
+            this.startedAt = startedAt;
+        }
+
+        @Override
+        public Context currentContext() {
+            return actual.currentContext();
+        }
+
+        @Override
+        public void onSubscribe(Subscription subscription) {
+            this.subscription = subscription;
+            actual.onSubscribe(this);
+        }
+
+        @Override
+        public void onNext(T value) {
+            actual.onNext(value);
+        }
+
+        @Override
+        public void onError(Throwable error) {
+            record();
+            actual.onError(error);
+        }
+
+        @Override
+        public void onComplete() {
+            record();
+            actual.onComplete();
+        }
+
+        @Override
+        public void request(long n) {
+            subscription.request(n);
+        }
+
+        @Override
+        public void cancel() {
+            record();
+            subscription.cancel();
+        }
+
+        private void record() {
+            if (recorded == 0 && RECORDED.compareAndSet(this, 0, 1)) {
+                timer.record(System.nanoTime() - startedAt, TimeUnit.NANOSECONDS);
+            }
+        }
+    }
+
+    /**
+     * Meters of one jackpot tag.
+     */
+    private static final class JackpotMeters {
+        private final Counter contributions;
+        private final Counter contributionAmount;
+        private final Counter wins;
+        private final Counter rewardAmount;
+        private final Counter admitted;
+        private final Counter rejected;
+        private volatile double pool = Double.NaN;
+        private volatile double admissionLimit = Double.NaN;
+        private volatile double admissionInFlight = Double.NaN;
+
+        private JackpotMeters(MeterRegistry meterRegistry, String jackpotTag) {
+            this.contributions = Counter.builder("jackpot.contributions")
+                    .description("Bets contributed to a jackpot")
+                    .tag("jackpot", jackpotTag)
+                    .register(meterRegistry);
+            this.contributionAmount = Counter.builder("jackpot.contributions.amount")
+                    .description("Total amount contributed to a jackpot")
+                    .tag("jackpot", jackpotTag)
+                    .register(meterRegistry);
+            this.wins = Counter.builder("jackpot.wins")
+                    .description("Bets that won a jackpot")
+                    .tag("jackpot", jackpotTag)
+                    .register(meterRegistry);
+            this.rewardAmount = Counter.builder("jackpot.rewards.amount")
+                    .description("Total amount paid out by a jackpot")
+                    .tag("jackpot", jackpotTag)
+                    .register(meterRegistry);
+            this.admitted = Counter.builder("jackpot.admission.decisions")
+                    .description("Bets admitted or rejected by the admission limiter")
+                    .tag("jackpot", jackpotTag)
+                    .tag("decision", "admitted")
+                    .register(meterRegistry);
+            this.rejected = Counter.builder("jackpot.admission.decisions")
+                    .description("Bets admitted or rejected by the admission limiter")
+                    .tag("jackpot", jackpotTag)
+                    .tag("decision", "rejected")
+                    .register(meterRegistry);
+        }
+    }
+}
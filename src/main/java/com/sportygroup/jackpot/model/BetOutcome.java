@@ -0,0 +1,50 @@
+package com.sportygroup.jackpot.model;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * The settled outcome of a bet, win or loss, as served to clients asking whether their bet won.
+ */
+public class BetOutcome {
+
+    private final String betId;
+    private final String userId;
+    private final String jackpotId;
+    private final boolean won;
+    private final BigDecimal rewardAmount;
+    private final LocalDateTime settledAt;
+
+    public BetOutcome(String betId, String userId, String jackpotId, boolean won, BigDecimal rewardAmount, LocalDateTime settledAt) {
+        this.betId = betId;
+        this.userId = userId;
+        this.jackpotId = jackpotId;
+        this.won = won;
+        this.rewardAmount = rewardAmount;
+        this.settledAt = settledAt;
+    }
+
+    public String getBetId() {
+        return betId;
+    }
+
+    public String getUserId() {
+        return userId;
+    }
+
+    public String getJackpotId() {
+        return jackpotId;
+    }
+
+    public boolean isWon() {
+        return won;
+    }
+
+    public BigDecimal getRewardAmount() {
+        return rewardAmount;
+    }
+
+    public LocalDateTime getSettledAt() {
+        return settledAt;
+    }
+}
@@ -0,0 +1,36 @@
+package com.sportygroup.jackpot.model;
+
+/**
+ * Result of publishing one bet as part of a bulk publication.
+ * A result without an error message means the bet was saved and published.
+ */
+public class BetPublishResult {
+
+    private final Bet bet;
+    private final String errorMessage;
+
+    private BetPublishResult(Bet bet, String errorMessage) {
+        this.bet = bet;
+        this.errorMessage = errorMessage;
+    }
+
+    public static BetPublishResult published(Bet bet) {
+        return new BetPublishResult(bet, null);
+    }
+
+    public static BetPublishResult failed(Bet bet, String errorMessage) {
+        return new BetPublishResult(bet, errorMessage);
+    }
+
+    public Bet getBet() {
+        return bet;
+    }
+
+    public String getErrorMessage() {
+        return errorMessage;
+    }
+
+    public boolean isPublished() {
+        return errorMessage == null;
+    }
+}
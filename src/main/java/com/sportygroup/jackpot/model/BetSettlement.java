@@ -0,0 +1,30 @@
+package com.sportygroup.jackpot.model;
+
+import java.util.Optional;
+
+/**
+ * The outcome of settling a bet in one pool transition: the contribution it made and,
+ * if it won, the reward it was paid.
+ */
+public class BetSettlement {
+
+    private final JackpotContribution contribution;
+    private final JackpotReward reward;
+
+    public BetSettlement(JackpotContribution contribution, JackpotReward reward) {
+        this.contribution = contribution;
+        this.reward = reward;
+    }
+
+    public JackpotContribution getContribution() {
+        return contribution;
+    }
+
+    public Optional<JackpotReward> getReward() {
+        return Optional.ofNullable(reward);
+    }
+
+    public boolean isWon() {
+        return reward != null;
+    }
+}
@@ -7,6 +7,14 @@ import java.time.LocalDateTime;
  * Represents a Jackpot in the system.
  * A jackpot has an ID, a current pool amount, an initial pool value (for reset),
  * and a configuration that dictates how contributions and rewards are handled.
+ *
+ * Jackpots configured with a STRIPED pool counter do not carry a materialized pool amount.
+ * They reference the shared StripedPoolCounter instead, and the pool is summed lazily the first
+ * time `getCurrentPoolAmount` is called on a given snapshot, then kept for that snapshot. The sum may be
+ * bounded-stale if the counter was created with a staleness bound (see StripedPoolCounter).
+ *
+ * Jackpots read from a database carry the version of their row, which is incremented by every pool
+ * change and lets a reset commit only against the exact state it was decided on.
  */
 public class Jackpot {
 
@@ -15,6 +23,9 @@ public class Jackpot {
     private BigDecimal initialPoolValue;
     private JackpotConfig config;
     private LocalDateTime createdAt;
+    private StripedPoolCounter poolCounter;
+    private long poolGeneration;
+    private long version;
 
     public Jackpot(String jackpotId, BigDecimal currentPoolAmount, BigDecimal initialPoolValue, JackpotConfig config, LocalDateTime createdAt) {
         this.jackpotId = jackpotId;
@@ -24,6 +35,22 @@ public class Jackpot {
         this.createdAt = createdAt;
     }
 
+    public Jackpot(String jackpotId, BigDecimal currentPoolAmount, BigDecimal initialPoolValue, JackpotConfig config, LocalDateTime createdAt,
+                   long version) {
+        this(jackpotId, currentPoolAmount, initialPoolValue, config, createdAt);
+        this.version = version;
+    }
+
+    public Jackpot(String jackpotId, BigDecimal initialPoolValue, JackpotConfig config, LocalDateTime createdAt,
+                   StripedPoolCounter poolCounter, long poolGeneration) {
+        this.jackpotId = jackpotId;
+        this.initialPoolValue = initialPoolValue;
+        this.config = config;
+        this.createdAt = createdAt;
+        this.poolCounter = poolCounter;
+        this.poolGeneration = poolGeneration;
+    }
+
     public Jackpot() {
     }
 
@@ -36,6 +63,9 @@ public class Jackpot {
     }
 
     public BigDecimal getCurrentPoolAmount() {
+        if (currentPoolAmount == null && poolCounter != null) {
+            currentPoolAmount = initialPoolValue.add(StripedPoolCounter.fromMinorUnits(poolCounter.read(poolGeneration)));
+        }
         return currentPoolAmount;
     }
 
@@ -55,4 +85,16 @@ public class Jackpot {
         return createdAt;
     }
 
+    public StripedPoolCounter getPoolCounter() {
+        return poolCounter;
+    }
+
+    public long getPoolGeneration() {
+        return poolGeneration;
+    }
+
+    public long getVersion() {
+        return version;
+    }
+
 }
\ No newline at end of file
@@ -2,12 +2,16 @@ package com.sportygroup.jackpot.model;
 
 import java.math.BigDecimal;
 import com.sportygroup.jackpot.model.enums.ContributionStrategyType;
+import com.sportygroup.jackpot.model.enums.PoolCounterType;
 import com.sportygroup.jackpot.model.enums.RewardStrategyType;
 
 /**
  * Configuration details for a specific Jackpot.
  * This class holds the names of the contribution and reward strategies to be used,
  * along with their specific parameters. This allows for dynamic strategy selection
+ *
+ * The strategy parameters have no setters; a changed rule set is a new config, which the service layer
+ * compiles into a new plan.
  */
 public class JackpotConfig {
 
@@ -19,6 +23,7 @@ public class JackpotConfig {
     private double rewardVariableInitialChance;
     private double rewardVariableIncreaseRate;
     private BigDecimal rewardVariableChanceLimit;
+    private PoolCounterType poolCounterType = PoolCounterType.ATOMIC_REFERENCE;
 
     public JackpotConfig(final ContributionStrategyType contributionStrategyType, final RewardStrategyType rewardStrategyType,
                          double contributionFixedPercentage,
@@ -77,5 +82,13 @@ public class JackpotConfig {
         return rewardVariableChanceLimit;
     }
 
+    public PoolCounterType getPoolCounterType() {
+        return poolCounterType;
+    }
+
+    public void setPoolCounterType(PoolCounterType poolCounterType) {
+        this.poolCounterType = poolCounterType;
+    }
+
 
 }
\ No newline at end of file
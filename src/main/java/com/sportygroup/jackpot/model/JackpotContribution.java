@@ -40,6 +40,9 @@ public class JackpotContribution {
         this.betId = betId;
     }
 
+    public String getUserId() {
+        return userId;
+    }
 
     public String getJackpotId() {
         return jackpotId;
@@ -49,8 +52,20 @@ public class JackpotContribution {
         this.jackpotId = jackpotId;
     }
 
+    public BigDecimal getStakeAmount() {
+        return stakeAmount;
+    }
+
     public BigDecimal getContributionAmount() {
         return contributionAmount;
     }
 
+    public BigDecimal getCurrentJackpotAmountAfterContribution() {
+        return currentJackpotAmountAfterContribution;
+    }
+
+    public LocalDateTime getCreatedAt() {
+        return createdAt;
+    }
+
 }
\ No newline at end of file
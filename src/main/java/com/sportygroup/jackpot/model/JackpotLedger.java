@@ -0,0 +1,77 @@
+package com.sportygroup.jackpot.model;
+
+import java.math.BigDecimal;
+
+/**
+ * Summarizes a jackpot's pool against its contribution and reward history.
+ * Every contribution adds its amount to the pool and every reward resets the pool to its initial value,
+ * i.e. removes `rewardAmount - initialPoolValue`. The expected pool is derived from the history alone and
+ * equals the current pool whenever no contribution or reward is in flight.
+ */
+public class JackpotLedger {
+
+    private final String jackpotId;
+    private final BigDecimal initialPoolValue;
+    private final BigDecimal currentPoolAmount;
+    private final long contributionCount;
+    private final BigDecimal totalContributions;
+    private final long rewardCount;
+    private final BigDecimal totalRewards;
+
+    public JackpotLedger(String jackpotId, BigDecimal initialPoolValue, BigDecimal currentPoolAmount,
+                         long contributionCount, BigDecimal totalContributions, long rewardCount, BigDecimal totalRewards) {
+        this.jackpotId = jackpotId;
+        this.initialPoolValue = initialPoolValue;
+        this.currentPoolAmount = currentPoolAmount;
+        this.contributionCount = contributionCount;
+        this.totalContributions = totalContributions;
+        this.rewardCount = rewardCount;
+        this.totalRewards = totalRewards;
+    }
+
+    public String getJackpotId() {
+        return jackpotId;
+    }
+
+    public BigDecimal getInitialPoolValue() {
+        return initialPoolValue;
+    }
+
+    public BigDecimal getCurrentPoolAmount() {
+        return currentPoolAmount;
+    }
+
+    public long getContributionCount() {
+        return contributionCount;
+    }
+
+    public BigDecimal getTotalContributions() {
+        return totalContributions;
+    }
+
+    public long getRewardCount() {
+        return rewardCount;
+    }
+
+    public BigDecimal getTotalRewards() {
+        return totalRewards;
+    }
+
+    /**
+     * Calculates the pool implied by the history: the initial pool plus all contributions, minus
+     * everything the rewards took out above the initial pool.
+     * @return The expected pool amount.
+     */
+    public BigDecimal getExpectedPoolAmount() {
+        BigDecimal paidAboveInitial = totalRewards.subtract(initialPoolValue.multiply(BigDecimal.valueOf(rewardCount)));
+        return initialPoolValue.add(totalContributions).subtract(paidAboveInitial);
+    }
+
+    /**
+     * Checks whether the current pool matches the pool implied by the history.
+     * @return True if both amounts are equal, ignoring scale.
+     */
+    public boolean isBalanced() {
+        return currentPoolAmount.compareTo(getExpectedPoolAmount()) == 0;
+    }
+}
@@ -0,0 +1,32 @@
+package com.sportygroup.jackpot.model;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * Represents a change of a jackpot's pool, as pushed to pool stream subscribers.
+ */
+public class JackpotPoolUpdate {
+
+    private final String jackpotId;
+    private final BigDecimal currentPoolAmount;
+    private final LocalDateTime updatedAt;
+
+    public JackpotPoolUpdate(String jackpotId, BigDecimal currentPoolAmount, LocalDateTime updatedAt) {
+        this.jackpotId = jackpotId;
+        this.currentPoolAmount = currentPoolAmount;
+        this.updatedAt = updatedAt;
+    }
+
+    public String getJackpotId() {
+        return jackpotId;
+    }
+
+    public BigDecimal getCurrentPoolAmount() {
+        return currentPoolAmount;
+    }
+
+    public LocalDateTime getUpdatedAt() {
+        return updatedAt;
+    }
+}
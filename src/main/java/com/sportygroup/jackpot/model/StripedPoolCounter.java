@@ -0,0 +1,167 @@
+package com.sportygroup.jackpot.model;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Contention-free accumulator for the pool of a hot jackpot.
+ * The amount contributed since the last reset is stored as fixed-point minor units (cents)
+ * in a LongAdder, so concurrent contributions land on different cells instead of fighting
+ * over one map entry. Cells are only summed when the pool is actually read.
+ *
+ * Resets are coordinated through a generation number used like a seqlock: an even value means
+ * the counter is stable, an odd value means a drain is in progress. A win observed at generation
+ * `g` may drain exactly the amount it paid out only if the generation is still `g`, so two winners
+ * can never pay out the same pool and contributions landing during a drain are kept for the next round.
+ *
+ * Summing touches every cell, and cells are written by other threads, so a hot jackpot read on every bet
+ * (e.g. by a variable chance reward) pays one cache miss per cell per read. With a positive
+ * `maxStalenessNanos`, `read` reuses the last sum of the same generation while it is younger than the bound:
+ * it may miss contributions completed within the last `maxStalenessNanos`, but never spans a drain, and
+ * contributions are non-negative, so a stale sum is never above the exact one. A win decided on a stale sum
+ * drains only what it observed, and the contributions it missed stay in the pool for the next round.
+ */
+public class StripedPoolCounter {
+
+    public static final int SCALE = 2;
+
+    private final LongAdder accumulatedMinorUnits = new LongAdder();
+    private final AtomicLong generation = new AtomicLong();
+    private final long maxStalenessNanos;
+    private volatile PoolReading lastReading;
+
+    /**
+     * Creates a counter whose reads are always exact.
+     */
+    public StripedPoolCounter() {
+        this(0);
+    }
+
+    /**
+     * Creates a counter whose reads may reuse a recent sum.
+     * @param maxStalenessNanos How old a reused sum may be, in nanoseconds; 0 makes every read exact.
+     */
+    public StripedPoolCounter(long maxStalenessNanos) {
+        this.maxStalenessNanos = maxStalenessNanos;
+    }
+
+    /**
+     * Adds an amount to the pool.
+     * @param minorUnits The amount in minor units (e.g. cents).
+     */
+    public void add(long minorUnits) {
+        accumulatedMinorUnits.add(minorUnits);
+    }
+
+    /**
+     * Sums all cells. The result is exact with respect to every completed `add`.
+     * @return The accumulated amount in minor units.
+     */
+    public long sum() {
+        return accumulatedMinorUnits.sum();
+    }
+
+    /**
+     * Returns the accumulated amount as seen in a generation, reusing the last sum of that generation
+     * if it was taken at most `maxStalenessNanos` ago.
+     * @param expectedGeneration The generation the caller observed, from `stableGeneration`.
+     * @return The accumulated amount in minor units, missing at most the contributions of the last `maxStalenessNanos`.
+     */
+    public long read(long expectedGeneration) {
+        if (maxStalenessNanos <= 0) {
+            return sum();
+        }
+        long now = System.nanoTime();
+        PoolReading reading = lastReading;
+        if (reading != null && reading.generation == expectedGeneration && now - reading.takenAtNanos <= maxStalenessNanos) {
+            return reading.minorUnits;
+        }
+        long minorUnits = sum();
+        // A sum that overlapped a drain belongs to no generation and is not cached.
+        if (generation.get() == expectedGeneration) {
+            lastReading = new PoolReading(expectedGeneration, minorUnits, now);
+        }
+        return minorUnits;
+    }
+
+    /**
+     * Returns the current generation, waiting for an in-flight drain to finish.
+     * @return An even generation number identifying the current pool round.
+     */
+    public long stableGeneration() {
+        long current = generation.get();
+        while ((current & 1) != 0) {
+            Thread.onSpinWait();
+            current = generation.get();
+        }
+        return current;
+    }
+
+    /**
+     * Removes a paid-out amount from the pool if no other drain happened since `expectedGeneration`.
+     * @param expectedGeneration The generation observed when the win was evaluated.
+     * @param minorUnits The paid-out amount above the initial pool value, in minor units.
+     * @return True if the amount was drained, false if another drain won the race.
+     */
+    public boolean drain(long expectedGeneration, long minorUnits) {
+        if (!generation.compareAndSet(expectedGeneration, expectedGeneration + 1)) {
+            return false;
+        }
+        accumulatedMinorUnits.add(-minorUnits);
+        generation.set(expectedGeneration + 2);
+        return true;
+    }
+
+    /**
+     * Moves the accumulated amount to a target, e.g. for an administrative pool update. The move starts a
+     * new generation like a drain, so wins observed before it cannot be committed against the old pool.
+     * Contributions landing during the move are kept.
+     * @param targetMinorUnits The new accumulated amount in minor units.
+     */
+    public void moveTo(long targetMinorUnits) {
+        while (true) {
+            long current = stableGeneration();
+            if (generation.compareAndSet(current, current + 1)) {
+                accumulatedMinorUnits.add(targetMinorUnits - accumulatedMinorUnits.sum());
+                generation.set(current + 2);
+                return;
+            }
+        }
+    }
+
+    /**
+     * Converts a monetary amount to minor units.
+     * @param amount The amount, with at most `SCALE` decimal places.
+     * @return The amount in minor units.
+     * @throws ArithmeticException if the amount has more decimal places than `SCALE` or overflows a long.
+     */
+    public static long toMinorUnits(BigDecimal amount) {
+        return amount.setScale(SCALE, RoundingMode.UNNECESSARY).unscaledValue().longValueExact();
+    }
+
+    /**
+     * Converts minor units back to a monetary amount.
+     * @param minorUnits The amount in minor units.
+     * @return The amount with `SCALE` decimal places.
+     */
+    public static BigDecimal fromMinorUnits(long minorUnits) {
+        return BigDecimal.valueOf(minorUnits, SCALE);
+    }
+
+    /**
+     * A sum taken in one generation, and when it was taken.
+     */
+    private static final class PoolReading {
+        private final long generation;
+        private final long minorUnits;
+        private final long takenAtNanos;
+
+        private PoolReading(long generation, long minorUnits, long takenAtNanos) {
+            this.generation = generation;
+            this.minorUnits = minorUnits;
+            this.takenAtNanos = takenAtNanos;
+        }
+    }
+}
@@ -0,0 +1,13 @@
+package com.sportygroup.jackpot.model.enums;
+
+/**
+ * Enum representing the outcome of publishing a single bet through the bulk ingestion API.
+ * ACCEPTED bets were saved and published, REJECTED bets failed validation and were never saved,
+ * and FAILED bets were valid but could not be saved or published.
+ */
+public enum BetPublishStatus {
+
+    ACCEPTED,
+    REJECTED,
+    FAILED
+}
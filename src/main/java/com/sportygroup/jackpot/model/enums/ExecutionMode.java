@@ -0,0 +1,50 @@
+package com.sportygroup.jackpot.model.enums;
+
+/**
+ * Enum representing where repository and settlement work runs.
+ * EVENT_LOOP runs the work on the thread that subscribes, e.g. a Netty event loop; only for stores that never block.
+ * PARALLEL moves it to a dedicated pool of one thread per core, for non-blocking work that should not share
+ * the HTTP threads.
+ * BOUNDED_ELASTIC moves it to a capped, growing pool of platform threads, for blocking stores.
+ * VIRTUAL_THREADS runs each task on a new virtual thread, for blocking stores with many requests waiting at once.
+ */
+public enum ExecutionMode {
+
+    EVENT_LOOP("event-loop"),
+    PARALLEL("parallel"),
+    BOUNDED_ELASTIC("bounded-elastic"),
+    VIRTUAL_THREADS("virtual-threads");
+
+    private final String value;
+
+    ExecutionMode(String value) {
+        this.value = value;
+    }
+
+    public String getValue() {
+        return value;
+    }
+
+    /**
+     * Returns whether work in this mode may block its thread.
+     * @return True for BOUNDED_ELASTIC and VIRTUAL_THREADS.
+     */
+    public boolean allowsBlocking() {
+        return this == BOUNDED_ELASTIC || this == VIRTUAL_THREADS;
+    }
+
+    /**
+     * Returns the mode with the given property value.
+     * @param value The property value, e.g. `bounded-elastic`.
+     * @return The matching mode.
+     * @throws IllegalArgumentException if no mode has this value.
+     */
+    public static ExecutionMode fromValue(String value) {
+        for (ExecutionMode mode : values()) {
+            if (mode.value.equalsIgnoreCase(value.trim())) {
+                return mode;
+            }
+        }
+        throw new IllegalArgumentException("Unknown execution mode: " + value);
+    }
+}
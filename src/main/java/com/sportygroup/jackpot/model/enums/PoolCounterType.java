@@ -0,0 +1,14 @@
+package com.sportygroup.jackpot.model.enums;
+
+/**
+ * Enum representing how the pool of a jackpot is accumulated in memory.
+ * ATOMIC_REFERENCE keeps the whole pool in a single immutable Jackpot entry replaced via CAS,
+ * which is simple and exact but serializes every contribution on one map entry.
+ * STRIPED keeps the accumulated amount as fixed-point minor units spread over LongAdder-style cells,
+ * so contributions to a hot jackpot do not contend; cells are only summed when the pool is read.
+ */
+public enum PoolCounterType {
+
+    ATOMIC_REFERENCE,
+    STRIPED
+}
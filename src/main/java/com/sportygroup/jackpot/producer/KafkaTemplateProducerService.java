@@ -0,0 +1,64 @@
+package com.sportygroup.jackpot.producer;
+
+import com.sportygroup.jackpot.model.Bet;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.kafka.core.KafkaTemplate;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
+
+/**
+ * KafkaProducerService backed by a real Kafka producer through KafkaTemplate.
+ * Bets are keyed by jackpotId, so every bet of a jackpot lands on the same partition and is
+ * consumed in publish order. `KafkaTemplate.send` usually only appends the record to the producer's
+ * in-memory batch and returns a future, but it blocks for up to `max.block.ms` while topic metadata
+ * is fetched or the producer's buffer is full. It is therefore called on a bounded-elastic worker,
+ * never on a Netty thread, and the future is mapped to a Mono so the caller is notified on broker
+ * acknowledgement.
+ *
+ * Batching, compression and idempotence are producer settings (see `spring.kafka.producer.*`).
+ */
+public class KafkaTemplateProducerService implements KafkaProducerService {
+
+    private static final Logger log = LoggerFactory.getLogger(KafkaTemplateProducerService.class);
+
+    private final KafkaTemplate<String, Bet> kafkaTemplate;
+    private final String topic;
+    private final Scheduler sendScheduler;
+
+    /**
+     * Constructor for dependency injection.
+     * @param kafkaTemplate The KafkaTemplate used to send bets.
+     * @param topic The topic bets are published to.
+     */
+    public KafkaTemplateProducerService(KafkaTemplate<String, Bet> kafkaTemplate, String topic) {
+        this(kafkaTemplate, topic, Schedulers.boundedElastic());
+    }
+
+    /**
+     * Constructor with an explicit scheduler for the sends.
+     * @param kafkaTemplate The KafkaTemplate used to send bets.
+     * @param topic The topic bets are published to.
+     * @param sendScheduler The scheduler `KafkaTemplate.send` is called on; it must allow blocking.
+     */
+    public KafkaTemplateProducerService(KafkaTemplate<String, Bet> kafkaTemplate, String topic, Scheduler sendScheduler) {
+        this.kafkaTemplate = kafkaTemplate;
+        this.topic = topic;
+        this.sendScheduler = sendScheduler;
+    }
+
+    /**
+     * Publishes a bet to the configured topic, keyed by its jackpotId.
+     *
+     * @param bet The bet to publish.
+     * @return A Mono that completes once the broker acknowledged the record.
+     */
+    @Override
+    public Mono<Void> publishBet(Bet bet) {
+        return Mono.fromFuture(() -> kafkaTemplate.send(topic, bet.getJackpotId(), bet))
+                .subscribeOn(sendScheduler)
+                .doOnError(e -> log.warn("Error publishing bet {} to topic '{}': {}", bet.getBetId(), topic, e.getMessage()))
+                .then();
+    }
+}
@@ -2,9 +2,14 @@ package com.sportygroup.jackpot.producer;
 
 import com.sportygroup.jackpot.consumer.KafkaConsumerService;
 import com.sportygroup.jackpot.model.Bet;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Profile;
 import org.springframework.stereotype.Service;
 import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
 
 /**
  * Service responsible for "publishing" bets to a Kafka topic.
@@ -13,9 +18,13 @@ import reactor.core.publisher.Mono;
  * not required for the assignment.
  */
 @Service
+@Profile("!kafka")
 public class MockKafkaProducerService implements KafkaProducerService {
 
+    private static final Logger log = LoggerFactory.getLogger(MockKafkaProducerService.class);
+
     private final KafkaConsumerService kafkaConsumerService;
+    private final Scheduler settlementScheduler;
 
     /**
      * Constructor for dependency injection.
@@ -23,21 +32,32 @@ public class MockKafkaProducerService implements KafkaProducerService {
      */
     @Autowired
     public MockKafkaProducerService(KafkaConsumerService kafkaConsumerService) {
+        this(kafkaConsumerService, Schedulers.immediate());
+    }
+
+    /**
+     * Constructor for settlement on a dedicated scheduler, which stands in for the consumer threads of a real broker.
+     * @param kafkaConsumerService The mock Kafka consumer service.
+     * @param settlementScheduler The scheduler bets are consumed on; Schedulers.immediate() consumes on the publishing thread.
+     */
+    public MockKafkaProducerService(KafkaConsumerService kafkaConsumerService, Scheduler settlementScheduler) {
         this.kafkaConsumerService = kafkaConsumerService;
+        this.settlementScheduler = settlementScheduler;
     }
 
     /**
      * Simulates publishing a bet to a Kafka topic.
-     * In this mocked setup, it directly calls the consumer service.
+     * In this mocked setup, it directly calls the consumer service on the settlement scheduler.
      *
      * @param bet The bet to publish.
      * @return A Mono that completes when the "publishing" and "consumption" process is done.
      */
     public Mono<Void> publishBet(Bet bet) {
-        System.out.println("KafkaProducerService: Mock publishing bet to topic 'jackpot-bets': " + bet.getBetId());
+        log.debug("Mock publishing bet to topic 'jackpot-bets': {}", bet.getBetId());
 
         return Mono.just(bet)
                 .flatMap(kafkaConsumerService::consumeBet)
-                .doOnError(e -> System.err.println("KafkaProducerService: Error during mock publishing/consuming: " + e.getMessage()));
+                .subscribeOn(settlementScheduler)
+                .doOnError(e -> log.warn("Error during mock publishing/consuming: {}", e.getMessage()));
     }
 }
\ No newline at end of file
@@ -0,0 +1,24 @@
+package com.sportygroup.jackpot.repository;
+
+import com.sportygroup.jackpot.model.Bet;
+import reactor.core.publisher.Mono;
+
+/**
+ * Slower storage tier for bets evicted from a bounded BetRepository.
+ * Implementations could write to a database, object storage or a compacted topic.
+ */
+public interface BetArchive {
+    /**
+     * Archives a bet that was evicted from the primary store.
+     * Called from the store's maintenance thread, never from the request path.
+     * @param bet The evicted bet.
+     */
+    void archive(Bet bet);
+
+    /**
+     * Finds an archived bet by its ID.
+     * @param betId The ID of the bet to find.
+     * @return A Mono emitting the bet if archived, or empty otherwise.
+     */
+    Mono<Bet> findById(String betId);
+}
@@ -0,0 +1,24 @@
+package com.sportygroup.jackpot.repository;
+
+import com.sportygroup.jackpot.model.BetOutcome;
+import reactor.core.publisher.Mono;
+
+/**
+ * Interface for the index of settled bet outcomes, keyed by betId.
+ * A bet is settled once, so the first outcome stored for a betId is final.
+ */
+public interface BetOutcomeRepository {
+    /**
+     * Stores the outcome of a bet unless one is already stored for it.
+     * @param outcome The outcome to store.
+     * @return A Mono emitting the outcome stored for the bet, which is the earlier one if the bet was already settled.
+     */
+    Mono<BetOutcome> save(BetOutcome outcome);
+
+    /**
+     * Finds the outcome of a bet.
+     * @param betId The ID of the bet.
+     * @return A Mono emitting the outcome if the bet was settled, or empty otherwise.
+     */
+    Mono<BetOutcome> findByBetId(String betId);
+}
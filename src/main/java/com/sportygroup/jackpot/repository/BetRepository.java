@@ -4,6 +4,8 @@ import com.sportygroup.jackpot.model.Bet;
 import reactor.core.publisher.Mono;
 import reactor.core.publisher.Flux;
 
+import java.util.List;
+
 /**
  * Interface for managing Bet entities.
  * Adheres to Dependency Inversion Principle, allowing different implementations (e.g., in-memory, database).
@@ -16,6 +18,13 @@ public interface BetRepository {
      */
     Mono<Bet> save(Bet bet);
 
+    /**
+     * Saves several bets in one operation.
+     * @param bets The bets to save.
+     * @return A Flux emitting the saved bets, in the given order.
+     */
+    Flux<Bet> saveAll(List<Bet> bets);
+
     /**
      * Finds a bet by its ID way.
      * @param betId The ID of the bet to find.
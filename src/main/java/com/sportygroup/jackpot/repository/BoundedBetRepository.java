@@ -0,0 +1,150 @@
+package com.sportygroup.jackpot.repository;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Ticker;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import com.sportygroup.jackpot.model.Bet;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * Capacity- and TTL-bounded implementation of BetRepository backed by a Caffeine cache.
+ * Caffeine's W-TinyLFU policy keeps the bets that are looked up most often when the store is full,
+ * and bets older than the TTL expire regardless of capacity, so heap use stays bounded.
+ *
+ * Evicted and expired bets are handed to a BetArchive on Caffeine's maintenance executor.
+ * Lookups that miss the cache fall back to the archive; a bet found in neither is reported as
+ * not found, exactly like an unknown bet.
+ * Bound to a MeterRegistry, the cache's hit, miss, eviction and size statistics are exported as the
+ * `cache.*` meters tagged `cache=bets`.
+ */
+public class BoundedBetRepository implements BetRepository, MeterBinder {
+
+    private static final Logger log = LoggerFactory.getLogger(BoundedBetRepository.class);
+
+    // The `cache` tag of the exported cache meters.
+    static final String CACHE_NAME = "bets";
+
+    private final Cache<String, Bet> bets;
+    private final BetArchive betArchive;
+
+    /**
+     * Creates a bounded bet store.
+     * @param maximumSize The maximum number of bets kept in memory.
+     * @param timeToLive How long a bet is kept after it was saved.
+     * @param betArchive The slower tier receiving evicted bets.
+     */
+    public BoundedBetRepository(long maximumSize, Duration timeToLive, BetArchive betArchive) {
+        this(maximumSize, timeToLive, betArchive, Ticker.systemTicker(), ForkJoinPool.commonPool());
+    }
+
+    BoundedBetRepository(long maximumSize, Duration timeToLive, BetArchive betArchive, Ticker ticker, Executor executor) {
+        this.betArchive = betArchive;
+        this.bets = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(timeToLive)
+                .ticker(ticker)
+                .executor(executor)
+                .recordStats()
+                .<String, Bet>removalListener((betId, bet, cause) -> {
+                    if (cause.wasEvicted() && bet != null) {
+                        betArchive.archive(bet);
+                    }
+                })
+                .build();
+    }
+
+    /**
+     * Saves a bet. If a bet with the same ID already exists, it will be updated.
+     * @param bet The bet to save.
+     * @return A Mono emitting the saved bet.
+     */
+    @Override
+    public Mono<Bet> save(Bet bet) {
+        return Mono.fromCallable(() -> {
+            bets.put(bet.getBetId(), bet);
+            log.debug("Saved Bet: {}", bet.getBetId());
+            return bet;
+        });
+    }
+
+    /**
+     * Saves several bets in one call.
+     * @param betsToSave The bets to save.
+     * @return A Flux emitting the saved bets, in the given order.
+     */
+    @Override
+    public Flux<Bet> saveAll(List<Bet> betsToSave) {
+        return Mono.fromCallable(() -> {
+            for (Bet bet : betsToSave) {
+                bets.put(bet.getBetId(), bet);
+            }
+            log.debug("Saved {} Bets in bulk", betsToSave.size());
+            return betsToSave;
+        }).flatMapMany(Flux::fromIterable);
+    }
+
+    /**
+     * Finds a bet by its ID, falling back to the archive when it is no longer held in memory.
+     * @param betId The ID of the bet to find.
+     * @return A Mono emitting the bet if found, or empty otherwise.
+     */
+    @Override
+    public Mono<Bet> findById(String betId) {
+        return Mono.fromCallable(() -> bets.getIfPresent(betId))
+                .switchIfEmpty(Mono.defer(() -> betArchive.findById(betId)));
+    }
+
+    /**
+     * Finds all bets currently held in memory. Archived bets are not included.
+     * @return A Flux emitting the bets held in memory.
+     */
+    @Override
+    public Flux<Bet> findAll() {
+        return Mono.fromCallable(() -> bets.asMap().values())
+                .flatMapMany(Flux::fromIterable);
+    }
+
+    /**
+     * Returns the hit, miss and eviction counts of the in-memory store.
+     * @return A snapshot of the cache statistics.
+     */
+    public CacheStats getStats() {
+        return bets.stats();
+    }
+
+    /**
+     * Returns the approximate number of bets held in memory.
+     * @return The estimated size of the store.
+     */
+    public long getEstimatedSize() {
+        return bets.estimatedSize();
+    }
+
+    /**
+     * Exports the statistics of the in-memory store as Micrometer cache meters.
+     * @param registry The registry to bind the meters to.
+     */
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        CaffeineCacheMetrics.monitor(registry, bets, CACHE_NAME);
+    }
+
+    /**
+     * Performs pending maintenance such as evictions right away.
+     */
+    void cleanUp() {
+        bets.cleanUp();
+    }
+}
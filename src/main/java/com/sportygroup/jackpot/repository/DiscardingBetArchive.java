@@ -0,0 +1,29 @@
+package com.sportygroup.jackpot.repository;
+
+import com.sportygroup.jackpot.model.Bet;
+import reactor.core.publisher.Mono;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * BetArchive that keeps nothing. Evicted bets are only counted, so lookups of
+ * evicted bets behave like lookups of unknown bets.
+ */
+public class DiscardingBetArchive implements BetArchive {
+
+    private final LongAdder discardedBets = new LongAdder();
+
+    @Override
+    public void archive(Bet bet) {
+        discardedBets.increment();
+    }
+
+    @Override
+    public Mono<Bet> findById(String betId) {
+        return Mono.empty();
+    }
+
+    public long getDiscardedBets() {
+        return discardedBets.sum();
+    }
+}
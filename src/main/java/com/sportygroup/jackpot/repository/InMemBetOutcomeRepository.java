@@ -0,0 +1,85 @@
+package com.sportygroup.jackpot.repository;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Ticker;
+import com.sportygroup.jackpot.model.BetOutcome;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * In-memory implementation of BetOutcomeRepository.
+ * Outcomes are immutable and written once per bet, so a Caffeine cache keyed by betId serves every
+ * lookup with a single lock-free read, however often clients poll.
+ * Like BoundedBetRepository, the cache is limited by size and age, so heap use stays bounded. It is sized
+ * with the `jackpot.bet-store.*` settings, so an outcome is kept about as long as the bet it belongs to.
+ */
+@Repository
+public class InMemBetOutcomeRepository implements BetOutcomeRepository {
+
+    private static final Logger log = LoggerFactory.getLogger(InMemBetOutcomeRepository.class);
+
+    private static final long DEFAULT_MAXIMUM_SIZE = 1_000_000;
+    private static final Duration DEFAULT_TIME_TO_LIVE = Duration.ofHours(24);
+
+    private final Cache<String, BetOutcome> outcomes;
+
+    /**
+     * Creates an outcome index with the default bounds of the bet store.
+     */
+    public InMemBetOutcomeRepository() {
+        this(DEFAULT_MAXIMUM_SIZE, DEFAULT_TIME_TO_LIVE);
+    }
+
+    /**
+     * Creates a bounded outcome index.
+     * @param maximumSize The maximum number of outcomes kept in memory.
+     * @param timeToLive How long an outcome is kept after it was saved.
+     */
+    public InMemBetOutcomeRepository(long maximumSize, Duration timeToLive) {
+        this(maximumSize, timeToLive, Ticker.systemTicker(), ForkJoinPool.commonPool());
+    }
+
+    InMemBetOutcomeRepository(long maximumSize, Duration timeToLive, Ticker ticker, Executor executor) {
+        this.outcomes = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(timeToLive)
+                .ticker(ticker)
+                .executor(executor)
+                .build();
+    }
+
+    /**
+     * Stores the outcome of a bet with `putIfAbsent`, so a redelivered bet can never replace its first outcome.
+     * @param outcome The outcome to store.
+     * @return A Mono emitting the outcome stored for the bet.
+     */
+    @Override
+    public Mono<BetOutcome> save(BetOutcome outcome) {
+        return Mono.fromCallable(() -> {
+            BetOutcome existing = outcomes.asMap().putIfAbsent(outcome.getBetId(), outcome);
+            if (existing != null) {
+                log.debug("Outcome of bet {} already stored. Keeping won={}", outcome.getBetId(), existing.isWon());
+                return existing;
+            }
+            log.debug("Saved BetOutcome: BetID={}, Won={}", outcome.getBetId(), outcome.isWon());
+            return outcome;
+        });
+    }
+
+    /**
+     * Finds the outcome of a bet.
+     * @param betId The ID of the bet.
+     * @return A Mono emitting the outcome if the bet was settled and its outcome is still kept, or empty otherwise.
+     */
+    @Override
+    public Mono<BetOutcome> findByBetId(String betId) {
+        return Mono.fromCallable(() -> outcomes.getIfPresent(betId));
+    }
+}
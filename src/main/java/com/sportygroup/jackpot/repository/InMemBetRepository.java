@@ -1,10 +1,13 @@
 package com.sportygroup.jackpot.repository;
 
 import com.sportygroup.jackpot.model.Bet;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.stereotype.Repository;
 import reactor.core.publisher.Mono;
 import reactor.core.publisher.Flux;
 
+import java.util.List;
 import java.util.Optional;
 import java.util.concurrent.ConcurrentHashMap;
 
@@ -17,6 +20,8 @@ import java.util.concurrent.ConcurrentHashMap;
 @Repository
 public class InMemBetRepository implements BetRepository {
 
+    private static final Logger log = LoggerFactory.getLogger(InMemBetRepository.class);
+
     private final ConcurrentHashMap<String, Bet> bets = new ConcurrentHashMap<>();
 
     /**
@@ -28,11 +33,27 @@ public class InMemBetRepository implements BetRepository {
     public Mono<Bet> save(Bet bet) {
         return Mono.fromCallable(() -> {
             bets.put(bet.getBetId(), bet);
-            System.out.println("Saved Bet: " + bet.getBetId());
+            log.debug("Saved Bet: {}", bet.getBetId());
             return bet;
         });
     }
 
+    /**
+     * Saves several bets to the in-memory map in one call.
+     * @param betsToSave The bets to save.
+     * @return A Flux emitting the saved bets, in the given order.
+     */
+    @Override
+    public Flux<Bet> saveAll(List<Bet> betsToSave) {
+        return Mono.fromCallable(() -> {
+            for (Bet bet : betsToSave) {
+                bets.put(bet.getBetId(), bet);
+            }
+            log.debug("Saved {} Bets in bulk", betsToSave.size());
+            return betsToSave;
+        }).flatMapMany(Flux::fromIterable);
+    }
+
     /**
      * Finds a bet by its ID from the in-memory map.
      * @param betId The ID of the bet to find.
@@ -1,24 +1,34 @@
 package com.sportygroup.jackpot.repository;
 
 import com.sportygroup.jackpot.model.JackpotContribution;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.stereotype.Repository;
 import reactor.core.publisher.Mono;
 import reactor.core.publisher.Flux;
 
+import java.util.List;
 import java.util.Optional;
 import java.util.concurrent.ConcurrentHashMap;
-import java.util.stream.Collectors;
 
 /**
  * In-memory implementation of JackpotContributionRepository.
  * Uses a ConcurrentHashMap to store contribution records for historical purposes.
  * Operations are wrapped in Mono.fromCallable to expose them as reactive streams,
  * acknowledging that the underlying HashMap operations are blocking.
+ *
+ * Besides the composite-key map, every record is indexed by betId, jackpotId and userId,
+ * so lookups by any of them cost the same no matter how much history has been stored.
  */
 @Repository
 public class InMemJackpotContributionRepository implements JackpotContributionRepository {
 
+    private static final Logger log = LoggerFactory.getLogger(InMemJackpotContributionRepository.class);
+
     private final ConcurrentHashMap<String, JackpotContribution> contributions = new ConcurrentHashMap<>();
+    private final RecordIndex<JackpotContribution> betIdIndex = new RecordIndex<>();
+    private final RecordIndex<JackpotContribution> jackpotIdIndex = new RecordIndex<>();
+    private final RecordIndex<JackpotContribution> userIdIndex = new RecordIndex<>();
 
     /**
      * Saves a jackpot contribution record to the in-memory map.
@@ -29,23 +39,36 @@ public class InMemJackpotContributionRepository implements JackpotContributionRe
     public Mono<JackpotContribution> save(JackpotContribution contribution) {
         return Mono.fromCallable(() -> {
             String key = generateKey(contribution.getBetId(), contribution.getJackpotId());
-            contributions.put(key, contribution);
-            System.out.println("Saved JackpotContribution: BetID=" + contribution.getBetId() + ", JackpotID=" + contribution.getJackpotId() + ", Amount=" + contribution.getContributionAmount());
+            store(key, contribution);
+            log.debug("Saved JackpotContribution: BetID={}, JackpotID={}, Amount={}", contribution.getBetId(), contribution.getJackpotId(), contribution.getContributionAmount());
             return contribution;
         });
     }
 
     /**
-     * Finds all contributions for a given bet ID.
+     * Saves several jackpot contribution records to the in-memory map in one call.
+     * @param contributionRecords The contribution records to save.
+     * @return A Flux emitting the saved contribution records.
+     */
+    @Override
+    public Flux<JackpotContribution> saveAll(List<JackpotContribution> contributionRecords) {
+        return Mono.fromCallable(() -> {
+            for (JackpotContribution contribution : contributionRecords) {
+                store(generateKey(contribution.getBetId(), contribution.getJackpotId()), contribution);
+            }
+            log.debug("Saved {} JackpotContributions in bulk", contributionRecords.size());
+            return contributionRecords;
+        }).flatMapMany(Flux::fromIterable);
+    }
+
+    /**
+     * Finds all contributions for a given bet ID using the betId index.
      * @param betId The ID of the bet.
      * @return A Flux emitting matching contribution records.
      */
     @Override
     public Flux<JackpotContribution> findByBetId(String betId) {
-        return Mono.fromCallable(() -> contributions.values().stream()
-                        .filter(c -> c.getBetId().equals(betId))
-                        .collect(Collectors.toList()))
-                .flatMapMany(Flux::fromIterable);
+        return Flux.defer(() -> Flux.fromIterable(betIdIndex.get(betId)));
     }
 
     /**
@@ -62,6 +85,38 @@ public class InMemJackpotContributionRepository implements JackpotContributionRe
         }).flatMap(Mono::justOrEmpty);
     }
 
+    /**
+     * Finds all contributions for a given jackpot ID.
+     * @param jackpotId The ID of the jackpot.
+     * @return A Flux emitting matching contribution records.
+     */
+    @Override
+    public Flux<JackpotContribution> findByJackpotId(String jackpotId) {
+        return Flux.defer(() -> Flux.fromIterable(jackpotIdIndex.get(jackpotId)));
+    }
+
+    /**
+     * Finds all contributions for a given user ID.
+     * @param userId The ID of the user.
+     * @return A Flux emitting matching contribution records.
+     */
+    @Override
+    public Flux<JackpotContribution> findByUserId(String userId) {
+        return Flux.defer(() -> Flux.fromIterable(userIdIndex.get(userId)));
+    }
+
+    /**
+     * Stores a contribution record in the composite-key map and in every secondary index.
+     * @param key The composite key of the record.
+     * @param contribution The contribution record.
+     */
+    private void store(String key, JackpotContribution contribution) {
+        contributions.put(key, contribution);
+        betIdIndex.put(contribution.getBetId(), key, contribution);
+        jackpotIdIndex.put(contribution.getJackpotId(), key, contribution);
+        userIdIndex.put(contribution.getUserId(), key, contribution);
+    }
+
     /**
      * Generates a unique key for the ConcurrentHashMap using betId and jackpotId.
      * @param betId The bet ID.
@@ -1,33 +1,93 @@
 package com.sportygroup.jackpot.repository;
 
+import com.sportygroup.jackpot.metrics.JackpotMetrics;
 import com.sportygroup.jackpot.model.Jackpot;
+import com.sportygroup.jackpot.model.StripedPoolCounter;
+import com.sportygroup.jackpot.model.enums.PoolCounterType;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
+import java.math.BigDecimal;
+import java.time.Duration;
 import java.util.Optional;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
 
 /**
  * In-memory implementation of JackpotRepository.
  * Uses a ConcurrentHashMap to simulate a database table for jackpots.
- * Operations are wrapped in Mono.fromCallable to expose them as reactive streams,
- * acknowledging that the underlying HashMap operations are blocking.
+ * Operations run on subscription and never block: reads and saves are single map operations, pool changes
+ * are lock-free compare-and-set loops on the map entry, and only the retries of `update` back off on a timer.
+ *
+ * Jackpots configured with `PoolCounterType.STRIPED` are stored as a live entry holding a
+ * StripedPoolCounter. That entry is never handed out: reads return a snapshot bound to the
+ * counter, contributions go straight to the counter cells, and the map entry itself is not
+ * rewritten on the contribution path. Their counters reuse a pool sum for up to `stripedPoolMaxStaleness`,
+ * so reading a hot jackpot on every bet does not sum all counter cells every time. The application configures
+ * 1 ms through `jackpot.pool.striped.max-staleness`; repositories created without a bound read exactly.
  */
 @Repository
 public class InMemJackpotRepository implements JackpotRepository {
 
+    private static final Logger log = LoggerFactory.getLogger(InMemJackpotRepository.class);
+
+    // Attempts of `update` before it gives up, and the delay before each retry.
+    private static final int UPDATE_ATTEMPTS = 3;
+    private static final Duration UPDATE_RETRY_BACKOFF = Duration.ofMillis(10);
+
     private final ConcurrentHashMap<String, Jackpot> jackpots = new ConcurrentHashMap<>();
+    private final JackpotMetrics jackpotMetrics;
+    private final long stripedPoolMaxStalenessNanos;
+
+    /**
+     * Creates a repository without metrics, whose striped pools are always read exactly.
+     */
+    public InMemJackpotRepository() {
+        this(JackpotMetrics.disabled());
+    }
+
+    /**
+     * Creates a repository that counts compare-and-set retries and failures of pool updates,
+     * and whose striped pools are always read exactly.
+     * @param jackpotMetrics The metrics recording CAS retries and failures.
+     */
+    public InMemJackpotRepository(JackpotMetrics jackpotMetrics) {
+        this(jackpotMetrics, Duration.ZERO);
+    }
+
+    /**
+     * Creates a repository whose striped pools may be read bounded-stale.
+     * @param jackpotMetrics The metrics recording CAS retries and failures.
+     * @param stripedPoolMaxStaleness How old a reused sum of a striped pool may be; zero makes every read exact.
+     */
+    public InMemJackpotRepository(JackpotMetrics jackpotMetrics, Duration stripedPoolMaxStaleness) {
+        this.jackpotMetrics = jackpotMetrics;
+        this.stripedPoolMaxStalenessNanos = stripedPoolMaxStaleness.toNanos();
+    }
 
     /**
      * Saves a jackpot to the in-memory map. If a jackpot with the same ID already exists, it will be updated.
+     * A jackpot with a STRIPED pool counter gets a fresh counter seeded with its current pool.
      * @param jackpot The jackpot to save.
      * @return A Mono emitting the saved jackpot.
      */
     @Override
     public Mono<Jackpot> save(Jackpot jackpot) {
         return Mono.fromCallable(() -> {
+            if (usesStripedCounter(jackpot)) {
+                StripedPoolCounter poolCounter = new StripedPoolCounter(stripedPoolMaxStalenessNanos);
+                poolCounter.add(StripedPoolCounter.toMinorUnits(jackpot.getCurrentPoolAmount().subtract(jackpot.getInitialPoolValue())));
+                Jackpot liveJackpot = new Jackpot(jackpot.getJackpotId(), jackpot.getInitialPoolValue(), jackpot.getConfig(),
+                        jackpot.getCreatedAt(), poolCounter, 0);
+                jackpots.put(jackpot.getJackpotId(), liveJackpot);
+                log.debug("Saved Jackpot: {} with striped pool: {}", jackpot.getJackpotId(), jackpot.getCurrentPoolAmount());
+                return snapshotOf(liveJackpot);
+            }
             jackpots.put(jackpot.getJackpotId(), jackpot);
-            System.out.println("Saved Jackpot: " + jackpot.getJackpotId() + " with pool: " + jackpot.getCurrentPoolAmount());
+            log.debug("Saved Jackpot: {} with pool: {}", jackpot.getJackpotId(), jackpot.getCurrentPoolAmount());
             return jackpot;
         });
     }
@@ -39,14 +99,24 @@ public class InMemJackpotRepository implements JackpotRepository {
      */
     @Override
     public Mono<Jackpot> findById(String jackpotId) {
-        return Mono.fromCallable(() -> Optional.ofNullable(jackpots.get(jackpotId)))
+        return Mono.fromCallable(() -> Optional.ofNullable(jackpots.get(jackpotId)).map(this::snapshotOf))
                 .flatMap(Mono::justOrEmpty);
     }
 
+    /**
+     * Finds all jackpots in the in-memory map.
+     * @return A Flux emitting every stored jackpot, with striped pools as snapshots.
+     */
+    @Override
+    public Flux<Jackpot> findAll() {
+        return Flux.defer(() -> Flux.fromIterable(jackpots.values()).map(this::snapshotOf));
+    }
+
     /**
      * Updates an existing jackpot in the in-memory map.
-     * Uses a loop with `replace` for a basic form of optimistic locking/retries for concurrent updates,
-     * which is crucial since `synchronized` is removed.
+     * Uses `replace` for a basic form of optimistic locking: a lost race is retried after `UPDATE_RETRY_BACKOFF`,
+     * up to `UPDATE_ATTEMPTS` attempts. The back-off is a timer, not a sleep, so the subscribing thread is never
+     * blocked and a retry resumes on the timer's thread.
      * @param jackpot The jackpot with updated fields.
      * @return A Mono emitting the updated jackpot, or an error if update fails after retries.
      */
@@ -56,40 +126,188 @@ public class InMemJackpotRepository implements JackpotRepository {
             Jackpot existingJackpot = jackpots.get(jackpot.getJackpotId());
             if (existingJackpot == null) {
 
-                System.err.println("Attempted to update non-existent jackpot: " + jackpot.getJackpotId() + ". Failing update.");
+                log.warn("Attempted to update non-existent jackpot: {}. Failing update.", jackpot.getJackpotId());
                 return Mono.error(new IllegalArgumentException("Jackpot with ID " + jackpot.getJackpotId() + " not found for update."));
             }
 
-            int retries = 3;
-            for (int i = 0; i < retries; i++) {
+            StripedPoolCounter poolCounter = existingJackpot.getPoolCounter();
+            if (poolCounter != null) {
+                // Striped pools have no single value to CAS; move the counter to the requested pool instead.
+                poolCounter.moveTo(StripedPoolCounter.toMinorUnits(jackpot.getCurrentPoolAmount().subtract(existingJackpot.getInitialPoolValue())));
+                return Mono.just(snapshotOf(existingJackpot));
+            }
+
+            return attemptUpdate(jackpot, 0);
+        });
+    }
+
+    private Mono<Jackpot> attemptUpdate(Jackpot jackpot, int attempt) {
+        Jackpot currentJackpot = jackpots.get(jackpot.getJackpotId());
+        if (currentJackpot == null) {
+            return Mono.error(new IllegalStateException("Jackpot disappeared during update retry: " + jackpot.getJackpotId()));
+        }
 
-                Jackpot currentJackpot = jackpots.get(jackpot.getJackpotId());
+        Jackpot newJackpotState = new Jackpot(
+                currentJackpot.getJackpotId(),
+                jackpot.getCurrentPoolAmount(),
+                currentJackpot.getInitialPoolValue(),
+                currentJackpot.getConfig(),
+                currentJackpot.getCreatedAt()
+        );
+
+        if (jackpots.replace(currentJackpot.getJackpotId(), currentJackpot, newJackpotState)) {
+            log.debug("Updated Jackpot: {} new pool: {}", newJackpotState.getJackpotId(), newJackpotState.getCurrentPoolAmount());
+            return Mono.just(newJackpotState);
+        }
+
+        log.debug("Optimistic lock failure for Jackpot: {}. Retrying...", jackpot.getJackpotId());
+        if (attempt + 1 >= UPDATE_ATTEMPTS) {
+            jackpotMetrics.recordPoolUpdateFailure();
+            return Mono.error(new IllegalStateException("Failed to update Jackpot " + jackpot.getJackpotId() + " after " + UPDATE_ATTEMPTS + " retries due to concurrent modification."));
+        }
+        jackpotMetrics.recordPoolUpdateRetry();
+        return Mono.delay(UPDATE_RETRY_BACKOFF).then(Mono.defer(() -> attemptUpdate(jackpot, attempt + 1)));
+    }
+
+    /**
+     * Atomically adds a delta to the pool of a jackpot.
+     * Each attempt re-reads the current state and applies the delta on top of it, so a lost
+     * `replace` race only means another contribution landed first. The loop spins instead of
+     * sleeping and never gives up, because every retry is guaranteed to make progress for some thread.
+     * Striped jackpots skip the loop entirely and add the delta to one of their counter cells.
+     * @param jackpotId The ID of the jackpot to contribute to.
+     * @param delta The amount to add to the current pool.
+     * @return A Mono emitting the jackpot state right after the delta was applied, or an error if not found.
+     */
+    @Override
+    public Mono<Jackpot> addToPool(String jackpotId, BigDecimal delta) {
+        return Mono.fromCallable(() -> {
+            while (true) {
+                Jackpot currentJackpot = jackpots.get(jackpotId);
                 if (currentJackpot == null) {
-                    return Mono.error(new IllegalStateException("Jackpot disappeared during update retry: " + jackpot.getJackpotId()));
+                    throw new IllegalArgumentException("Jackpot with ID " + jackpotId + " not found for contribution.");
+                }
+                if (currentJackpot.getPoolCounter() != null) {
+                    currentJackpot.getPoolCounter().add(StripedPoolCounter.toMinorUnits(delta));
+                    return snapshotOf(currentJackpot);
                 }
 
                 Jackpot newJackpotState = new Jackpot(
                         currentJackpot.getJackpotId(),
-                        jackpot.getCurrentPoolAmount(),
+                        currentJackpot.getCurrentPoolAmount().add(delta),
                         currentJackpot.getInitialPoolValue(),
                         currentJackpot.getConfig(),
                         currentJackpot.getCreatedAt()
                 );
 
-                if (jackpots.replace(currentJackpot.getJackpotId(), currentJackpot, newJackpotState)) {
-                    System.out.println("Updated Jackpot: " + newJackpotState.getJackpotId() + " new pool: " + newJackpotState.getCurrentPoolAmount());
-                    return Mono.just(newJackpotState);
+                if (jackpots.replace(jackpotId, currentJackpot, newJackpotState)) {
+                    return newJackpotState;
+                }
+                jackpotMetrics.recordPoolAddRetry();
+                Thread.onSpinWait();
+            }
+        });
+    }
+
+    /**
+     * Resets the pool of a jackpot to its initial value if the stored state is still the observed one.
+     * Stored jackpots are immutable and `Jackpot` uses identity equality, so `replace` succeeds only
+     * when no contribution or reset has been applied since `observed` was read.
+     * For striped jackpots only a reset invalidates the observed state: the paid-out amount is drained
+     * from the counter, and contributions that landed after the observation stay in the pool.
+     * @param observed The jackpot state the caller based its decision on.
+     * @return A Mono emitting the reset jackpot, or empty if the jackpot changed in the meantime.
+     */
+    @Override
+    public Mono<Jackpot> resetIfUnchanged(Jackpot observed) {
+        return Mono.fromCallable(() -> {
+            StripedPoolCounter poolCounter = observed.getPoolCounter();
+            if (poolCounter != null) {
+                Jackpot liveJackpot = jackpots.get(observed.getJackpotId());
+                if (liveJackpot == null || liveJackpot.getPoolCounter() != poolCounter) {
+                    return null;
+                }
+                long paidOutMinorUnits = StripedPoolCounter.toMinorUnits(observed.getCurrentPoolAmount().subtract(observed.getInitialPoolValue()));
+                return poolCounter.drain(observed.getPoolGeneration(), paidOutMinorUnits) ? snapshotOf(liveJackpot) : null;
+            }
+
+            Jackpot resetJackpot = new Jackpot(
+                    observed.getJackpotId(),
+                    observed.getInitialPoolValue(),
+                    observed.getInitialPoolValue(),
+                    observed.getConfig(),
+                    observed.getCreatedAt()
+            );
+            return jackpots.replace(observed.getJackpotId(), observed, resetJackpot) ? resetJackpot : null;
+        });
+    }
+
+    /**
+     * Moves the pool of a jackpot to the state decided by `transition`.
+     * Plain jackpots replace the stored state they decided on and spin on a lost race, like `addToPool`.
+     * Striped jackpots add the decided delta to their counter; a reset drains the observed pool at the
+     * observed generation instead, so the contribution of the winning bet never enters the counter and
+     * contributions that landed meanwhile stay in the pool. A lost drain re-runs the transition.
+     * @param jackpotId The ID of the jackpot to transition.
+     * @param transition The function deciding the new pool from the current jackpot.
+     * @return A Mono emitting the committed decision, or empty if the jackpot does not exist.
+     */
+    @Override
+    public <T extends PoolTransition> Mono<T> transitionPool(String jackpotId, Function<Jackpot, T> transition) {
+        return Mono.fromCallable(() -> {
+            while (true) {
+                Jackpot currentJackpot = jackpots.get(jackpotId);
+                if (currentJackpot == null) {
+                    return null;
+                }
+
+                StripedPoolCounter poolCounter = currentJackpot.getPoolCounter();
+                if (poolCounter != null) {
+                    Jackpot observed = snapshotOf(currentJackpot);
+                    T decision = transition.apply(observed);
+                    if (!decision.isReset()) {
+                        poolCounter.add(StripedPoolCounter.toMinorUnits(decision.getNewPool().subtract(decision.getObservedPool())));
+                        return decision;
+                    }
+                    long paidOutMinorUnits = StripedPoolCounter.toMinorUnits(decision.getObservedPool().subtract(observed.getInitialPoolValue()));
+                    if (poolCounter.drain(observed.getPoolGeneration(), paidOutMinorUnits)) {
+                        return decision;
+                    }
                 } else {
-                    System.out.println("Optimistic lock failure for Jackpot: " + jackpot.getJackpotId() + ". Retrying...");
-                    try {
-                        Thread.sleep(10);
-                    } catch (InterruptedException e) {
-                        Thread.currentThread().interrupt();
-                        return Mono.error(e);
+                    T decision = transition.apply(currentJackpot);
+                    Jackpot newJackpotState = new Jackpot(
+                            currentJackpot.getJackpotId(),
+                            decision.getNewPool(),
+                            currentJackpot.getInitialPoolValue(),
+                            currentJackpot.getConfig(),
+                            currentJackpot.getCreatedAt()
+                    );
+                    if (jackpots.replace(jackpotId, currentJackpot, newJackpotState)) {
+                        return decision;
                     }
                 }
+                jackpotMetrics.recordPoolTransitionRetry();
+                Thread.onSpinWait();
             }
-            return Mono.error(new IllegalStateException("Failed to update Jackpot " + jackpot.getJackpotId() + " after " + retries + " retries due to concurrent modification."));
         });
     }
+
+    /**
+     * Returns the jackpot as seen by callers. Striped entries are turned into a snapshot bound to
+     * the current counter generation, so the live entry never caches a pool amount.
+     * @param jackpot The stored jackpot.
+     * @return The jackpot itself, or a snapshot of it for striped pools.
+     */
+    private Jackpot snapshotOf(Jackpot jackpot) {
+        StripedPoolCounter poolCounter = jackpot.getPoolCounter();
+        if (poolCounter == null) {
+            return jackpot;
+        }
+        return new Jackpot(jackpot.getJackpotId(), jackpot.getInitialPoolValue(), jackpot.getConfig(), jackpot.getCreatedAt(),
+                poolCounter, poolCounter.stableGeneration());
+    }
+
+    private boolean usesStripedCounter(Jackpot jackpot) {
+        return jackpot.getConfig() != null && jackpot.getConfig().getPoolCounterType() == PoolCounterType.STRIPED;
+    }
 }
\ No newline at end of file
@@ -1,24 +1,33 @@
 package com.sportygroup.jackpot.repository;
 
 import com.sportygroup.jackpot.model.JackpotReward;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.stereotype.Repository;
 import reactor.core.publisher.Mono;
 import reactor.core.publisher.Flux;
 
 import java.util.Optional;
 import java.util.concurrent.ConcurrentHashMap;
-import java.util.stream.Collectors;
 
 /**
  * In-memory implementation of JackpotRewardRepository.
  * Uses a ConcurrentHashMap to store reward records for historical purposes.
  * Operations are wrapped in Mono.fromCallable to expose them as reactive streams,
  * acknowledging that the underlying HashMap operations are blocking.
+ *
+ * Besides the composite-key map, every record is indexed by betId, jackpotId and userId,
+ * so lookups by any of them cost the same no matter how much history has been stored.
  */
 @Repository
 public class InMemJackpotRewardRepository implements JackpotRewardRepository {
 
+    private static final Logger log = LoggerFactory.getLogger(InMemJackpotRewardRepository.class);
+
     private final ConcurrentHashMap<String, JackpotReward> rewards = new ConcurrentHashMap<>();
+    private final RecordIndex<JackpotReward> betIdIndex = new RecordIndex<>();
+    private final RecordIndex<JackpotReward> jackpotIdIndex = new RecordIndex<>();
+    private final RecordIndex<JackpotReward> userIdIndex = new RecordIndex<>();
 
     /**
      * Saves a jackpot reward record to the in-memory map.
@@ -30,24 +39,20 @@ public class InMemJackpotRewardRepository implements JackpotRewardRepository {
     public Mono<JackpotReward> save(JackpotReward reward) {
         return Mono.fromCallable(() -> {
             String key = generateKey(reward.getBetId(), reward.getJackpotId());
-            rewards.put(key, reward);
-            System.out.println("Saved JackpotReward: BetID=" + reward.getBetId() + ", JackpotID=" + reward.getJackpotId() + ", Amount=" + reward.getJackpotRewardAmount());
+            store(key, reward);
+            log.debug("Saved JackpotReward: BetID={}, JackpotID={}, Amount={}", reward.getBetId(), reward.getJackpotId(), reward.getJackpotRewardAmount());
             return reward;
         });
     }
 
     /**
-     * Finds all rewards for a given bet ID.
-     * Wrapped in Flux.fromIterable and Mono.fromCallable to represent a potentially blocking operation.
+     * Finds all rewards for a given bet ID using the betId index.
      * @param betId The ID of the bet.
      * @return A Flux emitting matching reward records.
      */
     @Override
     public Flux<JackpotReward> findByBetId(String betId) {
-        return Mono.fromCallable(() -> rewards.values().stream()
-                        .filter(r -> r.getBetId().equals(betId))
-                        .collect(Collectors.toList()))
-                .flatMapMany(Flux::fromIterable);
+        return Flux.defer(() -> Flux.fromIterable(betIdIndex.get(betId)));
     }
 
     /**
@@ -65,6 +70,38 @@ public class InMemJackpotRewardRepository implements JackpotRewardRepository {
         }).flatMap(Mono::justOrEmpty);
     }
 
+    /**
+     * Finds all rewards for a given jackpot ID.
+     * @param jackpotId The ID of the jackpot.
+     * @return A Flux emitting matching reward records.
+     */
+    @Override
+    public Flux<JackpotReward> findByJackpotId(String jackpotId) {
+        return Flux.defer(() -> Flux.fromIterable(jackpotIdIndex.get(jackpotId)));
+    }
+
+    /**
+     * Finds all rewards for a given user ID.
+     * @param userId The ID of the user.
+     * @return A Flux emitting matching reward records.
+     */
+    @Override
+    public Flux<JackpotReward> findByUserId(String userId) {
+        return Flux.defer(() -> Flux.fromIterable(userIdIndex.get(userId)));
+    }
+
+    /**
+     * Stores a reward record in the composite-key map and in every secondary index.
+     * @param key The composite key of the record.
+     * @param reward The reward record.
+     */
+    private void store(String key, JackpotReward reward) {
+        rewards.put(key, reward);
+        betIdIndex.put(reward.getBetId(), key, reward);
+        jackpotIdIndex.put(reward.getJackpotId(), key, reward);
+        userIdIndex.put(reward.getUserId(), key, reward);
+    }
+
     /**
      * Generates a unique key for the ConcurrentHashMap using betId and jackpotId.
      * @param betId The bet ID.
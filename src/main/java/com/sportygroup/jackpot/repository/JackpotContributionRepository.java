@@ -4,6 +4,8 @@ import com.sportygroup.jackpot.model.JackpotContribution;
 import reactor.core.publisher.Mono;
 import reactor.core.publisher.Flux;
 
+import java.util.List;
+
 /**
  * Interface for managing JackpotContribution entities.
  * This repository is for historical tracking of contributions.
@@ -17,6 +19,13 @@ public interface JackpotContributionRepository {
      */
     Mono<JackpotContribution> save(JackpotContribution contribution);
 
+    /**
+     * Saves several jackpot contribution records in one operation.
+     * @param contributions The contribution records to save.
+     * @return A Flux emitting the saved contribution records.
+     */
+    Flux<JackpotContribution> saveAll(List<JackpotContribution> contributions);
+
     /**
      * Finds all contributions for a given bet ID.
      * @param betId The ID of the bet.
@@ -31,4 +40,18 @@ public interface JackpotContributionRepository {
      * @return A Mono emitting the contribution if found, or empty otherwise.
      */
     Mono<JackpotContribution> findByBetIdAndJackpotId(String betId, String jackpotId);
-}
\ No newline at end of file
+
+    /**
+     * Finds all contributions for a given jackpot ID.
+     * @param jackpotId The ID of the jackpot.
+     * @return A Flux emitting matching contribution records.
+     */
+    Flux<JackpotContribution> findByJackpotId(String jackpotId);
+
+    /**
+     * Finds all contributions for a given user ID.
+     * @param userId The ID of the user.
+     * @return A Flux emitting matching contribution records.
+     */
+    Flux<JackpotContribution> findByUserId(String userId);
+}
@@ -1,8 +1,12 @@
 package com.sportygroup.jackpot.repository;
 
 import com.sportygroup.jackpot.model.Jackpot;
+import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
+import java.math.BigDecimal;
+import java.util.function.Function;
+
 /**
  * Interface for managing Jackpot entities.
  * Adheres to Dependency Inversion Principle.
@@ -23,10 +27,47 @@ public interface JackpotRepository {
      */
     Mono<Jackpot> findById(String jackpotId);
 
+    /**
+     * Finds all jackpots.
+     * @return A Flux emitting every stored jackpot.
+     */
+    Flux<Jackpot> findAll();
+
     /**
      * Updates an existing jackpot.
      * @param jackpot The jackpot with updated fields.
      * @return A Mono emitting the updated jackpot, or an error if not found.
      */
     Mono<Jackpot> update(Jackpot jackpot);
-}
\ No newline at end of file
+
+    /**
+     * Atomically adds a delta to the pool of a jackpot.
+     * The delta is always applied on top of the freshest stored state, so concurrent
+     * contributions are never lost and the call never fails because of contention.
+     * @param jackpotId The ID of the jackpot to contribute to.
+     * @param delta The amount to add to the current pool.
+     * @return A Mono emitting the jackpot state right after the delta was applied, or an error if not found.
+     */
+    Mono<Jackpot> addToPool(String jackpotId, BigDecimal delta);
+
+    /**
+     * Resets the pool of a jackpot to its initial value, but only if the jackpot has not been
+     * modified since the given state was observed.
+     * @param observed The jackpot state the caller based its decision on (e.g. a win evaluation).
+     * @return A Mono emitting the reset jackpot, or empty if the jackpot changed in the meantime.
+     */
+    Mono<Jackpot> resetIfUnchanged(Jackpot observed);
+
+    /**
+     * Atomically moves the pool of a jackpot from the state a decision was based on to the state it decided.
+     * The transition function receives the current jackpot and returns the decision, e.g. a contribution
+     * and whether it wins. If the jackpot changed before the decision could be committed, the function is
+     * run again against the fresh state, so it must be free of side effects.
+     * Contributions that do not reset the pool are applied as deltas on top of concurrent ones, while a
+     * reset only commits against the exact pool it decided on, so the same pool is never paid out twice.
+     * @param jackpotId The ID of the jackpot to transition.
+     * @param transition The function deciding the new pool from the current jackpot.
+     * @return A Mono emitting the committed decision, or empty if the jackpot does not exist.
+     */
+    <T extends PoolTransition> Mono<T> transitionPool(String jackpotId, Function<Jackpot, T> transition);
+}
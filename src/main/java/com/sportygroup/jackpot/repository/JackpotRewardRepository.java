@@ -31,4 +31,18 @@ public interface JackpotRewardRepository {
      * @return A Mono emitting the reward if found, or empty otherwise.
      */
     Mono<JackpotReward> findByBetIdAndJackpotId(String betId, String jackpotId);
-}
\ No newline at end of file
+
+    /**
+     * Finds all rewards for a given jackpot ID.
+     * @param jackpotId The ID of the jackpot.
+     * @return A Flux emitting matching reward records.
+     */
+    Flux<JackpotReward> findByJackpotId(String jackpotId);
+
+    /**
+     * Finds all rewards for a given user ID.
+     * @param userId The ID of the user.
+     * @return A Flux emitting matching reward records.
+     */
+    Flux<JackpotReward> findByUserId(String userId);
+}
@@ -0,0 +1,344 @@
+package com.sportygroup.jackpot.repository;
+
+import com.sportygroup.jackpot.model.JackpotContribution;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Append-only implementation of JackpotContributionRepository backed by memory-mapped segment files.
+ *
+ * Every contribution is written as a fixed-size binary record, so the position of record n is known
+ * without any index. Appenders reserve record slots with a single atomic increment and then fill
+ * their slots concurrently; no lock is taken on the append path. A record becomes visible to
+ * readers only once its commit marker is written with release semantics after the payload, so a
+ * scan never observes a half-written record. When a segment is full, appends continue in the next
+ * segment file, which is created and mapped on first use.
+ *
+ * Records live in the page cache rather than on the heap, so history can grow far beyond the heap
+ * size and survives restarts: on startup the existing segments are mapped again and appends resume
+ * after the last committed record. Lookups are sequential scans that compare the raw bytes of the
+ * mapped records and only decode matches; they are meant for audit and history queries, not for
+ * the settlement path, which only appends.
+ *
+ * Record layout (big-endian, RECORD_SIZE bytes):
+ * commit marker (int), betId / userId / jackpotId (length-prefixed UTF-8),
+ * stake / contribution / pool-after (unscaled long + scale int), createdAt (epoch second long + nano int).
+ */
+public class MappedJackpotContributionRepository implements JackpotContributionRepository {
+
+    private static final Logger log = LoggerFactory.getLogger(MappedJackpotContributionRepository.class);
+
+    static final int RECORD_SIZE = 256;
+
+    private static final int COMMITTED = 0x4A504331;
+    private static final String SEGMENT_PREFIX = "contributions-";
+    private static final String SEGMENT_SUFFIX = ".ledger";
+
+    private static final int MARKER_OFFSET = 0;
+    private static final int BET_ID_OFFSET = 4;
+    private static final int BET_ID_CAPACITY = 64;
+    private static final int USER_ID_OFFSET = BET_ID_OFFSET + 2 + BET_ID_CAPACITY;
+    private static final int USER_ID_CAPACITY = 64;
+    private static final int JACKPOT_ID_OFFSET = USER_ID_OFFSET + 2 + USER_ID_CAPACITY;
+    private static final int JACKPOT_ID_CAPACITY = 32;
+    private static final int STAKE_OFFSET = JACKPOT_ID_OFFSET + 2 + JACKPOT_ID_CAPACITY;
+    private static final int CONTRIBUTION_OFFSET = STAKE_OFFSET + 12;
+    private static final int POOL_AFTER_OFFSET = CONTRIBUTION_OFFSET + 12;
+    private static final int CREATED_AT_OFFSET = POOL_AFTER_OFFSET + 12;
+
+    private static final VarHandle MARKER = MethodHandles.byteBufferViewVarHandle(int[].class, ByteOrder.BIG_ENDIAN);
+
+    private final Path directory;
+    private final int recordsPerSegment;
+    private final ConcurrentHashMap<Integer, MappedByteBuffer> segments = new ConcurrentHashMap<>();
+    private final AtomicLong nextRecord = new AtomicLong();
+
+    /**
+     * Opens the ledger in the given directory, creating it if needed, and recovers existing segments.
+     * @param directory The directory holding the segment files.
+     * @param recordsPerSegment The number of records per segment file.
+     */
+    public MappedJackpotContributionRepository(Path directory, int recordsPerSegment) {
+        if (recordsPerSegment <= 0 || (long) recordsPerSegment * RECORD_SIZE > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("Records per segment must be between 1 and " + Integer.MAX_VALUE / RECORD_SIZE + ", got " + recordsPerSegment);
+        }
+        this.directory = directory;
+        this.recordsPerSegment = recordsPerSegment;
+        try {
+            Files.createDirectories(directory);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not create contribution ledger directory " + directory, e);
+        }
+        recover();
+    }
+
+    /**
+     * Appends a contribution record to the ledger.
+     * @param contribution The contribution record to save.
+     * @return A Mono emitting the saved contribution record.
+     */
+    @Override
+    public Mono<JackpotContribution> save(JackpotContribution contribution) {
+        return Mono.fromCallable(() -> {
+            ByteBuffer record = encode(contribution);
+            write(nextRecord.getAndIncrement(), record);
+            return contribution;
+        });
+    }
+
+    /**
+     * Appends several contribution records to the ledger, reserving one contiguous range of slots.
+     * @param contributionRecords The contribution records to save.
+     * @return A Flux emitting the saved contribution records.
+     */
+    @Override
+    public Flux<JackpotContribution> saveAll(List<JackpotContribution> contributionRecords) {
+        return Mono.fromCallable(() -> {
+            ByteBuffer[] records = new ByteBuffer[contributionRecords.size()];
+            for (int i = 0; i < records.length; i++) {
+                records[i] = encode(contributionRecords.get(i));
+            }
+            long firstRecord = nextRecord.getAndAdd(records.length);
+            for (int i = 0; i < records.length; i++) {
+                write(firstRecord + i, records[i]);
+            }
+            return contributionRecords;
+        }).flatMapMany(Flux::fromIterable);
+    }
+
+    /**
+     * Finds all contributions for a given bet ID by scanning the ledger.
+     * @param betId The ID of the bet.
+     * @return A Flux emitting matching contribution records, in append order.
+     */
+    @Override
+    public Flux<JackpotContribution> findByBetId(String betId) {
+        byte[] betIdBytes = betId.getBytes(StandardCharsets.UTF_8);
+        return scan((segment, base) -> fieldEquals(segment, base + BET_ID_OFFSET, betIdBytes));
+    }
+
+    /**
+     * Finds the latest contribution for a Bet ID and Jackpot ID by scanning the ledger.
+     * @param betId The ID of the bet.
+     * @param jackpotId The ID of the jackpot.
+     * @return A Mono emitting the contribution if found, or empty otherwise.
+     */
+    @Override
+    public Mono<JackpotContribution> findByBetIdAndJackpotId(String betId, String jackpotId) {
+        byte[] betIdBytes = betId.getBytes(StandardCharsets.UTF_8);
+        byte[] jackpotIdBytes = jackpotId.getBytes(StandardCharsets.UTF_8);
+        return scan((segment, base) -> fieldEquals(segment, base + BET_ID_OFFSET, betIdBytes)
+                && fieldEquals(segment, base + JACKPOT_ID_OFFSET, jackpotIdBytes))
+                .takeLast(1)
+                .singleOrEmpty();
+    }
+
+    /**
+     * Finds all contributions for a given jackpot ID by scanning the ledger.
+     * @param jackpotId The ID of the jackpot.
+     * @return A Flux emitting matching contribution records, in append order.
+     */
+    @Override
+    public Flux<JackpotContribution> findByJackpotId(String jackpotId) {
+        byte[] jackpotIdBytes = jackpotId.getBytes(StandardCharsets.UTF_8);
+        return scan((segment, base) -> fieldEquals(segment, base + JACKPOT_ID_OFFSET, jackpotIdBytes));
+    }
+
+    /**
+     * Finds all contributions for a given user ID by scanning the ledger.
+     * @param userId The ID of the user.
+     * @return A Flux emitting matching contribution records, in append order.
+     */
+    @Override
+    public Flux<JackpotContribution> findByUserId(String userId) {
+        byte[] userIdBytes = userId.getBytes(StandardCharsets.UTF_8);
+        return scan((segment, base) -> fieldEquals(segment, base + USER_ID_OFFSET, userIdBytes));
+    }
+
+    /**
+     * Streams every committed record of the ledger in append order.
+     * @return A Flux emitting all contribution records.
+     */
+    public Flux<JackpotContribution> findAll() {
+        return scan((segment, base) -> true);
+    }
+
+    /**
+     * Returns the number of reserved record slots, including slots still being written.
+     * @return The number of reserved records.
+     */
+    public long getRecordCount() {
+        return nextRecord.get();
+    }
+
+    /**
+     * Flushes all mapped segments to disk.
+     */
+    public void close() {
+        segments.values().forEach(MappedByteBuffer::force);
+    }
+
+    /**
+     * Encodes a contribution into a standalone record buffer. Encoding happens before a slot is
+     * reserved, so a record that does not fit the layout fails without leaving a hole in the ledger.
+     */
+    private ByteBuffer encode(JackpotContribution contribution) {
+        ByteBuffer record = ByteBuffer.allocate(RECORD_SIZE);
+        putString(record, BET_ID_OFFSET, BET_ID_CAPACITY, contribution.getBetId());
+        putString(record, USER_ID_OFFSET, USER_ID_CAPACITY, contribution.getUserId());
+        putString(record, JACKPOT_ID_OFFSET, JACKPOT_ID_CAPACITY, contribution.getJackpotId());
+        putDecimal(record, STAKE_OFFSET, contribution.getStakeAmount());
+        putDecimal(record, CONTRIBUTION_OFFSET, contribution.getContributionAmount());
+        putDecimal(record, POOL_AFTER_OFFSET, contribution.getCurrentJackpotAmountAfterContribution());
+        LocalDateTime createdAt = contribution.getCreatedAt() != null ? contribution.getCreatedAt() : LocalDateTime.now();
+        record.putLong(CREATED_AT_OFFSET, createdAt.toEpochSecond(ZoneOffset.UTC));
+        record.putInt(CREATED_AT_OFFSET + 8, createdAt.getNano());
+        return record;
+    }
+
+    /**
+     * Copies an encoded record into its reserved slot and then publishes it with the commit marker.
+     */
+    private void write(long recordIndex, ByteBuffer record) {
+        MappedByteBuffer segment = segment((int) (recordIndex / recordsPerSegment));
+        int base = (int) (recordIndex % recordsPerSegment) * RECORD_SIZE;
+        segment.put(base + BET_ID_OFFSET, record, BET_ID_OFFSET, RECORD_SIZE - BET_ID_OFFSET);
+        MARKER.setRelease(segment, base + MARKER_OFFSET, COMMITTED);
+    }
+
+    private Flux<JackpotContribution> scan(RecordMatcher matcher) {
+        return Flux.defer(() -> {
+            long limit = nextRecord.get();
+            return Flux.<JackpotContribution, Long>generate(() -> 0L, (recordIndex, sink) -> {
+                for (long i = recordIndex; i < limit; i++) {
+                    MappedByteBuffer segment = segments.get((int) (i / recordsPerSegment));
+                    int base = (int) (i % recordsPerSegment) * RECORD_SIZE;
+                    if (segment != null && isCommitted(segment, base) && matcher.matches(segment, base)) {
+                        sink.next(decode(segment, base));
+                        return i + 1;
+                    }
+                }
+                sink.complete();
+                return limit;
+            });
+        });
+    }
+
+    private JackpotContribution decode(ByteBuffer segment, int base) {
+        return new JackpotContribution(
+                getString(segment, base + BET_ID_OFFSET),
+                getString(segment, base + USER_ID_OFFSET),
+                getString(segment, base + JACKPOT_ID_OFFSET),
+                getDecimal(segment, base + STAKE_OFFSET),
+                getDecimal(segment, base + CONTRIBUTION_OFFSET),
+                getDecimal(segment, base + POOL_AFTER_OFFSET),
+                LocalDateTime.ofEpochSecond(segment.getLong(base + CREATED_AT_OFFSET), segment.getInt(base + CREATED_AT_OFFSET + 8), ZoneOffset.UTC)
+        );
+    }
+
+    private boolean isCommitted(ByteBuffer segment, int base) {
+        return (int) MARKER.getAcquire(segment, base + MARKER_OFFSET) == COMMITTED;
+    }
+
+    private MappedByteBuffer segment(int segmentIndex) {
+        return segments.computeIfAbsent(segmentIndex, this::mapSegment);
+    }
+
+    private MappedByteBuffer mapSegment(int segmentIndex) {
+        Path segmentFile = directory.resolve(String.format("%s%06d%s", SEGMENT_PREFIX, segmentIndex, SEGMENT_SUFFIX));
+        try (FileChannel channel = FileChannel.open(segmentFile, StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            return channel.map(FileChannel.MapMode.READ_WRITE, 0, (long) recordsPerSegment * RECORD_SIZE);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not map contribution ledger segment " + segmentFile, e);
+        }
+    }
+
+    /**
+     * Maps the existing segments and resumes appending after the last committed record.
+     * Slots that were reserved but never committed before a crash stay empty and are skipped by scans.
+     */
+    private void recover() {
+        int segmentIndex = 0;
+        long lastCommitted = -1;
+        while (Files.exists(directory.resolve(String.format("%s%06d%s", SEGMENT_PREFIX, segmentIndex, SEGMENT_SUFFIX)))) {
+            MappedByteBuffer segment = segment(segmentIndex);
+            for (int slot = 0; slot < recordsPerSegment; slot++) {
+                if (isCommitted(segment, slot * RECORD_SIZE)) {
+                    lastCommitted = (long) segmentIndex * recordsPerSegment + slot;
+                }
+            }
+            segmentIndex++;
+        }
+        nextRecord.set(lastCommitted + 1);
+        if (lastCommitted >= 0) {
+            log.info("Recovered {} contribution records from {}", lastCommitted + 1, directory);
+        }
+    }
+
+    private static void putString(ByteBuffer record, int offset, int capacity, String value) {
+        byte[] bytes = value != null ? value.getBytes(StandardCharsets.UTF_8) : new byte[0];
+        if (bytes.length > capacity) {
+            throw new IllegalArgumentException("Value '" + value + "' exceeds the " + capacity + " bytes reserved in a contribution record");
+        }
+        record.putShort(offset, (short) bytes.length);
+        record.put(offset + 2, bytes);
+    }
+
+    private static String getString(ByteBuffer segment, int offset) {
+        byte[] bytes = new byte[segment.getShort(offset)];
+        segment.get(offset + 2, bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    private static boolean fieldEquals(ByteBuffer segment, int offset, byte[] expected) {
+        if (segment.getShort(offset) != expected.length) {
+            return false;
+        }
+        for (int i = 0; i < expected.length; i++) {
+            if (segment.get(offset + 2 + i) != expected[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static void putDecimal(ByteBuffer record, int offset, BigDecimal value) {
+        BigDecimal decimal = value != null ? value : BigDecimal.ZERO;
+        record.putLong(offset, decimal.unscaledValue().longValueExact());
+        record.putInt(offset + 8, decimal.scale());
+    }
+
+    private static BigDecimal getDecimal(ByteBuffer segment, int offset) {
+        return new BigDecimal(BigInteger.valueOf(segment.getLong(offset)), segment.getInt(offset + 8));
+    }
+
+    /**
+     * Matches a committed record directly in its mapped segment, without decoding it.
+     */
+    @FunctionalInterface
+    private interface RecordMatcher {
+        boolean matches(ByteBuffer segment, int base);
+    }
+}
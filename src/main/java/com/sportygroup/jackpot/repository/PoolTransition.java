@@ -0,0 +1,30 @@
+package com.sportygroup.jackpot.repository;
+
+import java.math.BigDecimal;
+
+/**
+ * The outcome of a decision taken against one observed jackpot state, as applied by
+ * `JackpotRepository.transitionPool`. Implementations carry whatever else the caller decided
+ * (e.g. a contribution and a win) and are handed back once the transition is committed.
+ */
+public interface PoolTransition {
+
+    /**
+     * Returns the pool the decision was based on.
+     * @return The observed pool amount.
+     */
+    BigDecimal getObservedPool();
+
+    /**
+     * Returns the pool to store.
+     * @return The new pool amount.
+     */
+    BigDecimal getNewPool();
+
+    /**
+     * Tells whether the transition pays out the pool and resets it. Resets of the same pool are
+     * exclusive: of two transitions resetting the same observed state, at most one is committed.
+     * @return True if the pool is reset.
+     */
+    boolean isReset();
+}
@@ -0,0 +1,88 @@
+package com.sportygroup.jackpot.repository;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Concurrent secondary index for the in-memory history repositories.
+ * Maps an index key (e.g. a betId) to the records stored under it, keyed by their primary key,
+ * so that lookups cost one hash probe instead of a scan over the whole history. Saving a record
+ * again under the same primary key replaces it in the index as it does in the primary map.
+ *
+ * A key with a single record, as a betId almost always is, holds that record directly; only a key
+ * that gets a second record (e.g. a jackpotId) is given a map of its records. Keys never go back
+ * from a map to a single record, so a key with many records is updated without locking its entry.
+ *
+ * @param <T> The type of the indexed records.
+ */
+class RecordIndex<T> {
+
+    // Values are either a SingleRecord or a ConcurrentHashMap of the records by primary key.
+    private final ConcurrentHashMap<String, Object> entries = new ConcurrentHashMap<>();
+
+    /**
+     * Adds a record to the index. Records without an index key are not indexed.
+     * @param indexKey The key the record is looked up by.
+     * @param primaryKey The primary key of the record.
+     * @param record The record.
+     */
+    @SuppressWarnings("unchecked")
+    void put(String indexKey, String primaryKey, T record) {
+        if (indexKey == null) {
+            return;
+        }
+        Object current = entries.get(indexKey);
+        if (current instanceof ConcurrentHashMap) {
+            ((ConcurrentHashMap<String, T>) current).put(primaryKey, record);
+            return;
+        }
+        entries.compute(indexKey, (key, entry) -> {
+            if (entry == null) {
+                return new SingleRecord<>(primaryKey, record);
+            }
+            if (entry instanceof ConcurrentHashMap) {
+                ((ConcurrentHashMap<String, T>) entry).put(primaryKey, record);
+                return entry;
+            }
+            SingleRecord<T> single = (SingleRecord<T>) entry;
+            if (single.primaryKey.equals(primaryKey)) {
+                return new SingleRecord<>(primaryKey, record);
+            }
+            ConcurrentHashMap<String, T> records = new ConcurrentHashMap<>();
+            records.put(single.primaryKey, single.record);
+            records.put(primaryKey, record);
+            return records;
+        });
+    }
+
+    /**
+     * Returns the records stored under an index key. A key with several records returns a live view.
+     * @param indexKey The key to look up.
+     * @return The matching records, or an empty collection if there are none.
+     */
+    @SuppressWarnings("unchecked")
+    Collection<T> get(String indexKey) {
+        Object entry = indexKey != null ? entries.get(indexKey) : null;
+        if (entry == null) {
+            return Collections.emptyList();
+        }
+        if (entry instanceof ConcurrentHashMap) {
+            return ((ConcurrentHashMap<String, T>) entry).values();
+        }
+        return Collections.singletonList(((SingleRecord<T>) entry).record);
+    }
+
+    /**
+     * The only record stored under an index key, with its primary key.
+     */
+    private static final class SingleRecord<T> {
+        private final String primaryKey;
+        private final T record;
+
+        private SingleRecord(String primaryKey, T record) {
+            this.primaryKey = primaryKey;
+            this.record = record;
+        }
+    }
+}
@@ -0,0 +1,206 @@
+package com.sportygroup.jackpot.repository.changelog;
+
+import com.sportygroup.jackpot.model.Jackpot;
+import com.sportygroup.jackpot.model.enums.PoolCounterType;
+import com.sportygroup.jackpot.repository.JackpotRepository;
+import com.sportygroup.jackpot.repository.PoolTransition;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+import java.math.BigDecimal;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * JackpotRepository decorator that writes the pool of a jackpot to the JackpotChangelog after every change.
+ *
+ * The changelog keeps absolute pools, not deltas, so its compacted form is the state itself. This relies
+ * on partition ownership: all bets of a jackpot are consumed from one partition by one consumer at a time,
+ * so the changes of a jackpot are applied and written by a single writer, in order.
+ *
+ * Every write completes only once the broker acknowledged the changelog record, so the offset of a bet
+ * is never committed before the pool change it caused is in the changelog.
+ *
+ * `save` only registers a jackpot and does not write its pool, so startup cannot overwrite the changelog
+ * with seed values. If the changelog restored a pool for the jackpot, that pool replaces the given one.
+ * Pool changes therefore have to go through `update`, `addToPool`, `resetIfUnchanged` or `transitionPool`,
+ * as JackpotService and the settlement shards do.
+ *
+ * A change is only applied to a jackpot whose bets partition this instance owns; any other change fails with
+ * an IllegalStateException before it is applied, so an instance that lost a partition cannot write stale pools.
+ * The record written is the exact pool after the change. STRIPED pools are rejected on registration, since
+ * their reads may reuse a sum that misses the change just applied, and a single writer per jackpot gains
+ * nothing from striping anyway.
+ */
+public class ChangelogJackpotRepository implements JackpotRepository {
+
+    private static final Logger log = LoggerFactory.getLogger(ChangelogJackpotRepository.class);
+
+    private final JackpotRepository delegate;
+    private final JackpotChangelog jackpotChangelog;
+
+    /**
+     * Creates the decorator.
+     * @param delegate The repository holding the live jackpot state.
+     * @param jackpotChangelog The changelog receiving pool changes.
+     */
+    public ChangelogJackpotRepository(JackpotRepository delegate, JackpotChangelog jackpotChangelog) {
+        this.delegate = delegate;
+        this.jackpotChangelog = jackpotChangelog;
+    }
+
+    /**
+     * Registers a jackpot. If the changelog restored a pool for it, the restored pool replaces the given one.
+     * @param jackpot The jackpot to save.
+     * @return A Mono emitting the saved jackpot.
+     */
+    @Override
+    public Mono<Jackpot> save(Jackpot jackpot) {
+        return Mono.defer(() -> {
+            checkNotStriped(jackpot);
+            BigDecimal recoveredPool = jackpotChangelog.takeRecoveredPool(jackpot.getJackpotId());
+            if (recoveredPool != null) {
+                log.info("Restoring Jackpot {} with changelog pool: {}", jackpot.getJackpotId(), recoveredPool);
+                return delegate.save(new Jackpot(jackpot.getJackpotId(), recoveredPool, jackpot.getInitialPoolValue(),
+                        jackpot.getConfig(), jackpot.getCreatedAt()));
+            }
+            return delegate.save(jackpot);
+        });
+    }
+
+    /**
+     * Finds a jackpot by its ID. Reads are served by the delegate.
+     * @param jackpotId The ID of the jackpot to find.
+     * @return A Mono emitting the jackpot if found, or empty otherwise.
+     */
+    @Override
+    public Mono<Jackpot> findById(String jackpotId) {
+        return delegate.findById(jackpotId);
+    }
+
+    /**
+     * Finds all jackpots. Reads are served by the delegate.
+     * @return A Flux emitting every stored jackpot.
+     */
+    @Override
+    public Flux<Jackpot> findAll() {
+        return delegate.findAll();
+    }
+
+    /**
+     * Updates a jackpot and writes its new pool.
+     * @param jackpot The jackpot with updated fields.
+     * @return A Mono emitting the updated jackpot.
+     */
+    @Override
+    public Mono<Jackpot> update(Jackpot jackpot) {
+        return Mono.defer(() -> {
+            checkNotStriped(jackpot);
+            return owned(jackpot.getJackpotId(), () -> delegate.update(jackpot))
+                    .flatMap(updated -> logged(updated, updated.getJackpotId(), updated.getCurrentPoolAmount()));
+        });
+    }
+
+    /**
+     * Adds a delta to a pool and writes the resulting pool.
+     * @param jackpotId The ID of the jackpot to contribute to.
+     * @param delta The amount to add to the current pool.
+     * @return A Mono emitting the jackpot state right after the delta was applied.
+     */
+    @Override
+    public Mono<Jackpot> addToPool(String jackpotId, BigDecimal delta) {
+        return owned(jackpotId, () -> delegate.addToPool(jackpotId, delta))
+                .flatMap(updated -> logged(updated, jackpotId, updated.getCurrentPoolAmount()));
+    }
+
+    /**
+     * Resets a pool if unchanged and writes the reset pool.
+     * @param observed The jackpot state the caller based its decision on.
+     * @return A Mono emitting the reset jackpot, or empty if the jackpot changed in the meantime.
+     */
+    @Override
+    public Mono<Jackpot> resetIfUnchanged(Jackpot observed) {
+        return owned(observed.getJackpotId(), () -> delegate.resetIfUnchanged(observed))
+                .flatMap(reset -> logged(reset, observed.getJackpotId(), reset.getCurrentPoolAmount()));
+    }
+
+    /**
+     * Transitions a pool and writes the committed pool.
+     * @param jackpotId The ID of the jackpot to transition.
+     * @param transition The function deciding the new pool from the current jackpot.
+     * @return A Mono emitting the committed decision, or empty if the jackpot does not exist.
+     */
+    @Override
+    public <T extends PoolTransition> Mono<T> transitionPool(String jackpotId, Function<Jackpot, T> transition) {
+        return owned(jackpotId, () -> delegate.transitionPool(jackpotId, transition))
+                .flatMap(decision -> logged(decision, jackpotId, decision.getNewPool()));
+    }
+
+    /**
+     * Applies pools restored from the changelog to the jackpots that are already registered.
+     * Restored pools of jackpots registered later are applied by `save`. Restoring does not write
+     * to the changelog, since the pools are already its latest values.
+     * @param pools The restored pools by jackpotId.
+     * @return A Mono completing once every registered jackpot holds its restored pool.
+     */
+    public Mono<Void> restore(Map<String, BigDecimal> pools) {
+        return Flux.fromIterable(pools.entrySet())
+                .concatMap(entry -> delegate.findById(entry.getKey())
+                        .flatMap(jackpot -> {
+                            jackpotChangelog.takeRecoveredPool(jackpot.getJackpotId());
+                            return delegate.update(new Jackpot(jackpot.getJackpotId(), entry.getValue(), jackpot.getInitialPoolValue(),
+                                    jackpot.getConfig(), jackpot.getCreatedAt()));
+                        }))
+                .then();
+    }
+
+    /**
+     * Gives up the given bets partitions. Their jackpots stay registered, but every later change to them is
+     * rejected until the partitions are assigned and restored again.
+     * @param partitions The revoked partition numbers.
+     * @return A Mono emitting the IDs of the registered jackpots in the revoked partitions.
+     */
+    public Mono<List<String>> revoke(Collection<Integer> partitions) {
+        Set<Integer> owned = jackpotChangelog.getOwnedPartitions();
+        jackpotChangelog.revoke(partitions);
+        if (partitions.stream().noneMatch(owned::contains)) {
+            return Mono.just(List.of());
+        }
+        return delegate.findAll()
+                .map(Jackpot::getJackpotId)
+                .filter(jackpotId -> partitions.contains(jackpotChangelog.partitionOf(jackpotId)))
+                .collectList();
+    }
+
+    /**
+     * Subscribes to a change only if this instance owns the jackpot's bets partition.
+     */
+    private <T> Mono<T> owned(String jackpotId, Supplier<Mono<T>> change) {
+        return Mono.defer(() -> jackpotChangelog.owns(jackpotId) ? change.get()
+                : Mono.error(new IllegalStateException("Jackpot " + jackpotId + " belongs to a bets partition this instance does not own.")));
+    }
+
+    private static void checkNotStriped(Jackpot jackpot) {
+        if (jackpot.getConfig() != null && jackpot.getConfig().getPoolCounterType() == PoolCounterType.STRIPED) {
+            throw new IllegalArgumentException("Jackpot " + jackpot.getJackpotId()
+                    + " uses a STRIPED pool, which cannot be kept in the changelog.");
+        }
+    }
+
+    /**
+     * Emits the result once the changelog record is acknowledged. Futures are completed by the producer's
+     * I/O thread, so the rest of the pipeline is moved off it.
+     */
+    private <T> Mono<T> logged(T result, String jackpotId, BigDecimal pool) {
+        return Mono.fromFuture(() -> jackpotChangelog.append(jackpotId, pool))
+                .publishOn(Schedulers.parallel())
+                .thenReturn(result);
+    }
+}
@@ -0,0 +1,238 @@
+package com.sportygroup.jackpot.repository.changelog;
+
+import org.apache.kafka.clients.consumer.Consumer;
+import org.apache.kafka.clients.consumer.ConsumerConfig;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.clients.consumer.KafkaConsumer;
+import org.apache.kafka.clients.producer.KafkaProducer;
+import org.apache.kafka.clients.producer.Producer;
+import org.apache.kafka.clients.producer.ProducerConfig;
+import org.apache.kafka.clients.producer.ProducerRecord;
+import org.apache.kafka.common.TopicPartition;
+import org.apache.kafka.common.serialization.StringDeserializer;
+import org.apache.kafka.common.serialization.StringSerializer;
+import org.apache.kafka.common.utils.Utils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Compacted Kafka topic holding the latest pool of every jackpot, keyed by jackpotId.
+ *
+ * The changelog is co-partitioned with the bets topic: a jackpot's pool is written to the partition
+ * number its bets are routed to, computed with the producer's default key hashing and the partition
+ * count of the bets topic. The consumer owning bets partition `p` therefore finds the state of all its
+ * jackpots in changelog partition `p`, and only needs to read that partition when `p` is assigned to it.
+ * The changelog topic must have at least as many partitions as the bets topic.
+ *
+ * Values are the pool as a plain decimal string. Compaction keeps the last value per jackpot, so a
+ * restore reads one record per jackpot plus whatever has not been compacted yet.
+ *
+ * Restored pools of jackpots that are not registered yet are kept until `takeRecoveredPool` claims them.
+ *
+ * The changelog also tracks which bets partitions this instance owns. The partition counts are resolved
+ * by the first restore, on the consumer thread, so routing a record never asks the broker for metadata on
+ * the caller's thread. A restore that does not reach the end offsets within its timeout fails, and the
+ * partitions it was restoring are not taken over.
+ */
+public class JackpotChangelog {
+
+    private static final Logger log = LoggerFactory.getLogger(JackpotChangelog.class);
+
+    private static final Duration POLL_TIMEOUT = Duration.ofMillis(200);
+    private static final Duration DEFAULT_RESTORE_TIMEOUT = Duration.ofSeconds(60);
+
+    private final String bootstrapServers;
+    private final String topic;
+    private final String betsTopic;
+    private final Producer<String, String> producer;
+    private final Duration restoreTimeout;
+    private final ConcurrentHashMap<String, BigDecimal> recoveredPools = new ConcurrentHashMap<>();
+    private final Set<Integer> ownedPartitions = ConcurrentHashMap.newKeySet();
+    private volatile int betsPartitionCount;
+
+    /**
+     * Creates the changelog and its producer.
+     * @param bootstrapServers The Kafka bootstrap servers.
+     * @param topic The compacted changelog topic.
+     * @param betsTopic The bets topic the changelog is co-partitioned with.
+     */
+    public JackpotChangelog(String bootstrapServers, String topic, String betsTopic) {
+        this(bootstrapServers, topic, betsTopic, DEFAULT_RESTORE_TIMEOUT);
+    }
+
+    /**
+     * Creates the changelog and its producer.
+     * @param bootstrapServers The Kafka bootstrap servers.
+     * @param topic The compacted changelog topic.
+     * @param betsTopic The bets topic the changelog is co-partitioned with.
+     * @param restoreTimeout How long a restore may take to read its partitions up to their end.
+     */
+    public JackpotChangelog(String bootstrapServers, String topic, String betsTopic, Duration restoreTimeout) {
+        this.bootstrapServers = bootstrapServers;
+        this.topic = topic;
+        this.betsTopic = betsTopic;
+        this.restoreTimeout = restoreTimeout;
+        Map<String, Object> producerProps = new HashMap<>();
+        producerProps.put(ProducerConfig.BOOTSTRAP_SERVERS_CONFIG, bootstrapServers);
+        producerProps.put(ProducerConfig.ACKS_CONFIG, "all");
+        producerProps.put(ProducerConfig.ENABLE_IDEMPOTENCE_CONFIG, true);
+        producerProps.put(ProducerConfig.LINGER_MS_CONFIG, 1);
+        this.producer = new KafkaProducer<>(producerProps, new StringSerializer(), new StringSerializer());
+    }
+
+    /**
+     * Writes the latest pool of a jackpot to the partition owning its bets.
+     * @param jackpotId The ID of the jackpot.
+     * @param pool The pool after the change.
+     * @return A future completed once the broker acknowledged the record.
+     */
+    public CompletableFuture<Void> append(String jackpotId, BigDecimal pool) {
+        CompletableFuture<Void> written = new CompletableFuture<>();
+        ProducerRecord<String, String> record = new ProducerRecord<>(topic, partitionOf(jackpotId), jackpotId, pool.toPlainString());
+        producer.send(record, (metadata, exception) -> {
+            if (exception != null) {
+                written.completeExceptionally(exception);
+            } else {
+                written.complete(null);
+            }
+        });
+        return written;
+    }
+
+    /**
+     * Reads the given changelog partitions up to their current end and returns the latest pool of every
+     * jackpot found in them. The pools are also kept as recovered pools until claimed.
+     * Blocks until the partitions are read, so it is meant to run before the bets partitions are consumed.
+     * @param partitions The partition numbers to restore.
+     * @return The restored pools by jackpotId.
+     * @throws IllegalStateException if the partitions were not read within the restore timeout.
+     */
+    public Map<String, BigDecimal> restore(Collection<Integer> partitions) {
+        Map<String, BigDecimal> pools = new HashMap<>();
+        if (partitions.isEmpty()) {
+            return pools;
+        }
+        resolvePartitionCount();
+        List<TopicPartition> topicPartitions = partitions.stream().map(p -> new TopicPartition(topic, p)).toList();
+        long deadline = System.nanoTime() + restoreTimeout.toNanos();
+        try (Consumer<String, String> consumer = createRestoreConsumer()) {
+            consumer.assign(topicPartitions);
+            consumer.seekToBeginning(topicPartitions);
+            Map<TopicPartition, Long> endOffsets = consumer.endOffsets(topicPartitions, restoreTimeout);
+            while (topicPartitions.stream().anyMatch(tp -> consumer.position(tp) < endOffsets.get(tp))) {
+                if (System.nanoTime() - deadline > 0) {
+                    throw new IllegalStateException("Restoring changelog partitions " + partitions + " of " + topic
+                            + " did not finish within " + restoreTimeout + ".");
+                }
+                for (ConsumerRecord<String, String> record : consumer.poll(POLL_TIMEOUT)) {
+                    if (record.value() == null) {
+                        pools.remove(record.key());
+                    } else {
+                        pools.put(record.key(), new BigDecimal(record.value()));
+                    }
+                }
+            }
+        }
+        recoveredPools.putAll(pools);
+        log.info("Restored {} jackpot pools from changelog partitions {}", pools.size(), partitions);
+        return pools;
+    }
+
+    /**
+     * Returns the recovered pool of a jackpot and forgets it, so it is restored only once.
+     * @param jackpotId The ID of the jackpot.
+     * @return The pool recovered from the changelog, or null if no restored partition had state for it.
+     */
+    public BigDecimal takeRecoveredPool(String jackpotId) {
+        return recoveredPools.remove(jackpotId);
+    }
+
+    /**
+     * Marks bets partitions as owned by this instance, once their jackpots are restored.
+     * @param partitions The partition numbers taken over.
+     */
+    public void assign(Collection<Integer> partitions) {
+        ownedPartitions.addAll(partitions);
+    }
+
+    /**
+     * Gives up ownership of bets partitions. Changes to their jackpots are rejected from now on.
+     * @param partitions The partition numbers given up.
+     */
+    public void revoke(Collection<Integer> partitions) {
+        ownedPartitions.removeAll(partitions);
+    }
+
+    /**
+     * Returns the bets partitions currently owned by this instance.
+     * @return The owned partition numbers.
+     */
+    public Set<Integer> getOwnedPartitions() {
+        return Set.copyOf(ownedPartitions);
+    }
+
+    /**
+     * Returns whether the bets partition of a jackpot is owned by this instance.
+     * @param jackpotId The ID of the jackpot.
+     * @return True if this instance may change the jackpot's pool.
+     */
+    public boolean owns(String jackpotId) {
+        return betsPartitionCount > 0 && ownedPartitions.contains(partitionOf(jackpotId));
+    }
+
+    /**
+     * Flushes pending records and closes the producer.
+     */
+    public void close() {
+        producer.close(Duration.ofSeconds(10));
+    }
+
+    /**
+     * Returns the partition the bets of a jackpot are routed to, using the same murmur2 key hashing
+     * as the producer's default partitioner.
+     * @throws IllegalStateException if no restore has resolved the partition count yet.
+     */
+    int partitionOf(String jackpotId) {
+        int partitions = betsPartitionCount;
+        if (partitions == 0) {
+            throw new IllegalStateException("Partitions of " + betsTopic + " are not known before the first restore.");
+        }
+        return Utils.toPositive(Utils.murmur2(jackpotId.getBytes(StandardCharsets.UTF_8))) % partitions;
+    }
+
+    /**
+     * Looks up the partition counts of the bets and changelog topics once. Blocks on broker metadata,
+     * so it only runs from `restore`, on the consumer thread.
+     */
+    private void resolvePartitionCount() {
+        if (betsPartitionCount > 0) {
+            return;
+        }
+        int partitions = producer.partitionsFor(betsTopic).size();
+        int changelogPartitions = producer.partitionsFor(topic).size();
+        if (changelogPartitions < partitions) {
+            throw new IllegalStateException("Changelog topic " + topic + " has " + changelogPartitions
+                    + " partitions, fewer than the " + partitions + " of " + betsTopic + ".");
+        }
+        betsPartitionCount = partitions;
+    }
+
+    private Consumer<String, String> createRestoreConsumer() {
+        Map<String, Object> consumerProps = new HashMap<>();
+        consumerProps.put(ConsumerConfig.BOOTSTRAP_SERVERS_CONFIG, bootstrapServers);
+        consumerProps.put(ConsumerConfig.ENABLE_AUTO_COMMIT_CONFIG, false);
+        consumerProps.put(ConsumerConfig.ISOLATION_LEVEL_CONFIG, "read_committed");
+        return new KafkaConsumer<>(consumerProps, new StringDeserializer(), new StringDeserializer());
+    }
+}
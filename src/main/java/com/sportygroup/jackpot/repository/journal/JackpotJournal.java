@@ -0,0 +1,595 @@
+package com.sportygroup.jackpot.repository.journal;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Stream;
+import java.util.zip.CRC32;
+import java.util.zip.CheckedOutputStream;
+
+/**
+ * Write-ahead log of jackpot pool changes with periodic snapshots.
+ *
+ * Callers only enqueue entries, into slots of a bounded queue. A slot can be reserved before the change
+ * it records is applied, so a full queue fails the change up front, with a RejectedExecutionException
+ * that callers map to back-pressure, instead of blocking the caller or losing an applied change.
+ * A single journal thread drains everything that queued up while the
+ * previous write was in flight, writes it with one call and forces it to disk with one fsync, then
+ * completes the entries' futures (group commit). The fsync cost is therefore shared by all entries of
+ * a batch, and the contribution path never touches the file itself.
+ *
+ * The journal thread also applies every written entry to its own map of pools, so it always knows the
+ * exact state at its current WAL position. Every `snapshotEveryEntries` entries it starts a new WAL
+ * segment and hands a copy of that map to a background thread, which writes a compact snapshot and then
+ * deletes the segments and snapshots it supersedes.
+ *
+ * A failed write stops the journal for good: the failed batch and everything still queued are failed, and
+ * every later reservation is refused, so the journaled state never falls further behind the caller's state.
+ * Closing the journal fails whatever it could not write in the same way.
+ *
+ * On startup the latest valid snapshot is loaded and the WAL entries after it are replayed. A torn or
+ * corrupt entry at the tail, left by a crash during a write, ends the replay and is truncated away.
+ *
+ * WAL entry layout: body length (int), body, CRC32 of the body (int). The body holds the sequence
+ * (long), the entry type (byte), the jackpotId (length-prefixed UTF-8) and the amount (length-prefixed
+ * unscaled bytes + scale int).
+ */
+public class JackpotJournal {
+
+    private static final Logger log = LoggerFactory.getLogger(JackpotJournal.class);
+
+    private static final String WAL_PREFIX = "wal-";
+    private static final String WAL_SUFFIX = ".log";
+    private static final String SNAPSHOT_PREFIX = "snapshot-";
+    private static final String SNAPSHOT_SUFFIX = ".snap";
+    private static final int MAX_ENTRY_BODY = 4096;
+    private static final int WRITE_BUFFER_SIZE = 1 << 20;
+
+    private final Path directory;
+    private final BlockingQueue<JournalEntry> queue = new LinkedBlockingQueue<>();
+    private final int queueCapacity;
+    // Entries reserved or queued but not yet taken by the journal thread; never above queueCapacity.
+    private final AtomicInteger pendingEntries = new AtomicInteger();
+    private final int maxBatchSize;
+    private final long snapshotEveryEntries;
+    private final Map<String, BigDecimal> recoveredPools = new ConcurrentHashMap<>();
+
+    // Only accessed by the journal thread once recovery is done.
+    private final Map<String, BigDecimal> pools = new HashMap<>();
+    private final ByteBuffer writeBuffer = ByteBuffer.allocate(WRITE_BUFFER_SIZE);
+    private final CRC32 crc = new CRC32();
+    private FileChannel walChannel;
+    private long nextSequence = 1;
+    private long entriesSinceSnapshot;
+
+    private final Thread journalThread;
+    private final ExecutorService snapshotExecutor;
+    private volatile boolean running = true;
+    private volatile Throwable failure;
+
+    /**
+     * Opens the journal, recovers its state and starts the journal thread.
+     * @param directory The directory holding WAL segments and snapshots.
+     * @param queueCapacity The maximum number of entries waiting to be written.
+     * @param maxBatchSize The maximum number of entries written with one fsync.
+     * @param snapshotEveryEntries The number of entries after which a snapshot is taken.
+     */
+    public JackpotJournal(Path directory, int queueCapacity, int maxBatchSize, long snapshotEveryEntries) {
+        this.directory = directory;
+        this.queueCapacity = queueCapacity;
+        this.maxBatchSize = maxBatchSize;
+        this.snapshotEveryEntries = snapshotEveryEntries;
+        try {
+            Files.createDirectories(directory);
+            long startedAt = System.nanoTime();
+            recover();
+            recoveredPools.putAll(pools);
+            log.info("Recovered {} jackpot pools up to sequence {} in {} ms",
+                    pools.size(), nextSequence - 1, TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startedAt));
+            openSegment(nextSequence);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not open jackpot journal in " + directory, e);
+        }
+        this.snapshotExecutor = Executors.newSingleThreadExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "jackpot-journal-snapshot");
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.journalThread = new Thread(this::runJournal, "jackpot-journal");
+        this.journalThread.setDaemon(true);
+        this.journalThread.start();
+    }
+
+    /**
+     * Returns the recovered pool of a jackpot and forgets it, so it is restored only once.
+     * @param jackpotId The ID of the jackpot.
+     * @return The pool recovered from the journal, or null if the journal has no state for it.
+     */
+    public BigDecimal takeRecoveredPool(String jackpotId) {
+        return recoveredPools.remove(jackpotId);
+    }
+
+    /**
+     * Reserves a slot in the queue for one entry.
+     * @return The reserved slot, which must be used or released, or null if the queue is full.
+     * @throws IllegalStateException if the journal failed or is closed.
+     */
+    public Slot tryReserve() {
+        checkWritable();
+        int current;
+        do {
+            current = pendingEntries.get();
+            if (current >= queueCapacity) {
+                return null;
+            }
+        } while (!pendingEntries.compareAndSet(current, current + 1));
+        return new Slot();
+    }
+
+    /**
+     * Enqueues an entry that adds an amount to a pool, in a slot of its own.
+     * @param jackpotId The ID of the jackpot.
+     * @param delta The amount added to the pool; negative for payouts.
+     * @return A future completed once the entry is durable, or failed at once if the queue is full.
+     */
+    public CompletableFuture<Void> appendDelta(String jackpotId, BigDecimal delta) {
+        Slot slot = tryReserve();
+        return slot != null ? slot.appendDelta(jackpotId, delta) : CompletableFuture.failedFuture(saturated());
+    }
+
+    /**
+     * Enqueues an entry that replaces a pool, in a slot of its own.
+     * @param jackpotId The ID of the jackpot.
+     * @param pool The new pool.
+     * @return A future completed once the entry is durable, or failed at once if the queue is full.
+     */
+    public CompletableFuture<Void> appendSet(String jackpotId, BigDecimal pool) {
+        Slot slot = tryReserve();
+        return slot != null ? slot.appendSet(jackpotId, pool) : CompletableFuture.failedFuture(saturated());
+    }
+
+    /**
+     * Checks that an entry for a jackpot and amount can be encoded, so a change can be refused before it
+     * is applied instead of failing when its entry is appended.
+     * @param jackpotId The ID of the jackpot.
+     * @param amount The delta or pool of the entry.
+     * @throws IllegalArgumentException if the entry would exceed the maximum entry size.
+     */
+    public static void checkEncodable(String jackpotId, BigDecimal amount) {
+        int unscaledLength = amount.unscaledValue().toByteArray().length;
+        int bodyLength = 8 + 1 + 2 + jackpotId.getBytes(StandardCharsets.UTF_8).length + 1 + unscaledLength + 4;
+        if (bodyLength > MAX_ENTRY_BODY || unscaledLength > Byte.MAX_VALUE) {
+            throw new IllegalArgumentException("Journal entry for jackpot " + jackpotId + " is too large.");
+        }
+    }
+
+    /**
+     * Returns the error reported when no slot is free.
+     * @return A new RejectedExecutionException.
+     */
+    public static RejectedExecutionException saturated() {
+        return new RejectedExecutionException("Jackpot journal is saturated.");
+    }
+
+    /**
+     * Writes all queued entries, takes a final snapshot and stops the journal.
+     */
+    public void close() {
+        running = false;
+        try {
+            journalThread.join();
+            failQueued(new IllegalStateException("Jackpot journal is closed."));
+            rotateAndSnapshot();
+            snapshotExecutor.shutdown();
+            snapshotExecutor.awaitTermination(30, TimeUnit.SECONDS);
+            walChannel.close();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (IOException e) {
+            log.error("Error closing journal", e);
+        }
+    }
+
+    /**
+     * Enqueues an entry into a reserved slot. The slot is given back if the entry is rejected.
+     * An entry added while the journal stops is taken back out here unless the stopping side drained it already,
+     * so no entry stays queued with a future that never completes.
+     */
+    private CompletableFuture<Void> append(JournalEntry entry) {
+        try {
+            checkEncodable(entry.getJackpotId(), entry.getAmount());
+            checkWritable();
+        } catch (IllegalArgumentException | IllegalStateException e) {
+            pendingEntries.decrementAndGet();
+            entry.getDurable().completeExceptionally(e);
+            return entry.getDurable();
+        }
+        queue.add(entry);
+        if (!running && queue.remove(entry)) {
+            pendingEntries.decrementAndGet();
+            entry.getDurable().completeExceptionally(stoppedError());
+        }
+        return entry.getDurable();
+    }
+
+    private void checkWritable() {
+        if (!running) {
+            throw stoppedError();
+        }
+    }
+
+    private IllegalStateException stoppedError() {
+        Throwable cause = failure;
+        return cause == null ? new IllegalStateException("Jackpot journal is closed.")
+                : new IllegalStateException("Jackpot journal failed; pool changes are rejected.", cause);
+    }
+
+    /**
+     * Fails every entry still queued, e.g. after the journal thread stopped.
+     */
+    private void failQueued(Throwable cause) {
+        List<JournalEntry> leftover = new ArrayList<>();
+        queue.drainTo(leftover);
+        pendingEntries.addAndGet(-leftover.size());
+        leftover.forEach(entry -> entry.getDurable().completeExceptionally(cause));
+    }
+
+    private void runJournal() {
+        List<JournalEntry> batch = new ArrayList<>(maxBatchSize);
+        while (running || !queue.isEmpty()) {
+            try {
+                JournalEntry first = queue.poll(10, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+                queue.drainTo(batch, maxBatchSize - 1);
+                pendingEntries.addAndGet(-batch.size());
+                writeBatch(batch);
+                if (entriesSinceSnapshot >= snapshotEveryEntries) {
+                    rotateAndSnapshot();
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (IOException | RuntimeException e) {
+                // The written state can no longer follow the callers' state; stop taking changes.
+                log.error("Error writing {} journal entries; rejecting all further pool changes", batch.size(), e);
+                failure = e;
+                running = false;
+                batch.forEach(entry -> entry.getDurable().completeExceptionally(e));
+                failQueued(stoppedError());
+                return;
+            } finally {
+                batch.clear();
+            }
+        }
+    }
+
+    /**
+     * Writes a batch with one fsync. If the write fails, the segment is truncated back to where the
+     * batch started, so a failed batch never leaves a partial entry in front of later ones.
+     */
+    private void writeBatch(List<JournalEntry> batch) throws IOException {
+        long batchStart = walChannel.position();
+        long firstSequence = nextSequence;
+        try {
+            writeBuffer.clear();
+            for (JournalEntry entry : batch) {
+                encode(entry, nextSequence++);
+            }
+            flushWriteBuffer();
+            walChannel.force(false);
+        } catch (IOException | RuntimeException e) {
+            nextSequence = firstSequence;
+            walChannel.truncate(batchStart);
+            walChannel.position(batchStart);
+            throw e;
+        }
+        for (JournalEntry entry : batch) {
+            pools.put(entry.getJackpotId(), entry.applyTo(pools.get(entry.getJackpotId())));
+            entry.getDurable().complete(null);
+        }
+        entriesSinceSnapshot += batch.size();
+    }
+
+    private void encode(JournalEntry entry, long sequence) throws IOException {
+        byte[] jackpotId = entry.getJackpotId().getBytes(StandardCharsets.UTF_8);
+        byte[] unscaled = entry.getAmount().unscaledValue().toByteArray();
+        int bodyLength = 8 + 1 + 2 + jackpotId.length + 1 + unscaled.length + 4;
+        if (writeBuffer.remaining() < bodyLength + 8) {
+            flushWriteBuffer();
+        }
+        writeBuffer.putInt(bodyLength);
+        int bodyStart = writeBuffer.position();
+        writeBuffer.putLong(sequence);
+        writeBuffer.put(entry.getType().getCode());
+        writeBuffer.putShort((short) jackpotId.length);
+        writeBuffer.put(jackpotId);
+        writeBuffer.put((byte) unscaled.length);
+        writeBuffer.put(unscaled);
+        writeBuffer.putInt(entry.getAmount().scale());
+        crc.reset();
+        crc.update(writeBuffer.array(), bodyStart, bodyLength);
+        writeBuffer.putInt((int) crc.getValue());
+    }
+
+    private void flushWriteBuffer() throws IOException {
+        writeBuffer.flip();
+        while (writeBuffer.hasRemaining()) {
+            walChannel.write(writeBuffer);
+        }
+        writeBuffer.clear();
+    }
+
+    /**
+     * Starts a new WAL segment at the current position and snapshots the state up to it in the background.
+     */
+    private void rotateAndSnapshot() throws IOException {
+        long lastSequence = nextSequence - 1;
+        Map<String, BigDecimal> snapshot = new HashMap<>(pools);
+        walChannel.close();
+        openSegment(nextSequence);
+        entriesSinceSnapshot = 0;
+        snapshotExecutor.execute(() -> {
+            try {
+                writeSnapshot(lastSequence, snapshot);
+            } catch (IOException e) {
+                log.error("Error writing snapshot at sequence {}", lastSequence, e);
+            }
+        });
+    }
+
+    private void openSegment(long firstSequence) throws IOException {
+        walChannel = FileChannel.open(directory.resolve(fileName(WAL_PREFIX, firstSequence, WAL_SUFFIX)),
+                StandardOpenOption.CREATE, StandardOpenOption.WRITE);
+        walChannel.position(walChannel.size());
+    }
+
+    /**
+     * Writes a snapshot to a temporary file, forces it, moves it into place atomically and then
+     * deletes the WAL segments and snapshots it makes obsolete.
+     */
+    private void writeSnapshot(long lastSequence, Map<String, BigDecimal> snapshot) throws IOException {
+        Path target = directory.resolve(fileName(SNAPSHOT_PREFIX, lastSequence, SNAPSHOT_SUFFIX));
+        Path temporary = directory.resolve(target.getFileName() + ".tmp");
+        try (FileOutputStream file = new FileOutputStream(temporary.toFile())) {
+            CheckedOutputStream checked = new CheckedOutputStream(new BufferedOutputStream(file, WRITE_BUFFER_SIZE), new CRC32());
+            DataOutputStream out = new DataOutputStream(checked);
+            out.writeLong(lastSequence);
+            out.writeInt(snapshot.size());
+            for (Map.Entry<String, BigDecimal> pool : snapshot.entrySet()) {
+                byte[] jackpotId = pool.getKey().getBytes(StandardCharsets.UTF_8);
+                byte[] unscaled = pool.getValue().unscaledValue().toByteArray();
+                out.writeShort(jackpotId.length);
+                out.write(jackpotId);
+                out.writeShort(unscaled.length);
+                out.write(unscaled);
+                out.writeInt(pool.getValue().scale());
+            }
+            out.flush();
+            new DataOutputStream(file).writeInt((int) checked.getChecksum().getValue());
+            file.getFD().sync();
+        }
+        Files.move(temporary, target, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+
+        for (Path walSegment : list(WAL_PREFIX, WAL_SUFFIX)) {
+            if (sequenceOf(walSegment, WAL_PREFIX, WAL_SUFFIX) <= lastSequence) {
+                Files.deleteIfExists(walSegment);
+            }
+        }
+        for (Path oldSnapshot : list(SNAPSHOT_PREFIX, SNAPSHOT_SUFFIX)) {
+            if (sequenceOf(oldSnapshot, SNAPSHOT_PREFIX, SNAPSHOT_SUFFIX) < lastSequence) {
+                Files.deleteIfExists(oldSnapshot);
+            }
+        }
+    }
+
+    /**
+     * Loads the latest valid snapshot and replays the WAL entries written after it.
+     */
+    private void recover() throws IOException {
+        long snapshotSequence = 0;
+        List<Path> snapshots = new ArrayList<>(list(SNAPSHOT_PREFIX, SNAPSHOT_SUFFIX));
+        Collections.reverse(snapshots);
+        for (Path snapshot : snapshots) {
+            if (loadSnapshot(snapshot)) {
+                snapshotSequence = sequenceOf(snapshot, SNAPSHOT_PREFIX, SNAPSHOT_SUFFIX);
+                break;
+            }
+            log.warn("Ignoring corrupt snapshot {}", snapshot.getFileName());
+        }
+        nextSequence = snapshotSequence + 1;
+
+        boolean intact = true;
+        for (Path walSegment : list(WAL_PREFIX, WAL_SUFFIX)) {
+            if (!intact) {
+                // Nothing after a torn entry can be trusted to follow it without a gap.
+                log.warn("Deleting WAL segment {} written after a torn entry", walSegment.getFileName());
+                Files.delete(walSegment);
+            } else {
+                intact = replaySegment(walSegment);
+            }
+        }
+    }
+
+    private boolean loadSnapshot(Path snapshot) throws IOException {
+        ByteBuffer content = ByteBuffer.wrap(Files.readAllBytes(snapshot));
+        if (content.capacity() < 16) {
+            return false;
+        }
+        CRC32 checksum = new CRC32();
+        checksum.update(content.array(), 0, content.capacity() - 4);
+        if ((int) checksum.getValue() != content.getInt(content.capacity() - 4)) {
+            return false;
+        }
+        content.getLong();
+        int count = content.getInt();
+        pools.clear();
+        for (int i = 0; i < count; i++) {
+            byte[] jackpotId = new byte[content.getShort()];
+            content.get(jackpotId);
+            byte[] unscaled = new byte[content.getShort()];
+            content.get(unscaled);
+            pools.put(new String(jackpotId, StandardCharsets.UTF_8), new BigDecimal(new BigInteger(unscaled), content.getInt()));
+        }
+        return true;
+    }
+
+    /**
+     * Replays one WAL segment. Entries already covered by the snapshot are skipped.
+     * @return false if the segment ended with a torn or corrupt entry, which was truncated away.
+     */
+    private boolean replaySegment(Path walSegment) throws IOException {
+        long validLength = 0;
+        byte[] body = new byte[MAX_ENTRY_BODY];
+        CRC32 checksum = new CRC32();
+        try (InputStream file = Files.newInputStream(walSegment);
+             DataInputStream in = new DataInputStream(new BufferedInputStream(file, WRITE_BUFFER_SIZE))) {
+            while (true) {
+                int bodyLength;
+                try {
+                    bodyLength = in.readInt();
+                } catch (EOFException e) {
+                    return true;
+                }
+                if (bodyLength <= 0 || bodyLength > MAX_ENTRY_BODY) {
+                    break;
+                }
+                in.readFully(body, 0, bodyLength);
+                int expectedCrc = in.readInt();
+                checksum.reset();
+                checksum.update(body, 0, bodyLength);
+                if ((int) checksum.getValue() != expectedCrc) {
+                    break;
+                }
+                applyReplayed(ByteBuffer.wrap(body, 0, bodyLength));
+                validLength += 4 + bodyLength + 4;
+            }
+        } catch (EOFException e) {
+            // A partially written entry at the end of the segment.
+        }
+        log.warn("Truncating torn tail of {} at byte {}", walSegment.getFileName(), validLength);
+        try (FileChannel channel = FileChannel.open(walSegment, StandardOpenOption.WRITE)) {
+            channel.truncate(validLength);
+        }
+        return false;
+    }
+
+    private void applyReplayed(ByteBuffer body) {
+        long sequence = body.getLong();
+        JournalEntry.Type type = JournalEntry.Type.fromCode(body.get());
+        byte[] jackpotId = new byte[body.getShort()];
+        body.get(jackpotId);
+        byte[] unscaled = new byte[body.get()];
+        body.get(unscaled);
+        BigDecimal amount = new BigDecimal(new BigInteger(unscaled), body.getInt());
+        if (sequence < nextSequence) {
+            return;
+        }
+        String id = new String(jackpotId, StandardCharsets.UTF_8);
+        pools.put(id, new JournalEntry(type, id, amount).applyTo(pools.get(id)));
+        nextSequence = sequence + 1;
+    }
+
+    private List<Path> list(String prefix, String suffix) throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.filter(path -> {
+                        String name = path.getFileName().toString();
+                        return name.startsWith(prefix) && name.endsWith(suffix);
+                    })
+                    .sorted()
+                    .toList();
+        }
+    }
+
+    private static long sequenceOf(Path file, String prefix, String suffix) {
+        String name = file.getFileName().toString();
+        return Long.parseLong(name.substring(prefix.length(), name.length() - suffix.length()));
+    }
+
+    private static String fileName(String prefix, long sequence, String suffix) {
+        return String.format("%s%020d%s", prefix, sequence, suffix);
+    }
+
+    /**
+     * Room for one entry in the queue, reserved before the change it records is applied.
+     * Only the first of `appendDelta`, `appendSet` and `release` takes effect: a later release is ignored
+     * and a later append fails.
+     */
+    public final class Slot {
+        private final AtomicBoolean used = new AtomicBoolean();
+
+        private Slot() {
+        }
+
+        /**
+         * Enqueues an entry that adds an amount to a pool.
+         * @param jackpotId The ID of the jackpot.
+         * @param delta The amount added to the pool; negative for payouts.
+         * @return A future completed once the entry is durable.
+         */
+        public CompletableFuture<Void> appendDelta(String jackpotId, BigDecimal delta) {
+            return use(new JournalEntry(JournalEntry.Type.DELTA, jackpotId, delta));
+        }
+
+        /**
+         * Enqueues an entry that replaces a pool.
+         * @param jackpotId The ID of the jackpot.
+         * @param pool The new pool.
+         * @return A future completed once the entry is durable.
+         */
+        public CompletableFuture<Void> appendSet(String jackpotId, BigDecimal pool) {
+            return use(new JournalEntry(JournalEntry.Type.SET, jackpotId, pool));
+        }
+
+        /**
+         * Gives the slot back unused, e.g. when the change it was reserved for did not happen.
+         */
+        public void release() {
+            if (used.compareAndSet(false, true)) {
+                pendingEntries.decrementAndGet();
+            }
+        }
+
+        private CompletableFuture<Void> use(JournalEntry entry) {
+            if (!used.compareAndSet(false, true)) {
+                return CompletableFuture.failedFuture(new IllegalStateException("Journal slot already used."));
+            }
+            return append(entry);
+        }
+    }
+}
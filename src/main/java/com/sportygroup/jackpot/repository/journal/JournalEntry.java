@@ -0,0 +1,78 @@
+package com.sportygroup.jackpot.repository.journal;
+
+import java.math.BigDecimal;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * A single change of a jackpot pool waiting to be written to the journal.
+ * DELTA entries add an amount to the pool and commute with each other, so their order in the
+ * journal does not matter. SET entries replace the pool with an absolute amount.
+ */
+class JournalEntry {
+
+    enum Type {
+        DELTA((byte) 1),
+        SET((byte) 2);
+
+        private final byte code;
+
+        Type(byte code) {
+            this.code = code;
+        }
+
+        byte getCode() {
+            return code;
+        }
+
+        static Type fromCode(byte code) {
+            for (Type type : values()) {
+                if (type.code == code) {
+                    return type;
+                }
+            }
+            throw new IllegalArgumentException("Unknown journal entry type " + code);
+        }
+    }
+
+    private final Type type;
+    private final String jackpotId;
+    private final BigDecimal amount;
+    private final CompletableFuture<Void> durable = new CompletableFuture<>();
+
+    JournalEntry(Type type, String jackpotId, BigDecimal amount) {
+        this.type = type;
+        this.jackpotId = jackpotId;
+        this.amount = amount;
+    }
+
+    Type getType() {
+        return type;
+    }
+
+    String getJackpotId() {
+        return jackpotId;
+    }
+
+    BigDecimal getAmount() {
+        return amount;
+    }
+
+    /**
+     * @return A future completed once the entry has been forced to disk.
+     */
+    CompletableFuture<Void> getDurable() {
+        return durable;
+    }
+
+    /**
+     * Applies the entry to a materialized pool.
+     * @param currentPool The pool before the entry, or null if unknown.
+     * @return The pool after the entry.
+     */
+    BigDecimal applyTo(BigDecimal currentPool) {
+        if (type == Type.SET) {
+            return amount;
+        }
+        return currentPool != null ? currentPool.add(amount) : amount;
+    }
+}
@@ -0,0 +1,187 @@
+package com.sportygroup.jackpot.repository.journal;
+
+import com.sportygroup.jackpot.model.Jackpot;
+import com.sportygroup.jackpot.repository.JackpotRepository;
+import com.sportygroup.jackpot.repository.PoolTransition;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+import java.math.BigDecimal;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Function;
+
+/**
+ * JackpotRepository decorator that records every pool change in a JackpotJournal.
+ *
+ * Contributions and resets are journaled as deltas: a contribution adds its amount, and a successful
+ * reset adds `initialPoolValue - observed pool`, which is exactly what the reset removed. Deltas commute,
+ * so concurrent contributions may reach the journal in any order. `save` and `update` are journaled as
+ * absolute SET entries; they are expected to come from a single writer per jackpot (startup, or the
+ * owning settlement shard), since a SET racing with deltas of the same jackpot may be ordered differently
+ * in the journal than in memory.
+ *
+ * Recovery happens when a jackpot is registered: the first `save` of a jackpot that the journal has state
+ * for stores the recovered pool instead of the given one. JackpotInitializer therefore keeps defining the
+ * jackpots and their configs on every start, while their pools survive restarts.
+ *
+ * Every write reserves and validates its journal entry before it is applied. It fails without applying
+ * anything with a RejectedExecutionException while the journal queue is full, with an IllegalArgumentException
+ * if the entry could not be encoded, and with an IllegalStateException once the journal failed a write or
+ * was closed, so memory never holds a change that the journal was known to be unable to record.
+ *
+ * With `awaitDurability`, every write completes only after its journal entry has been forced to disk.
+ * Otherwise writes complete immediately and at most the last group commit is lost on a crash.
+ */
+public class JournaledJackpotRepository implements JackpotRepository {
+
+    private static final Logger log = LoggerFactory.getLogger(JournaledJackpotRepository.class);
+
+    private final JackpotRepository delegate;
+    private final JackpotJournal jackpotJournal;
+    private final boolean awaitDurability;
+
+    /**
+     * Creates the decorator.
+     * @param delegate The repository holding the live jackpot state.
+     * @param jackpotJournal The journal recording pool changes.
+     * @param awaitDurability Whether writes wait for their journal entry to be durable.
+     */
+    public JournaledJackpotRepository(JackpotRepository delegate, JackpotJournal jackpotJournal, boolean awaitDurability) {
+        this.delegate = delegate;
+        this.jackpotJournal = jackpotJournal;
+        this.awaitDurability = awaitDurability;
+    }
+
+    /**
+     * Saves a jackpot. If the journal recovered a pool for it, the recovered pool replaces the given one.
+     * @param jackpot The jackpot to save.
+     * @return A Mono emitting the saved jackpot.
+     */
+    @Override
+    public Mono<Jackpot> save(Jackpot jackpot) {
+        return Mono.defer(() -> {
+            BigDecimal recoveredPool = jackpotJournal.takeRecoveredPool(jackpot.getJackpotId());
+            if (recoveredPool != null) {
+                log.info("Restoring Jackpot {} with journaled pool: {}", jackpot.getJackpotId(), recoveredPool);
+                return delegate.save(new Jackpot(jackpot.getJackpotId(), recoveredPool, jackpot.getInitialPoolValue(),
+                        jackpot.getConfig(), jackpot.getCreatedAt()));
+            }
+            return reserved(jackpot.getJackpotId(), jackpot.getCurrentPoolAmount(), slot -> delegate.save(jackpot)
+                    .flatMap(saved -> journaled(saved, slot.appendSet(saved.getJackpotId(), jackpot.getCurrentPoolAmount()))));
+        });
+    }
+
+    /**
+     * Finds a jackpot by its ID. Reads are served by the delegate.
+     * @param jackpotId The ID of the jackpot to find.
+     * @return A Mono emitting the jackpot if found, or empty otherwise.
+     */
+    @Override
+    public Mono<Jackpot> findById(String jackpotId) {
+        return delegate.findById(jackpotId);
+    }
+
+    /**
+     * Finds all jackpots. Reads are served by the delegate.
+     * @return A Flux emitting every stored jackpot.
+     */
+    @Override
+    public Flux<Jackpot> findAll() {
+        return delegate.findAll();
+    }
+
+    /**
+     * Updates a jackpot and journals its new pool.
+     * @param jackpot The jackpot with updated fields.
+     * @return A Mono emitting the updated jackpot.
+     */
+    @Override
+    public Mono<Jackpot> update(Jackpot jackpot) {
+        return reserved(jackpot.getJackpotId(), jackpot.getCurrentPoolAmount(), slot -> delegate.update(jackpot)
+                .flatMap(updated -> journaled(updated, slot.appendSet(updated.getJackpotId(), jackpot.getCurrentPoolAmount()))));
+    }
+
+    /**
+     * Adds a delta to a pool and journals the delta.
+     * @param jackpotId The ID of the jackpot to contribute to.
+     * @param delta The amount to add to the current pool.
+     * @return A Mono emitting the jackpot state right after the delta was applied.
+     */
+    @Override
+    public Mono<Jackpot> addToPool(String jackpotId, BigDecimal delta) {
+        return reserved(jackpotId, delta, slot -> delegate.addToPool(jackpotId, delta)
+                .flatMap(updated -> journaled(updated, slot.appendDelta(jackpotId, delta))));
+    }
+
+    /**
+     * Resets a pool if unchanged and journals the amount removed by the reset.
+     * @param observed The jackpot state the caller based its decision on.
+     * @return A Mono emitting the reset jackpot, or empty if the jackpot changed in the meantime.
+     */
+    @Override
+    public Mono<Jackpot> resetIfUnchanged(Jackpot observed) {
+        BigDecimal delta = observed.getInitialPoolValue().subtract(observed.getCurrentPoolAmount());
+        return reserved(observed.getJackpotId(), delta, slot -> delegate.resetIfUnchanged(observed)
+                .flatMap(reset -> journaled(reset, slot.appendDelta(observed.getJackpotId(), delta))));
+    }
+
+    /**
+     * Transitions a pool and journals the committed change as a delta.
+     * The delta is validated inside the transition, so a decision whose entry could not be encoded is
+     * never committed.
+     * @param jackpotId The ID of the jackpot to transition.
+     * @param transition The function deciding the new pool from the current jackpot.
+     * @return A Mono emitting the committed decision, or empty if the jackpot does not exist.
+     */
+    @Override
+    public <T extends PoolTransition> Mono<T> transitionPool(String jackpotId, Function<Jackpot, T> transition) {
+        Function<Jackpot, T> checkedTransition = jackpot -> {
+            T decision = transition.apply(jackpot);
+            JackpotJournal.checkEncodable(jackpotId, decision.getNewPool().subtract(decision.getObservedPool()));
+            return decision;
+        };
+        return reserved(jackpotId, BigDecimal.ZERO, slot -> delegate.transitionPool(jackpotId, checkedTransition)
+                .flatMap(decision -> journaled(decision, slot.appendDelta(jackpotId,
+                        decision.getNewPool().subtract(decision.getObservedPool())))));
+    }
+
+    /**
+     * Runs a write with a journal slot reserved for its entry. The slot is taken before the delegate applies
+     * the change, so a saturated journal rejects the change with a RejectedExecutionException instead of
+     * leaving an applied change unjournaled; it is given back if the write records nothing. The entry is
+     * validated first, and a failed or closed journal refuses the slot.
+     */
+    private <T> Mono<T> reserved(String jackpotId, BigDecimal amount, Function<JackpotJournal.Slot, Mono<T>> write) {
+        return Mono.defer(() -> {
+            JackpotJournal.checkEncodable(jackpotId, amount);
+            JackpotJournal.Slot slot = jackpotJournal.tryReserve();
+            if (slot == null) {
+                return Mono.error(JackpotJournal.saturated());
+            }
+            return write.apply(slot).doFinally(signal -> slot.release());
+        });
+    }
+
+    /**
+     * Emits the result, after the journal entry is durable if required. Futures are completed by the
+     * journal thread, so the rest of the pipeline is moved off it rather than stalling the next group commit.
+     */
+    private <T> Mono<T> journaled(T result, CompletableFuture<Void> durable) {
+        if (!awaitDurability) {
+            return Mono.just(result);
+        }
+        return Mono.fromFuture(durable)
+                .publishOn(Schedulers.parallel())
+                .thenReturn(result);
+    }
+
+    /**
+     * Flushes the journal and stops it.
+     */
+    public void close() {
+        jackpotJournal.close();
+    }
+}
@@ -0,0 +1,188 @@
+package com.sportygroup.jackpot.repository.r2dbc;
+
+import org.springframework.r2dbc.core.DatabaseClient;
+import reactor.core.publisher.Mono;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Group insert for one table: rows saved concurrently are written together with multi-row
+ * `INSERT ... VALUES (...), (...)` statements instead of one statement per row.
+ *
+ * At most `maxStatementsInFlight` statements are in flight, each on its own connection. Rows arriving while
+ * all are busy wait in a queue and are written by the next statement to start, up to `maxRowsPerStatement`,
+ * so batches grow with the load and an idle inserter adds no delay. Statements in flight together may commit
+ * in any order, which is fine for the append-only tables inserted into here. A failed statement fails every
+ * row it carried.
+ *
+ * @param <T> The type of the inserted records.
+ */
+final class MultiRowInserter<T> {
+
+    private final DatabaseClient databaseClient;
+    private final String insertPrefix;
+    private final List<Column<T>> columns;
+    private final int maxRowsPerStatement;
+    private final int maxStatementsInFlight;
+    private final Queue<PendingRow<T>> queue = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger wip = new AtomicInteger();
+    private final AtomicInteger inFlight = new AtomicInteger();
+
+    /**
+     * Creates an inserter.
+     * @param databaseClient The client executing the statements.
+     * @param table The table to insert into.
+     * @param columns The inserted columns, with the value each takes from a record.
+     * @param maxRowsPerStatement The maximum number of rows written by one statement.
+     * @param maxStatementsInFlight The maximum number of statements executing at the same time.
+     */
+    MultiRowInserter(DatabaseClient databaseClient, String table, List<Column<T>> columns, int maxRowsPerStatement,
+                     int maxStatementsInFlight) {
+        if (maxRowsPerStatement < 1) {
+            throw new IllegalArgumentException("maxRowsPerStatement must be positive, got " + maxRowsPerStatement);
+        }
+        if (maxStatementsInFlight < 1) {
+            throw new IllegalArgumentException("maxStatementsInFlight must be positive, got " + maxStatementsInFlight);
+        }
+        this.databaseClient = databaseClient;
+        this.insertPrefix = "INSERT INTO " + table + " ("
+                + columns.stream().map(Column::name).collect(Collectors.joining(", ")) + ") VALUES ";
+        this.columns = List.copyOf(columns);
+        this.maxRowsPerStatement = maxRowsPerStatement;
+        this.maxStatementsInFlight = maxStatementsInFlight;
+    }
+
+    /**
+     * Inserts records once subscribed.
+     * @param records The records to insert.
+     * @return A Mono completing when every record has been written, or failing if any statement carrying one failed.
+     */
+    Mono<Void> insert(List<T> records) {
+        return Mono.defer(() -> {
+            if (records.isEmpty()) {
+                return Mono.empty();
+            }
+            List<CompletableFuture<Void>> written = new ArrayList<>(records.size());
+            for (T record : records) {
+                CompletableFuture<Void> future = new CompletableFuture<>();
+                queue.add(new PendingRow<>(record, future));
+                written.add(future);
+            }
+            drain();
+            return Mono.fromFuture(CompletableFuture.allOf(written.toArray(new CompletableFuture[0])));
+        });
+    }
+
+    /**
+     * Starts statements for the queued rows while fewer than `maxStatementsInFlight` are in flight. Calls are
+     * serialized through `wip`, and a statement completing synchronously loops here instead of recursing.
+     */
+    private void drain() {
+        if (wip.getAndIncrement() != 0) {
+            return;
+        }
+        int missed = 1;
+        do {
+            while (inFlight.get() < maxStatementsInFlight && !queue.isEmpty()) {
+                List<PendingRow<T>> batch = new ArrayList<>(Math.min(queue.size(), maxRowsPerStatement));
+                PendingRow<T> row;
+                while (batch.size() < maxRowsPerStatement && (row = queue.poll()) != null) {
+                    batch.add(row);
+                }
+                inFlight.incrementAndGet();
+                execute(batch).subscribe(
+                        rowsUpdated -> { },
+                        error -> complete(batch, error),
+                        () -> complete(batch, null));
+            }
+            missed = wip.addAndGet(-missed);
+        } while (missed != 0);
+    }
+
+    private void complete(List<PendingRow<T>> batch, Throwable error) {
+        for (PendingRow<T> row : batch) {
+            if (error != null) {
+                row.written.completeExceptionally(error);
+            } else {
+                row.written.complete(null);
+            }
+        }
+        inFlight.decrementAndGet();
+        drain();
+    }
+
+    private Mono<Long> execute(List<PendingRow<T>> batch) {
+        StringBuilder sql = new StringBuilder(insertPrefix.length() + batch.size() * columns.size() * 8).append(insertPrefix);
+        for (int r = 0; r < batch.size(); r++) {
+            sql.append(r == 0 ? "(" : ", (");
+            for (int c = 0; c < columns.size(); c++) {
+                sql.append(c == 0 ? ":p" : ", :p").append(r * columns.size() + c);
+            }
+            sql.append(')');
+        }
+
+        DatabaseClient.GenericExecuteSpec statement = databaseClient.sql(sql.toString());
+        for (int r = 0; r < batch.size(); r++) {
+            T record = batch.get(r).record;
+            for (int c = 0; c < columns.size(); c++) {
+                Column<T> column = columns.get(c);
+                Object value = column.value().apply(record);
+                String name = "p" + (r * columns.size() + c);
+                statement = value != null ? statement.bind(name, value) : statement.bindNull(name, column.type());
+            }
+        }
+        return statement.fetch().rowsUpdated();
+    }
+
+    /**
+     * An inserted column and how its value is taken from a record.
+     * @param <T> The type of the inserted records.
+     */
+    static final class Column<T> {
+        private final String name;
+        private final Class<?> type;
+        private final Function<T, ?> value;
+
+        private Column(String name, Class<?> type, Function<T, ?> value) {
+            this.name = name;
+            this.type = type;
+            this.value = value;
+        }
+
+        static <T> Column<T> of(String name, Class<?> type, Function<T, ?> value) {
+            return new Column<>(name, type, value);
+        }
+
+        String name() {
+            return name;
+        }
+
+        Class<?> type() {
+            return type;
+        }
+
+        Function<T, ?> value() {
+            return value;
+        }
+    }
+
+    /**
+     * A record waiting to be written, with the future completed once its statement finished.
+     */
+    private static final class PendingRow<T> {
+        private final T record;
+        private final CompletableFuture<Void> written;
+
+        private PendingRow(T record, CompletableFuture<Void> written) {
+            this.record = record;
+            this.written = written;
+        }
+    }
+}
@@ -0,0 +1,106 @@
+package com.sportygroup.jackpot.repository.r2dbc;
+
+import com.sportygroup.jackpot.model.Bet;
+import com.sportygroup.jackpot.repository.BetRepository;
+import io.r2dbc.spi.ConnectionFactory;
+import io.r2dbc.spi.Row;
+import org.springframework.r2dbc.core.DatabaseClient;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * R2DBC implementation of BetRepository, storing bets in the `bets` table.
+ * Saves go through a MultiRowInserter, so the bets of a batch request, and single bets saved
+ * concurrently, are written with multi-row inserts instead of one round trip per bet.
+ */
+public class R2dbcBetRepository implements BetRepository {
+
+    private static final String SELECT = "SELECT bet_id, user_id, jackpot_id, bet_amount, created_at FROM bets";
+
+    private final DatabaseClient databaseClient;
+    private final MultiRowInserter<Bet> inserter;
+
+    /**
+     * Creates the repository.
+     * @param connectionFactory The connection factory of the database.
+     * @param maxRowsPerInsert The maximum number of bets written by one insert statement.
+     */
+    public R2dbcBetRepository(ConnectionFactory connectionFactory, int maxRowsPerInsert) {
+        this(connectionFactory, maxRowsPerInsert, 1);
+    }
+
+    /**
+     * Creates the repository.
+     * @param connectionFactory The connection factory of the database.
+     * @param maxRowsPerInsert The maximum number of bets written by one insert statement.
+     * @param maxInsertsInFlight The maximum number of insert statements executing at the same time.
+     */
+    public R2dbcBetRepository(ConnectionFactory connectionFactory, int maxRowsPerInsert, int maxInsertsInFlight) {
+        this.databaseClient = DatabaseClient.create(connectionFactory);
+        this.inserter = new MultiRowInserter<>(databaseClient, "bets", List.of(
+                MultiRowInserter.Column.of("bet_id", String.class, Bet::getBetId),
+                MultiRowInserter.Column.of("user_id", String.class, Bet::getUserId),
+                MultiRowInserter.Column.of("jackpot_id", String.class, Bet::getJackpotId),
+                MultiRowInserter.Column.of("bet_amount", BigDecimal.class, Bet::getBetAmount),
+                MultiRowInserter.Column.of("created_at", LocalDateTime.class, Bet::getCreatedAt)
+        ), maxRowsPerInsert, maxInsertsInFlight);
+    }
+
+    /**
+     * Saves a bet.
+     * @param bet The bet to save.
+     * @return A Mono emitting the saved bet once it is written.
+     */
+    @Override
+    public Mono<Bet> save(Bet bet) {
+        return inserter.insert(List.of(bet)).thenReturn(bet);
+    }
+
+    /**
+     * Saves several bets with as few insert statements as `maxRowsPerInsert` allows.
+     * @param bets The bets to save.
+     * @return A Flux emitting the saved bets, in the given order, once all of them are written.
+     */
+    @Override
+    public Flux<Bet> saveAll(List<Bet> bets) {
+        return inserter.insert(bets).thenMany(Flux.fromIterable(bets));
+    }
+
+    /**
+     * Finds a bet by its ID.
+     * @param betId The ID of the bet to find.
+     * @return A Mono emitting the bet if found, or empty otherwise.
+     */
+    @Override
+    public Mono<Bet> findById(String betId) {
+        return databaseClient.sql(SELECT + " WHERE bet_id = :betId")
+                .bind("betId", betId)
+                .map((row, metadata) -> toBet(row))
+                .first();
+    }
+
+    /**
+     * Finds all bets.
+     * @return A Flux emitting all bets.
+     */
+    @Override
+    public Flux<Bet> findAll() {
+        return databaseClient.sql(SELECT)
+                .map((row, metadata) -> toBet(row))
+                .all();
+    }
+
+    private static Bet toBet(Row row) {
+        return new Bet(
+                row.get("bet_id", String.class),
+                row.get("user_id", String.class),
+                row.get("jackpot_id", String.class),
+                row.get("bet_amount", BigDecimal.class),
+                row.get("created_at", LocalDateTime.class)
+        );
+    }
+}
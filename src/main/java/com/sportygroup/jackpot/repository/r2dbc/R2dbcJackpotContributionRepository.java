@@ -0,0 +1,142 @@
+package com.sportygroup.jackpot.repository.r2dbc;
+
+import com.sportygroup.jackpot.model.JackpotContribution;
+import com.sportygroup.jackpot.repository.JackpotContributionRepository;
+import io.r2dbc.spi.ConnectionFactory;
+import io.r2dbc.spi.Row;
+import org.springframework.r2dbc.core.DatabaseClient;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * R2DBC implementation of JackpotContributionRepository, storing records in the `jackpot_contributions` table.
+ * Saves go through a MultiRowInserter, so the records of a batch contribution, and records saved
+ * concurrently, are written with multi-row inserts instead of one round trip per record.
+ * The history is append-only: saving a record again adds a second row.
+ */
+public class R2dbcJackpotContributionRepository implements JackpotContributionRepository {
+
+    private static final String SELECT = "SELECT bet_id, user_id, jackpot_id, stake_amount, contribution_amount, pool_after, created_at"
+            + " FROM jackpot_contributions";
+
+    private final DatabaseClient databaseClient;
+    private final MultiRowInserter<JackpotContribution> inserter;
+
+    /**
+     * Creates the repository.
+     * @param connectionFactory The connection factory of the database.
+     * @param maxRowsPerInsert The maximum number of records written by one insert statement.
+     */
+    public R2dbcJackpotContributionRepository(ConnectionFactory connectionFactory, int maxRowsPerInsert) {
+        this(connectionFactory, maxRowsPerInsert, 1);
+    }
+
+    /**
+     * Creates the repository.
+     * @param connectionFactory The connection factory of the database.
+     * @param maxRowsPerInsert The maximum number of records written by one insert statement.
+     * @param maxInsertsInFlight The maximum number of insert statements executing at the same time.
+     */
+    public R2dbcJackpotContributionRepository(ConnectionFactory connectionFactory, int maxRowsPerInsert, int maxInsertsInFlight) {
+        this.databaseClient = DatabaseClient.create(connectionFactory);
+        this.inserter = new MultiRowInserter<>(databaseClient, "jackpot_contributions", List.of(
+                MultiRowInserter.Column.of("bet_id", String.class, JackpotContribution::getBetId),
+                MultiRowInserter.Column.of("user_id", String.class, JackpotContribution::getUserId),
+                MultiRowInserter.Column.of("jackpot_id", String.class, JackpotContribution::getJackpotId),
+                MultiRowInserter.Column.of("stake_amount", BigDecimal.class, JackpotContribution::getStakeAmount),
+                MultiRowInserter.Column.of("contribution_amount", BigDecimal.class, JackpotContribution::getContributionAmount),
+                MultiRowInserter.Column.of("pool_after", BigDecimal.class, JackpotContribution::getCurrentJackpotAmountAfterContribution),
+                MultiRowInserter.Column.of("created_at", LocalDateTime.class, JackpotContribution::getCreatedAt)
+        ), maxRowsPerInsert, maxInsertsInFlight);
+    }
+
+    /**
+     * Saves a jackpot contribution record.
+     * @param contribution The contribution record to save.
+     * @return A Mono emitting the saved contribution record once it is written.
+     */
+    @Override
+    public Mono<JackpotContribution> save(JackpotContribution contribution) {
+        return inserter.insert(List.of(contribution)).thenReturn(contribution);
+    }
+
+    /**
+     * Saves several contribution records with as few insert statements as `maxRowsPerInsert` allows.
+     * @param contributions The contribution records to save.
+     * @return A Flux emitting the saved contribution records once all of them are written.
+     */
+    @Override
+    public Flux<JackpotContribution> saveAll(List<JackpotContribution> contributions) {
+        return inserter.insert(contributions).thenMany(Flux.fromIterable(contributions));
+    }
+
+    /**
+     * Finds all contributions for a given bet ID.
+     * @param betId The ID of the bet.
+     * @return A Flux emitting matching contribution records.
+     */
+    @Override
+    public Flux<JackpotContribution> findByBetId(String betId) {
+        return databaseClient.sql(SELECT + " WHERE bet_id = :betId")
+                .bind("betId", betId)
+                .map((row, metadata) -> toContribution(row))
+                .all();
+    }
+
+    /**
+     * Finds a contribution by its Bet ID and Jackpot ID.
+     * @param betId The ID of the bet.
+     * @param jackpotId The ID of the jackpot.
+     * @return A Mono emitting the contribution if found, or empty otherwise.
+     */
+    @Override
+    public Mono<JackpotContribution> findByBetIdAndJackpotId(String betId, String jackpotId) {
+        return databaseClient.sql(SELECT + " WHERE bet_id = :betId AND jackpot_id = :jackpotId")
+                .bind("betId", betId)
+                .bind("jackpotId", jackpotId)
+                .map((row, metadata) -> toContribution(row))
+                .first();
+    }
+
+    /**
+     * Finds all contributions for a given jackpot ID.
+     * @param jackpotId The ID of the jackpot.
+     * @return A Flux emitting matching contribution records.
+     */
+    @Override
+    public Flux<JackpotContribution> findByJackpotId(String jackpotId) {
+        return databaseClient.sql(SELECT + " WHERE jackpot_id = :jackpotId")
+                .bind("jackpotId", jackpotId)
+                .map((row, metadata) -> toContribution(row))
+                .all();
+    }
+
+    /**
+     * Finds all contributions for a given user ID.
+     * @param userId The ID of the user.
+     * @return A Flux emitting matching contribution records.
+     */
+    @Override
+    public Flux<JackpotContribution> findByUserId(String userId) {
+        return databaseClient.sql(SELECT + " WHERE user_id = :userId")
+                .bind("userId", userId)
+                .map((row, metadata) -> toContribution(row))
+                .all();
+    }
+
+    private static JackpotContribution toContribution(Row row) {
+        return new JackpotContribution(
+                row.get("bet_id", String.class),
+                row.get("user_id", String.class),
+                row.get("jackpot_id", String.class),
+                row.get("stake_amount", BigDecimal.class),
+                row.get("contribution_amount", BigDecimal.class),
+                row.get("pool_after", BigDecimal.class),
+                row.get("created_at", LocalDateTime.class)
+        );
+    }
+}
@@ -0,0 +1,289 @@
+package com.sportygroup.jackpot.repository.r2dbc;
+
+import com.sportygroup.jackpot.model.Jackpot;
+import com.sportygroup.jackpot.model.JackpotConfig;
+import com.sportygroup.jackpot.model.enums.ContributionStrategyType;
+import com.sportygroup.jackpot.model.enums.PoolCounterType;
+import com.sportygroup.jackpot.model.enums.RewardStrategyType;
+import com.sportygroup.jackpot.repository.JackpotRepository;
+import com.sportygroup.jackpot.repository.PoolTransition;
+import io.r2dbc.spi.ConnectionFactory;
+import io.r2dbc.spi.Row;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.r2dbc.connection.R2dbcTransactionManager;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.transaction.reactive.TransactionalOperator;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+
+/**
+ * R2DBC implementation of JackpotRepository, storing jackpots in the `jackpots` table.
+ *
+ * Pool changes are single statements evaluated by the database, so no read-modify-write cycle crosses
+ * the network: a contribution is `SET current_pool = current_pool + :delta`, which the row lock
+ * serializes without losing concurrent contributions. Every change increments the `version` column,
+ * and a reset only commits `WHERE version = :version`, so a pool is paid out at most once.
+ * Statements that also return the new state run in a transaction with the read that follows them.
+ *
+ * Configs are kept per jackpot once read or saved, so rows read back share the config instance, and with
+ * it the compiled plan, instead of building a new config per read. The pool counter type only matters
+ * for in-memory pools and is stored as given.
+ *
+ * The first `save` of a jackpot that already has a row keeps the stored pool and only refreshes the
+ * config, so JackpotInitializer keeps defining the jackpots while a restart does not reset their pools.
+ * A save updates the row and only inserts it if there was none. When concurrent first saves both find no row,
+ * the insert that loses on the primary key is not an error: that save is applied to the row the other inserted.
+ */
+public class R2dbcJackpotRepository implements JackpotRepository {
+
+    private static final Logger log = LoggerFactory.getLogger(R2dbcJackpotRepository.class);
+
+    private static final String SELECT = "SELECT * FROM jackpots";
+
+    private static final String CONFIG_COLUMNS = "contribution_strategy, reward_strategy, contribution_fixed_percentage, "
+            + "contribution_variable_initial, contribution_variable_decrease, reward_fixed_chance, reward_variable_initial_chance, "
+            + "reward_variable_increase_rate, reward_variable_chance_limit, pool_counter_type";
+
+    private static final String CONFIG_PARAMETERS = ":contributionStrategy, :rewardStrategy, :contributionFixed, :contributionInitial, "
+            + ":contributionDecrease, :rewardFixed, :rewardInitial, :rewardIncrease, :rewardLimit, :poolCounterType";
+
+    private static final String CONFIG_ASSIGNMENTS = "contribution_strategy = :contributionStrategy, reward_strategy = :rewardStrategy, "
+            + "contribution_fixed_percentage = :contributionFixed, contribution_variable_initial = :contributionInitial, "
+            + "contribution_variable_decrease = :contributionDecrease, reward_fixed_chance = :rewardFixed, "
+            + "reward_variable_initial_chance = :rewardInitial, reward_variable_increase_rate = :rewardIncrease, "
+            + "reward_variable_chance_limit = :rewardLimit, pool_counter_type = :poolCounterType";
+
+    private final DatabaseClient databaseClient;
+    private final TransactionalOperator transactionalOperator;
+    private final ConcurrentHashMap<String, JackpotConfig> configs = new ConcurrentHashMap<>();
+    private final Set<String> savedJackpotIds = ConcurrentHashMap.newKeySet();
+
+    /**
+     * Creates the repository.
+     * @param connectionFactory The connection factory of the database.
+     */
+    public R2dbcJackpotRepository(ConnectionFactory connectionFactory) {
+        this.databaseClient = DatabaseClient.create(connectionFactory);
+        this.transactionalOperator = TransactionalOperator.create(new R2dbcTransactionManager(connectionFactory));
+    }
+
+    /**
+     * Saves a jackpot, inserting its row if it does not exist yet.
+     * If the row exists and this repository has not saved the jackpot before, the stored pool is kept.
+     * @param jackpot The jackpot to save.
+     * @return A Mono emitting the saved jackpot as stored.
+     */
+    @Override
+    public Mono<Jackpot> save(Jackpot jackpot) {
+        return Mono.defer(() -> {
+            boolean knownJackpot = !savedJackpotIds.add(jackpot.getJackpotId());
+            if (jackpot.getConfig() != null) {
+                configs.put(jackpot.getJackpotId(), jackpot.getConfig());
+            }
+            return updateSaved(jackpot, knownJackpot)
+                    .flatMap(rows -> rows > 0 ? Mono.<Long>empty() : insert(jackpot)
+                            .onErrorResume(DuplicateKeyException.class, e -> updateSaved(jackpot, knownJackpot)))
+                    .then(findById(jackpot.getJackpotId()))
+                    .doOnNext(saved -> log.debug("Saved Jackpot: {} with pool: {}", saved.getJackpotId(), saved.getCurrentPoolAmount()));
+        });
+    }
+
+    /**
+     * Finds a jackpot by its ID.
+     * @param jackpotId The ID of the jackpot to find.
+     * @return A Mono emitting the jackpot if found, or empty otherwise.
+     */
+    @Override
+    public Mono<Jackpot> findById(String jackpotId) {
+        return databaseClient.sql(SELECT + " WHERE jackpot_id = :id")
+                .bind("id", jackpotId)
+                .map((row, metadata) -> toJackpot(row))
+                .first();
+    }
+
+    /**
+     * Finds all jackpots.
+     * @return A Flux emitting every stored jackpot.
+     */
+    @Override
+    public Flux<Jackpot> findAll() {
+        return databaseClient.sql(SELECT)
+                .map((row, metadata) -> toJackpot(row))
+                .all();
+    }
+
+    /**
+     * Overwrites the pool of an existing jackpot.
+     * @param jackpot The jackpot with updated fields.
+     * @return A Mono emitting the updated jackpot, or an error if not found.
+     */
+    @Override
+    public Mono<Jackpot> update(Jackpot jackpot) {
+        return databaseClient.sql("UPDATE jackpots SET current_pool = :pool, version = version + 1 WHERE jackpot_id = :id")
+                .bind("pool", jackpot.getCurrentPoolAmount())
+                .bind("id", jackpot.getJackpotId())
+                .fetch().rowsUpdated()
+                .flatMap(rows -> rows > 0 ? findById(jackpot.getJackpotId())
+                        : Mono.error(new IllegalArgumentException("Jackpot with ID " + jackpot.getJackpotId() + " not found for update.")))
+                .as(transactionalOperator::transactional);
+    }
+
+    /**
+     * Atomically adds a delta to the pool of a jackpot with a single relative update.
+     * @param jackpotId The ID of the jackpot to contribute to.
+     * @param delta The amount to add to the current pool.
+     * @return A Mono emitting the jackpot state right after the delta was applied, or an error if not found.
+     */
+    @Override
+    public Mono<Jackpot> addToPool(String jackpotId, BigDecimal delta) {
+        return addDelta(jackpotId, delta)
+                .flatMap(rows -> rows > 0 ? findById(jackpotId)
+                        : Mono.error(new IllegalArgumentException("Jackpot with ID " + jackpotId + " not found for contribution.")))
+                .as(transactionalOperator::transactional);
+    }
+
+    /**
+     * Resets the pool of a jackpot to its initial value if its row still has the observed version.
+     * @param observed The jackpot state the caller based its decision on.
+     * @return A Mono emitting the reset jackpot, or empty if the jackpot changed in the meantime.
+     */
+    @Override
+    public Mono<Jackpot> resetIfUnchanged(Jackpot observed) {
+        return databaseClient.sql("UPDATE jackpots SET current_pool = initial_pool, version = version + 1"
+                        + " WHERE jackpot_id = :id AND version = :version")
+                .bind("id", observed.getJackpotId())
+                .bind("version", observed.getVersion())
+                .fetch().rowsUpdated()
+                .filter(rows -> rows > 0)
+                .map(rows -> new Jackpot(observed.getJackpotId(), observed.getInitialPoolValue(), observed.getInitialPoolValue(),
+                        observed.getConfig(), observed.getCreatedAt(), observed.getVersion() + 1));
+    }
+
+    /**
+     * Moves the pool of a jackpot to the state decided by `transition`.
+     * A decision that does not reset the pool is applied as a relative update, so it commits on the
+     * first attempt. A reset commits only against the version it was decided on; when another change
+     * landed first, the jackpot is read again and the transition re-run.
+     * @param jackpotId The ID of the jackpot to transition.
+     * @param transition The function deciding the new pool from the current jackpot.
+     * @return A Mono emitting the committed decision, or empty if the jackpot does not exist.
+     */
+    @Override
+    public <T extends PoolTransition> Mono<T> transitionPool(String jackpotId, Function<Jackpot, T> transition) {
+        return findById(jackpotId).flatMap(currentJackpot -> {
+            T decision = transition.apply(currentJackpot);
+            if (!decision.isReset()) {
+                return addDelta(jackpotId, decision.getNewPool().subtract(decision.getObservedPool()))
+                        .filter(rows -> rows > 0)
+                        .map(rows -> decision);
+            }
+            return databaseClient.sql("UPDATE jackpots SET current_pool = :pool, version = version + 1"
+                            + " WHERE jackpot_id = :id AND version = :version")
+                    .bind("pool", decision.getNewPool())
+                    .bind("id", jackpotId)
+                    .bind("version", currentJackpot.getVersion())
+                    .fetch().rowsUpdated()
+                    .flatMap(rows -> rows > 0 ? Mono.just(decision) : Mono.defer(() -> {
+                        log.debug("Version conflict resetting Jackpot: {}. Retrying...", jackpotId);
+                        return transitionPool(jackpotId, transition);
+                    }));
+        });
+    }
+
+    private Mono<Long> addDelta(String jackpotId, BigDecimal delta) {
+        return databaseClient.sql("UPDATE jackpots SET current_pool = current_pool + :delta, version = version + 1 WHERE jackpot_id = :id")
+                .bind("delta", delta)
+                .bind("id", jackpotId)
+                .fetch().rowsUpdated();
+    }
+
+    /**
+     * Updates the row of a saved jackpot: its config and initial pool, and its current pool if this repository
+     * saved the jackpot before.
+     * @return A Mono emitting the number of updated rows, 0 if the jackpot has no row yet.
+     */
+    private Mono<Long> updateSaved(Jackpot jackpot, boolean knownJackpot) {
+        String sql = knownJackpot
+                ? "UPDATE jackpots SET current_pool = :pool, initial_pool = :initial, version = version + 1, " + CONFIG_ASSIGNMENTS
+                        + " WHERE jackpot_id = :id"
+                : "UPDATE jackpots SET initial_pool = :initial, " + CONFIG_ASSIGNMENTS + " WHERE jackpot_id = :id";
+        DatabaseClient.GenericExecuteSpec update = bindConfig(databaseClient.sql(sql), jackpot.getConfig())
+                .bind("id", jackpot.getJackpotId())
+                .bind("initial", jackpot.getInitialPoolValue());
+        if (knownJackpot) {
+            update = update.bind("pool", jackpot.getCurrentPoolAmount());
+        }
+        return update.fetch().rowsUpdated();
+    }
+
+    private Mono<Long> insert(Jackpot jackpot) {
+        DatabaseClient.GenericExecuteSpec insert = databaseClient.sql("INSERT INTO jackpots (jackpot_id, current_pool, initial_pool, version, created_at, "
+                        + CONFIG_COLUMNS + ") VALUES (:id, :pool, :initial, 0, :createdAt, " + CONFIG_PARAMETERS + ")")
+                .bind("id", jackpot.getJackpotId())
+                .bind("pool", jackpot.getCurrentPoolAmount())
+                .bind("initial", jackpot.getInitialPoolValue());
+        insert = jackpot.getCreatedAt() != null ? insert.bind("createdAt", jackpot.getCreatedAt()) : insert.bindNull("createdAt", LocalDateTime.class);
+        return bindConfig(insert, jackpot.getConfig()).fetch().rowsUpdated();
+    }
+
+    private static DatabaseClient.GenericExecuteSpec bindConfig(DatabaseClient.GenericExecuteSpec statement, JackpotConfig config) {
+        JackpotConfig values = config != null ? config : new JackpotConfig();
+        statement = bindNullable(statement, "contributionStrategy", values.getContributionStrategyType() == null ? null : values.getContributionStrategyType().name(), String.class);
+        statement = bindNullable(statement, "rewardStrategy", values.getRewardStrategyType() == null ? null : values.getRewardStrategyType().name(), String.class);
+        statement = bindNullable(statement, "rewardLimit", values.getRewardVariableChanceLimit(), BigDecimal.class);
+        statement = bindNullable(statement, "poolCounterType", values.getPoolCounterType() == null ? null : values.getPoolCounterType().name(), String.class);
+        return statement
+                .bind("contributionFixed", values.getContributionFixedPercentage())
+                .bind("contributionInitial", values.getContributionVariableInitialPercentage())
+                .bind("contributionDecrease", values.getContributionVariableDecreaseRate())
+                .bind("rewardFixed", values.getRewardFixedChancePercentage())
+                .bind("rewardInitial", values.getRewardVariableInitialChance())
+                .bind("rewardIncrease", values.getRewardVariableIncreaseRate());
+    }
+
+    private static DatabaseClient.GenericExecuteSpec bindNullable(DatabaseClient.GenericExecuteSpec statement, String name, Object value, Class<?> type) {
+        return value != null ? statement.bind(name, value) : statement.bindNull(name, type);
+    }
+
+    private Jackpot toJackpot(Row row) {
+        String jackpotId = row.get("jackpot_id", String.class);
+        JackpotConfig config = configs.computeIfAbsent(jackpotId, id -> toConfig(row));
+        return new Jackpot(
+                jackpotId,
+                row.get("current_pool", BigDecimal.class),
+                row.get("initial_pool", BigDecimal.class),
+                config,
+                row.get("created_at", LocalDateTime.class),
+                row.get("version", Long.class)
+        );
+    }
+
+    private static JackpotConfig toConfig(Row row) {
+        String contributionStrategy = row.get("contribution_strategy", String.class);
+        String rewardStrategy = row.get("reward_strategy", String.class);
+        String poolCounterType = row.get("pool_counter_type", String.class);
+        JackpotConfig config = new JackpotConfig(
+                contributionStrategy == null ? null : ContributionStrategyType.valueOf(contributionStrategy),
+                rewardStrategy == null ? null : RewardStrategyType.valueOf(rewardStrategy),
+                row.get("contribution_fixed_percentage", Double.class),
+                row.get("contribution_variable_initial", Double.class),
+                row.get("contribution_variable_decrease", Double.class),
+                row.get("reward_fixed_chance", Double.class),
+                row.get("reward_variable_initial_chance", Double.class),
+                row.get("reward_variable_increase_rate", Double.class),
+                row.get("reward_variable_chance_limit", BigDecimal.class)
+        );
+        if (poolCounterType != null) {
+            config.setPoolCounterType(PoolCounterType.valueOf(poolCounterType));
+        }
+        return config;
+    }
+}
@@ -0,0 +1,113 @@
+package com.sportygroup.jackpot.repository.r2dbc;
+
+import com.sportygroup.jackpot.model.JackpotReward;
+import com.sportygroup.jackpot.repository.JackpotRewardRepository;
+import io.r2dbc.spi.ConnectionFactory;
+import io.r2dbc.spi.Row;
+import org.springframework.r2dbc.core.DatabaseClient;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * R2DBC implementation of JackpotRewardRepository, storing records in the `jackpot_rewards` table.
+ * Rewards are rare compared to contributions, so each one is written with its own insert.
+ */
+public class R2dbcJackpotRewardRepository implements JackpotRewardRepository {
+
+    private static final String SELECT = "SELECT bet_id, user_id, jackpot_id, reward_amount, created_at FROM jackpot_rewards";
+
+    private final DatabaseClient databaseClient;
+
+    /**
+     * Creates the repository.
+     * @param connectionFactory The connection factory of the database.
+     */
+    public R2dbcJackpotRewardRepository(ConnectionFactory connectionFactory) {
+        this.databaseClient = DatabaseClient.create(connectionFactory);
+    }
+
+    /**
+     * Saves a jackpot reward record.
+     * @param reward The reward record to save.
+     * @return A Mono emitting the saved reward record once it is written.
+     */
+    @Override
+    public Mono<JackpotReward> save(JackpotReward reward) {
+        DatabaseClient.GenericExecuteSpec statement = databaseClient.sql(
+                        "INSERT INTO jackpot_rewards (bet_id, user_id, jackpot_id, reward_amount, created_at)"
+                                + " VALUES (:betId, :userId, :jackpotId, :rewardAmount, :createdAt)")
+                .bind("betId", reward.getBetId())
+                .bind("jackpotId", reward.getJackpotId())
+                .bind("rewardAmount", reward.getJackpotRewardAmount());
+        statement = reward.getUserId() != null ? statement.bind("userId", reward.getUserId()) : statement.bindNull("userId", String.class);
+        statement = reward.getCreatedAt() != null ? statement.bind("createdAt", reward.getCreatedAt()) : statement.bindNull("createdAt", LocalDateTime.class);
+        return statement.fetch().rowsUpdated().thenReturn(reward);
+    }
+
+    /**
+     * Finds all rewards for a given bet ID.
+     * @param betId The ID of the bet.
+     * @return A Flux emitting matching reward records.
+     */
+    @Override
+    public Flux<JackpotReward> findByBetId(String betId) {
+        return databaseClient.sql(SELECT + " WHERE bet_id = :betId")
+                .bind("betId", betId)
+                .map((row, metadata) -> toReward(row))
+                .all();
+    }
+
+    /**
+     * Finds a reward by its Bet ID and Jackpot ID.
+     * @param betId The ID of the bet.
+     * @param jackpotId The ID of the jackpot.
+     * @return A Mono emitting the reward if found, or empty otherwise.
+     */
+    @Override
+    public Mono<JackpotReward> findByBetIdAndJackpotId(String betId, String jackpotId) {
+        return databaseClient.sql(SELECT + " WHERE bet_id = :betId AND jackpot_id = :jackpotId")
+                .bind("betId", betId)
+                .bind("jackpotId", jackpotId)
+                .map((row, metadata) -> toReward(row))
+                .first();
+    }
+
+    /**
+     * Finds all rewards for a given jackpot ID.
+     * @param jackpotId The ID of the jackpot.
+     * @return A Flux emitting matching reward records.
+     */
+    @Override
+    public Flux<JackpotReward> findByJackpotId(String jackpotId) {
+        return databaseClient.sql(SELECT + " WHERE jackpot_id = :jackpotId")
+                .bind("jackpotId", jackpotId)
+                .map((row, metadata) -> toReward(row))
+                .all();
+    }
+
+    /**
+     * Finds all rewards for a given user ID.
+     * @param userId The ID of the user.
+     * @return A Flux emitting matching reward records.
+     */
+    @Override
+    public Flux<JackpotReward> findByUserId(String userId) {
+        return databaseClient.sql(SELECT + " WHERE user_id = :userId")
+                .bind("userId", userId)
+                .map((row, metadata) -> toReward(row))
+                .all();
+    }
+
+    private static JackpotReward toReward(Row row) {
+        return new JackpotReward(
+                row.get("bet_id", String.class),
+                row.get("user_id", String.class),
+                row.get("jackpot_id", String.class),
+                row.get("reward_amount", BigDecimal.class),
+                row.get("created_at", LocalDateTime.class)
+        );
+    }
+}
@@ -1,11 +1,20 @@
 package com.sportygroup.jackpot.service;
 
+import com.sportygroup.jackpot.metrics.JackpotMetrics;
 import com.sportygroup.jackpot.model.Bet;
+import com.sportygroup.jackpot.model.BetPublishResult;
 import com.sportygroup.jackpot.producer.KafkaProducerService;
 import com.sportygroup.jackpot.repository.BetRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
+
+import java.util.List;
 
 /**
  * Service responsible for managing bets.
@@ -15,8 +24,15 @@ import reactor.core.publisher.Mono;
 @Service
 public class BetService {
 
+    private static final Logger log = LoggerFactory.getLogger(BetService.class);
+
+    // Maximum number of bets of one batch being published at the same time.
+    private static final int PUBLISH_CONCURRENCY = 64;
+
     private final BetRepository betRepository;
     private final KafkaProducerService kafkaProducerService;
+    private final JackpotMetrics jackpotMetrics;
+    private final Scheduler repositoryScheduler;
 
     /**
      * Constructor for dependency injection.
@@ -25,8 +41,32 @@ public class BetService {
      */
     @Autowired
     public BetService(BetRepository betRepository, KafkaProducerService kafkaProducerService) {
+        this(betRepository, kafkaProducerService, JackpotMetrics.disabled());
+    }
+
+    /**
+     * Constructor for an instrumented service.
+     * @param betRepository The repository for managing bets.
+     * @param kafkaProducerService The Kafka producer service.
+     * @param jackpotMetrics The metrics recording bet publication latencies.
+     */
+    public BetService(BetRepository betRepository, KafkaProducerService kafkaProducerService, JackpotMetrics jackpotMetrics) {
+        this(betRepository, kafkaProducerService, jackpotMetrics, Schedulers.immediate());
+    }
+
+    /**
+     * Constructor for an instrumented service whose repository calls run on a dedicated scheduler.
+     * @param betRepository The repository for managing bets.
+     * @param kafkaProducerService The Kafka producer service.
+     * @param jackpotMetrics The metrics recording bet publication latencies.
+     * @param repositoryScheduler The scheduler bets are saved on; Schedulers.immediate() saves on the calling thread.
+     */
+    public BetService(BetRepository betRepository, KafkaProducerService kafkaProducerService, JackpotMetrics jackpotMetrics,
+                      Scheduler repositoryScheduler) {
         this.betRepository = betRepository;
         this.kafkaProducerService = kafkaProducerService;
+        this.jackpotMetrics = jackpotMetrics;
+        this.repositoryScheduler = repositoryScheduler;
     }
 
     /**
@@ -40,9 +80,37 @@ public class BetService {
      */
     public Mono<Bet> publishBet(Bet bet) {
 
-        return betRepository.save(bet)
-                .doOnSuccess(savedBet -> System.out.println("BetService: Bet saved: " + savedBet.getBetId()))
+        return jackpotMetrics.timeBetPublish(betRepository.save(bet)
+                .subscribeOn(repositoryScheduler)
+                .doOnSuccess(savedBet -> log.debug("Bet saved: {}", savedBet.getBetId()))
                 .flatMap(savedBet -> kafkaProducerService.publishBet(savedBet).thenReturn(savedBet))
-                .doOnError(e -> System.err.println("BetService: Error saving or publishing bet: " + e.getMessage()));
+                .doOnError(e -> log.warn("Error saving or publishing bet {}: {}", bet.getBetId(), e.getMessage())));
+    }
+
+    /**
+     * Publishes a batch of bets. The whole batch is saved with a single repository call, then the
+     * saved bets are published concurrently (bounded by PUBLISH_CONCURRENCY) while results are
+     * emitted in the original order. A failed publication only fails its own bet; a failed save
+     * fails every bet of the batch.
+     *
+     * @param bets The validated bets to publish.
+     * @return A Flux emitting one BetPublishResult per bet, in the given order.
+     */
+    public Flux<BetPublishResult> publishBets(List<Bet> bets) {
+        return betRepository.saveAll(bets)
+                .subscribeOn(repositoryScheduler)
+                .collectList()
+                .doOnSuccess(savedBets -> log.debug("{} bets saved in bulk", savedBets.size()))
+                .flatMapMany(savedBets -> Flux.fromIterable(savedBets)
+                        .flatMapSequential(savedBet -> kafkaProducerService.publishBet(savedBet)
+                                .thenReturn(BetPublishResult.published(savedBet))
+                                .onErrorResume(e -> {
+                                    log.warn("Error publishing bet {}: {}", savedBet.getBetId(), e.getMessage());
+                                    return Mono.just(BetPublishResult.failed(savedBet, e.getMessage()));
+                                }), PUBLISH_CONCURRENCY))
+                .onErrorResume(e -> {
+                    log.warn("Error saving batch of {} bets: {}", bets.size(), e.getMessage());
+                    return Flux.fromIterable(bets).map(bet -> BetPublishResult.failed(bet, e.getMessage()));
+                });
     }
 }
\ No newline at end of file
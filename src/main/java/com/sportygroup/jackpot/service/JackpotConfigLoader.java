@@ -1,6 +1,8 @@
 package com.sportygroup.jackpot.service;
 
 import com.sportygroup.jackpot.model.JackpotConfig;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.stereotype.Component;
 
 import java.util.Map;
@@ -18,6 +20,8 @@ import java.util.concurrent.ConcurrentHashMap;
 @Component
 public class JackpotConfigLoader {
 
+    private static final Logger log = LoggerFactory.getLogger(JackpotConfigLoader.class);
+
     private final Map<String, JackpotConfig> jackpotConfigs = new ConcurrentHashMap<>();
 
     /**
@@ -27,7 +31,7 @@ public class JackpotConfigLoader {
      */
     public void addJackpotConfig(String jackpotId, JackpotConfig config) {
         jackpotConfigs.put(jackpotId, config);
-        System.out.println("JackpotConfigLoader: Added config for Jackpot ID: " + jackpotId);
+        log.info("Added config for Jackpot ID: {}", jackpotId);
     }
 
     /**
@@ -0,0 +1,109 @@
+package com.sportygroup.jackpot.service;
+
+import com.sportygroup.jackpot.model.JackpotConfig;
+import com.sportygroup.jackpot.service.contribution.ContributionPlan;
+import com.sportygroup.jackpot.service.contribution.ContributionStrategy;
+import com.sportygroup.jackpot.service.reward.RewardPlan;
+import com.sportygroup.jackpot.service.reward.RewardStrategy;
+
+import java.util.Map;
+
+/**
+ * The contribution and reward plans compiled for one JackpotConfig.
+ * A plan is compiled when its config is registered, or else the first time the config is settled against, and is
+ * then cached by the settling service, keyed by config identity, so settling a bet costs one cache read and one call per plan instead of strategy
+ * lookups by name. Configs are replaced, not edited, when a jackpot's rules change, so a new config compiles
+ * a new plan.
+ *
+ * Registration rejects a config that cannot be compiled (unknown strategy or invalid parameters). A config
+ * first met at settlement, e.g. one loaded from the store, has each half compiled on its own: a half that cannot
+ * be compiled fails every call with the compile error, while the other half keeps working.
+ */
+public final class JackpotPlan {
+
+    private final ContributionPlan contributionPlan;
+    private final RewardPlan rewardPlan;
+
+    private JackpotPlan(ContributionPlan contributionPlan, RewardPlan rewardPlan) {
+        this.contributionPlan = contributionPlan;
+        this.rewardPlan = rewardPlan;
+    }
+
+    /**
+     * Compiles a config into a new plan.
+     *
+     * @param config The jackpot configuration.
+     * @param contributionStrategies Map of all available contribution strategies.
+     * @param rewardStrategies Map of all available reward strategies.
+     * @return The compiled plan.
+     */
+    public static JackpotPlan compile(JackpotConfig config,
+                                      Map<String, ContributionStrategy> contributionStrategies,
+                                      Map<String, RewardStrategy> rewardStrategies) {
+        return new JackpotPlan(compileContribution(config, contributionStrategies), compileReward(config, rewardStrategies));
+    }
+
+    /**
+     * Compiles a config that is being registered into a new plan, rejecting it if either half cannot be compiled.
+     *
+     * @param config The jackpot configuration.
+     * @param contributionStrategies Map of all available contribution strategies.
+     * @param rewardStrategies Map of all available reward strategies.
+     * @return The compiled plan.
+     * @throws IllegalArgumentException If a strategy is unknown or rejects the config's parameters.
+     */
+    public static JackpotPlan compileValid(JackpotConfig config,
+                                           Map<String, ContributionStrategy> contributionStrategies,
+                                           Map<String, RewardStrategy> rewardStrategies) {
+        return new JackpotPlan(contributionStrategyOf(config, contributionStrategies).compile(config),
+                rewardStrategyOf(config, rewardStrategies).compile(config));
+    }
+
+    public ContributionPlan getContributionPlan() {
+        return contributionPlan;
+    }
+
+    public RewardPlan getRewardPlan() {
+        return rewardPlan;
+    }
+
+    private static ContributionPlan compileContribution(JackpotConfig config, Map<String, ContributionStrategy> contributionStrategies) {
+        try {
+            return contributionStrategyOf(config, contributionStrategies).compile(config);
+        } catch (IllegalArgumentException e) {
+            String message = e.getMessage();
+            return (betAmount, currentJackpotPool) -> {
+                throw new IllegalArgumentException(message);
+            };
+        }
+    }
+
+    private static RewardPlan compileReward(JackpotConfig config, Map<String, RewardStrategy> rewardStrategies) {
+        try {
+            return rewardStrategyOf(config, rewardStrategies).compile(config);
+        } catch (IllegalArgumentException e) {
+            String message = e.getMessage();
+            return (betAmount, currentJackpotPool) -> {
+                throw new IllegalArgumentException(message);
+            };
+        }
+    }
+
+    private static ContributionStrategy contributionStrategyOf(JackpotConfig config, Map<String, ContributionStrategy> contributionStrategies) {
+        ContributionStrategy strategy = config.getContributionStrategyType() == null ? null
+                : contributionStrategies.get(config.getContributionStrategyType().getValue());
+        if (strategy == null) {
+            throw new IllegalArgumentException("No contribution strategy found for type: " + config.getContributionStrategyType());
+        }
+        return strategy;
+    }
+
+    private static RewardStrategy rewardStrategyOf(JackpotConfig config, Map<String, RewardStrategy> rewardStrategies) {
+        RewardStrategy strategy = config.getRewardStrategyType() == null ? null
+                : rewardStrategies.get(config.getRewardStrategyType().getValue());
+        if (strategy == null) {
+            throw new IllegalArgumentException("No reward strategy found for type: " + config.getRewardStrategyType());
+        }
+        return strategy;
+    }
+}
@@ -1,41 +1,62 @@
 package com.sportygroup.jackpot.service;
 
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.sportygroup.jackpot.metrics.JackpotMetrics;
 import com.sportygroup.jackpot.model.Bet;
+import com.sportygroup.jackpot.model.BetSettlement;
 import com.sportygroup.jackpot.model.Jackpot;
 import com.sportygroup.jackpot.model.JackpotConfig;
 import com.sportygroup.jackpot.model.JackpotContribution;
+import com.sportygroup.jackpot.model.JackpotLedger;
 import com.sportygroup.jackpot.model.JackpotReward;
 import com.sportygroup.jackpot.repository.JackpotContributionRepository;
 import com.sportygroup.jackpot.repository.JackpotRepository;
 import com.sportygroup.jackpot.repository.JackpotRewardRepository;
+import com.sportygroup.jackpot.repository.PoolTransition;
 import com.sportygroup.jackpot.service.contribution.ContributionStrategy;
 import com.sportygroup.jackpot.service.reward.RewardStrategy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicReference;
 
 /**
  * Service responsible for managing jackpot contributions and rewards.
  * This class orchestrates the interaction between repositories and strategies.
+ * Strategies are resolved once per JackpotConfig into a JackpotPlan, which every later bet reuses.
+ * The plans are cached here by config identity, so the config itself stays a plain model object.
+ * Configs are compiled eagerly by `register` when a jackpot is set up, so bets never pay for the compilation.
  *
  * This version of JackpotService explicitly saves JackpotContribution and JackpotReward
  * records to their respective repositories.
- * Concurrency for jackpot updates is handled at the repository level (e.g., using `replace` in `InMemJackpotRepository`).
+ * Concurrency for jackpot updates is handled at the repository level: a bet's contribution and, if it wins,
+ * the pool reset are applied in a single atomic `transitionPool` call, so no read-modify-write happens here.
  */
 @Service
 public class JackpotService {
 
+    private static final Logger log = LoggerFactory.getLogger(JackpotService.class);
+
     private final JackpotRepository jackpotRepository;
     private final JackpotContributionRepository jackpotContributionRepository;
     private final JackpotRewardRepository jackpotRewardRepository;
     private final Map<String, ContributionStrategy> contributionStrategies;
     private final Map<String, RewardStrategy> rewardStrategies;
+    private final JackpotMetrics jackpotMetrics;
+    // Compiled plans by config identity; a replaced config's plan is dropped once the config is collected.
+    private final Cache<JackpotConfig, JackpotPlan> plans = Caffeine.newBuilder().weakKeys().build();
 
     /**
      * Constructor for dependency injection.
@@ -54,136 +75,360 @@ public class JackpotService {
             JackpotRewardRepository jackpotRewardRepository,
             Map<String, ContributionStrategy> contributionStrategies,
             Map<String, RewardStrategy> rewardStrategies) {
+        this(jackpotRepository, jackpotContributionRepository, jackpotRewardRepository, contributionStrategies, rewardStrategies,
+                JackpotMetrics.disabled());
+    }
+
+    /**
+     * Constructor for an instrumented service.
+     *
+     * @param jackpotRepository The repository for managing jackpots.
+     * @param jackpotContributionRepository The repository for managing jackpot contribution records.
+     * @param jackpotRewardRepository The repository for managing jackpot reward records.
+     * @param contributionStrategies Map of all available contribution strategies.
+     * @param rewardStrategies Map of all available reward strategies.
+     * @param jackpotMetrics The metrics recording contribution and reward latencies and outcomes.
+     */
+    public JackpotService(
+            JackpotRepository jackpotRepository,
+            JackpotContributionRepository jackpotContributionRepository,
+            JackpotRewardRepository jackpotRewardRepository,
+            Map<String, ContributionStrategy> contributionStrategies,
+            Map<String, RewardStrategy> rewardStrategies,
+            JackpotMetrics jackpotMetrics) {
         this.jackpotRepository = jackpotRepository;
         this.jackpotContributionRepository = jackpotContributionRepository;
         this.jackpotRewardRepository = jackpotRewardRepository;
         this.contributionStrategies = new ConcurrentHashMap<>(contributionStrategies);
         this.rewardStrategies = new ConcurrentHashMap<>(rewardStrategies);
+        this.jackpotMetrics = jackpotMetrics;
     }
 
-
-
     /**
-     * Handles the contribution of a bet to its matching jackpot pool.
-     * Uses the configured ContributionStrategy for the specific jackpot.
-     * Concurrency is managed by the underlying `JackpotRepository.update` which
-     * employs an optimistic locking approach for in-memory updates.
+     * Settles a bet in one atomic pool transition: the contribution is calculated from the current pool,
+     * the win is decided against the pool including that contribution, and the pool is either raised by the
+     * contribution or reset to its initial value. This costs one repository round trip, and two bets can never both win
+     * the same pool: a transition that lost a race is recalculated against the fresh pool, keeping the drawn outcome.
+     * If saving the records fails after the transition committed, the error is a SettlementCommittedException.
      *
-     * @param bet The bet that is contributing.
-     * @return A Mono that completes when the contribution is processed and recorded.
+     * @param bet The bet to settle.
+     * @return A Mono emitting the contribution and, if the bet won, its reward.
      */
-    public Mono<Void> contributeToJackpot(Bet bet) {
-        return jackpotRepository.findById(bet.getJackpotId())
+    public Mono<BetSettlement> settle(Bet bet) {
+        AtomicReference<Boolean> decidedWin = new AtomicReference<>();
+        return jackpotMetrics.timeSettlement(jackpotRepository.transitionPool(bet.getJackpotId(), jackpot -> decideSettlement(bet, jackpot, decidedWin))
                 .switchIfEmpty(Mono.error(new IllegalArgumentException("No matching jackpot found for ID: " + bet.getJackpotId())))
-                .flatMap(jackpot -> {
-                    JackpotConfig config = jackpot.getConfig();
-                    if (config == null) {
-                        return Mono.error(new IllegalStateException("Jackpot " + jackpot.getJackpotId() + " has no configuration."));
-                    }
-
-                    ContributionStrategy strategy = contributionStrategies.get(config.getContributionStrategyType().getValue());
-                    if (strategy == null) {
-                        return Mono.error(new IllegalArgumentException("No contribution strategy found for type: " + config.getContributionStrategyType()));
-                    }
-
-                    BigDecimal contributionAmount = strategy.calculateContribution(
+                .flatMap(settlement -> {
+                    LocalDateTime now = LocalDateTime.now();
+                    JackpotContribution contributionRecord = new JackpotContribution(
+                            bet.getBetId(),
+                            bet.getUserId(),
+                            bet.getJackpotId(),
                             bet.getBetAmount(),
-                            jackpot.getCurrentPoolAmount(),
-                            config
+                            settlement.contributionAmount,
+                            settlement.poolAfterContribution,
+                            now
                     );
+                    jackpotMetrics.recordContribution(bet.getJackpotId(), 1, settlement.contributionAmount, settlement.poolAfterContribution);
+                    if (!settlement.wins) {
+                        log.debug("Bet {} contributed {} to Jackpot {} and did NOT win. New pool: {}",
+                                bet.getBetId(), settlement.contributionAmount, bet.getJackpotId(), settlement.newPool);
+                        return jackpotContributionRepository.save(contributionRecord)
+                                .map(savedContribution -> new BetSettlement(savedContribution, null))
+                                .onErrorMap(e -> new SettlementCommittedException(1, e));
+                    }
 
-                    Jackpot updatedJackpot = new Jackpot(
-                            jackpot.getJackpotId(),
-                            jackpot.getCurrentPoolAmount().add(contributionAmount),
-                            jackpot.getInitialPoolValue(),
-                            jackpot.getConfig(),
-                            jackpot.getCreatedAt()
+                    log.info("Bet {} WON Jackpot {} with reward: {}", bet.getBetId(), bet.getJackpotId(), settlement.poolAfterContribution);
+                    jackpotMetrics.recordWin(bet.getJackpotId(), settlement.poolAfterContribution, settlement.newPool);
+                    JackpotReward rewardRecord = new JackpotReward(
+                            bet.getBetId(),
+                            bet.getUserId(),
+                            bet.getJackpotId(),
+                            settlement.poolAfterContribution,
+                            now
                     );
-
-                    return jackpotRepository.update(updatedJackpot)
-                            .flatMap(savedJackpot -> {
-                                JackpotContribution contributionRecord = new JackpotContribution(
-                                        bet.getBetId(),
-                                        bet.getUserId(),
-                                        savedJackpot.getJackpotId(),
-                                        bet.getBetAmount(),
-                                        contributionAmount,
-                                        savedJackpot.getCurrentPoolAmount(),
-                                        LocalDateTime.now()
-                                );
-                                return jackpotContributionRepository.save(contributionRecord)
-                                        .doOnSuccess(c -> System.out.println("JackpotService: Bet " + bet.getBetId() + " contributed " + contributionAmount +
-                                                " to Jackpot " + savedJackpot.getJackpotId() + ". New pool: " + savedJackpot.getCurrentPoolAmount()))
-                                        .then();
-                            });
+                    return jackpotContributionRepository.save(contributionRecord)
+                            .zipWith(jackpotRewardRepository.save(rewardRecord), BetSettlement::new)
+                            .onErrorMap(e -> new SettlementCommittedException(1, e));
                 })
-                .doOnError(e -> System.err.println("JackpotService: Error during contribution for bet " + bet.getBetId() + ": " + e.getMessage()));
+                .doOnError(e -> log.warn("Error during settlement of bet {}: {}", bet.getBetId(), e.getMessage())));
     }
 
     /**
-     * Evaluates if a bet wins the jackpot reward.
-     * Uses the configured RewardStrategy for the specific jackpot.
-     * If a reward is won, the jackpot pool is reset.
-     * Concurrency is managed by the underlying `JackpotRepository.update` via optimistic locking.
+     * Settles a batch of bets of the same jackpot in order, as if `settle` had been called for each bet in turn.
+     * The bets are folded into as few pool transitions as possible: each transition covers the bets up to and
+     * including the next win, so a win is always decided against the pool of the bets before it, and the bets
+     * after a win contribute to the reset pool. A batch without a win costs a single transition and one bulk
+     * save of its contribution records. As in `settle`, every bet is drawn once, even when a transition is retried.
+     * Results are emitted as soon as the transition of their bets is committed and recorded. A caller seeing an
+     * error knows that the bets whose results were emitted are settled; if the error is a SettlementCommittedException,
+     * the pool change of the bets it counts was committed as well, even though their records were not all saved.
      *
-     * @param bet The bet to evaluate for reward.
-     * @return A Mono emitting the JackpotReward if won, or empty otherwise.
+     * @param jackpotId The ID of the jackpot all bets belong to.
+     * @param bets The bets, in consumption order.
+     * @return A Flux emitting one settlement result per bet, in the same order.
      */
-    public Mono<Optional<JackpotReward>> evaluateReward(Bet bet) {
-        return jackpotRepository.findById(bet.getJackpotId())
-                .switchIfEmpty(Mono.error(new IllegalArgumentException("No matching jackpot found for ID: " + bet.getJackpotId())))
-                .flatMap(jackpot -> {
-                    JackpotConfig config = jackpot.getConfig();
-                    if (config == null) {
-                        return Mono.error(new IllegalStateException("Jackpot " + jackpot.getJackpotId() + " has no configuration."));
-                    }
+    public Flux<Optional<JackpotReward>> settle(String jackpotId, List<Bet> bets) {
+        Boolean[] drawnWins = new Boolean[bets.size()];
+        return settleSegments(jackpotId, bets, 0, drawnWins)
+                .doOnError(e -> log.warn("Error during batch settlement for jackpot {}: {}", jackpotId, e.getMessage()));
+    }
 
-                    RewardStrategy strategy = rewardStrategies.get(config.getRewardStrategyType().getValue());
-                    if (strategy == null) {
-                        return Mono.error(new IllegalArgumentException("No reward strategy found for type: " + config.getRewardStrategyType()));
-                    }
+    /**
+     * Settles the bets from `from` up to the next win in one pool transition, then continues with the remaining bets.
+     */
+    private Flux<Optional<JackpotReward>> settleSegments(String jackpotId, List<Bet> bets, int from, Boolean[] drawnWins) {
+        if (from == bets.size()) {
+            return Flux.empty();
+        }
+        return jackpotRepository.transitionPool(jackpotId, jackpot -> decideSegment(bets, from, jackpot, drawnWins))
+                .switchIfEmpty(Mono.error(new IllegalArgumentException("No matching jackpot found for ID: " + jackpotId)))
+                .flatMapMany(segment -> recordSegment(jackpotId, bets, segment)
+                        .onErrorMap(e -> new SettlementCommittedException(from + segment.contributionAmounts.size(), e))
+                        .concatWith(Flux.defer(() -> settleSegments(jackpotId, bets, from + segment.contributionAmounts.size(), drawnWins))));
+    }
 
-                    boolean wins = strategy.checkWin(
-                            bet.getBetAmount(),
-                            jackpot.getCurrentPoolAmount(),
-                            config
-                    );
+    /**
+     * Decides the settlement of the bets from `from` on against one jackpot state, stopping after the first win.
+     * Runs inside `transitionPool`, possibly more than once, so it only calculates; outcomes already drawn
+     * are kept in `drawnWins`.
+     */
+    private Segment decideSegment(List<Bet> bets, int from, Jackpot jackpot, Boolean[] drawnWins) {
+        JackpotConfig config = jackpot.getConfig();
+        if (config == null) {
+            throw new IllegalStateException("Jackpot " + jackpot.getJackpotId() + " has no configuration.");
+        }
 
-                    if (wins) {
-                        BigDecimal rewardAmount = jackpot.getCurrentPoolAmount();
-                        System.out.println("JackpotService: Bet " + bet.getBetId() + " WON Jackpot " + jackpot.getJackpotId() + " with reward: " + rewardAmount);
-
-                        Jackpot resetJackpot = new Jackpot(
-                                jackpot.getJackpotId(),
-                                jackpot.getInitialPoolValue(),
-                                jackpot.getInitialPoolValue(),
-                                jackpot.getConfig(),
-                                jackpot.getCreatedAt()
-                        );
-
-                        return jackpotRepository.update(resetJackpot)
-                                .flatMap(savedJackpot -> {
-                                    System.out.println("JackpotService: Jackpot " + savedJackpot.getJackpotId() + " reset to initial pool: " + savedJackpot.getInitialPoolValue());
-                                    JackpotReward rewardRecord = new JackpotReward(
-                                            bet.getBetId(),
-                                            bet.getUserId(),
-                                            savedJackpot.getJackpotId(),
-                                            rewardAmount,
-                                            LocalDateTime.now()
-                                    );
-                                    return jackpotRewardRepository.save(rewardRecord)
-                                            .map(Optional::of);
-                                });
-                    } else {
-                        System.out.println("JackpotService: Bet " + bet.getBetId() + " did NOT win Jackpot " + jackpot.getJackpotId());
-                        return Mono.just(Optional.<JackpotReward>empty());
-                    }
-                })
-                .onErrorResume(IllegalArgumentException.class, e ->
-                        Mono.error(new IllegalArgumentException(e.getMessage()))
-                )
-                .onErrorResume(IllegalStateException.class, e ->
-                        Mono.error(new IllegalStateException(e.getMessage()))
-                );
+        JackpotPlan plan = planOf(config);
+        BigDecimal observedPool = jackpot.getCurrentPoolAmount();
+        BigDecimal runningPool = observedPool;
+        List<BigDecimal> contributionAmounts = new ArrayList<>();
+        List<BigDecimal> poolsAfterContribution = new ArrayList<>();
+        for (int i = from; i < bets.size(); i++) {
+            Bet bet = bets.get(i);
+            BigDecimal contributionAmount = plan.getContributionPlan().calculateContribution(bet.getBetAmount(), runningPool);
+            runningPool = runningPool.add(contributionAmount);
+            contributionAmounts.add(contributionAmount);
+            poolsAfterContribution.add(runningPool);
+            if (drawnWins[i] == null) {
+                drawnWins[i] = plan.getRewardPlan().checkWin(bet.getBetAmount(), runningPool);
+            }
+            if (drawnWins[i]) {
+                return new Segment(from, observedPool, contributionAmounts, poolsAfterContribution, true, jackpot.getInitialPoolValue());
+            }
+        }
+        return new Segment(from, observedPool, contributionAmounts, poolsAfterContribution, false, runningPool);
+    }
+
+    /**
+     * Saves the contribution records and, if the segment ends with a win, the reward of a committed segment.
+     * @return A Flux emitting one result per bet of the segment.
+     */
+    private Flux<Optional<JackpotReward>> recordSegment(String jackpotId, List<Bet> bets, Segment segment) {
+        LocalDateTime now = LocalDateTime.now();
+        int size = segment.contributionAmounts.size();
+        List<JackpotContribution> contributionRecords = new ArrayList<>(size);
+        BigDecimal totalContribution = BigDecimal.ZERO;
+        for (int i = 0; i < size; i++) {
+            Bet bet = bets.get(segment.from + i);
+            totalContribution = totalContribution.add(segment.contributionAmounts.get(i));
+            contributionRecords.add(new JackpotContribution(
+                    bet.getBetId(),
+                    bet.getUserId(),
+                    jackpotId,
+                    bet.getBetAmount(),
+                    segment.contributionAmounts.get(i),
+                    segment.poolsAfterContribution.get(i),
+                    now
+            ));
+        }
+        BigDecimal lastPoolAfterContribution = segment.poolsAfterContribution.get(size - 1);
+        jackpotMetrics.recordContribution(jackpotId, size, totalContribution, lastPoolAfterContribution);
+        log.debug("{} bets contributed {} to Jackpot {}. New pool: {}", size, totalContribution, jackpotId, segment.newPool);
+
+        Mono<Optional<JackpotReward>> lastResult = Mono.just(Optional.empty());
+        if (segment.wins) {
+            Bet winner = bets.get(segment.from + size - 1);
+            log.info("Bet {} WON Jackpot {} with reward: {}", winner.getBetId(), jackpotId, lastPoolAfterContribution);
+            jackpotMetrics.recordWin(jackpotId, lastPoolAfterContribution, segment.newPool);
+            lastResult = jackpotRewardRepository.save(new JackpotReward(
+                    winner.getBetId(),
+                    winner.getUserId(),
+                    jackpotId,
+                    lastPoolAfterContribution,
+                    now
+            )).map(Optional::of);
+        }
+        return jackpotContributionRepository.saveAll(contributionRecords)
+                .then(lastResult)
+                .flatMapMany(lastReward -> Flux.range(0, size)
+                        .map(i -> i == size - 1 ? lastReward : Optional.<JackpotReward>empty()));
+    }
+
+    /**
+     * Summarizes a jackpot's current pool against its contribution and reward history.
+     * The pool and the history are read one after the other, so the ledger only balances once no
+     * contribution or reward of the jackpot is in flight.
+     *
+     * @param jackpotId The ID of the jackpot.
+     * @return A Mono emitting the ledger, or empty if the jackpot does not exist.
+     */
+    public Mono<JackpotLedger> getLedger(String jackpotId) {
+        return jackpotRepository.findById(jackpotId)
+                .flatMap(jackpot -> Mono.zip(
+                        jackpotContributionRepository.findByJackpotId(jackpotId)
+                                .map(JackpotContribution::getContributionAmount)
+                                .collect(AmountTotal::new, AmountTotal::add),
+                        jackpotRewardRepository.findByJackpotId(jackpotId)
+                                .map(JackpotReward::getJackpotRewardAmount)
+                                .collect(AmountTotal::new, AmountTotal::add)
+                ).map(totals -> new JackpotLedger(
+                        jackpotId,
+                        jackpot.getInitialPoolValue(),
+                        jackpot.getCurrentPoolAmount(),
+                        totals.getT1().count,
+                        totals.getT1().sum,
+                        totals.getT2().count,
+                        totals.getT2().sum
+                )));
+    }
+
+    /**
+     * Compiles the plan of a config that is being registered and caches it, so the jackpot's first bets find it
+     * compiled. Unlike `planOf`, an invalid config is rejected here instead of failing its bets.
+     * @param config The jackpot configuration.
+     * @return The compiled plan.
+     * @throws IllegalArgumentException If a strategy of the config is unknown or rejects its parameters.
+     */
+    public JackpotPlan register(JackpotConfig config) {
+        JackpotPlan plan = JackpotPlan.compileValid(config, contributionStrategies, rewardStrategies);
+        JackpotPlan cached = plans.asMap().putIfAbsent(config, plan);
+        return cached != null ? cached : plan;
+    }
+
+    /**
+     * Returns the plan compiled for a config, compiling it on the config's first use if it was not registered.
+     * The SettlementEngine shards resolve their plans here too, so a config is compiled once per service.
+     * @param config The jackpot configuration.
+     * @return The compiled plan.
+     */
+    public JackpotPlan planOf(JackpotConfig config) {
+        return plans.get(config, c -> JackpotPlan.compile(c, contributionStrategies, rewardStrategies));
+    }
+
+    /**
+     * Decides the settlement of a bet against one jackpot state. Runs inside `transitionPool`,
+     * possibly more than once, so it only calculates. The win is drawn on the first call only; later calls
+     * recalculate the contribution and the resulting pool against the fresh state but keep the drawn outcome,
+     * so a bet whose transition lost a race gets no second chance to win.
+     * @param bet The bet to settle.
+     * @param jackpot The jackpot state to settle against.
+     * @param decidedWin The outcome drawn by the first call, or null before it.
+     * @return The decided settlement.
+     */
+    private Settlement decideSettlement(Bet bet, Jackpot jackpot, AtomicReference<Boolean> decidedWin) {
+        JackpotConfig config = jackpot.getConfig();
+        if (config == null) {
+            throw new IllegalStateException("Jackpot " + jackpot.getJackpotId() + " has no configuration.");
+        }
+
+        JackpotPlan plan = planOf(config);
+        BigDecimal observedPool = jackpot.getCurrentPoolAmount();
+        BigDecimal contributionAmount = plan.getContributionPlan().calculateContribution(bet.getBetAmount(), observedPool);
+        BigDecimal poolAfterContribution = observedPool.add(contributionAmount);
+        Boolean drawn = decidedWin.get();
+        if (drawn == null) {
+            drawn = plan.getRewardPlan().checkWin(bet.getBetAmount(), poolAfterContribution);
+            decidedWin.set(drawn);
+        }
+        boolean wins = drawn;
+        return new Settlement(observedPool, contributionAmount, poolAfterContribution, wins,
+                wins ? jackpot.getInitialPoolValue() : poolAfterContribution);
+    }
+
+    /**
+     * Running count and sum of amounts.
+     */
+    private static final class AmountTotal {
+        private long count;
+        private BigDecimal sum = BigDecimal.ZERO;
+
+        private void add(BigDecimal amount) {
+            count++;
+            sum = sum.add(amount);
+        }
+    }
+
+    /**
+     * The settlement of consecutive bets of a batch as decided against one observed pool.
+     * Only the last bet of a segment can have won.
+     */
+    private static final class Segment implements PoolTransition {
+        private final int from;
+        private final BigDecimal observedPool;
+        private final List<BigDecimal> contributionAmounts;
+        private final List<BigDecimal> poolsAfterContribution;
+        private final boolean wins;
+        private final BigDecimal newPool;
+
+        private Segment(int from, BigDecimal observedPool, List<BigDecimal> contributionAmounts, List<BigDecimal> poolsAfterContribution,
+                        boolean wins, BigDecimal newPool) {
+            this.from = from;
+            this.observedPool = observedPool;
+            this.contributionAmounts = contributionAmounts;
+            this.poolsAfterContribution = poolsAfterContribution;
+            this.wins = wins;
+            this.newPool = newPool;
+        }
+
+        @Override
+        public BigDecimal getObservedPool() {
+            return observedPool;
+        }
+
+        @Override
+        public BigDecimal getNewPool() {
+            return newPool;
+        }
+
+        @Override
+        public boolean isReset() {
+            return wins;
+        }
+    }
+
+    /**
+     * A bet's settlement as decided against one observed pool.
+     */
+    private static final class Settlement implements PoolTransition {
+        private final BigDecimal observedPool;
+        private final BigDecimal contributionAmount;
+        private final BigDecimal poolAfterContribution;
+        private final boolean wins;
+        private final BigDecimal newPool;
+
+        private Settlement(BigDecimal observedPool, BigDecimal contributionAmount, BigDecimal poolAfterContribution,
+                           boolean wins, BigDecimal newPool) {
+            this.observedPool = observedPool;
+            this.contributionAmount = contributionAmount;
+            this.poolAfterContribution = poolAfterContribution;
+            this.wins = wins;
+            this.newPool = newPool;
+        }
+
+        @Override
+        public BigDecimal getObservedPool() {
+            return observedPool;
+        }
+
+        @Override
+        public BigDecimal getNewPool() {
+            return newPool;
+        }
+
+        @Override
+        public boolean isReset() {
+            return wins;
+        }
     }
-}
\ No newline at end of file
+}
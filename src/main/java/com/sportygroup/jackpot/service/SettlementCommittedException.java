@@ -0,0 +1,27 @@
+package com.sportygroup.jackpot.service;
+
+/**
+ * Signals that a settlement failed after the pool change of some of its bets was committed, e.g. because
+ * saving their contribution or reward records failed. Those bets are part of the pool and must not be
+ * settled again; only the bets after them are.
+ */
+public class SettlementCommittedException extends RuntimeException {
+
+    private final int committedBets;
+
+    /**
+     * @param committedBets The number of leading bets whose pool change was committed.
+     * @param cause The error that failed the settlement after the commit.
+     */
+    public SettlementCommittedException(int committedBets, Throwable cause) {
+        super("Settlement failed after the pool change of " + committedBets + " bets was committed: " + cause.getMessage(), cause);
+        this.committedBets = committedBets;
+    }
+
+    /**
+     * @return The number of leading bets, in settlement order, whose pool change was committed.
+     */
+    public int getCommittedBets() {
+        return committedBets;
+    }
+}
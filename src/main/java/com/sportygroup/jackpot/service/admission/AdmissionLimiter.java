@@ -0,0 +1,296 @@
+package com.sportygroup.jackpot.service.admission;
+
+import com.sportygroup.jackpot.metrics.JackpotMetrics;
+import com.sportygroup.jackpot.service.JackpotConfigLoader;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.IntSupplier;
+import java.util.function.LongSupplier;
+
+/**
+ * Bounds the number of bets of each jackpot being published at the same time, so a settlement that falls
+ * behind turns into fast rejections instead of a growing pile of waiting requests.
+ *
+ * Each jackpot has a concurrency limit that adapts to the latency of its bets, in the style of a gradient limiter:
+ *
+ * - The latencies of every `SAMPLE_WINDOW` completed bets are averaged into a short-term latency, and the
+ *   short-term latencies are averaged over `BASELINE_WINDOWS` windows into a long-term baseline.
+ * - The gradient `latencyTolerance * baseline / shortTerm`, clamped to [0.5, 1], scales the limit, and a
+ *   headroom of `sqrt(limit)` is added. While bets are as fast as the baseline allows, the limit grows by
+ *   its headroom; once they get slower than the tolerance, it shrinks by up to half per window.
+ * - A settlement backlog above `maxSettlementBacklog` shrinks the limit as if the latency had doubled,
+ *   since queued bets are latency that the published bets have not observed yet.
+ * - A failed publication backs the limit off by 10% immediately.
+ *
+ * The limit does not grow while fewer than half of it is in use, so an idle jackpot keeps a limit it has proven.
+ * Thresholds come from the limits added for the jackpot, or from the service defaults when it has none.
+ * Bets for jackpots without a config share one limiter, so unknown IDs do not grow the limiter map.
+ */
+public class AdmissionLimiter {
+
+    private static final Logger log = LoggerFactory.getLogger(AdmissionLimiter.class);
+
+    // Completed bets whose latencies are averaged before the limit is recomputed.
+    private static final int SAMPLE_WINDOW = 10;
+    // Windows the baseline latency is averaged over.
+    private static final int BASELINE_WINDOWS = 600;
+    private static final double MIN_GRADIENT = 0.5;
+    private static final double LIMIT_SMOOTHING = 0.2;
+    private static final double DROP_BACKOFF = 0.9;
+
+    private final AdmissionLimits defaultLimits;
+    private final JackpotConfigLoader jackpotConfigLoader;
+    private final IntSupplier settlementBacklog;
+    private final Duration retryAfter;
+    private final JackpotMetrics jackpotMetrics;
+    private final LongSupplier nanoTime;
+
+    private final ConcurrentHashMap<String, AdmissionLimits> jackpotLimits = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<String, JackpotLimiter> limiters = new ConcurrentHashMap<>();
+    private final JackpotLimiter unknownJackpotLimiter;
+
+    /**
+     * Creates a limiter.
+     * @param defaultLimits The limits of jackpots without limits of their own.
+     * @param jackpotConfigLoader The loader telling known jackpots from unknown IDs.
+     * @param settlementBacklog Supplies the number of bets waiting to be settled.
+     * @param retryAfter How long a rejected client is asked to wait before retrying.
+     * @param jackpotMetrics The metrics recording every admission decision.
+     */
+    public AdmissionLimiter(AdmissionLimits defaultLimits, JackpotConfigLoader jackpotConfigLoader, IntSupplier settlementBacklog,
+                            Duration retryAfter, JackpotMetrics jackpotMetrics) {
+        this(defaultLimits, jackpotConfigLoader, settlementBacklog, retryAfter, jackpotMetrics, System::nanoTime);
+    }
+
+    AdmissionLimiter(AdmissionLimits defaultLimits, JackpotConfigLoader jackpotConfigLoader, IntSupplier settlementBacklog,
+                     Duration retryAfter, JackpotMetrics jackpotMetrics, LongSupplier nanoTime) {
+        this.defaultLimits = defaultLimits;
+        this.jackpotConfigLoader = jackpotConfigLoader;
+        this.settlementBacklog = settlementBacklog;
+        this.retryAfter = retryAfter;
+        this.jackpotMetrics = jackpotMetrics;
+        this.nanoTime = nanoTime;
+        this.unknownJackpotLimiter = new JackpotLimiter(null);
+    }
+
+    /**
+     * Admits a bet of a jackpot if the jackpot's limit allows one more concurrent bet.
+     * @param jackpotId The ID of the jackpot the bet is placed on.
+     * @return A permit that must be completed, or null if the bet is rejected.
+     */
+    public Permit tryAcquire(String jackpotId) {
+        JackpotLimiter limiter = limiterOf(jackpotId);
+        boolean admitted = limiter.tryAcquire();
+        jackpotMetrics.recordAdmission(limiter.jackpotId, admitted, limiter.limit, limiter.inFlight.get());
+        if (!admitted) {
+            log.debug("Rejected bet for jackpot {}: limit of {} bets in flight reached", jackpotId, limiter.limit);
+            return null;
+        }
+        return new Permit(limiter, nanoTime.getAsLong());
+    }
+
+    /**
+     * Returns the limits of jackpots without limits of their own.
+     * @return The service-wide limits.
+     */
+    public AdmissionLimits getDefaultLimits() {
+        return defaultLimits;
+    }
+
+    /**
+     * Adds limits that replace the service defaults for one jackpot, e.g. bound from `jackpot.admission.jackpots`.
+     * The jackpot's limit is bounded by them from its next completed bet on.
+     * @param jackpotId The ID of the jackpot.
+     * @param limits The jackpot's limits.
+     */
+    public void addJackpotLimits(String jackpotId, AdmissionLimits limits) {
+        jackpotLimits.put(jackpotId, limits);
+    }
+
+    /**
+     * Returns how long a rejected client is asked to wait before retrying.
+     * @return The retry delay.
+     */
+    public Duration getRetryAfter() {
+        return retryAfter;
+    }
+
+    /**
+     * Returns the current concurrency limit of a jackpot.
+     * @param jackpotId The ID of the jackpot.
+     * @return The number of bets of the jackpot admitted at the same time.
+     */
+    public int getLimit(String jackpotId) {
+        return limiterOf(jackpotId).limit;
+    }
+
+    /**
+     * Returns the number of admitted bets of a jackpot that have not completed yet.
+     * @param jackpotId The ID of the jackpot.
+     * @return The in-flight count.
+     */
+    public int getInFlight(String jackpotId) {
+        return limiterOf(jackpotId).inFlight.get();
+    }
+
+    private JackpotLimiter limiterOf(String jackpotId) {
+        JackpotLimiter limiter = limiters.get(jackpotId);
+        if (limiter != null) {
+            return limiter;
+        }
+        if (jackpotConfigLoader.getJackpotConfig(jackpotId) == null) {
+            return unknownJackpotLimiter;
+        }
+        return limiters.computeIfAbsent(jackpotId, JackpotLimiter::new);
+    }
+
+    private AdmissionLimits limitsOf(String jackpotId) {
+        AdmissionLimits limits = jackpotId == null ? null : jackpotLimits.get(jackpotId);
+        return limits == null ? defaultLimits : limits;
+    }
+
+    /**
+     * An admitted bet. Completing it releases its slot and feeds its outcome back into the jackpot's limit.
+     * Only the first completion counts, so racing completions (e.g. a cancellation and a success) release the slot once.
+     */
+    public final class Permit {
+        private final JackpotLimiter limiter;
+        private final long acquiredAt;
+        private final AtomicBoolean completed = new AtomicBoolean();
+
+        private Permit(JackpotLimiter limiter, long acquiredAt) {
+            this.limiter = limiter;
+            this.acquiredAt = acquiredAt;
+        }
+
+        /**
+         * Completes the permit when the bet was published, sampling its latency.
+         */
+        public void release() {
+            if (completed.compareAndSet(false, true)) {
+                limiter.onCompleted(nanoTime.getAsLong() - acquiredAt, false);
+            }
+        }
+
+        /**
+         * Completes the permit when the bet could not be published, backing the limit off.
+         */
+        public void drop() {
+            if (completed.compareAndSet(false, true)) {
+                limiter.onCompleted(nanoTime.getAsLong() - acquiredAt, true);
+            }
+        }
+
+        /**
+         * Completes the permit without a sample, e.g. when the client went away.
+         */
+        public void ignore() {
+            if (completed.compareAndSet(false, true)) {
+                limiter.inFlight.decrementAndGet();
+            }
+        }
+
+        /**
+         * Completes the permit with the outcome of a publication: released on success, dropped on error
+         * and ignored on cancellation.
+         * @param publication The Mono publishing the admitted bet.
+         * @return The tracked Mono.
+         */
+        public <T> Mono<T> track(Mono<T> publication) {
+            return publication
+                    .doOnSuccess(result -> release())
+                    .doOnError(e -> drop())
+                    .doOnCancel(this::ignore);
+        }
+    }
+
+    /**
+     * The limit and latency estimates of one jackpot, or of all jackpots without a config.
+     */
+    private final class JackpotLimiter {
+        private final String jackpotId;
+        private final AtomicInteger inFlight = new AtomicInteger();
+        private volatile int limit;
+
+        // Guarded by this.
+        private double estimatedLimit;
+        private double baselineLatency;
+        private long windowLatencySum;
+        private int windowSamples;
+        private int windowMaxInFlight;
+
+        private JackpotLimiter(String jackpotId) {
+            this.jackpotId = jackpotId;
+            this.estimatedLimit = limitsOf(jackpotId).getInitialLimit();
+            this.limit = (int) estimatedLimit;
+        }
+
+        private boolean tryAcquire() {
+            int current;
+            do {
+                current = inFlight.get();
+                if (current >= limit) {
+                    return false;
+                }
+            } while (!inFlight.compareAndSet(current, current + 1));
+            return true;
+        }
+
+        private void onCompleted(long latencyNanos, boolean dropped) {
+            int inFlightAtCompletion = inFlight.getAndDecrement();
+            synchronized (this) {
+                AdmissionLimits limits = limitsOf(jackpotId);
+                if (dropped) {
+                    setLimit(estimatedLimit * DROP_BACKOFF, limits);
+                    return;
+                }
+
+                windowLatencySum += Math.max(latencyNanos, 1);
+                windowSamples++;
+                windowMaxInFlight = Math.max(windowMaxInFlight, inFlightAtCompletion);
+                if (windowSamples < SAMPLE_WINDOW) {
+                    return;
+                }
+
+                double shortTermLatency = (double) windowLatencySum / windowSamples;
+                boolean appLimited = windowMaxInFlight < estimatedLimit / 2;
+                windowLatencySum = 0;
+                windowSamples = 0;
+                windowMaxInFlight = 0;
+
+                baselineLatency = baselineLatency == 0 ? shortTermLatency
+                        : baselineLatency + (shortTermLatency - baselineLatency) / BASELINE_WINDOWS;
+                // A baseline far above the current latency was learned during an overload; let it come down quickly.
+                if (baselineLatency > 2 * shortTermLatency) {
+                    baselineLatency *= 0.95;
+                }
+
+                double gradient = Math.max(MIN_GRADIENT, Math.min(1.0, limits.getLatencyTolerance() * baselineLatency / shortTermLatency));
+                if (settlementBacklog.getAsInt() > limits.getMaxSettlementBacklog()) {
+                    gradient = MIN_GRADIENT;
+                }
+                if (gradient >= 1.0 && appLimited) {
+                    return;
+                }
+
+                double newLimit = estimatedLimit * gradient + Math.sqrt(estimatedLimit);
+                setLimit(estimatedLimit * (1 - LIMIT_SMOOTHING) + newLimit * LIMIT_SMOOTHING, limits);
+            }
+        }
+
+        private void setLimit(double newLimit, AdmissionLimits limits) {
+            estimatedLimit = Math.max(limits.getMinLimit(), Math.min(limits.getMaxLimit(), newLimit));
+            int previous = limit;
+            limit = (int) estimatedLimit;
+            if (previous != limit && log.isDebugEnabled()) {
+                log.debug("Admission limit of jackpot {} changed from {} to {}", jackpotId, previous, limit);
+            }
+        }
+    }
+}
@@ -0,0 +1,76 @@
+package com.sportygroup.jackpot.service.admission;
+
+/**
+ * Thresholds of the AdmissionLimiter for one jackpot.
+ * A jackpot without limits added to the AdmissionLimiter uses the limits configured for the service.
+ * Limits are replaced, not edited; a changed set of thresholds is a new instance.
+ */
+public final class AdmissionLimits {
+
+    private final int initialLimit;
+    private final int minLimit;
+    private final int maxLimit;
+    private final double latencyTolerance;
+    private final int maxSettlementBacklog;
+
+    /**
+     * Creates a set of limits.
+     * @param initialLimit The number of concurrent bets admitted before any latency was observed.
+     * @param minLimit The lowest the concurrency limit can shrink to.
+     * @param maxLimit The highest the concurrency limit can grow to.
+     * @param latencyTolerance How many times the baseline latency a bet may take before the limit shrinks, at least 1.
+     * @param maxSettlementBacklog The settlement queue depth above which the limit shrinks whatever the latency.
+     */
+    public AdmissionLimits(int initialLimit, int minLimit, int maxLimit, double latencyTolerance, int maxSettlementBacklog) {
+        if (minLimit < 1 || maxLimit < minLimit || initialLimit < minLimit || initialLimit > maxLimit
+                || latencyTolerance < 1.0 || maxSettlementBacklog < 0) {
+            throw new IllegalArgumentException("AdmissionLimits require 1 <= minLimit <= initialLimit <= maxLimit, "
+                    + "a latency tolerance of at least 1 and a non-negative settlement backlog.");
+        }
+        this.initialLimit = initialLimit;
+        this.minLimit = minLimit;
+        this.maxLimit = maxLimit;
+        this.latencyTolerance = latencyTolerance;
+        this.maxSettlementBacklog = maxSettlementBacklog;
+    }
+
+    public int getInitialLimit() {
+        return initialLimit;
+    }
+
+    public int getMinLimit() {
+        return minLimit;
+    }
+
+    public int getMaxLimit() {
+        return maxLimit;
+    }
+
+    public double getLatencyTolerance() {
+        return latencyTolerance;
+    }
+
+    public int getMaxSettlementBacklog() {
+        return maxSettlementBacklog;
+    }
+
+    /**
+     * Returns limits with the given thresholds replaced, keeping the others.
+     * @param initialLimit The initial limit, or null to keep this one.
+     * @param minLimit The minimum limit, or null to keep this one.
+     * @param maxLimit The maximum limit, or null to keep this one.
+     * @param latencyTolerance The latency tolerance, or null to keep this one.
+     * @param maxSettlementBacklog The maximum settlement backlog, or null to keep this one.
+     * @return The new limits.
+     */
+    public AdmissionLimits with(Integer initialLimit, Integer minLimit, Integer maxLimit, Double latencyTolerance,
+                                Integer maxSettlementBacklog) {
+        return new AdmissionLimits(
+                initialLimit != null ? initialLimit : this.initialLimit,
+                minLimit != null ? minLimit : this.minLimit,
+                maxLimit != null ? maxLimit : this.maxLimit,
+                latencyTolerance != null ? latencyTolerance : this.latencyTolerance,
+                maxSettlementBacklog != null ? maxSettlementBacklog : this.maxSettlementBacklog
+        );
+    }
+}
@@ -0,0 +1,19 @@
+package com.sportygroup.jackpot.service.contribution;
+
+import java.math.BigDecimal;
+
+/**
+ * A contribution rule compiled for one JackpotConfig.
+ * Plans are immutable: the configuration was validated and turned into decimal constants when the plan
+ * was compiled, so calculating a contribution does no lookups, validation or constant allocation.
+ */
+public interface ContributionPlan {
+    /**
+     * Calculates the contribution amount from a bet to the jackpot this plan was compiled for.
+     *
+     * @param betAmount The original amount of the bet.
+     * @param currentJackpotPool The current total amount in the jackpot pool.
+     * @return The calculated contribution amount.
+     */
+    BigDecimal calculateContribution(BigDecimal betAmount, BigDecimal currentJackpotPool);
+}
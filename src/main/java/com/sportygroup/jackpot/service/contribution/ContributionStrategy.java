@@ -12,15 +12,30 @@ import java.math.BigDecimal;
  *
  * The `calculateContribution` method here is synchronous as the calculation itself
  * is CPU-bound (mathematical operation) and typically very fast.
+ *
+ * Settlement does not call the strategy per bet: each JackpotConfig is compiled once into a
+ * ContributionPlan, which is then called directly.
  */
 public interface ContributionStrategy {
+    /**
+     * Validates a jackpot configuration and compiles it into a plan for this strategy.
+     *
+     * @param config The specific configuration for a jackpot.
+     * @return The compiled contribution plan.
+     * @throws IllegalArgumentException if the configuration is not valid for this strategy.
+     */
+    ContributionPlan compile(JackpotConfig config);
+
     /**
      * Calculates the contribution amount from a bet to a jackpot.
+     * This compiles the configuration on every call; callers settling many bets should compile once instead.
      *
      * @param betAmount The original amount of the bet.
      * @param currentJackpotPool The current total amount in the jackpot pool.
      * @param config The specific configuration for this jackpot.
      * @return The calculated contribution amount.
      */
-    BigDecimal calculateContribution(BigDecimal betAmount, BigDecimal currentJackpotPool, JackpotConfig config);
+    default BigDecimal calculateContribution(BigDecimal betAmount, BigDecimal currentJackpotPool, JackpotConfig config) {
+        return compile(config).calculateContribution(betAmount, currentJackpotPool);
+    }
 }
\ No newline at end of file
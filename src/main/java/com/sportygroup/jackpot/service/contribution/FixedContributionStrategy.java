@@ -2,6 +2,8 @@ package com.sportygroup.jackpot.service.contribution;
 
 import com.sportygroup.jackpot.model.JackpotConfig;
 import com.sportygroup.jackpot.model.enums.ContributionStrategyType;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.stereotype.Component;
 import org.springframework.stereotype.Service;
 
@@ -15,29 +17,41 @@ import java.math.RoundingMode;
 @Service(ContributionStrategyType.FIXED_CONTRIBUTION_STRATEGY_SERVICE_NAME)
 public class FixedContributionStrategy implements ContributionStrategy {
 
+    private static final Logger log = LoggerFactory.getLogger(FixedContributionStrategy.class);
+
     /**
-     * Calculates the contribution based on a fixed percentage of the bet amount.
+     * Compiles a plan that contributes a fixed percentage of the bet amount.
      * The percentage is retrieved from the `config.contributionFixedPercentage`.
      *
-     * @param betAmount The original amount of the bet.
-     * @param currentJackpotPool The current total amount in the jackpot pool (not used in this strategy).
-     * @param config The specific configuration for this jackpot.
-     * @return The calculated fixed contribution amount.
+     * @param config The specific configuration for a jackpot.
+     * @return The compiled fixed contribution plan.
      * @throws IllegalArgumentException if `contributionFixedPercentage` is not set or invalid.
      */
     @Override
-    public BigDecimal calculateContribution(BigDecimal betAmount, BigDecimal currentJackpotPool, JackpotConfig config) {
+    public ContributionPlan compile(JackpotConfig config) {
         // Validate configuration
         if (config == null || config.getContributionFixedPercentage() == 0) {
             throw new IllegalArgumentException("FixedContributionStrategy requires a valid fixed percentage in config.");
         }
+        return new FixedContributionPlan(BigDecimal.valueOf(config.getContributionFixedPercentage()));
+    }
 
-        BigDecimal percentage = BigDecimal.valueOf(config.getContributionFixedPercentage());
+    /**
+     * Contributes `betAmount * percentage`, rounded to cents.
+     */
+    private static final class FixedContributionPlan implements ContributionPlan {
+        private final BigDecimal percentage;
 
-        BigDecimal contribution = betAmount.multiply(percentage).setScale(2, RoundingMode.HALF_UP);
+        private FixedContributionPlan(BigDecimal percentage) {
+            this.percentage = percentage;
+        }
+
+        @Override
+        public BigDecimal calculateContribution(BigDecimal betAmount, BigDecimal currentJackpotPool) {
+            BigDecimal contribution = betAmount.multiply(percentage).setScale(2, RoundingMode.HALF_UP);
 
-        System.out.println("FixedContributionStrategy: Bet " + betAmount + " -> Contributed " + contribution +
-                " (fixed " + (config.getContributionFixedPercentage() * 100) + "%)");
-        return contribution;
+            log.debug("Bet {} -> Contributed {} (fixed {})", betAmount, contribution, percentage);
+            return contribution;
+        }
     }
-}
\ No newline at end of file
+}
@@ -2,6 +2,8 @@ package com.sportygroup.jackpot.service.contribution;
 
 import com.sportygroup.jackpot.model.JackpotConfig;
 import com.sportygroup.jackpot.model.enums.ContributionStrategyType;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.stereotype.Component;
 import org.springframework.stereotype.Service;
 
@@ -15,41 +17,77 @@ import java.math.RoundingMode;
 @Service(ContributionStrategyType.VARIABLE_CONTRIBUTION_STRATEGY_SERVICE_NAME)
 public class VariableContributionStrategy implements ContributionStrategy {
 
+    private static final Logger log = LoggerFactory.getLogger(VariableContributionStrategy.class);
+
     // Define a scaling factor for the rate, to ensure the decrease is noticeable but not too drastic.
     private static final BigDecimal POOL_SCALING_FACTOR = BigDecimal.valueOf(1000.0); // Example: every 1000 units in pool affects the rate.
 
+    private static final BigDecimal MINIMUM_PERCENTAGE = BigDecimal.valueOf(0.001);
+
     /**
-     * Calculates the contribution based on a variable percentage.
-     * The percentage starts high and decreases as the `currentJackpotPool` increases.
+     * Compiles a plan whose contribution percentage starts high and decreases as the `currentJackpotPool` increases.
      * The decrease rate is applied based on `config.contributionVariableDecreaseRate`.
+     * The plan also precomputes the pool from which the percentage has reached its 0.1% minimum.
      *
-     * @param betAmount The original amount of the bet.
-     * @param currentJackpotPool The current total amount in the jackpot pool.
-     * @param config The specific configuration for this jackpot.
-     * @return The calculated variable contribution amount.
+     * @param config The specific configuration for a jackpot.
+     * @return The compiled variable contribution plan.
      * @throws IllegalArgumentException if required config parameters are not set or invalid.
      */
     @Override
-    public BigDecimal calculateContribution(BigDecimal betAmount, BigDecimal currentJackpotPool, JackpotConfig config) {
+    public ContributionPlan compile(JackpotConfig config) {
 
         if (config == null || config.getContributionVariableInitialPercentage() == 0 || config.getContributionVariableDecreaseRate() == 0) {
             throw new IllegalArgumentException("VariableContributionStrategy requires valid initial percentage and decrease rate in config.");
         }
 
-        BigDecimal decreaseFactor = currentJackpotPool
-                .divide(POOL_SCALING_FACTOR, 4, RoundingMode.HALF_UP)
-                .multiply(BigDecimal.valueOf(config.getContributionVariableDecreaseRate()));
+        BigDecimal initialPercentage = BigDecimal.valueOf(config.getContributionVariableInitialPercentage());
+        BigDecimal decreaseRate = BigDecimal.valueOf(config.getContributionVariableDecreaseRate());
 
-        BigDecimal effectivePercentage = BigDecimal.valueOf(config.getContributionVariableInitialPercentage())
-                .subtract(decreaseFactor)
-                .max(BigDecimal.valueOf(0.001));
+        // The scaled pool is rounded to 4 decimals before the rate is applied. Rounding the threshold up
+        // to the same scale makes every pool at or above it land on the minimum.
+        BigDecimal minimumPercentagePool = null;
+        if (decreaseRate.signum() > 0) {
+            minimumPercentagePool = initialPercentage.subtract(MINIMUM_PERCENTAGE)
+                    .divide(decreaseRate, 4, RoundingMode.CEILING)
+                    .multiply(POOL_SCALING_FACTOR);
+        }
+        return new VariableContributionPlan(initialPercentage, decreaseRate, minimumPercentagePool);
+    }
 
-        BigDecimal contribution = betAmount.multiply(effectivePercentage).setScale(2, RoundingMode.HALF_UP);
+    /**
+     * Contributes `betAmount * max(initial - pool / 1000 * rate, 0.1%)`, rounded to cents.
+     */
+    private static final class VariableContributionPlan implements ContributionPlan {
+        private final BigDecimal initialPercentage;
+        private final BigDecimal decreaseRate;
+        private final BigDecimal minimumPercentagePool;
 
-        System.out.println("VariableContributionStrategy: Bet " + betAmount + " | Pool " + currentJackpotPool +
-                " -> Effective Percentage: " + effectivePercentage.multiply(BigDecimal.valueOf(100)).setScale(4, RoundingMode.HALF_UP) +
-                "% | Contributed: " + contribution);
+        private VariableContributionPlan(BigDecimal initialPercentage, BigDecimal decreaseRate, BigDecimal minimumPercentagePool) {
+            this.initialPercentage = initialPercentage;
+            this.decreaseRate = decreaseRate;
+            this.minimumPercentagePool = minimumPercentagePool;
+        }
+
+        @Override
+        public BigDecimal calculateContribution(BigDecimal betAmount, BigDecimal currentJackpotPool) {
+            BigDecimal effectivePercentage;
+            if (minimumPercentagePool != null && currentJackpotPool.compareTo(minimumPercentagePool) >= 0) {
+                effectivePercentage = MINIMUM_PERCENTAGE;
+            } else {
+                BigDecimal decreaseFactor = currentJackpotPool
+                        .divide(POOL_SCALING_FACTOR, 4, RoundingMode.HALF_UP)
+                        .multiply(decreaseRate);
+                effectivePercentage = initialPercentage.subtract(decreaseFactor).max(MINIMUM_PERCENTAGE);
+            }
+
+            BigDecimal contribution = betAmount.multiply(effectivePercentage).setScale(2, RoundingMode.HALF_UP);
 
-        return contribution;
+            if (log.isDebugEnabled()) {
+                log.debug("Bet {} | Pool {} -> Effective Percentage: {}% | Contributed: {}", betAmount, currentJackpotPool,
+                        effectivePercentage.multiply(BigDecimal.valueOf(100)).setScale(4, RoundingMode.HALF_UP), contribution);
+            }
+
+            return contribution;
+        }
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,100 @@
+package com.sportygroup.jackpot.service.execution;
+
+import com.sportygroup.jackpot.model.enums.ExecutionMode;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
+
+import java.util.concurrent.Executors;
+
+/**
+ * The schedulers repository and settlement work is subscribed on.
+ *
+ * The repository scheduler runs the repository calls made while serving an HTTP request, e.g. saving a bet
+ * or looking up a settled outcome. The settlement scheduler runs the settlement of a published bet, so
+ * contributions and reward evaluation are kept off the HTTP threads. Each is created from its own
+ * ExecutionMode; schedulers created here are owned by this instance and disposed with it.
+ */
+public class ExecutionSchedulers {
+
+    private static final Logger log = LoggerFactory.getLogger(ExecutionSchedulers.class);
+
+    private final Scheduler repositoryScheduler;
+    private final Scheduler settlementScheduler;
+
+    /**
+     * Creates the schedulers of both modes.
+     * @param repositoryMode Where repository calls of HTTP requests run.
+     * @param settlementMode Where the settlement of published bets runs.
+     */
+    public ExecutionSchedulers(ExecutionMode repositoryMode, ExecutionMode settlementMode) {
+        this.repositoryScheduler = create(repositoryMode, "jackpot-repository");
+        this.settlementScheduler = create(settlementMode, "jackpot-settlement");
+        log.info("Repository calls run in {} mode, settlement in {} mode", repositoryMode.getValue(), settlementMode.getValue());
+    }
+
+    /**
+     * Creates schedulers that run all work on the subscribing thread.
+     * Used by components constructed without schedulers, e.g. in tests and benchmarks.
+     * @return Schedulers that never move work to another thread.
+     */
+    public static ExecutionSchedulers immediate() {
+        return new ExecutionSchedulers(ExecutionMode.EVENT_LOOP, ExecutionMode.EVENT_LOOP);
+    }
+
+    /**
+     * Resolves the settlement mode against the stores settlement writes to.
+     * Without a configured mode, settlement runs in PARALLEL mode, or in BOUNDED_ELASTIC mode when a blocking
+     * store (the journal or the mapped ledger) is enabled, since those writes would otherwise stall threads
+     * that must never block.
+     * @param configuredMode The configured mode, or null or blank when none is set.
+     * @param blockingStores Whether settlement writes to a blocking store.
+     * @return The settlement mode.
+     * @throws IllegalStateException if a mode that must not block is configured while a blocking store is enabled.
+     */
+    public static ExecutionMode settlementMode(String configuredMode, boolean blockingStores) {
+        if (configuredMode == null || configuredMode.isBlank()) {
+            return blockingStores ? ExecutionMode.BOUNDED_ELASTIC : ExecutionMode.PARALLEL;
+        }
+        ExecutionMode mode = ExecutionMode.fromValue(configuredMode);
+        if (blockingStores && !mode.allowsBlocking()) {
+            throw new IllegalStateException("Settlement mode " + mode.getValue() + " must not block, but the journal or the "
+                    + "mapped contribution store is enabled; use bounded-elastic or virtual-threads.");
+        }
+        return mode;
+    }
+
+    /**
+     * Creates a scheduler for a mode.
+     * @param mode The execution mode.
+     * @param name The name prefix of the scheduler's threads.
+     * @return The scheduler; Schedulers.immediate() for EVENT_LOOP.
+     */
+    public static Scheduler create(ExecutionMode mode, String name) {
+        return switch (mode) {
+            case EVENT_LOOP -> Schedulers.immediate();
+            case PARALLEL -> Schedulers.newParallel(name, Runtime.getRuntime().availableProcessors(), true);
+            case BOUNDED_ELASTIC -> Schedulers.newBoundedElastic(Schedulers.DEFAULT_BOUNDED_ELASTIC_SIZE,
+                    Schedulers.DEFAULT_BOUNDED_ELASTIC_QUEUESIZE, name, 60, true);
+            case VIRTUAL_THREADS -> Schedulers.fromExecutorService(
+                    Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name(name + "-", 0).factory()), name);
+        };
+    }
+
+    public Scheduler getRepositoryScheduler() {
+        return repositoryScheduler;
+    }
+
+    public Scheduler getSettlementScheduler() {
+        return settlementScheduler;
+    }
+
+    /**
+     * Disposes the schedulers and stops their threads. Schedulers.immediate() ignores disposal.
+     */
+    public void dispose() {
+        repositoryScheduler.dispose();
+        settlementScheduler.dispose();
+    }
+}
@@ -6,6 +6,9 @@ import com.sportygroup.jackpot.model.enums.ContributionStrategyType;
 import com.sportygroup.jackpot.model.enums.RewardStrategyType;
 import com.sportygroup.jackpot.repository.JackpotRepository;
 import com.sportygroup.jackpot.service.JackpotConfigLoader;
+import com.sportygroup.jackpot.service.JackpotService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.boot.ApplicationArguments;
 import org.springframework.boot.ApplicationRunner;
 import org.springframework.stereotype.Component;
@@ -19,17 +22,26 @@ import java.time.LocalDateTime;
  * during application startup. This class ensures that a set of predefined jackpots
  * are created and saved to the repository when the Spring application context
  * is ready.
+ *
+ * When the jackpot journal is enabled, saving a jackpot that has journaled state restores its
+ * recovered pool instead of the seed value below, so only the configs are re-applied on restart.
+ * Every config is registered with the JackpotService before its jackpot is saved, which compiles its plan
+ * up front and fails startup on an invalid config.
  */
 @Component
 public class JackpotInitializer implements ApplicationRunner {
 
+    private static final Logger log = LoggerFactory.getLogger(JackpotInitializer.class);
+
     private final JackpotRepository jackpotRepository;
     private final JackpotConfigLoader jackpotConfigLoader;
+    private final JackpotService jackpotService;
 
 
-    public JackpotInitializer(JackpotRepository jackpotRepository, JackpotConfigLoader jackpotConfigLoader) {
+    public JackpotInitializer(JackpotRepository jackpotRepository, JackpotConfigLoader jackpotConfigLoader, JackpotService jackpotService) {
         this.jackpotRepository = jackpotRepository;
         this.jackpotConfigLoader = jackpotConfigLoader;
+        this.jackpotService = jackpotService;
     }
 
     @Override
@@ -43,7 +55,7 @@ public class JackpotInitializer implements ApplicationRunner {
      * Uses `Mono.when` to ensure all initializations complete.
      */
     private Mono<Void> initializeDefaultJackpots() {
-        System.out.println("JackpotService: Initializing default jackpots...");
+        log.info("Initializing default jackpots...");
 
         Mono<Void> fixedJackpot = Mono.fromCallable(() -> {
                     JackpotConfig config = new JackpotConfig(
@@ -54,10 +66,11 @@ public class JackpotInitializer implements ApplicationRunner {
                             0.001, // 0.1% fixed chance reward
                             0, 0, BigDecimal.ZERO // N/A for variable chance reward
                     );
+                    jackpotService.register(config);
                     jackpotConfigLoader.addJackpotConfig("JP-1", config);
                     return new Jackpot("JP-1", BigDecimal.valueOf(1000.00), BigDecimal.valueOf(1000.00), config, LocalDateTime.now());
                 }).flatMap(jackpotRepository::save)
-                .doOnSuccess(j -> System.out.println("Jackpot JP-1 initialized: " + j.getJackpotId()))
+                .doOnSuccess(j -> log.info("Jackpot JP-1 initialized: {}", j.getJackpotId()))
                 .then();
 
         Mono<Void> fixedJackpotWin = Mono.fromCallable(() -> {
@@ -69,10 +82,11 @@ public class JackpotInitializer implements ApplicationRunner {
                             100.0,
                             0, 0, BigDecimal.ZERO
                     );
+                    jackpotService.register(config);
                     jackpotConfigLoader.addJackpotConfig("JP-2", config);
                     return new Jackpot("JP-2", BigDecimal.valueOf(1000.00), BigDecimal.valueOf(1000.00), config, LocalDateTime.now());
                 }).flatMap(jackpotRepository::save)
-                .doOnSuccess(j -> System.out.println("Jackpot JP-2 initialized: " + j.getJackpotId()))
+                .doOnSuccess(j -> log.info("Jackpot JP-2 initialized: {}", j.getJackpotId()))
                 .then();
 
         Mono<Void> variableJackpot = Mono.fromCallable(() -> {
@@ -85,10 +99,11 @@ public class JackpotInitializer implements ApplicationRunner {
                             0, // N/A for fixed chance reward
                             0.00001, 0.000001, BigDecimal.valueOf(100000.00) // 0.001% initial, increases by 0.0001% per thousand units pool, 100k limit
                     );
+                    jackpotService.register(config);
                     jackpotConfigLoader.addJackpotConfig("JP-3", config);
                     return new Jackpot("JP-3", BigDecimal.valueOf(500.00), BigDecimal.valueOf(500.00), config, LocalDateTime.now());
                 }).flatMap(jackpotRepository::save)
-                .doOnSuccess(j -> System.out.println("Jackpot JP-3 initialized: " + j.getJackpotId()))
+                .doOnSuccess(j -> log.info("Jackpot JP-3 initialized: {}", j.getJackpotId()))
                 .then();
 
         Mono<Void> variableJackpotWin = Mono.fromCallable(() -> {
@@ -102,14 +117,15 @@ public class JackpotInitializer implements ApplicationRunner {
                             1000.0,
                             BigDecimal.ONE
                     );
+                    jackpotService.register(config);
                     jackpotConfigLoader.addJackpotConfig("JP-4", config);
                     return new Jackpot("JP-4", BigDecimal.valueOf(500.00), BigDecimal.valueOf(500.00), config, LocalDateTime.now());
                 }).flatMap(jackpotRepository::save)
-                .doOnSuccess(j -> System.out.println("Jackpot JP-4 initialized: " + j.getJackpotId()))
+                .doOnSuccess(j -> log.info("Jackpot JP-4 initialized: {}", j.getJackpotId()))
                 .then();
 
 
         return Mono.when(fixedJackpot,fixedJackpotWin, variableJackpot, variableJackpotWin)
-                .doOnTerminate(() -> System.out.println("JackpotService: Default jackpots initialization completed."));
+                .doOnTerminate(() -> log.info("Default jackpots initialization completed."));
     }
 }
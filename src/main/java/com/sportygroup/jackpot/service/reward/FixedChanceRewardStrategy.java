@@ -2,11 +2,12 @@ package com.sportygroup.jackpot.service.reward;
 
 import com.sportygroup.jackpot.model.JackpotConfig;
 import com.sportygroup.jackpot.model.enums.RewardStrategyType;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.stereotype.Component;
 import org.springframework.stereotype.Service;
 
 import java.math.BigDecimal;
-import java.util.Random;
 
 /**
  * Implements a fixed chance reward strategy.
@@ -15,33 +16,66 @@ import java.util.Random;
 @Service(RewardStrategyType.FIXED_CHANCE_REWARD_STRATEGY_SERVICE_NAME)
 public class FixedChanceRewardStrategy implements RewardStrategy {
 
-    private final Random random = new Random();
+    private static final Logger log = LoggerFactory.getLogger(FixedChanceRewardStrategy.class);
+
+    private static final RewardPlan NEVER_WINS = (betAmount, currentJackpotPool) -> false;
+
+    private final RandomProvider randomProvider;
+
+    /**
+     * Creates the strategy with per-thread generators seeded from system entropy.
+     */
+    public FixedChanceRewardStrategy() {
+        this(ThreadLocalRandomProvider.unseeded());
+    }
+
+    /**
+     * Creates the strategy drawing from the given provider.
+     * @param randomProvider The provider of the per-thread generators.
+     */
+    public FixedChanceRewardStrategy(RandomProvider randomProvider) {
+        this.randomProvider = randomProvider;
+    }
 
     /**
-     * Checks if a bet wins based on a fixed percentage chance.
+     * Compiles a plan that wins with a fixed percentage chance.
      * The percentage is retrieved from `config.rewardFixedChancePercentage`.
      *
-     * @param betAmount The original amount of the bet (not used in this strategy).
-     * @param currentJackpotPool The current total amount in the jackpot pool (not used in this strategy).
-     * @param config The specific configuration for this jackpot.
-     * @return True if a randomly generated number falls within the winning chance, false otherwise.
-     * @throws IllegalArgumentException if `rewardFixedChancePercentage` is not set or invalid.
+     * @param config The specific configuration for a jackpot.
+     * @return The compiled fixed chance plan, or a plan that never wins if `rewardFixedChancePercentage` is not set or invalid.
      */
     @Override
-    public boolean checkWin(BigDecimal betAmount, BigDecimal currentJackpotPool, JackpotConfig config) {
+    public RewardPlan compile(JackpotConfig config) {
 
         if (config == null || config.getRewardFixedChancePercentage() <= 0) {
-            System.err.println("FixedChanceRewardStrategy: Invalid or missing rewardFixedChancePercentage in config.");
-            return false;
+            log.warn("Invalid or missing rewardFixedChancePercentage in config.");
+            return NEVER_WINS;
         }
+        return new FixedChancePlan(randomProvider, config.getRewardFixedChancePercentage());
+    }
+
+    /**
+     * Wins when a uniform random number falls below the chance.
+     */
+    private static final class FixedChancePlan implements RewardPlan {
+        private final RandomProvider randomProvider;
+        private final double winChance;
 
-        double randomValue = random.nextDouble();
+        private FixedChancePlan(RandomProvider randomProvider, double winChance) {
+            this.randomProvider = randomProvider;
+            this.winChance = winChance;
+        }
 
-        double winChance = config.getRewardFixedChancePercentage();
+        @Override
+        public boolean checkWin(BigDecimal betAmount, BigDecimal currentJackpotPool) {
+            double randomValue = randomProvider.current().nextDouble();
 
-        boolean wins = randomValue < winChance;
+            boolean wins = randomValue < winChance;
 
-        System.out.println("FixedChanceRewardStrategy: Chance: " + (winChance * 100) + "% | Random: " + String.format("%.6f", randomValue) + " -> Win: " + wins);
-        return wins;
+            if (log.isDebugEnabled()) {
+                log.debug("Chance: {}% | Random: {} -> Win: {}", winChance * 100, String.format("%.6f", randomValue), wins);
+            }
+            return wins;
+        }
     }
-}
\ No newline at end of file
+}
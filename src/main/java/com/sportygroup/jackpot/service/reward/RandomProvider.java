@@ -0,0 +1,17 @@
+package com.sportygroup.jackpot.service.reward;
+
+import java.util.random.RandomGenerator;
+
+/**
+ * Supplies the random numbers reward plans draw against.
+ * Implementations hand every thread its own generator, so settlement threads never contend on a shared seed.
+ */
+public interface RandomProvider {
+    /**
+     * Returns the generator of the calling thread.
+     * The generator must only be used by the calling thread.
+     *
+     * @return The calling thread's generator.
+     */
+    RandomGenerator current();
+}
@@ -0,0 +1,19 @@
+package com.sportygroup.jackpot.service.reward;
+
+import java.math.BigDecimal;
+
+/**
+ * A reward rule compiled for one JackpotConfig.
+ * Plans are immutable: the configuration was validated and turned into constants and thresholds when the
+ * plan was compiled, so checking a win does no lookups, validation or constant allocation.
+ */
+public interface RewardPlan {
+    /**
+     * Checks if a bet wins the jackpot this plan was compiled for.
+     *
+     * @param betAmount The original amount of the bet (can be used for contextual logic).
+     * @param currentJackpotPool The current total amount in the jackpot pool (often influences chance).
+     * @return True if the bet wins the jackpot, false otherwise.
+     */
+    boolean checkWin(BigDecimal betAmount, BigDecimal currentJackpotPool);
+}
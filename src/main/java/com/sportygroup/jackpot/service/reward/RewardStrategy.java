@@ -12,15 +12,30 @@ import java.math.BigDecimal;
  *
  * The `checkWin` method here is synchronous as the calculation itself
  * is CPU-bound (mathematical operation and random number generation) and typically very fast.
+ *
+ * Settlement does not call the strategy per bet: each JackpotConfig is compiled once into a
+ * RewardPlan, which is then called directly.
  */
 public interface RewardStrategy {
+    /**
+     * Validates a jackpot configuration and compiles it into a plan for this strategy.
+     * An invalid configuration compiles into a plan that never wins.
+     *
+     * @param config The specific configuration for a jackpot.
+     * @return The compiled reward plan.
+     */
+    RewardPlan compile(JackpotConfig config);
+
     /**
      * Checks if a bet wins a jackpot reward based on the strategy's rules.
+     * This compiles the configuration on every call; callers settling many bets should compile once instead.
      *
      * @param betAmount The original amount of the bet (can be used for contextual logic).
      * @param currentJackpotPool The current total amount in the jackpot pool (often influences chance).
      * @param config The specific configuration for this jackpot.
      * @return True if the bet wins the jackpot, false otherwise.
      */
-    boolean checkWin(BigDecimal betAmount, BigDecimal currentJackpotPool, JackpotConfig config);
+    default boolean checkWin(BigDecimal betAmount, BigDecimal currentJackpotPool, JackpotConfig config) {
+        return compile(config).checkWin(betAmount, currentJackpotPool);
+    }
 }
\ No newline at end of file
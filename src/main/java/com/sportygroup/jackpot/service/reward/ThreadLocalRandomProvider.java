@@ -0,0 +1,47 @@
+package com.sportygroup.jackpot.service.reward;
+
+import java.util.random.RandomGenerator;
+import java.util.random.RandomGeneratorFactory;
+
+/**
+ * A RandomProvider giving each thread its own L64X128MixRandom stream.
+ * Unseeded providers seed every stream from system entropy. Seeded providers derive each thread's stream from
+ * the seed and the thread's name, so a replay with the same seed and the same thread names (e.g. the
+ * `settlement-shard-N` threads, or a single test thread) draws exactly the same numbers.
+ */
+public final class ThreadLocalRandomProvider implements RandomProvider {
+
+    private static final String ALGORITHM = "L64X128MixRandom";
+    private static final long GOLDEN_GAMMA = 0x9E3779B97F4A7C15L;
+
+    private final ThreadLocal<RandomGenerator> generators;
+
+    private ThreadLocalRandomProvider(ThreadLocal<RandomGenerator> generators) {
+        this.generators = generators;
+    }
+
+    /**
+     * Creates a provider whose streams are seeded from system entropy.
+     * @return The provider.
+     */
+    public static ThreadLocalRandomProvider unseeded() {
+        RandomGeneratorFactory<RandomGenerator> factory = RandomGeneratorFactory.of(ALGORITHM);
+        return new ThreadLocalRandomProvider(ThreadLocal.withInitial(factory::create));
+    }
+
+    /**
+     * Creates a provider whose streams are derived from a fixed seed and the name of the thread using them.
+     * @param seed The seed shared by all streams.
+     * @return The provider.
+     */
+    public static ThreadLocalRandomProvider seeded(long seed) {
+        RandomGeneratorFactory<RandomGenerator> factory = RandomGeneratorFactory.of(ALGORITHM);
+        return new ThreadLocalRandomProvider(ThreadLocal.withInitial(() ->
+                factory.create(seed ^ (Thread.currentThread().getName().hashCode() * GOLDEN_GAMMA))));
+    }
+
+    @Override
+    public RandomGenerator current() {
+        return generators.get();
+    }
+}
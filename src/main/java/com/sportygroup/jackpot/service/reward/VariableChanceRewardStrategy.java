@@ -2,12 +2,13 @@ package com.sportygroup.jackpot.service.reward;
 
 import com.sportygroup.jackpot.model.JackpotConfig;
 import com.sportygroup.jackpot.model.enums.RewardStrategyType;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.stereotype.Component;
 import org.springframework.stereotype.Service;
 
 import java.math.BigDecimal;
 import java.math.RoundingMode;
-import java.util.Random;
 
 /**
  * Implements a variable chance reward strategy.
@@ -17,52 +18,101 @@ import java.util.Random;
 @Service(RewardStrategyType.VARIABLE_CHANCE_REWARD_STRATEGY_SERVICE_NAME)
 public class VariableChanceRewardStrategy implements RewardStrategy {
 
-    private final Random random = new Random();
+    private static final Logger log = LoggerFactory.getLogger(VariableChanceRewardStrategy.class);
+
+    private static final RewardPlan NEVER_WINS = (betAmount, currentJackpotPool) -> false;
+
+    private final RandomProvider randomProvider;
 
     private static final BigDecimal POOL_SCALING_FACTOR = BigDecimal.valueOf(1000.0);
 
     /**
-     * Checks if a bet wins based on a variable chance that increases with the jackpot pool.
+     * Creates the strategy with per-thread generators seeded from system entropy.
+     */
+    public VariableChanceRewardStrategy() {
+        this(ThreadLocalRandomProvider.unseeded());
+    }
+
+    /**
+     * Creates the strategy drawing from the given provider.
+     * @param randomProvider The provider of the per-thread generators.
+     */
+    public VariableChanceRewardStrategy(RandomProvider randomProvider) {
+        this.randomProvider = randomProvider;
+    }
+
+    /**
+     * Compiles a plan whose chance increases with the jackpot pool.
      * If the `currentJackpotPool` reaches `config.rewardVariableChanceLimit`, the chance becomes 100%.
+     * The plan precomputes the pool from which the bet always wins: the chance limit, or the pool at which
+     * the increasing chance reaches 100% on its own, whichever comes first.
      *
-     * @param betAmount The original amount of the bet (not used in this strategy).
-     * @param currentJackpotPool The current total amount in the jackpot pool.
-     * @param config The specific configuration for this jackpot.
-     * @return True if a randomly generated number falls within the winning chance, false otherwise.
-     * @throws IllegalArgumentException if required config parameters are not set or invalid.
+     * @param config The specific configuration for a jackpot.
+     * @return The compiled variable chance plan, or a plan that never wins if required config parameters are not set or invalid.
      */
     @Override
-    public boolean checkWin(BigDecimal betAmount, BigDecimal currentJackpotPool, JackpotConfig config) {
+    public RewardPlan compile(JackpotConfig config) {
 
         if (config == null || config.getRewardVariableInitialChance() <= 0 || config.getRewardVariableIncreaseRate() <= 0 || config.getRewardVariableChanceLimit() == null) {
-            System.err.println("VariableChanceRewardStrategy: Invalid or missing required config parameters.");
-            return false;
+            log.warn("Invalid or missing required config parameters.");
+            return NEVER_WINS;
         }
 
-        double initialChance = config.getRewardVariableInitialChance();
-        double increaseRate = config.getRewardVariableIncreaseRate();
-        BigDecimal chanceLimit = config.getRewardVariableChanceLimit();
+        BigDecimal initialChance = BigDecimal.valueOf(config.getRewardVariableInitialChance());
+        BigDecimal increaseRate = BigDecimal.valueOf(config.getRewardVariableIncreaseRate());
+
+        // The scaled pool is rounded to 4 decimals before the rate is applied. Rounding the threshold up
+        // to the same scale makes every pool at or above it reach a chance of at least 100%.
+        BigDecimal fullChancePool = BigDecimal.ONE.subtract(initialChance)
+                .divide(increaseRate, 4, RoundingMode.CEILING)
+                .multiply(POOL_SCALING_FACTOR);
+        BigDecimal certainWinPool = fullChancePool.min(config.getRewardVariableChanceLimit());
 
-        if (currentJackpotPool.compareTo(chanceLimit) >= 0) {
-            System.out.println("VariableChanceRewardStrategy: Jackpot pool (" + currentJackpotPool + ") hit limit (" + chanceLimit + "). Chance is 100%.");
-            return true;
+        return new VariableChancePlan(randomProvider, initialChance, increaseRate, certainWinPool);
+    }
+
+    /**
+     * Wins when a uniform random number falls below `min(initial + pool / 1000 * rate, 100%)`,
+     * and always from `certainWinPool` on.
+     */
+    private static final class VariableChancePlan implements RewardPlan {
+        private final RandomProvider randomProvider;
+        private final BigDecimal initialChance;
+        private final BigDecimal increaseRate;
+        private final BigDecimal certainWinPool;
+
+        private VariableChancePlan(RandomProvider randomProvider, BigDecimal initialChance, BigDecimal increaseRate, BigDecimal certainWinPool) {
+            this.randomProvider = randomProvider;
+            this.initialChance = initialChance;
+            this.increaseRate = increaseRate;
+            this.certainWinPool = certainWinPool;
         }
 
-        BigDecimal increaseFactor = currentJackpotPool
-                .divide(POOL_SCALING_FACTOR, 4, RoundingMode.HALF_UP)
-                .multiply(BigDecimal.valueOf(increaseRate));
+        @Override
+        public boolean checkWin(BigDecimal betAmount, BigDecimal currentJackpotPool) {
+            if (currentJackpotPool.compareTo(certainWinPool) >= 0) {
+                log.debug("Jackpot pool ({}) hit limit ({}). Chance is 100%.", currentJackpotPool, certainWinPool);
+                return true;
+            }
 
-        double effectiveChance = BigDecimal.valueOf(initialChance)
-                .add(increaseFactor)
-                .min(BigDecimal.ONE) // Max chance is 1.0 (100%)
-                .doubleValue();
+            BigDecimal increaseFactor = currentJackpotPool
+                    .divide(POOL_SCALING_FACTOR, 4, RoundingMode.HALF_UP)
+                    .multiply(increaseRate);
 
-        double randomValue = random.nextDouble();
+            double effectiveChance = initialChance
+                    .add(increaseFactor)
+                    .min(BigDecimal.ONE) // Max chance is 1.0 (100%)
+                    .doubleValue();
 
-        boolean wins = randomValue < effectiveChance;
+            double randomValue = randomProvider.current().nextDouble();
 
-        System.out.println("VariableChanceRewardStrategy: Pool: " + currentJackpotPool +
-                " | Effective Chance: " + (effectiveChance * 100) + "% | Random: " + String.format("%.6f", randomValue) + " -> Win: " + wins);
-        return wins;
+            boolean wins = randomValue < effectiveChance;
+
+            if (log.isDebugEnabled()) {
+                log.debug("Pool: {} | Effective Chance: {}% | Random: {} -> Win: {}", currentJackpotPool, effectiveChance * 100,
+                        String.format("%.6f", randomValue), wins);
+            }
+            return wins;
+        }
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,149 @@
+package com.sportygroup.jackpot.service.settlement;
+
+import com.sportygroup.jackpot.metrics.JackpotMetrics;
+import com.sportygroup.jackpot.model.Bet;
+import com.sportygroup.jackpot.model.JackpotConfig;
+import com.sportygroup.jackpot.model.JackpotReward;
+import com.sportygroup.jackpot.repository.JackpotContributionRepository;
+import com.sportygroup.jackpot.repository.JackpotRepository;
+import com.sportygroup.jackpot.repository.JackpotRewardRepository;
+import com.sportygroup.jackpot.service.JackpotPlan;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+import java.util.Collection;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.function.Function;
+
+/**
+ * Settlement engine that partitions jackpots over a fixed set of single-threaded shards.
+ * Every bet is routed by its jackpotId to exactly one shard, so the bets of a jackpot are settled one
+ * after another, and throughput scales with the number of shards as long as bets are spread across many jackpots.
+ *
+ * Shards are the only writers of the jackpots they own, so each keeps its jackpots' pools in memory and decides
+ * bets without a repository round trip. Decided changes are written through asynchronously as pool deltas on a
+ * bounded-elastic scheduler, since stores such as the journal block, and coalesced while a write is in flight.
+ * Deltas never overwrite external writes, but the shards only decide against them after `invalidate`.
+ * Settlements are timed and counted in the same JackpotMetrics meters as those of JackpotService.
+ */
+public class SettlementEngine {
+
+    private static final Logger log = LoggerFactory.getLogger(SettlementEngine.class);
+
+    private final SettlementShard[] shards;
+    private final JackpotMetrics jackpotMetrics;
+
+    /**
+     * Creates and starts an uninstrumented engine.
+     * @param jackpotRepository The repository the shards load pools from and write their changes to.
+     * @param jackpotContributionRepository The repository for contribution records.
+     * @param jackpotRewardRepository The repository for reward records.
+     * @param plans The plan cache resolving a configuration into its compiled plan, e.g. `JackpotService::planOf`.
+     * @param shardCount The number of single-threaded shards.
+     * @param queueCapacity The capacity of each shard's bounded queue.
+     */
+    public SettlementEngine(JackpotRepository jackpotRepository,
+                            JackpotContributionRepository jackpotContributionRepository,
+                            JackpotRewardRepository jackpotRewardRepository,
+                            Function<JackpotConfig, JackpotPlan> plans,
+                            int shardCount,
+                            int queueCapacity) {
+        this(jackpotRepository, jackpotContributionRepository, jackpotRewardRepository, plans, shardCount, queueCapacity,
+                JackpotMetrics.disabled());
+    }
+
+    /**
+     * Creates and starts the engine.
+     * @param jackpotRepository The repository the shards load pools from and write their changes to.
+     * @param jackpotContributionRepository The repository for contribution records.
+     * @param jackpotRewardRepository The repository for reward records.
+     * @param plans The plan cache resolving a configuration into its compiled plan, e.g. `JackpotService::planOf`.
+     * @param shardCount The number of single-threaded shards.
+     * @param queueCapacity The capacity of each shard's bounded queue.
+     * @param jackpotMetrics The metrics recording settlement latencies, contributions and wins.
+     */
+    public SettlementEngine(JackpotRepository jackpotRepository,
+                            JackpotContributionRepository jackpotContributionRepository,
+                            JackpotRewardRepository jackpotRewardRepository,
+                            Function<JackpotConfig, JackpotPlan> plans,
+                            int shardCount,
+                            int queueCapacity,
+                            JackpotMetrics jackpotMetrics) {
+        if (shardCount <= 0) {
+            throw new IllegalArgumentException("Shard count must be positive, got " + shardCount);
+        }
+        this.jackpotMetrics = jackpotMetrics;
+        this.shards = new SettlementShard[shardCount];
+        for (int i = 0; i < shardCount; i++) {
+            shards[i] = new SettlementShard(i, queueCapacity, jackpotRepository, jackpotContributionRepository,
+                    jackpotRewardRepository, plans, jackpotMetrics, Schedulers.boundedElastic());
+            shards[i].start();
+        }
+        log.info("Started {} settlement shards with queue capacity {}", shardCount, queueCapacity);
+    }
+
+    /**
+     * Contributes the bet to its jackpot and evaluates it for a reward on the owning shard.
+     * The result is emitted once the bet's change was written through, and the time until then is recorded
+     * as a settlement.
+     * @param bet The bet to settle.
+     * @return A Mono emitting the JackpotReward if won, or empty otherwise.
+     */
+    public Mono<Optional<JackpotReward>> settle(Bet bet) {
+        return jackpotMetrics.timeSettlement(Mono.defer(() -> {
+            CompletableFuture<Optional<JackpotReward>> result = new CompletableFuture<>();
+            SettlementShard shard = shardFor(bet.getJackpotId());
+            if (!shard.offer(new SettlementShard.SettlementTask(bet, result))) {
+                return Mono.error(new RejectedExecutionException("Settlement shard " + shard.getIndex() + " is saturated."));
+            }
+            return Mono.fromFuture(result);
+        }));
+    }
+
+    /**
+     * Drops the pools the owning shards keep of the given jackpots, so their next bets load the stored
+     * jackpot again, e.g. after the jackpots were restored from a changelog or updated outside the shards.
+     * @param jackpotIds The IDs of the jackpots written outside the shards.
+     */
+    public void invalidate(Collection<String> jackpotIds) {
+        for (String jackpotId : jackpotIds) {
+            shardFor(jackpotId).invalidate(jackpotId);
+        }
+    }
+
+    /**
+     * @return The number of shards.
+     */
+    public int getShardCount() {
+        return shards.length;
+    }
+
+    /**
+     * @return The number of bets currently waiting in all shard queues.
+     */
+    public int getQueuedTasks() {
+        int queued = 0;
+        for (SettlementShard shard : shards) {
+            queued += shard.getQueueSize();
+        }
+        return queued;
+    }
+
+    /**
+     * Stops all shard threads. Bets still queued are failed; writes already decided still complete.
+     */
+    public void shutdown() {
+        for (SettlementShard shard : shards) {
+            shard.stop();
+        }
+    }
+
+    private SettlementShard shardFor(String jackpotId) {
+        int hash = jackpotId.hashCode();
+        return shards[Math.floorMod(hash ^ (hash >>> 16), shards.length)];
+    }
+}
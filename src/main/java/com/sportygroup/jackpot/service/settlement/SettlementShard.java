@@ -0,0 +1,414 @@
+package com.sportygroup.jackpot.service.settlement;
+
+import com.sportygroup.jackpot.metrics.JackpotMetrics;
+import com.sportygroup.jackpot.model.Bet;
+import com.sportygroup.jackpot.model.Jackpot;
+import com.sportygroup.jackpot.model.JackpotConfig;
+import com.sportygroup.jackpot.model.JackpotContribution;
+import com.sportygroup.jackpot.model.JackpotReward;
+import com.sportygroup.jackpot.repository.JackpotContributionRepository;
+import com.sportygroup.jackpot.repository.JackpotRepository;
+import com.sportygroup.jackpot.repository.JackpotRewardRepository;
+import com.sportygroup.jackpot.service.JackpotPlan;
+import com.sportygroup.jackpot.service.SettlementCommittedException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Scheduler;
+import reactor.util.concurrent.Queues;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Queue;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.Function;
+
+/**
+ * A single-threaded settlement shard.
+ * Producers enqueue bets into a lock-free multi-producer queue whose only consumer is the shard thread (MPSC);
+ * the queue is bounded by a counter, and the shard thread parks while it is empty.
+ *
+ * The shard is the only writer of the jackpots hashed to it, so it keeps their pools itself: a jackpot is loaded
+ * from the JackpotRepository on its first bet, and every later bet is decided against the pool in memory, with
+ * the plan compiled by the shared plan cache. Decided changes are written through asynchronously as deltas via
+ * `addToPool`, followed by their contribution and reward records. While a jackpot's write is in flight, the
+ * changes of its next bets are coalesced into the following write, so a slow store costs fewer, larger writes
+ * instead of stalling the shard. A bet's result completes once the write holding its change finished.
+ *
+ * Writes made outside the shard (e.g. a restore) are only seen after `invalidate`, which drops the jackpot's
+ * pool; its next bet waits for the writes still in flight and loads the jackpot again. A failed write drops the
+ * pool the same way and fails the bets whose changes were not written yet. Bets whose delta was written but
+ * whose records were not fail with a SettlementCommittedException.
+ */
+class SettlementShard implements Runnable {
+
+    private static final Logger log = LoggerFactory.getLogger(SettlementShard.class);
+
+    // Set in `queued` once the shard is stopped; the lower bits keep counting the admitted tasks.
+    private static final int STOPPED = Integer.MIN_VALUE;
+
+    private final int index;
+    private final int queueCapacity;
+    private final Queue<SettlementTask> queue = Queues.<SettlementTask>unboundedMultiproducer().get();
+    private final AtomicInteger queued = new AtomicInteger();
+    private final Queue<String> invalidations = new ConcurrentLinkedQueue<>();
+    private final JackpotRepository jackpotRepository;
+    private final JackpotContributionRepository jackpotContributionRepository;
+    private final JackpotRewardRepository jackpotRewardRepository;
+    private final Function<JackpotConfig, JackpotPlan> plans;
+    private final JackpotMetrics jackpotMetrics;
+    private final Scheduler writeScheduler;
+    // Only accessed by the shard thread.
+    private final Map<String, OwnedPool> ownedPools = new HashMap<>();
+    private final Map<String, OwnedPool> retiredPools = new HashMap<>();
+    private final Thread thread;
+    private volatile boolean parked;
+
+    SettlementShard(int index, int queueCapacity,
+                    JackpotRepository jackpotRepository,
+                    JackpotContributionRepository jackpotContributionRepository,
+                    JackpotRewardRepository jackpotRewardRepository,
+                    Function<JackpotConfig, JackpotPlan> plans,
+                    JackpotMetrics jackpotMetrics,
+                    Scheduler writeScheduler) {
+        this.index = index;
+        this.queueCapacity = queueCapacity;
+        this.jackpotRepository = jackpotRepository;
+        this.jackpotContributionRepository = jackpotContributionRepository;
+        this.jackpotRewardRepository = jackpotRewardRepository;
+        this.plans = plans;
+        this.jackpotMetrics = jackpotMetrics;
+        this.writeScheduler = writeScheduler;
+        this.thread = new Thread(this, "settlement-shard-" + index);
+        this.thread.setDaemon(true);
+    }
+
+    void start() {
+        thread.start();
+    }
+
+    /**
+     * Stops the shard. The shard thread fails the bets still queued before it exits; writes in flight still complete.
+     */
+    void stop() {
+        int current;
+        do {
+            current = queued.get();
+            if (current < 0) {
+                return;
+            }
+        } while (!queued.compareAndSet(current, current | STOPPED));
+        LockSupport.unpark(thread);
+    }
+
+    boolean offer(SettlementTask task) {
+        int current;
+        do {
+            current = queued.get();
+            if (current < 0 || current >= queueCapacity) {
+                return false;
+            }
+        } while (!queued.compareAndSet(current, current + 1));
+        queue.offer(task);
+        if (parked) {
+            LockSupport.unpark(thread);
+        }
+        return true;
+    }
+
+    /**
+     * Drops the shard's pool of a jackpot, so its next bet loads it again from the repository.
+     */
+    void invalidate(String jackpotId) {
+        invalidations.offer(jackpotId);
+        LockSupport.unpark(thread);
+    }
+
+    int getIndex() {
+        return index;
+    }
+
+    int getQueueSize() {
+        return queued.get() & Integer.MAX_VALUE;
+    }
+
+    @Override
+    public void run() {
+        while (queued.get() >= 0) {
+            applyInvalidations();
+            SettlementTask task = queue.poll();
+            if (task == null) {
+                parkUntilSignalled();
+                continue;
+            }
+            queued.decrementAndGet();
+            try {
+                process(task);
+            } catch (Throwable e) {
+                log.error("Shard {}: Error settling bet {}", index, task.bet.getBetId(), e);
+                task.result.completeExceptionally(e);
+            }
+        }
+        failQueued();
+    }
+
+    private void parkUntilSignalled() {
+        parked = true;
+        // Re-checked after publishing `parked`, so an offer racing with it either is seen here or unparks the thread.
+        if (queue.isEmpty() && invalidations.isEmpty() && queued.get() >= 0) {
+            LockSupport.park(this);
+        }
+        parked = false;
+    }
+
+    /**
+     * Fails the tasks admitted before the shard was stopped. A producer may still be between admitting its task
+     * and enqueueing it, so the queue is drained until every admitted task was seen.
+     */
+    private void failQueued() {
+        while (queued.get() != STOPPED) {
+            SettlementTask task = queue.poll();
+            if (task == null) {
+                Thread.onSpinWait();
+                continue;
+            }
+            queued.decrementAndGet();
+            task.result.completeExceptionally(new CancellationException("Settlement shard " + index + " stopped."));
+        }
+    }
+
+    private void applyInvalidations() {
+        String jackpotId;
+        while ((jackpotId = invalidations.poll()) != null) {
+            OwnedPool owned = ownedPools.remove(jackpotId);
+            if (owned != null) {
+                retiredPools.put(jackpotId, owned);
+            }
+        }
+    }
+
+    private void process(SettlementTask task) {
+        Bet bet = task.bet;
+        OwnedPool owned = ownedPool(bet.getJackpotId());
+        BigDecimal observedPool = owned.pool;
+        BigDecimal contributionAmount = owned.plan.getContributionPlan().calculateContribution(bet.getBetAmount(), observedPool);
+        BigDecimal poolAfterContribution = observedPool.add(contributionAmount);
+        boolean wins = owned.plan.getRewardPlan().checkWin(bet.getBetAmount(), poolAfterContribution);
+        owned.pool = wins ? owned.initialPool : poolAfterContribution;
+        jackpotMetrics.recordContribution(bet.getJackpotId(), 1, contributionAmount, poolAfterContribution);
+        if (wins) {
+            jackpotMetrics.recordWin(bet.getJackpotId(), poolAfterContribution, owned.pool);
+        }
+
+        LocalDateTime now = LocalDateTime.now();
+        JackpotContribution contribution = new JackpotContribution(
+                bet.getBetId(),
+                bet.getUserId(),
+                bet.getJackpotId(),
+                bet.getBetAmount(),
+                contributionAmount,
+                poolAfterContribution,
+                now
+        );
+        JackpotReward reward = wins
+                ? new JackpotReward(bet.getBetId(), bet.getUserId(), bet.getJackpotId(), poolAfterContribution, now)
+                : null;
+        writeThrough(owned, owned.pool.subtract(observedPool), contribution, reward, task.result);
+    }
+
+    /**
+     * Returns the shard's pool of a jackpot, loading it if the shard has none or its last write failed.
+     * Before loading, the writes of the pool it replaces are awaited, so the loaded state includes them.
+     */
+    private OwnedPool ownedPool(String jackpotId) {
+        OwnedPool owned = ownedPools.get(jackpotId);
+        if (owned != null && !owned.failed) {
+            return owned;
+        }
+        OwnedPool previous = owned != null ? owned : retiredPools.remove(jackpotId);
+        if (previous != null) {
+            previous.awaitWrites();
+        }
+
+        Jackpot jackpot = jackpotRepository.findById(jackpotId).block();
+        if (jackpot == null) {
+            throw new IllegalArgumentException("No matching jackpot found for ID: " + jackpotId);
+        }
+        JackpotConfig config = jackpot.getConfig();
+        if (config == null) {
+            throw new IllegalStateException("Jackpot " + jackpotId + " has no configuration.");
+        }
+        owned = new OwnedPool(jackpotId, jackpot.getCurrentPoolAmount(), jackpot.getInitialPoolValue(), plans.apply(config));
+        ownedPools.put(jackpotId, owned);
+        return owned;
+    }
+
+    /**
+     * Adds a decided change to the jackpot's pending write, and starts the write unless one is in flight.
+     */
+    private void writeThrough(OwnedPool owned, BigDecimal delta, JackpotContribution contribution, JackpotReward reward,
+                              CompletableFuture<Optional<JackpotReward>> result) {
+        PendingWrite write;
+        synchronized (owned) {
+            if (owned.failed) {
+                result.completeExceptionally(new IllegalStateException("A write of jackpot " + owned.jackpotId + " failed."));
+                return;
+            }
+            owned.pending.add(delta, contribution, reward, result);
+            if (owned.writing) {
+                return;
+            }
+            owned.writing = true;
+            write = owned.takePending();
+        }
+        write(owned, write);
+    }
+
+    private void write(OwnedPool owned, PendingWrite write) {
+        jackpotRepository.addToPool(owned.jackpotId, write.delta)
+                .switchIfEmpty(Mono.error(() -> new IllegalArgumentException("No matching jackpot found for ID: " + owned.jackpotId)))
+                .then(jackpotContributionRepository.saveAll(write.contributions).then()
+                        .then(Flux.fromIterable(write.rewards).concatMap(jackpotRewardRepository::save).then())
+                        .onErrorMap(e -> new SettlementCommittedException(1, e)))
+                .subscribeOn(writeScheduler)
+                .subscribe(null, e -> written(owned, write, e), () -> written(owned, write, null));
+    }
+
+    /**
+     * Completes the bets of a finished write, then starts the next pending write of the jackpot, if any.
+     * If only the records failed, the pool delta is committed and the bets fail with a SettlementCommittedException.
+     * If the delta failed, the pending changes are failed as well, since they were decided against a pool the
+     * store never reached, and the shard loads the jackpot again on its next bet.
+     */
+    private void written(OwnedPool owned, PendingWrite write, Throwable error) {
+        PendingWrite next;
+        synchronized (owned) {
+            if (error != null && !(error instanceof SettlementCommittedException)) {
+                owned.failed = true;
+            }
+            next = owned.pending.isEmpty() ? null : owned.takePending();
+            if (next == null || owned.failed) {
+                owned.writing = false;
+                owned.notifyAll();
+            }
+        }
+
+        if (error != null) {
+            log.warn("Shard {}: Error writing {} settled bets of jackpot {}: {}", index, write.results.size(), owned.jackpotId, error.getMessage());
+            write.fail(error);
+        } else {
+            write.complete();
+        }
+        if (next == null) {
+            return;
+        }
+        if (owned.failed) {
+            next.fail(new IllegalStateException("A write of jackpot " + owned.jackpotId + " failed.", error));
+            return;
+        }
+        write(owned, next);
+    }
+
+    /**
+     * The pool of a jackpot owned by this shard, with the changes waiting to be written through.
+     * The pool and plan are only accessed by the shard thread; the write state is guarded by the instance.
+     */
+    private static final class OwnedPool {
+        private final String jackpotId;
+        private final BigDecimal initialPool;
+        private final JackpotPlan plan;
+        private BigDecimal pool;
+        private PendingWrite pending = new PendingWrite();
+        private boolean writing;
+        private volatile boolean failed;
+
+        private OwnedPool(String jackpotId, BigDecimal pool, BigDecimal initialPool, JackpotPlan plan) {
+            this.jackpotId = jackpotId;
+            this.pool = pool;
+            this.initialPool = initialPool;
+            this.plan = plan;
+        }
+
+        private PendingWrite takePending() {
+            PendingWrite taken = pending;
+            pending = new PendingWrite();
+            return taken;
+        }
+
+        private synchronized void awaitWrites() {
+            boolean interrupted = false;
+            while (writing) {
+                try {
+                    wait();
+                } catch (InterruptedException e) {
+                    interrupted = true;
+                }
+            }
+            if (interrupted) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    /**
+     * The coalesced changes of consecutive bets of one jackpot: their summed pool delta, their records,
+     * and the results to complete once they are written.
+     */
+    private static final class PendingWrite {
+        private BigDecimal delta = BigDecimal.ZERO;
+        private final List<JackpotContribution> contributions = new ArrayList<>();
+        private final List<JackpotReward> rewards = new ArrayList<>();
+        private final List<CompletableFuture<Optional<JackpotReward>>> results = new ArrayList<>();
+        private final List<Optional<JackpotReward>> outcomes = new ArrayList<>();
+
+        private void add(BigDecimal change, JackpotContribution contribution, JackpotReward reward,
+                         CompletableFuture<Optional<JackpotReward>> result) {
+            delta = delta.add(change);
+            contributions.add(contribution);
+            if (reward != null) {
+                rewards.add(reward);
+            }
+            results.add(result);
+            outcomes.add(Optional.ofNullable(reward));
+        }
+
+        private boolean isEmpty() {
+            return results.isEmpty();
+        }
+
+        private void complete() {
+            for (int i = 0; i < results.size(); i++) {
+                results.get(i).complete(outcomes.get(i));
+            }
+        }
+
+        private void fail(Throwable error) {
+            for (CompletableFuture<Optional<JackpotReward>> result : results) {
+                result.completeExceptionally(error);
+            }
+        }
+    }
+
+    /**
+     * A bet waiting to be settled, with the future completed once its change is written through.
+     */
+    static final class SettlementTask {
+        private final Bet bet;
+        private final CompletableFuture<Optional<JackpotReward>> result;
+
+        SettlementTask(Bet bet, CompletableFuture<Optional<JackpotReward>> result) {
+            this.bet = bet;
+            this.result = result;
+        }
+    }
+}
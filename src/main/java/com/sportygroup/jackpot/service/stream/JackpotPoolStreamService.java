@@ -0,0 +1,190 @@
+package com.sportygroup.jackpot.service.stream;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sportygroup.jackpot.model.Jackpot;
+import com.sportygroup.jackpot.model.JackpotPoolUpdate;
+import com.sportygroup.jackpot.repository.JackpotRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.codec.ServerSentEvent;
+import reactor.core.Disposable;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Pushes jackpot pool values to Server-Sent Event subscribers.
+ *
+ * The contribution path is not touched at all: a single ticker samples every pool at most
+ * `maxUpdatesPerSecond` times per second and publishes only the pools that changed since the
+ * previous tick, which coalesces any number of contributions into one update per tick.
+ * Each update is serialized to JSON once and the same ServerSentEvent instance is handed to every
+ * subscriber, so the cost of a tick does not depend on the number of connections.
+ *
+ * Every jackpot has its own best-effort multicast sink, which never buffers or replays. Each subscriber
+ * reads it through `onBackpressureLatest`, so a slow subscriber skips intermediate values instead of
+ * buffering them or slowing down the ticker. New subscribers start with the current pool, taken from the
+ * latest event kept per jackpot.
+ */
+public class JackpotPoolStreamService {
+
+    private static final Logger log = LoggerFactory.getLogger(JackpotPoolStreamService.class);
+
+    private static final String POOL_EVENT = "pool";
+
+    private final JackpotRepository jackpotRepository;
+    private final ObjectMapper objectMapper;
+
+    private final Map<String, Sinks.Many<PoolEvent>> jackpotSinks = new ConcurrentHashMap<>();
+    private final Map<String, PoolEvent> latestEvents = new ConcurrentHashMap<>();
+    private final Sinks.Many<PoolEvent> allJackpotsSink = Sinks.many().multicast().directBestEffort();
+
+    // Only accessed by the ticker, which never runs concurrently with itself.
+    private final Map<String, BigDecimal> lastPublishedPools = new HashMap<>();
+    private long sequence;
+
+    private final Disposable ticker;
+
+    /**
+     * Creates the service and starts sampling pools.
+     * @param jackpotRepository The repository to read pools from.
+     * @param objectMapper The mapper used to serialize each update once.
+     * @param maxUpdatesPerSecond The maximum number of updates pushed per jackpot per second.
+     */
+    public JackpotPoolStreamService(JackpotRepository jackpotRepository, ObjectMapper objectMapper, int maxUpdatesPerSecond) {
+        if (maxUpdatesPerSecond <= 0) {
+            throw new IllegalArgumentException("Max updates per second must be positive, got " + maxUpdatesPerSecond);
+        }
+        this.jackpotRepository = jackpotRepository;
+        this.objectMapper = objectMapper;
+        this.ticker = Flux.interval(Duration.ofMillis(Math.max(1, 1000 / maxUpdatesPerSecond)))
+                .onBackpressureDrop()
+                .concatMap(tick -> publishChangedPools()
+                        .onErrorResume(e -> {
+                            log.warn("Error sampling jackpot pools: {}", e.getMessage());
+                            return Mono.empty();
+                        }), 1)
+                .subscribe();
+    }
+
+    /**
+     * Streams the pool updates of one jackpot, starting with its current pool once it has been sampled.
+     * The live stream is subscribed before the current pool is read, and an update older than one
+     * already delivered is dropped.
+     * @param jackpotId The ID of the jackpot.
+     * @return A Flux of pool update events.
+     */
+    public Flux<ServerSentEvent<String>> streamJackpot(String jackpotId) {
+        return Flux.defer(() -> {
+            long[] deliveredSequence = new long[1];
+            return Flux.merge(sinkFor(jackpotId).asFlux().onBackpressureLatest(),
+                            Mono.fromSupplier(() -> latestEvents.get(jackpotId)))
+                    .filter(poolEvent -> {
+                        if (poolEvent.getSequence() <= deliveredSequence[0]) {
+                            return false;
+                        }
+                        deliveredSequence[0] = poolEvent.getSequence();
+                        return true;
+                    })
+                    .map(PoolEvent::getEvent);
+        });
+    }
+
+    /**
+     * Streams the pool updates of all jackpots, starting with the current pool of every sampled jackpot.
+     * The live stream is subscribed before the current pools are replayed; an update is dropped when
+     * the subscriber already received a newer one for the same jackpot.
+     * @return A Flux of pool update events.
+     */
+    public Flux<ServerSentEvent<String>> streamAllJackpots() {
+        return Flux.defer(() -> {
+            Map<String, Long> deliveredSequences = new HashMap<>();
+            return Flux.merge(allJackpotsSink.asFlux(), Flux.fromIterable(latestEvents.values()))
+                    .filter(poolEvent -> deliveredSequences.merge(poolEvent.getJackpotId(), poolEvent.getSequence(), Math::max) == poolEvent.getSequence())
+                    .map(PoolEvent::getEvent);
+        });
+    }
+
+    /**
+     * Stops sampling and completes all open streams.
+     */
+    public void shutdown() {
+        ticker.dispose();
+        jackpotSinks.values().forEach(Sinks.Many::tryEmitComplete);
+        allJackpotsSink.tryEmitComplete();
+    }
+
+    private Mono<Void> publishChangedPools() {
+        return jackpotRepository.findAll()
+                .doOnNext(this::publishIfChanged)
+                .then();
+    }
+
+    private void publishIfChanged(Jackpot jackpot) {
+        BigDecimal currentPool = jackpot.getCurrentPoolAmount();
+        BigDecimal lastPool = lastPublishedPools.get(jackpot.getJackpotId());
+        if (lastPool != null && lastPool.compareTo(currentPool) == 0) {
+            return;
+        }
+        lastPublishedPools.put(jackpot.getJackpotId(), currentPool);
+
+        long eventSequence = ++sequence;
+        PoolEvent poolEvent = new PoolEvent(jackpot.getJackpotId(), eventSequence, ServerSentEvent.<String>builder()
+                .id(Long.toString(eventSequence))
+                .event(POOL_EVENT)
+                .data(serialize(new JackpotPoolUpdate(jackpot.getJackpotId(), currentPool, LocalDateTime.now())))
+                .build());
+
+        latestEvents.put(jackpot.getJackpotId(), poolEvent);
+        sinkFor(jackpot.getJackpotId()).tryEmitNext(poolEvent);
+        allJackpotsSink.tryEmitNext(poolEvent);
+    }
+
+    private String serialize(JackpotPoolUpdate update) {
+        try {
+            return objectMapper.writeValueAsString(update);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Could not serialize pool update for jackpot " + update.getJackpotId(), e);
+        }
+    }
+
+    private Sinks.Many<PoolEvent> sinkFor(String jackpotId) {
+        return jackpotSinks.computeIfAbsent(jackpotId, id -> Sinks.many().multicast().directBestEffort());
+    }
+
+    /**
+     * A serialized pool update together with its jackpot and publication order.
+     */
+    private static final class PoolEvent {
+
+        private final String jackpotId;
+        private final long sequence;
+        private final ServerSentEvent<String> event;
+
+        private PoolEvent(String jackpotId, long sequence, ServerSentEvent<String> event) {
+            this.jackpotId = jackpotId;
+            this.sequence = sequence;
+            this.event = event;
+        }
+
+        String getJackpotId() {
+            return jackpotId;
+        }
+
+        long getSequence() {
+            return sequence;
+        }
+
+        ServerSentEvent<String> getEvent() {
+            return event;
+        }
+    }
+}
@@ -0,0 +1,54 @@
+-- Schema of the R2DBC repositories (jackpot.r2dbc.enabled=true).
+-- Run on startup when R2DBC is enabled, unless jackpot.r2dbc.initialize-schema=false.
+
+CREATE TABLE IF NOT EXISTS jackpots (
+    jackpot_id                         VARCHAR(64)      NOT NULL PRIMARY KEY,
+    current_pool                       DECIMAL(19, 2)   NOT NULL,
+    initial_pool                       DECIMAL(19, 2)   NOT NULL,
+    version                            BIGINT           NOT NULL,
+    created_at                         TIMESTAMP,
+    contribution_strategy              VARCHAR(64),
+    reward_strategy                    VARCHAR(64),
+    contribution_fixed_percentage      DOUBLE PRECISION NOT NULL,
+    contribution_variable_initial      DOUBLE PRECISION NOT NULL,
+    contribution_variable_decrease     DOUBLE PRECISION NOT NULL,
+    reward_fixed_chance                DOUBLE PRECISION NOT NULL,
+    reward_variable_initial_chance     DOUBLE PRECISION NOT NULL,
+    reward_variable_increase_rate      DOUBLE PRECISION NOT NULL,
+    reward_variable_chance_limit       DECIMAL(19, 2),
+    pool_counter_type                  VARCHAR(32)
+);
+
+CREATE TABLE IF NOT EXISTS bets (
+    bet_id      VARCHAR(64)    NOT NULL PRIMARY KEY,
+    user_id     VARCHAR(64),
+    jackpot_id  VARCHAR(64),
+    bet_amount  DECIMAL(19, 4),
+    created_at  TIMESTAMP
+);
+
+CREATE TABLE IF NOT EXISTS jackpot_contributions (
+    bet_id               VARCHAR(64)    NOT NULL,
+    user_id              VARCHAR(64),
+    jackpot_id           VARCHAR(64)    NOT NULL,
+    stake_amount         DECIMAL(19, 4),
+    contribution_amount  DECIMAL(19, 2) NOT NULL,
+    pool_after           DECIMAL(19, 2),
+    created_at           TIMESTAMP
+);
+
+CREATE INDEX IF NOT EXISTS idx_contributions_bet ON jackpot_contributions (bet_id);
+CREATE INDEX IF NOT EXISTS idx_contributions_jackpot ON jackpot_contributions (jackpot_id);
+CREATE INDEX IF NOT EXISTS idx_contributions_user ON jackpot_contributions (user_id);
+
+CREATE TABLE IF NOT EXISTS jackpot_rewards (
+    bet_id         VARCHAR(64)    NOT NULL,
+    user_id        VARCHAR(64),
+    jackpot_id     VARCHAR(64)    NOT NULL,
+    reward_amount  DECIMAL(19, 2) NOT NULL,
+    created_at     TIMESTAMP
+);
+
+CREATE INDEX IF NOT EXISTS idx_rewards_bet ON jackpot_rewards (bet_id);
+CREATE INDEX IF NOT EXISTS idx_rewards_jackpot ON jackpot_rewards (jackpot_id);
+CREATE INDEX IF NOT EXISTS idx_rewards_user ON jackpot_rewards (user_id);
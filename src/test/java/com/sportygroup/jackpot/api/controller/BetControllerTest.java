@@ -1,20 +1,36 @@
 package com.sportygroup.jackpot.api.controller;
 
 import com.sportygroup.jackpot.api.controller.request.BetRequest;
+import com.sportygroup.jackpot.api.controller.response.BetPublishResponse;
 import com.sportygroup.jackpot.model.Bet;
+import com.sportygroup.jackpot.metrics.JackpotMetrics;
+import com.sportygroup.jackpot.model.BetPublishResult;
+import com.sportygroup.jackpot.model.JackpotConfig;
+import com.sportygroup.jackpot.model.enums.BetPublishStatus;
 import com.sportygroup.jackpot.producer.KafkaProducerService;
 import com.sportygroup.jackpot.service.BetService;
+import com.sportygroup.jackpot.service.JackpotConfigLoader;
+import com.sportygroup.jackpot.service.admission.AdmissionLimiter;
+import com.sportygroup.jackpot.service.admission.AdmissionLimits;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.Mockito;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.reactive.WebFluxTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
 import org.springframework.test.context.bean.override.mockito.MockitoBean;
 import org.springframework.test.web.reactive.server.WebTestClient;
+import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
 import java.math.BigDecimal;
+import java.time.Duration;
 import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
 
 /**
  * Integration tests for BetController using WebTestClient.
@@ -59,4 +75,98 @@ public class BetControllerTest {
     @Test
     void testPublishBetInternalServerError() {
     }
-}
\ No newline at end of file
+
+    @Test
+    void testPublishBetsBatchStreamsOneStatusPerBetInOrder() {
+        Mockito.when(betService.publishBets(Mockito.anyList()))
+                .thenAnswer(invocation -> {
+                    List<Bet> bets = invocation.getArgument(0);
+                    return Flux.just(
+                            BetPublishResult.published(bets.get(0)),
+                            BetPublishResult.failed(bets.get(1), "broker unavailable"));
+                });
+
+        List<BetPublishResponse> responses = webClient.post()
+                .uri("/api/bets/batch")
+                .contentType(MediaType.APPLICATION_JSON)
+                .accept(MediaType.APPLICATION_NDJSON)
+                .bodyValue(List.of(
+                        sampleBetRequest,
+                        new BetRequest("user-abc", "JP-1", BigDecimal.ZERO),
+                        new BetRequest("user-def", "JP-3", BigDecimal.valueOf(20.00))))
+                .exchange()
+                .expectStatus().isOk()
+                .returnResult(BetPublishResponse.class)
+                .getResponseBody()
+                .collectList()
+                .block();
+
+        assertEquals(3, responses.size());
+        assertEquals(BetPublishStatus.ACCEPTED, responses.get(0).getStatus());
+        assertEquals(BetPublishStatus.REJECTED, responses.get(1).getStatus());
+        assertNull(responses.get(1).getBetId());
+        assertEquals(BetPublishStatus.FAILED, responses.get(2).getStatus());
+        assertEquals("JP-3", responses.get(2).getJackpotId());
+        assertEquals(2, responses.get(2).getIndex());
+    }
+
+    @Test
+    void testPublishBetIsRejectedWithRetryAfterWhenAdmissionLimitIsReached() {
+        JackpotConfigLoader jackpotConfigLoader = new JackpotConfigLoader();
+        jackpotConfigLoader.addJackpotConfig("JP-1", new JackpotConfig());
+        AdmissionLimiter admissionLimiter = new AdmissionLimiter(new AdmissionLimits(1, 1, 1, 2.0, 100),
+                jackpotConfigLoader, () -> 0, Duration.ofMillis(1500), JackpotMetrics.disabled());
+        WebTestClient limitedClient = WebTestClient.bindToController(new BetController(betService, admissionLimiter)).build();
+
+        AdmissionLimiter.Permit inFlightBet = admissionLimiter.tryAcquire("JP-1");
+
+        limitedClient.post()
+                .uri("/api/bets")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(sampleBetRequest)
+                .exchange()
+                .expectStatus().isEqualTo(429)
+                .expectHeader().valueEquals(HttpHeaders.RETRY_AFTER, "2");
+        Mockito.verify(betService, Mockito.never()).publishBet(Mockito.any(Bet.class));
+
+        inFlightBet.release();
+
+        limitedClient.post()
+                .uri("/api/bets")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(sampleBetRequest)
+                .exchange()
+                .expectStatus().isCreated();
+        assertEquals(0, admissionLimiter.getInFlight("JP-1"));
+    }
+
+    @Test
+    void testPublishBetsBatchRejectsBetsBeyondTheAdmissionLimit() {
+        JackpotConfigLoader jackpotConfigLoader = new JackpotConfigLoader();
+        jackpotConfigLoader.addJackpotConfig("JP-1", new JackpotConfig());
+        AdmissionLimiter admissionLimiter = new AdmissionLimiter(new AdmissionLimits(1, 1, 1, 2.0, 100),
+                jackpotConfigLoader, () -> 0, Duration.ofSeconds(1), JackpotMetrics.disabled());
+        WebTestClient limitedClient = WebTestClient.bindToController(new BetController(betService, admissionLimiter)).build();
+        Mockito.when(betService.publishBets(Mockito.anyList()))
+                .thenAnswer(invocation -> {
+                    List<Bet> bets = invocation.getArgument(0);
+                    return Flux.fromIterable(bets).map(BetPublishResult::published);
+                });
+
+        List<BetPublishResponse> responses = limitedClient.post()
+                .uri("/api/bets/batch")
+                .contentType(MediaType.APPLICATION_JSON)
+                .accept(MediaType.APPLICATION_NDJSON)
+                .bodyValue(List.of(sampleBetRequest, sampleBetRequest))
+                .exchange()
+                .expectStatus().isOk()
+                .returnResult(BetPublishResponse.class)
+                .getResponseBody()
+                .collectList()
+                .block();
+
+        assertEquals(BetPublishStatus.ACCEPTED, responses.get(0).getStatus());
+        assertEquals(BetPublishStatus.REJECTED, responses.get(1).getStatus());
+        assertEquals(0, admissionLimiter.getInFlight("JP-1"));
+    }
+}
@@ -1,7 +1,10 @@
 package com.sportygroup.jackpot.api.controller;
 
 import com.sportygroup.jackpot.model.Bet;
+import com.sportygroup.jackpot.model.BetOutcome;
+import com.sportygroup.jackpot.model.JackpotLedger;
 import com.sportygroup.jackpot.model.JackpotReward;
+import com.sportygroup.jackpot.repository.BetOutcomeRepository;
 import com.sportygroup.jackpot.repository.BetRepository;
 import com.sportygroup.jackpot.service.JackpotService;
 import org.junit.jupiter.api.BeforeEach;
@@ -32,6 +35,9 @@ public class JackpotControllerTest {
     @MockitoBean
     private BetRepository betRepository;
 
+    @MockitoBean
+    private BetOutcomeRepository betOutcomeRepository;
+
     private Bet sampleBet;
     private JackpotReward sampleReward;
 
@@ -41,14 +47,62 @@ public class JackpotControllerTest {
         sampleReward = new JackpotReward("bet-456", "user-xyz", "JP-2", BigDecimal.valueOf(1500.00), LocalDateTime.now());
         Mockito.when(betRepository.findById("bet-456"))
                 .thenReturn(Mono.just(sampleBet));
+        Mockito.when(betRepository.findById("bet-missing"))
+                .thenReturn(Mono.empty());
     }
 
     @Test
     void testEvaluateRewardWin() {
+        Mockito.when(betOutcomeRepository.findByBetId("bet-456")).thenReturn(Mono.just(new BetOutcome("bet-456", "user-xyz", "JP-2",
+                true, sampleReward.getJackpotRewardAmount(), LocalDateTime.now())));
+
+        webClient.get()
+                .uri("/api/jackpots/evaluate-reward?betId=bet-456")
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.won").isEqualTo(true)
+                .jsonPath("$.rewardAmount").isEqualTo(1500.0);
+
+        Mockito.verifyNoInteractions(jackpotService);
     }
 
     @Test
     void testEvaluateRewardLoss() {
+        Mockito.when(betOutcomeRepository.findByBetId("bet-456")).thenReturn(Mono.just(new BetOutcome("bet-456", "user-xyz", "JP-2",
+                false, null, LocalDateTime.now())));
+
+        webClient.get()
+                .uri("/api/jackpots/evaluate-reward?betId=bet-456")
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.won").isEqualTo(false);
+
+        Mockito.verifyNoInteractions(jackpotService);
+    }
+
+    @Test
+    void testEvaluateRewardNotSettledYet() {
+        Mockito.when(betOutcomeRepository.findByBetId("bet-456")).thenReturn(Mono.empty());
+
+        webClient.get()
+                .uri("/api/jackpots/evaluate-reward?betId=bet-456")
+                .exchange()
+                .expectStatus().isAccepted()
+                .expectBody()
+                .jsonPath("$.betId").isEqualTo("bet-456")
+                .jsonPath("$.won").isEqualTo(false);
+    }
+
+    @Test
+    void testEvaluateRewardUnknownBet() {
+        Mockito.when(betOutcomeRepository.findByBetId("bet-missing")).thenReturn(Mono.empty());
+
+        webClient.get()
+                .uri("/api/jackpots/evaluate-reward?betId=bet-missing")
+                .exchange()
+                .expectStatus().isNotFound();
     }
 
     @Test
@@ -62,4 +116,31 @@ public class JackpotControllerTest {
     @Test
     void testEvaluateRewardInternalServerError() {
     }
+
+    @Test
+    void testGetLedger() {
+        // 1000 initial + 30 contributed - (1020 paid - 1000 initial) = 1010
+        JackpotLedger ledger = new JackpotLedger("JP-2", BigDecimal.valueOf(1000.00), BigDecimal.valueOf(1010.00),
+                3, BigDecimal.valueOf(30.00), 1, BigDecimal.valueOf(1020.00));
+        Mockito.when(jackpotService.getLedger("JP-2")).thenReturn(Mono.just(ledger));
+
+        webClient.get()
+                .uri("/api/jackpots/JP-2/ledger")
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.contributionCount").isEqualTo(3)
+                .jsonPath("$.expectedPoolAmount").isEqualTo(1010.0)
+                .jsonPath("$.balanced").isEqualTo(true);
+    }
+
+    @Test
+    void testGetLedgerUnknownJackpot() {
+        Mockito.when(jackpotService.getLedger("JP-MISSING")).thenReturn(Mono.empty());
+
+        webClient.get()
+                .uri("/api/jackpots/JP-MISSING/ledger")
+                .exchange()
+                .expectStatus().isNotFound();
+    }
 }
\ No newline at end of file
@@ -0,0 +1,59 @@
+package com.sportygroup.jackpot.benchmark;
+
+import com.sportygroup.jackpot.consumer.BetDeduplicator;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.time.Duration;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures `BetDeduplicator.markDelivered` with the default sizes.
+ * `freshBets` sends a new betId every call, the common case answered by a Bloom filter miss; the
+ * betId is built from a counter, so its concatenation is part of the measurement.
+ * `redeliveries` cycles through prebuilt betIds that were already delivered, each confirmed by the exact set.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class BetDeduplicatorBenchmark {
+
+    private static final int DELIVERED_BET_IDS = 1 << 16;
+
+    private BetDeduplicator betDeduplicator;
+    private String[] deliveredBetIds;
+    private long freshCounter;
+    private int deliveredIndex;
+
+    @Setup
+    public void setUp() {
+        betDeduplicator = new BetDeduplicator(Duration.ofMinutes(10), 4, 8388608, 5, 262144);
+        deliveredBetIds = new String[DELIVERED_BET_IDS];
+        for (int i = 0; i < DELIVERED_BET_IDS; i++) {
+            deliveredBetIds[i] = UUID.randomUUID().toString();
+            betDeduplicator.markDelivered(deliveredBetIds[i]);
+        }
+    }
+
+    @Benchmark
+    public boolean freshBets() {
+        return betDeduplicator.markDelivered("bet-" + freshCounter++);
+    }
+
+    @Benchmark
+    public boolean redeliveries() {
+        return betDeduplicator.markDelivered(deliveredBetIds[deliveredIndex++ & (DELIVERED_BET_IDS - 1)]);
+    }
+}
@@ -0,0 +1,101 @@
+package com.sportygroup.jackpot.benchmark;
+
+import com.sportygroup.jackpot.consumer.KafkaConsumerService;
+import com.sportygroup.jackpot.model.Bet;
+import com.sportygroup.jackpot.model.Jackpot;
+import com.sportygroup.jackpot.model.JackpotConfig;
+import com.sportygroup.jackpot.model.enums.ContributionStrategyType;
+import com.sportygroup.jackpot.model.enums.RewardStrategyType;
+import com.sportygroup.jackpot.repository.InMemJackpotContributionRepository;
+import com.sportygroup.jackpot.repository.InMemJackpotRepository;
+import com.sportygroup.jackpot.repository.InMemJackpotRewardRepository;
+import com.sportygroup.jackpot.service.JackpotService;
+import com.sportygroup.jackpot.service.contribution.ContributionStrategy;
+import com.sportygroup.jackpot.service.contribution.FixedContributionStrategy;
+import com.sportygroup.jackpot.service.contribution.VariableContributionStrategy;
+import com.sportygroup.jackpot.service.reward.FixedChanceRewardStrategy;
+import com.sportygroup.jackpot.service.reward.RewardStrategy;
+import com.sportygroup.jackpot.service.reward.VariableChanceRewardStrategy;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the full `KafkaConsumerService.consumeBet` path: one pool transition deciding the contribution
+ * and the win, the contribution record and, on a win, the reward record.
+ * `jackpot` selects one of the default jackpots: JP-1 (fixed, rarely wins), JP-2 (fixed, always wins),
+ * JP-3 (variable, rarely wins) and JP-4 (variable, always wins). The repositories are rebuilt for every
+ * iteration so the growing history does not distort later iterations.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ConsumeBetBenchmark {
+
+    @Param({"JP-1", "JP-2", "JP-3", "JP-4"})
+    public String jackpot;
+
+    private KafkaConsumerService kafkaConsumerService;
+
+    @Setup(Level.Iteration)
+    public void setUp() {
+        InMemJackpotRepository jackpotRepository = new InMemJackpotRepository();
+        jackpotRepository.save(new Jackpot("JP-1", BigDecimal.valueOf(1000.00), BigDecimal.valueOf(1000.00), new JackpotConfig(
+                ContributionStrategyType.FIXED_CONTRIBUTION_STRATEGY,
+                RewardStrategyType.FIXED_CHANCE_REWARD_STRATEGY,
+                0.01, 0, 0, 0.001, 0, 0, BigDecimal.ZERO
+        ), LocalDateTime.now())).block();
+        jackpotRepository.save(new Jackpot("JP-2", BigDecimal.valueOf(1000.00), BigDecimal.valueOf(1000.00), new JackpotConfig(
+                ContributionStrategyType.FIXED_CONTRIBUTION_STRATEGY,
+                RewardStrategyType.FIXED_CHANCE_REWARD_STRATEGY,
+                0.01, 0, 0, 100.0, 0, 0, BigDecimal.ZERO
+        ), LocalDateTime.now())).block();
+        jackpotRepository.save(new Jackpot("JP-3", BigDecimal.valueOf(500.00), BigDecimal.valueOf(500.00), new JackpotConfig(
+                ContributionStrategyType.VARIABLE_CONTRIBUTION_STRATEGY,
+                RewardStrategyType.VARIABLE_CHANCE_REWARD_STRATEGY,
+                0, 0.05, 0.0001, 0, 0.00001, 0.000001, BigDecimal.valueOf(100000.00)
+        ), LocalDateTime.now())).block();
+        jackpotRepository.save(new Jackpot("JP-4", BigDecimal.valueOf(500.00), BigDecimal.valueOf(500.00), new JackpotConfig(
+                ContributionStrategyType.VARIABLE_CONTRIBUTION_STRATEGY,
+                RewardStrategyType.VARIABLE_CHANCE_REWARD_STRATEGY,
+                0, 0.05, 0.0001, 0, 0.00001, 1000.0, BigDecimal.ONE
+        ), LocalDateTime.now())).block();
+
+        Map<String, ContributionStrategy> contributionStrategies = Map.of(
+                ContributionStrategyType.FIXED_CONTRIBUTION_STRATEGY.getValue(), new FixedContributionStrategy(),
+                ContributionStrategyType.VARIABLE_CONTRIBUTION_STRATEGY.getValue(), new VariableContributionStrategy());
+        Map<String, RewardStrategy> rewardStrategies = Map.of(
+                RewardStrategyType.FIXED_CHANCE_REWARD_STRATEGY.getValue(), new FixedChanceRewardStrategy(),
+                RewardStrategyType.VARIABLE_CHANCE_REWARD_STRATEGY.getValue(), new VariableChanceRewardStrategy());
+
+        JackpotService jackpotService = new JackpotService(jackpotRepository, new InMemJackpotContributionRepository(),
+                new InMemJackpotRewardRepository(), contributionStrategies, rewardStrategies);
+        kafkaConsumerService = new KafkaConsumerService(jackpotService);
+    }
+
+    @Benchmark
+    public void consumeBet() {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        Bet bet = new Bet("bet-" + random.nextLong(), "user-" + random.nextInt(1000), jackpot,
+                BigDecimal.valueOf(50.00), LocalDateTime.now());
+        kafkaConsumerService.consumeBet(bet).block();
+    }
+}
@@ -0,0 +1,85 @@
+package com.sportygroup.jackpot.benchmark;
+
+import com.sportygroup.jackpot.model.JackpotContribution;
+import com.sportygroup.jackpot.repository.InMemJackpotContributionRepository;
+import com.sportygroup.jackpot.repository.JackpotContributionRepository;
+import com.sportygroup.jackpot.repository.MappedJackpotContributionRepository;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.math.BigDecimal;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.Comparator;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Stream;
+
+/**
+ * Measures the append latency of the memory-mapped contribution ledger against the in-memory
+ * repository, with several threads appending concurrently.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@Threads(4)
+public class ContributionLedgerBenchmark {
+
+    @Param({"memory", "mapped"})
+    public String store;
+
+    private JackpotContributionRepository contributionRepository;
+    private Path ledgerDirectory;
+    private final AtomicLong betSequence = new AtomicLong();
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        if ("mapped".equals(store)) {
+            ledgerDirectory = Files.createTempDirectory("contribution-ledger");
+            contributionRepository = new MappedJackpotContributionRepository(ledgerDirectory, 262_144);
+        } else {
+            contributionRepository = new InMemJackpotContributionRepository();
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        if (ledgerDirectory != null) {
+            ((MappedJackpotContributionRepository) contributionRepository).close();
+            try (Stream<Path> files = Files.walk(ledgerDirectory)) {
+                files.sorted(Comparator.reverseOrder()).forEach(path -> {
+                    try {
+                        Files.delete(path);
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                });
+            }
+        }
+    }
+
+    @Benchmark
+    public JackpotContribution append() {
+        long sequence = betSequence.incrementAndGet();
+        return contributionRepository.save(new JackpotContribution("bet-" + sequence, "user-" + (sequence % 1000), "JP-1",
+                BigDecimal.valueOf(5000, 2), BigDecimal.valueOf(50, 2), BigDecimal.valueOf(100050, 2), LocalDateTime.now())).block();
+    }
+}
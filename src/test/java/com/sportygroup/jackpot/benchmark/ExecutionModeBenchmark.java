@@ -0,0 +1,138 @@
+package com.sportygroup.jackpot.benchmark;
+
+import com.sportygroup.jackpot.consumer.KafkaConsumerService;
+import com.sportygroup.jackpot.metrics.JackpotMetrics;
+import com.sportygroup.jackpot.model.Bet;
+import com.sportygroup.jackpot.model.Jackpot;
+import com.sportygroup.jackpot.model.JackpotConfig;
+import com.sportygroup.jackpot.model.enums.ContributionStrategyType;
+import com.sportygroup.jackpot.model.enums.ExecutionMode;
+import com.sportygroup.jackpot.model.enums.RewardStrategyType;
+import com.sportygroup.jackpot.producer.MockKafkaProducerService;
+import com.sportygroup.jackpot.repository.InMemBetRepository;
+import com.sportygroup.jackpot.repository.InMemJackpotContributionRepository;
+import com.sportygroup.jackpot.repository.InMemJackpotRepository;
+import com.sportygroup.jackpot.repository.InMemJackpotRewardRepository;
+import com.sportygroup.jackpot.service.BetService;
+import com.sportygroup.jackpot.service.JackpotService;
+import com.sportygroup.jackpot.service.contribution.ContributionStrategy;
+import com.sportygroup.jackpot.service.contribution.FixedContributionStrategy;
+import com.sportygroup.jackpot.service.execution.ExecutionSchedulers;
+import com.sportygroup.jackpot.service.reward.FixedChanceRewardStrategy;
+import com.sportygroup.jackpot.service.reward.RewardStrategy;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Measures `BetService.publishBet` through the mock producer, i.e. saving and settling a bet, with
+ * `CONCURRENT_BETS` bets in flight as an HTTP server would have, for each execution mode.
+ * `blockingMicros` adds a blocking round trip to every bet save: 0 is the in-memory store, 1000 stands in
+ * for a blocking persistence backend. The mode is used for both the repository and the settlement scheduler.
+ * With `event-loop`, all bets run one after another on the benchmark thread, as on a single event loop.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ExecutionModeBenchmark {
+
+    private static final int CONCURRENT_BETS = 256;
+
+    @Param({"event-loop", "parallel", "bounded-elastic", "virtual-threads"})
+    public String mode;
+
+    @Param({"0", "1000"})
+    public long blockingMicros;
+
+    private ExecutionSchedulers executionSchedulers;
+    private BetService betService;
+
+    @Setup(Level.Iteration)
+    public void setUp() {
+        InMemJackpotRepository jackpotRepository = new InMemJackpotRepository();
+        jackpotRepository.save(new Jackpot("JP-1", BigDecimal.valueOf(1000.00), BigDecimal.valueOf(1000.00), new JackpotConfig(
+                ContributionStrategyType.FIXED_CONTRIBUTION_STRATEGY,
+                RewardStrategyType.FIXED_CHANCE_REWARD_STRATEGY,
+                0.01, 0, 0, 0.001, 0, 0, BigDecimal.ZERO
+        ), LocalDateTime.now())).block();
+
+        Map<String, ContributionStrategy> contributionStrategies = Map.of(
+                ContributionStrategyType.FIXED_CONTRIBUTION_STRATEGY.getValue(), new FixedContributionStrategy());
+        Map<String, RewardStrategy> rewardStrategies = Map.of(
+                RewardStrategyType.FIXED_CHANCE_REWARD_STRATEGY.getValue(), new FixedChanceRewardStrategy());
+
+        JackpotService jackpotService = new JackpotService(jackpotRepository, new InMemJackpotContributionRepository(),
+                new InMemJackpotRewardRepository(), contributionStrategies, rewardStrategies);
+
+        ExecutionMode executionMode = ExecutionMode.fromValue(mode);
+        executionSchedulers = new ExecutionSchedulers(executionMode, executionMode);
+        betService = new BetService(
+                new BlockingBetRepository(blockingMicros),
+                new MockKafkaProducerService(new KafkaConsumerService(jackpotService), executionSchedulers.getSettlementScheduler()),
+                JackpotMetrics.disabled(),
+                executionSchedulers.getRepositoryScheduler());
+    }
+
+    @TearDown(Level.Iteration)
+    public void tearDown() {
+        executionSchedulers.dispose();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(CONCURRENT_BETS)
+    public void publishConcurrentBets() {
+        Flux.range(0, CONCURRENT_BETS)
+                .flatMap(i -> betService.publishBet(newBet()), CONCURRENT_BETS)
+                .blockLast();
+    }
+
+    private static Bet newBet() {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        return new Bet("bet-" + random.nextLong(), "user-" + random.nextInt(1000), "JP-1",
+                BigDecimal.valueOf(50.00), LocalDateTime.now());
+    }
+
+    /**
+     * An in-memory bet store whose saves first wait for a simulated blocking round trip.
+     */
+    private static final class BlockingBetRepository extends InMemBetRepository {
+        private final long blockingNanos;
+
+        private BlockingBetRepository(long blockingMicros) {
+            this.blockingNanos = TimeUnit.MICROSECONDS.toNanos(blockingMicros);
+        }
+
+        @Override
+        public Mono<Bet> save(Bet bet) {
+            return Mono.defer(() -> {
+                if (blockingNanos > 0) {
+                    LockSupport.parkNanos(blockingNanos);
+                }
+                return super.save(bet);
+            });
+        }
+    }
+}
@@ -0,0 +1,97 @@
+package com.sportygroup.jackpot.benchmark;
+
+import com.sportygroup.jackpot.model.JackpotContribution;
+import com.sportygroup.jackpot.model.JackpotReward;
+import com.sportygroup.jackpot.repository.InMemJackpotContributionRepository;
+import com.sportygroup.jackpot.repository.InMemJackpotRewardRepository;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures history lookups of the in-memory contribution and reward repositories for a growing
+ * number of stored records. With the secondary indexes the average time per lookup should stay
+ * flat from 10K up to 10M records; a scan-based lookup grows linearly with the history.
+ *
+ * The 10M case needs a large heap, hence the fork arguments.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = {"-Xms12g", "-Xmx12g"})
+public class HistoryLookupBenchmark {
+
+    private static final int JACKPOTS = 16;
+    private static final int RECORDS_PER_USER = 10;
+    private static final int CHUNK = 10_000;
+
+    @Param({"10000", "1000000", "10000000"})
+    public int records;
+
+    private InMemJackpotContributionRepository contributionRepository;
+    private InMemJackpotRewardRepository rewardRepository;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        contributionRepository = new InMemJackpotContributionRepository();
+        rewardRepository = new InMemJackpotRewardRepository();
+        LocalDateTime now = LocalDateTime.now();
+        BigDecimal amount = BigDecimal.ONE;
+
+        List<JackpotContribution> chunk = new ArrayList<>(CHUNK);
+        for (int i = 0; i < records; i++) {
+            chunk.add(new JackpotContribution("bet-" + i, "user-" + (i / RECORDS_PER_USER), "JP-" + (i % JACKPOTS),
+                    amount, amount, amount, now));
+            if (chunk.size() == CHUNK) {
+                contributionRepository.saveAll(chunk).blockLast();
+                chunk = new ArrayList<>(CHUNK);
+            }
+        }
+        if (!chunk.isEmpty()) {
+            contributionRepository.saveAll(chunk).blockLast();
+        }
+
+        // Rewards are rare compared to contributions; keep one per thousand bets.
+        for (int i = 0; i < records; i += 1000) {
+            rewardRepository.save(new JackpotReward("bet-" + i, "user-" + (i / RECORDS_PER_USER), "JP-" + (i % JACKPOTS), amount, now)).block();
+        }
+    }
+
+    @Benchmark
+    public List<JackpotContribution> contributionsByBetId() {
+        return contributionRepository.findByBetId("bet-" + ThreadLocalRandom.current().nextInt(records)).collectList().block();
+    }
+
+    @Benchmark
+    public List<JackpotContribution> contributionsByUserId() {
+        return contributionRepository.findByUserId("user-" + ThreadLocalRandom.current().nextInt(records / RECORDS_PER_USER)).collectList().block();
+    }
+
+    @Benchmark
+    public JackpotContribution firstContributionByJackpotId() {
+        return contributionRepository.findByJackpotId("JP-" + ThreadLocalRandom.current().nextInt(JACKPOTS)).blockFirst();
+    }
+
+    @Benchmark
+    public List<JackpotReward> rewardsByBetId() {
+        return rewardRepository.findByBetId("bet-" + ThreadLocalRandom.current().nextInt(records / 1000) * 1000).collectList().block();
+    }
+}
@@ -0,0 +1,81 @@
+package com.sportygroup.jackpot.benchmark;
+
+import com.sportygroup.jackpot.model.Jackpot;
+import com.sportygroup.jackpot.model.JackpotConfig;
+import com.sportygroup.jackpot.model.enums.ContributionStrategyType;
+import com.sportygroup.jackpot.model.enums.RewardStrategyType;
+import com.sportygroup.jackpot.repository.InMemJackpotRepository;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import reactor.core.publisher.Mono;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures `InMemJackpotRepository.update` on a single jackpot with 1, 4 and 16 contending threads.
+ * Updates that give up after exhausting their retries are counted as completed operations, so the
+ * throughput shows how much work the CAS loop and its back-off get through, not how much succeeds.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class JackpotUpdateBenchmark {
+
+    private static final String JACKPOT_ID = "JP-HOT";
+
+    private InMemJackpotRepository jackpotRepository;
+    private JackpotConfig config;
+    private LocalDateTime createdAt;
+
+    @Setup
+    public void setUp() {
+        jackpotRepository = new InMemJackpotRepository();
+        config = new JackpotConfig(
+                ContributionStrategyType.FIXED_CONTRIBUTION_STRATEGY,
+                RewardStrategyType.FIXED_CHANCE_REWARD_STRATEGY,
+                0.01, 0, 0, 0.001, 0, 0, BigDecimal.ZERO
+        );
+        createdAt = LocalDateTime.now();
+        jackpotRepository.save(new Jackpot(JACKPOT_ID, BigDecimal.valueOf(1000.00), BigDecimal.valueOf(1000.00), config, createdAt)).block();
+    }
+
+    @Benchmark
+    @Threads(1)
+    public Jackpot update1Thread() {
+        return update();
+    }
+
+    @Benchmark
+    @Threads(4)
+    public Jackpot update4Threads() {
+        return update();
+    }
+
+    @Benchmark
+    @Threads(16)
+    public Jackpot update16Threads() {
+        return update();
+    }
+
+    private Jackpot update() {
+        BigDecimal pool = BigDecimal.valueOf(1000 + ThreadLocalRandom.current().nextInt(1000));
+        return jackpotRepository.update(new Jackpot(JACKPOT_ID, pool, BigDecimal.valueOf(1000.00), config, createdAt))
+                .onErrorResume(IllegalStateException.class, e -> Mono.empty())
+                .block();
+    }
+}
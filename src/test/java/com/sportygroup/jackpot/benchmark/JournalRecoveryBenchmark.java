@@ -0,0 +1,93 @@
+package com.sportygroup.jackpot.benchmark;
+
+import com.sportygroup.jackpot.repository.journal.JackpotJournal;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.math.BigDecimal;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+/**
+ * Measures how long the JackpotJournal takes to recover 100K jackpots from 10M journal entries.
+ * With frequent snapshots recovery loads one snapshot and replays a short tail; without them the
+ * whole WAL is replayed, which is the worst case after a long outage of the snapshot thread.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 1)
+@Measurement(iterations = 5)
+@Fork(1)
+public class JournalRecoveryBenchmark {
+
+    private static final int JACKPOTS = 100_000;
+    private static final int ENTRIES = 10_000_000;
+
+    @Param({"1000000", "100000000"})
+    public long snapshotEveryEntries;
+
+    private Path journalDirectory;
+    private JackpotJournal recovered;
+
+    @Setup(Level.Trial)
+    public void writeJournal() throws IOException {
+        journalDirectory = Files.createTempDirectory("jackpot-journal");
+        JackpotJournal jackpotJournal = new JackpotJournal(journalDirectory, 65_536, 4096, snapshotEveryEntries);
+        BigDecimal delta = new BigDecimal("0.25");
+        List<CompletableFuture<Void>> pending = new ArrayList<>();
+        for (int i = 0; i < ENTRIES; i++) {
+            pending.add(jackpotJournal.appendDelta("JP-" + (i % JACKPOTS), delta));
+            if (pending.size() == 65_536) {
+                CompletableFuture.allOf(pending.toArray(new CompletableFuture[0])).join();
+                pending.clear();
+            }
+        }
+        CompletableFuture.allOf(pending.toArray(new CompletableFuture[0])).join();
+        // Leave the journal unclosed, as after a crash, so no final snapshot is taken.
+    }
+
+    @TearDown(Level.Iteration)
+    public void stopRecovered() {
+        // Only read the files: stopping the journal would write a final snapshot and change the next iteration.
+        recovered = null;
+    }
+
+    @TearDown(Level.Trial)
+    public void deleteJournal() throws IOException {
+        try (Stream<Path> files = Files.walk(journalDirectory)) {
+            files.sorted(Comparator.reverseOrder()).forEach(path -> {
+                try {
+                    Files.delete(path);
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+        }
+    }
+
+    @Benchmark
+    public JackpotJournal recover() {
+        recovered = new JackpotJournal(journalDirectory, 1024, 4096, Long.MAX_VALUE);
+        return recovered;
+    }
+}
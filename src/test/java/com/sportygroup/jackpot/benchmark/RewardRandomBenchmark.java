@@ -0,0 +1,91 @@
+package com.sportygroup.jackpot.benchmark;
+
+import com.sportygroup.jackpot.model.JackpotConfig;
+import com.sportygroup.jackpot.model.enums.ContributionStrategyType;
+import com.sportygroup.jackpot.model.enums.RewardStrategyType;
+import com.sportygroup.jackpot.service.reward.FixedChanceRewardStrategy;
+import com.sportygroup.jackpot.service.reward.RewardPlan;
+import com.sportygroup.jackpot.service.reward.ThreadLocalRandomProvider;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.math.BigDecimal;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures fixed-chance `checkWin` throughput with 1, 4 and 16 threads.
+ * The `shared*` methods draw from one `java.util.Random`, as the reward strategies used to, and stop scaling
+ * once the threads contend on its atomic seed. The `threadLocal*` methods call the compiled plan, which draws
+ * from a per-thread L64X128MixRandom stream, and should scale with the thread count up to the core count.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class RewardRandomBenchmark {
+
+    private static final double WIN_CHANCE = 0.001;
+
+    private final Random sharedRandom = new Random();
+    private final BigDecimal betAmount = BigDecimal.valueOf(50.00);
+    private final BigDecimal pool = BigDecimal.valueOf(1000.00);
+    private RewardPlan plan;
+
+    @Setup
+    public void setUp() {
+        JackpotConfig config = new JackpotConfig(
+                ContributionStrategyType.FIXED_CONTRIBUTION_STRATEGY,
+                RewardStrategyType.FIXED_CHANCE_REWARD_STRATEGY,
+                0.01, 0, 0, WIN_CHANCE, 0, 0, BigDecimal.ZERO
+        );
+        plan = new FixedChanceRewardStrategy(ThreadLocalRandomProvider.unseeded()).compile(config);
+    }
+
+    @Benchmark
+    @Threads(1)
+    public boolean shared1Thread() {
+        return sharedRandom.nextDouble() < WIN_CHANCE;
+    }
+
+    @Benchmark
+    @Threads(4)
+    public boolean shared4Threads() {
+        return sharedRandom.nextDouble() < WIN_CHANCE;
+    }
+
+    @Benchmark
+    @Threads(16)
+    public boolean shared16Threads() {
+        return sharedRandom.nextDouble() < WIN_CHANCE;
+    }
+
+    @Benchmark
+    @Threads(1)
+    public boolean threadLocal1Thread() {
+        return plan.checkWin(betAmount, pool);
+    }
+
+    @Benchmark
+    @Threads(4)
+    public boolean threadLocal4Threads() {
+        return plan.checkWin(betAmount, pool);
+    }
+
+    @Benchmark
+    @Threads(16)
+    public boolean threadLocal16Threads() {
+        return plan.checkWin(betAmount, pool);
+    }
+}
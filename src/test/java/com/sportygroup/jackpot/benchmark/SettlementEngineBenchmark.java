@@ -0,0 +1,106 @@
+package com.sportygroup.jackpot.benchmark;
+
+import com.sportygroup.jackpot.model.Bet;
+import com.sportygroup.jackpot.model.Jackpot;
+import com.sportygroup.jackpot.model.JackpotConfig;
+import com.sportygroup.jackpot.model.JackpotReward;
+import com.sportygroup.jackpot.model.enums.ContributionStrategyType;
+import com.sportygroup.jackpot.model.enums.RewardStrategyType;
+import com.sportygroup.jackpot.repository.InMemJackpotContributionRepository;
+import com.sportygroup.jackpot.repository.InMemJackpotRepository;
+import com.sportygroup.jackpot.repository.InMemJackpotRewardRepository;
+import com.sportygroup.jackpot.service.JackpotService;
+import com.sportygroup.jackpot.service.contribution.ContributionStrategy;
+import com.sportygroup.jackpot.service.contribution.FixedContributionStrategy;
+import com.sportygroup.jackpot.service.reward.FixedChanceRewardStrategy;
+import com.sportygroup.jackpot.service.reward.RewardStrategy;
+import com.sportygroup.jackpot.service.settlement.SettlementEngine;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import reactor.core.publisher.Mono;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures settlement throughput of the SettlementEngine for a growing number of shards.
+ * Each invocation settles a batch of bets spread evenly across many jackpots, so with enough
+ * cores the throughput should grow roughly linearly with the shard count.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class SettlementEngineBenchmark {
+
+    private static final int JACKPOTS = 256;
+    private static final int BATCH = 4096;
+
+    @Param({"1", "2", "4", "8"})
+    public int shards;
+
+    private SettlementEngine settlementEngine;
+    private List<Bet> bets;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        InMemJackpotRepository jackpotRepository = new InMemJackpotRepository();
+        JackpotConfig config = new JackpotConfig(
+                ContributionStrategyType.FIXED_CONTRIBUTION_STRATEGY,
+                RewardStrategyType.FIXED_CHANCE_REWARD_STRATEGY,
+                0.01, 0, 0, 0.001, 0, 0, BigDecimal.ZERO
+        );
+        for (int i = 0; i < JACKPOTS; i++) {
+            jackpotRepository.save(new Jackpot("JP-" + i, BigDecimal.valueOf(1000.00), BigDecimal.valueOf(1000.00), config, LocalDateTime.now())).block();
+        }
+
+        Map<String, ContributionStrategy> contributionStrategies = Map.of(
+                ContributionStrategyType.FIXED_CONTRIBUTION_STRATEGY.getValue(), new FixedContributionStrategy());
+        Map<String, RewardStrategy> rewardStrategies = Map.of(
+                RewardStrategyType.FIXED_CHANCE_REWARD_STRATEGY.getValue(), new FixedChanceRewardStrategy());
+
+        JackpotService jackpotService = new JackpotService(jackpotRepository, new InMemJackpotContributionRepository(),
+                new InMemJackpotRewardRepository(), contributionStrategies, rewardStrategies);
+        settlementEngine = new SettlementEngine(jackpotRepository, new InMemJackpotContributionRepository(),
+                new InMemJackpotRewardRepository(), jackpotService::planOf, shards, BATCH);
+
+        bets = new ArrayList<>(BATCH);
+        for (int i = 0; i < BATCH; i++) {
+            bets.add(new Bet("bet-" + i, "user-" + (i % 1000), "JP-" + (i % JACKPOTS), BigDecimal.valueOf(10.00), LocalDateTime.now()));
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        settlementEngine.shutdown();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(BATCH)
+    public void settleBatch() {
+        List<Mono<Optional<JackpotReward>>> settlements = new ArrayList<>(BATCH);
+        for (Bet bet : bets) {
+            settlements.add(settlementEngine.settle(bet));
+        }
+        Mono.when(settlements).block();
+    }
+}
@@ -0,0 +1,144 @@
+package com.sportygroup.jackpot.benchmark;
+
+import ch.qos.logback.classic.AsyncAppender;
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.LoggerContext;
+import ch.qos.logback.classic.encoder.PatternLayoutEncoder;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.Appender;
+import ch.qos.logback.core.OutputStreamAppender;
+import com.sportygroup.jackpot.model.Bet;
+import com.sportygroup.jackpot.model.BetSettlement;
+import com.sportygroup.jackpot.model.Jackpot;
+import com.sportygroup.jackpot.model.JackpotConfig;
+import com.sportygroup.jackpot.model.JackpotReward;
+import com.sportygroup.jackpot.model.enums.ContributionStrategyType;
+import com.sportygroup.jackpot.model.enums.RewardStrategyType;
+import com.sportygroup.jackpot.repository.InMemJackpotContributionRepository;
+import com.sportygroup.jackpot.repository.InMemJackpotRepository;
+import com.sportygroup.jackpot.repository.InMemJackpotRewardRepository;
+import com.sportygroup.jackpot.service.JackpotService;
+import com.sportygroup.jackpot.service.contribution.ContributionStrategy;
+import com.sportygroup.jackpot.service.contribution.FixedContributionStrategy;
+import com.sportygroup.jackpot.service.reward.FixedChanceRewardStrategy;
+import com.sportygroup.jackpot.service.reward.RewardStrategy;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.slf4j.LoggerFactory;
+
+import java.io.OutputStream;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the per-bet latency of contributing a bet and evaluating it for a reward, with the
+ * application loggers at INFO (per-bet messages gated off) and at DEBUG (every per-bet message written).
+ * Events are written to a discarding stream either directly on the settlement thread (`sync`) or
+ * through an AsyncAppender configured like logback-spring.xml (`async`), so the numbers reflect the
+ * cost paid by the caller rather than the speed of a terminal.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Threads(4)
+@Fork(1)
+public class SettlementLoggingBenchmark {
+
+    private static final int JACKPOTS = 16;
+
+    @Param({"INFO", "DEBUG"})
+    public String level;
+
+    @Param({"sync", "async"})
+    public String appender;
+
+    private JackpotService jackpotService;
+    private Appender<ILoggingEvent> installedAppender;
+
+    @Setup
+    public void setUp() {
+        LoggerContext loggerContext = (LoggerContext) LoggerFactory.getILoggerFactory();
+        Logger rootLogger = loggerContext.getLogger(org.slf4j.Logger.ROOT_LOGGER_NAME);
+        rootLogger.detachAndStopAllAppenders();
+        rootLogger.setLevel(Level.WARN);
+        loggerContext.getLogger("com.sportygroup.jackpot").setLevel(Level.toLevel(level));
+
+        PatternLayoutEncoder encoder = new PatternLayoutEncoder();
+        encoder.setContext(loggerContext);
+        encoder.setPattern("%d{yyyy-MM-dd'T'HH:mm:ss.SSSXXX} %5level [%thread] %logger{39} : %msg%n");
+        encoder.start();
+
+        OutputStreamAppender<ILoggingEvent> discardingAppender = new OutputStreamAppender<>();
+        discardingAppender.setContext(loggerContext);
+        discardingAppender.setEncoder(encoder);
+        discardingAppender.setOutputStream(OutputStream.nullOutputStream());
+        discardingAppender.start();
+
+        if ("async".equals(appender)) {
+            AsyncAppender asyncAppender = new AsyncAppender();
+            asyncAppender.setContext(loggerContext);
+            asyncAppender.setQueueSize(8192);
+            asyncAppender.setNeverBlock(true);
+            asyncAppender.setIncludeCallerData(false);
+            asyncAppender.addAppender(discardingAppender);
+            asyncAppender.start();
+            installedAppender = asyncAppender;
+        } else {
+            installedAppender = discardingAppender;
+        }
+        rootLogger.addAppender(installedAppender);
+
+        InMemJackpotRepository jackpotRepository = new InMemJackpotRepository();
+        JackpotConfig config = new JackpotConfig(
+                ContributionStrategyType.FIXED_CONTRIBUTION_STRATEGY,
+                RewardStrategyType.FIXED_CHANCE_REWARD_STRATEGY,
+                0.01, 0, 0, 0.001, 0, 0, BigDecimal.ZERO
+        );
+        for (int i = 0; i < JACKPOTS; i++) {
+            jackpotRepository.save(new Jackpot("JP-" + i, BigDecimal.valueOf(1000.00), BigDecimal.valueOf(1000.00), config, LocalDateTime.now())).block();
+        }
+
+        Map<String, ContributionStrategy> contributionStrategies = Map.of(
+                ContributionStrategyType.FIXED_CONTRIBUTION_STRATEGY.getValue(), new FixedContributionStrategy());
+        Map<String, RewardStrategy> rewardStrategies = Map.of(
+                RewardStrategyType.FIXED_CHANCE_REWARD_STRATEGY.getValue(), new FixedChanceRewardStrategy());
+
+        jackpotService = new JackpotService(jackpotRepository, new InMemJackpotContributionRepository(),
+                new InMemJackpotRewardRepository(), contributionStrategies, rewardStrategies);
+    }
+
+    @TearDown
+    public void tearDown() {
+        LoggerContext loggerContext = (LoggerContext) LoggerFactory.getILoggerFactory();
+        loggerContext.getLogger(org.slf4j.Logger.ROOT_LOGGER_NAME).detachAppender(installedAppender);
+        installedAppender.stop();
+    }
+
+    @Benchmark
+    public Optional<JackpotReward> settleBet() {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        Bet bet = new Bet("bet-" + random.nextLong(), "user-" + random.nextInt(1000), "JP-" + random.nextInt(JACKPOTS),
+                BigDecimal.valueOf(10.00), LocalDateTime.now());
+        return jackpotService.settle(bet)
+                .map(BetSettlement::getReward)
+                .block();
+    }
+}
@@ -0,0 +1,119 @@
+package com.sportygroup.jackpot.benchmark;
+
+import com.sportygroup.jackpot.model.JackpotConfig;
+import com.sportygroup.jackpot.model.enums.ContributionStrategyType;
+import com.sportygroup.jackpot.model.enums.RewardStrategyType;
+import com.sportygroup.jackpot.service.contribution.ContributionPlan;
+import com.sportygroup.jackpot.service.contribution.FixedContributionStrategy;
+import com.sportygroup.jackpot.service.contribution.VariableContributionStrategy;
+import com.sportygroup.jackpot.service.reward.FixedChanceRewardStrategy;
+import com.sportygroup.jackpot.service.reward.RewardPlan;
+import com.sportygroup.jackpot.service.reward.VariableChanceRewardStrategy;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.math.BigDecimal;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the throughput of the contribution and reward strategies for different pool sizes.
+ * The configs are those of the default jackpots JP-1 (fixed) and JP-3 (variable); with JP-3's
+ * 100,000 chance limit, the largest pool exercises the variable reward's 100% shortcut.
+ * The `*Plan` methods call the plans compiled once in setup, as settlement does; the others go through
+ * the strategies' per-call entry points, which compile the config on every call.
+ * Run with `-prof gc` to see the allocations per call.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class StrategyBenchmark {
+
+    @Param({"500", "50000", "5000000"})
+    public String poolSize;
+
+    private final FixedContributionStrategy fixedContributionStrategy = new FixedContributionStrategy();
+    private final VariableContributionStrategy variableContributionStrategy = new VariableContributionStrategy();
+    private final FixedChanceRewardStrategy fixedChanceRewardStrategy = new FixedChanceRewardStrategy();
+    private final VariableChanceRewardStrategy variableChanceRewardStrategy = new VariableChanceRewardStrategy();
+
+    private BigDecimal betAmount;
+    private BigDecimal pool;
+    private JackpotConfig fixedConfig;
+    private JackpotConfig variableConfig;
+    private ContributionPlan fixedContributionPlan;
+    private ContributionPlan variableContributionPlan;
+    private RewardPlan fixedChanceRewardPlan;
+    private RewardPlan variableChanceRewardPlan;
+
+    @Setup
+    public void setUp() {
+        betAmount = BigDecimal.valueOf(50.00);
+        pool = new BigDecimal(poolSize);
+        fixedConfig = new JackpotConfig(
+                ContributionStrategyType.FIXED_CONTRIBUTION_STRATEGY,
+                RewardStrategyType.FIXED_CHANCE_REWARD_STRATEGY,
+                0.01, 0, 0, 0.001, 0, 0, BigDecimal.ZERO
+        );
+        variableConfig = new JackpotConfig(
+                ContributionStrategyType.VARIABLE_CONTRIBUTION_STRATEGY,
+                RewardStrategyType.VARIABLE_CHANCE_REWARD_STRATEGY,
+                0, 0.05, 0.0001, 0, 0.00001, 0.000001, BigDecimal.valueOf(100000.00)
+        );
+        fixedContributionPlan = fixedContributionStrategy.compile(fixedConfig);
+        variableContributionPlan = variableContributionStrategy.compile(variableConfig);
+        fixedChanceRewardPlan = fixedChanceRewardStrategy.compile(fixedConfig);
+        variableChanceRewardPlan = variableChanceRewardStrategy.compile(variableConfig);
+    }
+
+    @Benchmark
+    public BigDecimal fixedContribution() {
+        return fixedContributionStrategy.calculateContribution(betAmount, pool, fixedConfig);
+    }
+
+    @Benchmark
+    public BigDecimal variableContribution() {
+        return variableContributionStrategy.calculateContribution(betAmount, pool, variableConfig);
+    }
+
+    @Benchmark
+    public boolean fixedChanceReward() {
+        return fixedChanceRewardStrategy.checkWin(betAmount, pool, fixedConfig);
+    }
+
+    @Benchmark
+    public boolean variableChanceReward() {
+        return variableChanceRewardStrategy.checkWin(betAmount, pool, variableConfig);
+    }
+
+    @Benchmark
+    public BigDecimal fixedContributionPlan() {
+        return fixedContributionPlan.calculateContribution(betAmount, pool);
+    }
+
+    @Benchmark
+    public BigDecimal variableContributionPlan() {
+        return variableContributionPlan.calculateContribution(betAmount, pool);
+    }
+
+    @Benchmark
+    public boolean fixedChanceRewardPlan() {
+        return fixedChanceRewardPlan.checkWin(betAmount, pool);
+    }
+
+    @Benchmark
+    public boolean variableChanceRewardPlan() {
+        return variableChanceRewardPlan.checkWin(betAmount, pool);
+    }
+}
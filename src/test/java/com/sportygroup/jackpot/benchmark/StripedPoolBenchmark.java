@@ -0,0 +1,145 @@
+package com.sportygroup.jackpot.benchmark;
+
+import com.sportygroup.jackpot.metrics.JackpotMetrics;
+import com.sportygroup.jackpot.model.Jackpot;
+import com.sportygroup.jackpot.model.JackpotConfig;
+import com.sportygroup.jackpot.model.enums.ContributionStrategyType;
+import com.sportygroup.jackpot.model.enums.PoolCounterType;
+import com.sportygroup.jackpot.model.enums.RewardStrategyType;
+import com.sportygroup.jackpot.repository.InMemJackpotRepository;
+import com.sportygroup.jackpot.repository.PoolTransition;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures contributions to a single hot jackpot with 1, 4 and 16 threads, for both pool counter types.
+ *
+ * - `contribute*` adds to the pool without reading it. STRIPED should scale close to linearly with the
+ *   thread count, while ATOMIC_REFERENCE flattens out as every thread retries its CAS on one map entry.
+ * - `settle*` reads the pool and contributes in one `transitionPool`, like a bet with a variable chance
+ *   reward, resetting it every 50.00. With `maxStalenessMillis=0` every read of a STRIPED pool sums all
+ *   counter cells; with 1 ms the sum is reused within the round, which keeps reads off the contended cells.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class StripedPoolBenchmark {
+
+    private static final String JACKPOT_ID = "JP-HOT";
+    private static final BigDecimal CONTRIBUTION = new BigDecimal("0.25");
+    private static final BigDecimal INITIAL_POOL = new BigDecimal("1000.00");
+    private static final BigDecimal RESET_THRESHOLD = new BigDecimal("1050.00");
+
+    @Param({"ATOMIC_REFERENCE", "STRIPED"})
+    public PoolCounterType poolCounterType;
+
+    @Param({"0", "1"})
+    public long maxStalenessMillis;
+
+    private InMemJackpotRepository jackpotRepository;
+
+    @Setup
+    public void setUp() {
+        jackpotRepository = new InMemJackpotRepository(JackpotMetrics.disabled(), Duration.ofMillis(maxStalenessMillis));
+        JackpotConfig config = new JackpotConfig(
+                ContributionStrategyType.FIXED_CONTRIBUTION_STRATEGY,
+                RewardStrategyType.FIXED_CHANCE_REWARD_STRATEGY,
+                0.01, 0, 0, 0.001, 0, 0, BigDecimal.ZERO
+        );
+        config.setPoolCounterType(poolCounterType);
+        jackpotRepository.save(new Jackpot(JACKPOT_ID, INITIAL_POOL, INITIAL_POOL, config, LocalDateTime.now())).block();
+    }
+
+    @Benchmark
+    @Threads(1)
+    public Jackpot contribute1Thread() {
+        return contribute();
+    }
+
+    @Benchmark
+    @Threads(4)
+    public Jackpot contribute4Threads() {
+        return contribute();
+    }
+
+    @Benchmark
+    @Threads(16)
+    public Jackpot contribute16Threads() {
+        return contribute();
+    }
+
+    @Benchmark
+    @Threads(1)
+    public Settlement settle1Thread() {
+        return settle();
+    }
+
+    @Benchmark
+    @Threads(4)
+    public Settlement settle4Threads() {
+        return settle();
+    }
+
+    @Benchmark
+    @Threads(16)
+    public Settlement settle16Threads() {
+        return settle();
+    }
+
+    private Jackpot contribute() {
+        return jackpotRepository.addToPool(JACKPOT_ID, CONTRIBUTION).block();
+    }
+
+    private Settlement settle() {
+        return jackpotRepository.transitionPool(JACKPOT_ID, Settlement::new).block();
+    }
+
+    /**
+     * Contributes a fixed amount and resets the pool once it reaches the threshold.
+     */
+    public static final class Settlement implements PoolTransition {
+        private final BigDecimal observedPool;
+        private final BigDecimal newPool;
+        private final boolean reset;
+
+        private Settlement(Jackpot jackpot) {
+            this.observedPool = jackpot.getCurrentPoolAmount();
+            BigDecimal poolAfterContribution = observedPool.add(CONTRIBUTION);
+            this.reset = poolAfterContribution.compareTo(RESET_THRESHOLD) >= 0;
+            this.newPool = reset ? jackpot.getInitialPoolValue() : poolAfterContribution;
+        }
+
+        @Override
+        public BigDecimal getObservedPool() {
+            return observedPool;
+        }
+
+        @Override
+        public BigDecimal getNewPool() {
+            return newPool;
+        }
+
+        @Override
+        public boolean isReset() {
+            return reset;
+        }
+    }
+}
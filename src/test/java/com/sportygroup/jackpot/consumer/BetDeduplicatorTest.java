@@ -0,0 +1,81 @@
+package com.sportygroup.jackpot.consumer;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Unit tests for BetDeduplicator.
+ * Uses a manual clock so generation rotation is deterministic.
+ */
+public class BetDeduplicatorTest {
+
+    private final AtomicLong nanoTime = new AtomicLong();
+    private BetDeduplicator betDeduplicator;
+
+    @BeforeEach
+    void setUp() {
+        betDeduplicator = new BetDeduplicator(Duration.ofMinutes(10), 4, 1 << 20, 5, 1 << 16, nanoTime::get);
+    }
+
+    @Test
+    void testRedeliveryIsDropped() {
+        assertTrue(betDeduplicator.markDelivered("bet-1"));
+        assertFalse(betDeduplicator.markDelivered("bet-1"));
+        assertTrue(betDeduplicator.markDelivered("bet-2"));
+        assertEquals(1, betDeduplicator.getDuplicateCount());
+    }
+
+    @Test
+    void testDuplicatesAreExported() {
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        betDeduplicator.bindTo(registry);
+
+        betDeduplicator.markDelivered("bet-1");
+        betDeduplicator.markDelivered("bet-1");
+
+        assertEquals(1, registry.get("jackpot.dedup.duplicates").functionCounter().count());
+        assertEquals(0, registry.get("jackpot.dedup.unconfirmed.hits").functionCounter().count());
+    }
+
+    @Test
+    void testDistinctBetsAreNeverDropped() {
+        for (int i = 0; i < 100_000; i++) {
+            assertTrue(betDeduplicator.markDelivered(UUID.randomUUID().toString()));
+        }
+        assertEquals(0, betDeduplicator.getDuplicateCount());
+    }
+
+    @Test
+    void testForgottenBetIsProcessedAgain() {
+        betDeduplicator.markDelivered("bet-1");
+        betDeduplicator.forget("bet-1");
+
+        assertTrue(betDeduplicator.markDelivered("bet-1"));
+        assertFalse(betDeduplicator.markDelivered("bet-1"));
+    }
+
+    @Test
+    void testBetIsRememberedForTheWindow() {
+        betDeduplicator.markDelivered("bet-1");
+
+        nanoTime.addAndGet(Duration.ofMinutes(7).toNanos());
+        assertFalse(betDeduplicator.markDelivered("bet-1"));
+    }
+
+    @Test
+    void testBetIsForgottenAfterTheWindow() {
+        betDeduplicator.markDelivered("bet-1");
+
+        nanoTime.addAndGet(Duration.ofMinutes(11).toNanos());
+        assertTrue(betDeduplicator.markDelivered("bet-1"));
+    }
+}
@@ -0,0 +1,176 @@
+package com.sportygroup.jackpot.consumer;
+
+import com.sportygroup.jackpot.model.Bet;
+import com.sportygroup.jackpot.model.BetOutcome;
+import com.sportygroup.jackpot.model.BetSettlement;
+import com.sportygroup.jackpot.model.JackpotContribution;
+import com.sportygroup.jackpot.model.JackpotReward;
+import com.sportygroup.jackpot.repository.InMemBetOutcomeRepository;
+import com.sportygroup.jackpot.service.JackpotService;
+import com.sportygroup.jackpot.service.SettlementCommittedException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Unit tests for KafkaConsumerService with a BetDeduplicator and a BetOutcomeRepository.
+ */
+public class KafkaConsumerServiceTest {
+
+    @Mock
+    private JackpotService jackpotService;
+
+    private InMemBetOutcomeRepository betOutcomeRepository;
+    private KafkaConsumerService kafkaConsumerService;
+    private Bet bet;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        betOutcomeRepository = new InMemBetOutcomeRepository();
+        kafkaConsumerService = new KafkaConsumerService(jackpotService, null,
+                new BetDeduplicator(Duration.ofMinutes(10), 4, 1 << 16, 5, 1 << 10), betOutcomeRepository);
+        bet = new Bet("bet-1", "user-1", "JP-1", BigDecimal.valueOf(100), LocalDateTime.now());
+    }
+
+    @Test
+    void testRedeliveredBetIsSettledOnce() {
+        when(jackpotService.settle(bet)).thenReturn(Mono.just(new BetSettlement(null, null)));
+
+        StepVerifier.create(kafkaConsumerService.consumeBet(bet)).verifyComplete();
+        StepVerifier.create(kafkaConsumerService.consumeBet(bet)).verifyComplete();
+
+        verify(jackpotService, times(1)).settle(bet);
+    }
+
+    @Test
+    void testFailedBetIsSettledAgainOnRedelivery() {
+        when(jackpotService.settle(bet))
+                .thenReturn(Mono.error(new IllegalArgumentException("No matching jackpot found for ID: JP-1")))
+                .thenReturn(Mono.just(new BetSettlement(null, null)));
+
+        StepVerifier.create(kafkaConsumerService.consumeBet(bet)).verifyError(IllegalArgumentException.class);
+        StepVerifier.create(kafkaConsumerService.consumeBet(bet)).verifyComplete();
+
+        verify(jackpotService, times(2)).settle(bet);
+    }
+
+    @Test
+    void testBetWhosePoolChangeCommittedIsNotSettledAgain() {
+        when(jackpotService.settle(bet))
+                .thenReturn(Mono.error(new SettlementCommittedException(1, new IllegalStateException("Store unavailable"))))
+                .thenReturn(Mono.just(new BetSettlement(null, null)));
+
+        StepVerifier.create(kafkaConsumerService.consumeBet(bet)).verifyError(SettlementCommittedException.class);
+        StepVerifier.create(kafkaConsumerService.consumeBet(bet)).verifyComplete();
+
+        verify(jackpotService, times(1)).settle(bet);
+    }
+
+    @Test
+    void testSettledOutcomeIsIndexed() {
+        JackpotReward reward = new JackpotReward("bet-1", "user-1", "JP-1", BigDecimal.valueOf(1001), LocalDateTime.now());
+        when(jackpotService.settle(bet)).thenReturn(Mono.just(new BetSettlement(
+                new JackpotContribution("bet-1", "user-1", "JP-1", BigDecimal.valueOf(100), BigDecimal.ONE, BigDecimal.valueOf(1001), LocalDateTime.now()),
+                reward)));
+
+        StepVerifier.create(kafkaConsumerService.consumeBet(bet)).verifyComplete();
+
+        StepVerifier.create(betOutcomeRepository.findByBetId("bet-1"))
+                .expectNextMatches(outcome -> outcome.isWon() && outcome.getRewardAmount().compareTo(BigDecimal.valueOf(1001)) == 0)
+                .verifyComplete();
+    }
+
+    @Test
+    void testFailedBetHasNoOutcome() {
+        when(jackpotService.settle(bet)).thenReturn(Mono.error(new IllegalArgumentException("No matching jackpot found for ID: JP-1")));
+
+        StepVerifier.create(kafkaConsumerService.consumeBet(bet)).verifyError(IllegalArgumentException.class);
+
+        StepVerifier.create(betOutcomeRepository.findByBetId("bet-1")).verifyComplete();
+    }
+
+    @Test
+    void testBatchOutcomesAreIndexed() {
+        Bet secondBet = new Bet("bet-2", "user-2", "JP-1", BigDecimal.valueOf(100), LocalDateTime.now());
+        JackpotReward reward = new JackpotReward("bet-2", "user-2", "JP-1", BigDecimal.valueOf(1002), LocalDateTime.now());
+        when(jackpotService.settle(eq("JP-1"), anyList())).thenReturn(Flux.just(Optional.empty(), Optional.of(reward)));
+
+        StepVerifier.create(kafkaConsumerService.consumeBets(List.of(bet, secondBet))).verifyComplete();
+
+        StepVerifier.create(betOutcomeRepository.findByBetId("bet-1"))
+                .expectNextMatches(outcome -> !outcome.isWon() && outcome.getRewardAmount() == null)
+                .verifyComplete();
+        StepVerifier.create(betOutcomeRepository.findByBetId("bet-2"))
+                .expectNextMatches(BetOutcome::isWon)
+                .verifyComplete();
+    }
+
+    @Test
+    void testRepeatsInsideABatchAreDropped() {
+        when(jackpotService.settle(eq("JP-1"), anyList())).thenReturn(Flux.just(Optional.empty()));
+
+        StepVerifier.create(kafkaConsumerService.consumeBets(List.of(bet, bet))).verifyComplete();
+
+        verify(jackpotService, times(1)).settle("JP-1", List.of(bet));
+    }
+
+    @Test
+    void testFailedGroupFailsBatchAndIsSettledAgainOnRedelivery() {
+        Bet otherJackpotBet = new Bet("bet-2", "user-2", "JP-2", BigDecimal.valueOf(100), LocalDateTime.now());
+        when(jackpotService.settle(eq("JP-1"), anyList()))
+                .thenReturn(Flux.error(new IllegalArgumentException("No matching jackpot found for ID: JP-1")))
+                .thenReturn(Flux.just(Optional.empty()));
+        when(jackpotService.settle(eq("JP-2"), anyList())).thenReturn(Flux.just(Optional.empty()));
+
+        StepVerifier.create(kafkaConsumerService.consumeBets(List.of(bet, otherJackpotBet))).verifyError(IllegalArgumentException.class);
+        StepVerifier.create(kafkaConsumerService.consumeBets(List.of(bet, otherJackpotBet))).verifyComplete();
+
+        verify(jackpotService, times(2)).settle("JP-1", List.of(bet));
+        verify(jackpotService, times(1)).settle("JP-2", List.of(otherJackpotBet));
+        StepVerifier.create(betOutcomeRepository.findByBetId("bet-2")).expectNextCount(1).verifyComplete();
+    }
+
+    @Test
+    void testOnlyUnsettledBetsOfAFailedGroupAreSettledAgain() {
+        Bet secondBet = new Bet("bet-2", "user-2", "JP-1", BigDecimal.valueOf(100), LocalDateTime.now());
+        when(jackpotService.settle(eq("JP-1"), anyList()))
+                .thenReturn(Flux.concat(Flux.just(Optional.empty()), Flux.error(new IllegalStateException("Store unavailable"))))
+                .thenReturn(Flux.just(Optional.empty()));
+
+        StepVerifier.create(kafkaConsumerService.consumeBets(List.of(bet, secondBet))).verifyError(IllegalStateException.class);
+        StepVerifier.create(kafkaConsumerService.consumeBets(List.of(bet, secondBet))).verifyComplete();
+
+        verify(jackpotService, times(1)).settle("JP-1", List.of(secondBet));
+    }
+
+    @Test
+    void testCommittedBetsOfAFailedGroupAreNotSettledAgain() {
+        Bet secondBet = new Bet("bet-2", "user-2", "JP-1", BigDecimal.valueOf(100), LocalDateTime.now());
+        Bet thirdBet = new Bet("bet-3", "user-3", "JP-1", BigDecimal.valueOf(100), LocalDateTime.now());
+        when(jackpotService.settle(eq("JP-1"), anyList()))
+                .thenReturn(Flux.error(new SettlementCommittedException(2, new IllegalStateException("Store unavailable"))))
+                .thenReturn(Flux.just(Optional.empty()));
+
+        StepVerifier.create(kafkaConsumerService.consumeBets(List.of(bet, secondBet, thirdBet))).verifyError(SettlementCommittedException.class);
+        StepVerifier.create(kafkaConsumerService.consumeBets(List.of(bet, secondBet, thirdBet))).verifyComplete();
+
+        verify(jackpotService, times(1)).settle("JP-1", List.of(thirdBet));
+    }
+}
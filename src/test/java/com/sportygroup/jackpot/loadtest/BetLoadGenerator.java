@@ -0,0 +1,336 @@
+package com.sportygroup.jackpot.loadtest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.Recorder;
+import org.springframework.http.MediaType;
+import org.springframework.http.client.reactive.ReactorClientHttpConnector;
+import org.springframework.web.reactive.function.client.WebClient;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
+import reactor.core.publisher.Mono;
+import reactor.netty.http.client.HttpClient;
+import reactor.netty.resources.ConnectionProvider;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.Supplier;
+
+/**
+ * Open-model load generator for a locally started jackpot service.
+ *
+ * Bets are posted to `POST /api/bets` and previously accepted bets are evaluated through
+ * `GET /api/jackpots/evaluate-reward`, each at its own fixed arrival rate. Requests are scheduled at
+ * their intended start times regardless of how fast the service answers; if the service falls behind,
+ * the backlog shows up as latency instead of silently lowering the offered load. Latencies are
+ * therefore recorded from the intended start time (corrected for coordinated omission) and, for
+ * comparison, from the actual send time (service time only).
+ *
+ * Jackpots are picked with a Zipf distribution over the configured list, users uniformly. After the
+ * run, every jackpot's pool is reconciled with its contribution and reward history via
+ * `GET /api/jackpots/{jackpotId}/ledger`; the process exits with status 1 if any ledger does not balance.
+ *
+ * Options are passed as `--name=value`:
+ * <pre>
+ *   --base-url=http://localhost:8080   service under test
+ *   --bet-rate=500                     bets per second
+ *   --evaluate-rate=50                 reward evaluations per second, 0 to disable
+ *   --duration=60                      measured seconds
+ *   --warmup=10                        seconds of load before measuring
+ *   --users=10000                      number of distinct users
+ *   --jackpots=JP-1,JP-3               jackpots, most popular first
+ *   --zipf-exponent=1.1                jackpot skew, 0 for uniform
+ *   --poisson=false                    exponential instead of fixed inter-arrival times
+ *   --max-in-flight=10000              requests allowed to be outstanding at once
+ *   --settle-timeout=30                seconds to wait for the ledgers to balance after the run
+ * </pre>
+ * Example: start the application, then run this class from the test classpath, e.g.
+ * `mvn test-compile exec:java -Dexec.mainClass=com.sportygroup.jackpot.loadtest.BetLoadGenerator
+ * -Dexec.classpathScope=test -Dexec.args="--bet-rate=2000 --duration=120"`.
+ */
+public class BetLoadGenerator {
+
+    private static final long HIGHEST_TRACKABLE_LATENCY_NANOS = TimeUnit.MINUTES.toNanos(5);
+    private static final int RECENT_BETS = 1 << 16;
+
+    private final WebClient webClient;
+    private final Map<String, String> options;
+    private final List<String> jackpotIds;
+    private final ZipfSampler jackpotSampler;
+    private final int users;
+    private final boolean poisson;
+    private final int maxInFlight;
+    private final Semaphore inFlight;
+
+    private final AtomicReferenceArray<String> recentBetIds = new AtomicReferenceArray<>(RECENT_BETS);
+    private final AtomicLong acceptedBets = new AtomicLong();
+    private final Map<String, LongAdder> acceptedBetsByJackpot = new ConcurrentHashMap<>();
+
+    private final OperationStats betStats = new OperationStats("POST /api/bets");
+    private final OperationStats evaluateStats = new OperationStats("GET /api/jackpots/evaluate-reward");
+
+    BetLoadGenerator(Map<String, String> options) {
+        this.options = options;
+        this.jackpotIds = Arrays.asList(option("jackpots", "JP-1,JP-3").split(","));
+        this.jackpotSampler = new ZipfSampler(jackpotIds.size(), Double.parseDouble(option("zipf-exponent", "1.1")));
+        this.users = Integer.parseInt(option("users", "10000"));
+        this.poisson = Boolean.parseBoolean(option("poisson", "false"));
+        this.maxInFlight = Integer.parseInt(option("max-in-flight", "10000"));
+        this.inFlight = new Semaphore(maxInFlight);
+        ConnectionProvider connectionProvider = ConnectionProvider.builder("bet-load-generator")
+                .maxConnections(Math.min(maxInFlight, 1024))
+                .pendingAcquireMaxCount(-1)
+                .build();
+        this.webClient = WebClient.builder()
+                .baseUrl(option("base-url", "http://localhost:8080"))
+                .clientConnector(new ReactorClientHttpConnector(HttpClient.create(connectionProvider)))
+                .build();
+        for (String jackpotId : jackpotIds) {
+            acceptedBetsByJackpot.put(jackpotId, new LongAdder());
+        }
+    }
+
+    public static void main(String[] args) throws Exception {
+        Map<String, String> options = new HashMap<>();
+        for (String arg : args) {
+            if (!arg.startsWith("--") || !arg.contains("=")) {
+                throw new IllegalArgumentException("Expected --name=value but got: " + arg);
+            }
+            options.put(arg.substring(2, arg.indexOf('=')), arg.substring(arg.indexOf('=') + 1));
+        }
+        boolean balanced = new BetLoadGenerator(options).run();
+        System.exit(balanced ? 0 : 1);
+    }
+
+    /**
+     * Runs the warmup and the measured phase, prints the latency report and reconciles the ledgers.
+     * @return True if every jackpot's ledger balanced.
+     */
+    boolean run() throws InterruptedException {
+        double betRate = Double.parseDouble(option("bet-rate", "500"));
+        double evaluateRate = Double.parseDouble(option("evaluate-rate", "50"));
+        Duration warmup = Duration.ofSeconds(Long.parseLong(option("warmup", "10")));
+        Duration duration = Duration.ofSeconds(Long.parseLong(option("duration", "60")));
+
+        System.out.printf("Offering %.0f bets/s and %.0f evaluations/s for %ds (+%ds warmup) on %s, Zipf exponent %s over %s%n",
+                betRate, evaluateRate, duration.toSeconds(), warmup.toSeconds(), option("base-url", "http://localhost:8080"),
+                option("zipf-exponent", "1.1"), jackpotIds);
+
+        long startNanos = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(100);
+        long measureFromNanos = startNanos + warmup.toNanos();
+        long endNanos = measureFromNanos + duration.toNanos();
+
+        List<Thread> drivers = new ArrayList<>();
+        drivers.add(startDriver("bet-driver", betRate, startNanos, endNanos, this::postBet, betStats));
+        if (evaluateRate > 0) {
+            drivers.add(startDriver("evaluate-driver", evaluateRate, startNanos, endNanos, this::evaluateReward, evaluateStats));
+        }
+
+        sleepUntil(measureFromNanos);
+        betStats.startMeasuring();
+        evaluateStats.startMeasuring();
+
+        for (Thread driver : drivers) {
+            driver.join();
+        }
+        if (!inFlight.tryAcquire(maxInFlight, 60, TimeUnit.SECONDS)) {
+            System.out.println("Some requests did not complete within 60s after the run; their latency is not reported.");
+        }
+        double measuredSeconds = duration.toNanos() / 1e9;
+        betStats.report(measuredSeconds);
+        if (evaluateRate > 0) {
+            evaluateStats.report(measuredSeconds);
+        }
+        return reconcileLedgers(Duration.ofSeconds(Long.parseLong(option("settle-timeout", "30"))));
+    }
+
+    /**
+     * Starts a thread issuing requests at their intended start times until the end of the run.
+     * The thread only waits for a free in-flight slot, never for responses, so the arrival schedule is kept
+     * even when the service slows down. A request supplier returning null skips its slot.
+     */
+    private Thread startDriver(String name, double ratePerSecond, long startNanos, long endNanos,
+                               Supplier<Mono<?>> request, OperationStats stats) {
+        Thread driver = new Thread(() -> {
+            double meanIntervalNanos = 1e9 / ratePerSecond;
+            double intendedNanos = startNanos;
+            while (intendedNanos < endNanos) {
+                long intendedStart = (long) intendedNanos;
+                sleepUntil(intendedStart);
+                Mono<?> call = request.get();
+                if (call != null) {
+                    inFlight.acquireUninterruptibly();
+                    long sentAt = System.nanoTime();
+                    call.subscribe(
+                            response -> { },
+                            error -> {
+                                stats.record(intendedStart, sentAt, false);
+                                inFlight.release();
+                            },
+                            () -> {
+                                stats.record(intendedStart, sentAt, true);
+                                inFlight.release();
+                            });
+                }
+                intendedNanos += poisson
+                        ? -Math.log(1.0 - ThreadLocalRandom.current().nextDouble()) * meanIntervalNanos
+                        : meanIntervalNanos;
+            }
+        }, name);
+        driver.start();
+        return driver;
+    }
+
+    private Mono<?> postBet() {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        String jackpotId = jackpotIds.get(jackpotSampler.next());
+        Map<String, Object> body = Map.of(
+                "userId", "load-user-" + random.nextInt(users),
+                "jackpotId", jackpotId,
+                "betAmount", BigDecimal.valueOf(random.nextInt(100, 10_000), 2)
+        );
+        return webClient.post()
+                .uri("/api/bets")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(body)
+                .retrieve()
+                .bodyToMono(JsonNode.class)
+                .doOnNext(bet -> {
+                    recentBetIds.set((int) (acceptedBets.getAndIncrement() & (RECENT_BETS - 1)), bet.path("betId").asText());
+                    acceptedBetsByJackpot.get(jackpotId).increment();
+                });
+    }
+
+    private Mono<?> evaluateReward() {
+        long accepted = acceptedBets.get();
+        if (accepted == 0) {
+            return null;
+        }
+        int slot = (int) (ThreadLocalRandom.current().nextLong(Math.min(accepted, RECENT_BETS)));
+        String betId = recentBetIds.get(slot);
+        if (betId == null) {
+            return null;
+        }
+        return webClient.get()
+                .uri(uriBuilder -> uriBuilder.path("/api/jackpots/evaluate-reward").queryParam("betId", betId).build())
+                .retrieve()
+                .bodyToMono(JsonNode.class);
+    }
+
+    /**
+     * Polls the ledger of every jackpot until it balances or the timeout expires, then prints it.
+     * Contributions of the mock consumer may still be in flight right after the run, hence the polling.
+     */
+    private boolean reconcileLedgers(Duration timeout) {
+        System.out.println();
+        System.out.printf("%-10s %10s %18s %18s %14s %10s %s%n",
+                "jackpot", "accepted", "pool", "expected pool", "contributions", "rewards", "result");
+        boolean allBalanced = true;
+        long deadline = System.nanoTime() + timeout.toNanos();
+        for (String jackpotId : jackpotIds) {
+            JsonNode ledger = fetchLedger(jackpotId);
+            while (ledger != null && !ledger.path("balanced").asBoolean() && System.nanoTime() < deadline) {
+                LockSupport.parkNanos(TimeUnit.MILLISECONDS.toNanos(200));
+                ledger = fetchLedger(jackpotId);
+            }
+            if (ledger == null) {
+                System.out.printf("%-10s %10d %s%n", jackpotId, acceptedBetsByJackpot.get(jackpotId).sum(), "UNKNOWN JACKPOT");
+                allBalanced = false;
+                continue;
+            }
+            boolean balanced = ledger.path("balanced").asBoolean();
+            allBalanced &= balanced;
+            System.out.printf("%-10s %10d %18s %18s %14d %10d %s%n",
+                    jackpotId,
+                    acceptedBetsByJackpot.get(jackpotId).sum(),
+                    ledger.path("currentPoolAmount").decimalValue().setScale(2, RoundingMode.HALF_UP),
+                    ledger.path("expectedPoolAmount").decimalValue().setScale(2, RoundingMode.HALF_UP),
+                    ledger.path("contributionCount").asLong(),
+                    ledger.path("rewardCount").asLong(),
+                    balanced ? "BALANCED" : "MISMATCH");
+        }
+        return allBalanced;
+    }
+
+    private JsonNode fetchLedger(String jackpotId) {
+        return webClient.get()
+                .uri("/api/jackpots/{jackpotId}/ledger", jackpotId)
+                .retrieve()
+                .bodyToMono(JsonNode.class)
+                .onErrorResume(WebClientResponseException.NotFound.class, e -> Mono.empty())
+                .block(Duration.ofSeconds(30));
+    }
+
+    private static void sleepUntil(long deadlineNanos) {
+        long remaining;
+        while ((remaining = deadlineNanos - System.nanoTime()) > 0) {
+            LockSupport.parkNanos(remaining);
+        }
+    }
+
+    private String option(String name, String defaultValue) {
+        return options.getOrDefault(name, defaultValue);
+    }
+
+    /**
+     * Latency recorders and counters of one operation.
+     * Recorders are written concurrently by the response threads; `startMeasuring` discards the warmup.
+     */
+    private static final class OperationStats {
+        private final String name;
+        private final Recorder correctedLatency = new Recorder(HIGHEST_TRACKABLE_LATENCY_NANOS, 3);
+        private final Recorder serviceTime = new Recorder(HIGHEST_TRACKABLE_LATENCY_NANOS, 3);
+        private final LongAdder failures = new LongAdder();
+
+        private OperationStats(String name) {
+            this.name = name;
+        }
+
+        private void record(long intendedStart, long sentAt, boolean succeeded) {
+            long now = System.nanoTime();
+            correctedLatency.recordValue(Math.min(now - intendedStart, HIGHEST_TRACKABLE_LATENCY_NANOS));
+            serviceTime.recordValue(Math.min(now - sentAt, HIGHEST_TRACKABLE_LATENCY_NANOS));
+            if (!succeeded) {
+                failures.increment();
+            }
+        }
+
+        private void startMeasuring() {
+            correctedLatency.reset();
+            serviceTime.reset();
+            failures.reset();
+        }
+
+        private void report(double measuredSeconds) {
+            Histogram corrected = correctedLatency.getIntervalHistogram();
+            Histogram service = serviceTime.getIntervalHistogram();
+            System.out.println();
+            System.out.printf("%s: %d requests (%.1f/s), %d failed%n",
+                    name, corrected.getTotalCount(), corrected.getTotalCount() / measuredSeconds, failures.sum());
+            System.out.printf("  %-36s %10s %10s %10s %10s%n", "latency (ms)", "p50", "p99", "p99.9", "max");
+            printPercentiles("from intended start (CO-corrected)", corrected);
+            printPercentiles("from send (service time)", service);
+        }
+
+        private static void printPercentiles(String label, Histogram histogram) {
+            System.out.printf("  %-36s %10.2f %10.2f %10.2f %10.2f%n", label,
+                    histogram.getValueAtPercentile(50) / 1e6,
+                    histogram.getValueAtPercentile(99) / 1e6,
+                    histogram.getValueAtPercentile(99.9) / 1e6,
+                    histogram.getMaxValue() / 1e6);
+        }
+    }
+}
@@ -0,0 +1,45 @@
+package com.sportygroup.jackpot.loadtest;
+
+import java.util.Arrays;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Samples ranks 0..n-1 with Zipf-distributed probabilities: rank k is picked with a probability
+ * proportional to 1 / (k + 1)^exponent. An exponent of 0 gives a uniform distribution; larger
+ * exponents concentrate more traffic on the first ranks.
+ */
+class ZipfSampler {
+
+    private final double[] cumulativeProbabilities;
+
+    /**
+     * Creates a sampler over n ranks.
+     * @param n The number of ranks.
+     * @param exponent The skew of the distribution, 0 or greater.
+     */
+    ZipfSampler(int n, double exponent) {
+        if (n <= 0 || exponent < 0) {
+            throw new IllegalArgumentException("Zipf sampler needs at least one rank and a non-negative exponent");
+        }
+        cumulativeProbabilities = new double[n];
+        double total = 0;
+        for (int k = 0; k < n; k++) {
+            total += 1.0 / Math.pow(k + 1, exponent);
+            cumulativeProbabilities[k] = total;
+        }
+        for (int k = 0; k < n; k++) {
+            cumulativeProbabilities[k] /= total;
+        }
+    }
+
+    /**
+     * Draws a rank.
+     * @return A rank between 0 (most likely) and n-1.
+     */
+    int next() {
+        double u = ThreadLocalRandom.current().nextDouble();
+        int index = Arrays.binarySearch(cumulativeProbabilities, u);
+        int rank = index >= 0 ? index : -index - 1;
+        return Math.min(rank, cumulativeProbabilities.length - 1);
+    }
+}
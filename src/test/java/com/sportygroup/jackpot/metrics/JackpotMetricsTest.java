@@ -0,0 +1,93 @@
+package com.sportygroup.jackpot.metrics;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import java.math.BigDecimal;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+/**
+ * Tests for JackpotMetrics.
+ * Verifies per-jackpot counters and gauges, the bounded jackpot tag and the latency timers.
+ */
+public class JackpotMetricsTest {
+
+    private MeterRegistry meterRegistry;
+    private JackpotMetrics jackpotMetrics;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        jackpotMetrics = new JackpotMetrics(meterRegistry, 2);
+    }
+
+    @Test
+    void testContributionsAndWinsAreCountedPerJackpot() {
+        jackpotMetrics.recordContribution("JP-1", 1, new BigDecimal("0.50"), new BigDecimal("1000.50"));
+        jackpotMetrics.recordContribution("JP-1", 3, new BigDecimal("1.50"), new BigDecimal("1002.00"));
+        jackpotMetrics.recordWin("JP-1", new BigDecimal("1002.00"), new BigDecimal("1000.00"));
+
+        assertEquals(4, meterRegistry.get("jackpot.contributions").tag("jackpot", "JP-1").counter().count());
+        assertEquals(2.0, meterRegistry.get("jackpot.contributions.amount").tag("jackpot", "JP-1").counter().count());
+        assertEquals(1, meterRegistry.get("jackpot.wins").tag("jackpot", "JP-1").counter().count());
+        assertEquals(1000.0, meterRegistry.get("jackpot.pool.size").tag("jackpot", "JP-1").gauge().value());
+    }
+
+    @Test
+    void testJackpotsBeyondLimitShareOtherTag() {
+        jackpotMetrics.recordContribution("JP-1", 1, BigDecimal.ONE, BigDecimal.TEN);
+        jackpotMetrics.recordContribution("JP-2", 1, BigDecimal.ONE, BigDecimal.TEN);
+        jackpotMetrics.recordContribution("JP-3", 1, BigDecimal.ONE, BigDecimal.TEN);
+        jackpotMetrics.recordContribution("JP-4", 1, BigDecimal.ONE, BigDecimal.TEN);
+
+        assertEquals(3, meterRegistry.get("jackpot.contributions").counters().size());
+        assertEquals(2, meterRegistry.get("jackpot.contributions").tag("jackpot", JackpotMetrics.OTHER_JACKPOTS).counter().count());
+        assertEquals(2, meterRegistry.get("jackpot.pool.size").gauges().size());
+        assertNull(meterRegistry.find("jackpot.pool.size").tag("jackpot", "JP-3").gauge());
+    }
+
+    @Test
+    void testTimersRecordEachSubscription() {
+        StepVerifier.create(jackpotMetrics.timeSettlement(Mono.just("done")))
+                .expectNext("done")
+                .verifyComplete();
+        StepVerifier.create(jackpotMetrics.timeSettlement(Mono.error(new IllegalStateException("boom"))))
+                .expectError(IllegalStateException.class)
+                .verify();
+
+        assertEquals(2, meterRegistry.get("jackpot.settlement").timer().count());
+        assertEquals(0, meterRegistry.get("jackpot.bet.publish").timer().count());
+    }
+
+    @Test
+    void testCasCountersAreTaggedByOperation() {
+        jackpotMetrics.recordPoolUpdateRetry();
+        jackpotMetrics.recordPoolUpdateRetry();
+        jackpotMetrics.recordPoolUpdateFailure();
+        jackpotMetrics.recordPoolAddRetry();
+
+        assertEquals(2, meterRegistry.get("jackpot.pool.cas.retries").tag("operation", "update").counter().count());
+        assertEquals(1, meterRegistry.get("jackpot.pool.cas.retries").tag("operation", "addToPool").counter().count());
+        assertEquals(1, meterRegistry.get("jackpot.pool.cas.failures").counter().count());
+    }
+
+    @Test
+    void testAdmissionDecisionsAreCountedWithLimitGauges() {
+        jackpotMetrics.recordAdmission("JP-1", true, 20, 1);
+        jackpotMetrics.recordAdmission("JP-1", false, 20, 20);
+        jackpotMetrics.recordAdmission(null, false, 20, 20);
+
+        assertEquals(1, meterRegistry.get("jackpot.admission.decisions").tag("jackpot", "JP-1").tag("decision", "admitted").counter().count());
+        assertEquals(1, meterRegistry.get("jackpot.admission.decisions").tag("jackpot", "JP-1").tag("decision", "rejected").counter().count());
+        assertEquals(1, meterRegistry.get("jackpot.admission.decisions")
+                .tag("jackpot", JackpotMetrics.OTHER_JACKPOTS).tag("decision", "rejected").counter().count());
+        assertEquals(20.0, meterRegistry.get("jackpot.admission.limit").tag("jackpot", "JP-1").gauge().value());
+        assertEquals(20.0, meterRegistry.get("jackpot.admission.in.flight").tag("jackpot", "JP-1").gauge().value());
+    }
+}
@@ -0,0 +1,78 @@
+package com.sportygroup.jackpot.producer;
+
+import com.sportygroup.jackpot.model.Bet;
+import org.apache.kafka.clients.consumer.Consumer;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.clients.consumer.ConsumerRecords;
+import org.apache.kafka.clients.consumer.KafkaConsumer;
+import org.apache.kafka.common.serialization.StringDeserializer;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.kafka.test.EmbeddedKafkaBroker;
+import org.springframework.kafka.test.utils.KafkaTestUtils;
+import org.springframework.test.context.ActiveProfiles;
+import reactor.test.StepVerifier;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Integration tests for KafkaTemplateProducerService against the broker started by EmbeddedKafkaConfig.
+ */
+@SpringBootTest
+@ActiveProfiles({"local", "kafka"})
+public class KafkaTemplateProducerServiceTest {
+
+    @Autowired
+    private KafkaProducerService kafkaProducerService;
+
+    @Autowired
+    private EmbeddedKafkaBroker embeddedKafkaBroker;
+
+    @Test
+    void testPublishBetIsKeyedByJackpotIdAndOrdered() {
+        assertInstanceOf(KafkaTemplateProducerService.class, kafkaProducerService);
+
+        List<Bet> bets = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            bets.add(new Bet("producer-test-bet-" + i, "user-abc", "JP-1", BigDecimal.valueOf(10.00), LocalDateTime.now()));
+        }
+        for (Bet bet : bets) {
+            StepVerifier.create(kafkaProducerService.publishBet(bet))
+                    .verifyComplete();
+        }
+
+        Map<String, Object> consumerProps = KafkaTestUtils.consumerProps("producer-test-group", "false", embeddedKafkaBroker);
+        try (Consumer<String, String> consumer = new KafkaConsumer<>(consumerProps, new StringDeserializer(), new StringDeserializer())) {
+            embeddedKafkaBroker.consumeFromAnEmbeddedTopic(consumer, "jackpot-bets");
+
+            List<ConsumerRecord<String, String>> received = new ArrayList<>();
+            long deadline = System.currentTimeMillis() + 10_000;
+            while (received.size() < bets.size() && System.currentTimeMillis() < deadline) {
+                ConsumerRecords<String, String> records = consumer.poll(Duration.ofMillis(200));
+                records.forEach(record -> {
+                    if (record.value().contains("producer-test-bet-")) {
+                        received.add(record);
+                    }
+                });
+            }
+
+            assertEquals(bets.size(), received.size());
+            int partition = received.get(0).partition();
+            for (int i = 0; i < bets.size(); i++) {
+                assertEquals("JP-1", received.get(i).key());
+                assertEquals(partition, received.get(i).partition());
+                assertTrue(received.get(i).value().contains(bets.get(i).getBetId()));
+            }
+        }
+    }
+}
@@ -0,0 +1,100 @@
+package com.sportygroup.jackpot.repository;
+
+import com.sportygroup.jackpot.model.Bet;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Unit tests for BoundedBetRepository.
+ * Uses a manual ticker and a same-thread executor so eviction and expiry are deterministic.
+ */
+public class BoundedBetRepositoryTest {
+
+    private final AtomicLong nanos = new AtomicLong();
+    private final Map<String, Bet> archivedBets = new ConcurrentHashMap<>();
+
+    private BoundedBetRepository betRepository;
+
+    @BeforeEach
+    void setUp() {
+        BetArchive betArchive = new BetArchive() {
+            @Override
+            public void archive(Bet bet) {
+                archivedBets.put(bet.getBetId(), bet);
+            }
+
+            @Override
+            public Mono<Bet> findById(String betId) {
+                return Mono.justOrEmpty(archivedBets.get(betId));
+            }
+        };
+        betRepository = new BoundedBetRepository(100, Duration.ofMinutes(10), betArchive, nanos::get, Runnable::run);
+    }
+
+    @Test
+    void testSizeBoundEvictsToArchive() {
+        for (int i = 0; i < 1000; i++) {
+            betRepository.save(bet("bet-" + i)).block();
+        }
+        betRepository.cleanUp();
+
+        assertTrue(betRepository.getEstimatedSize() <= 100);
+        assertEquals(1000, betRepository.getEstimatedSize() + archivedBets.size());
+        assertEquals(archivedBets.size(), betRepository.getStats().evictionCount());
+    }
+
+    @Test
+    void testExpiredBetIsArchivedAndStillFound() {
+        betRepository.saveAll(List.of(bet("bet-1"), bet("bet-2"))).blockLast();
+        nanos.addAndGet(Duration.ofMinutes(11).toNanos());
+        betRepository.cleanUp();
+
+        assertEquals(0, betRepository.getEstimatedSize());
+        StepVerifier.create(betRepository.findById("bet-1"))
+                .expectNextMatches(bet -> bet.getBetId().equals("bet-1"))
+                .verifyComplete();
+    }
+
+    @Test
+    void testMissIsEmptyAndCounted() {
+        betRepository.save(bet("bet-1")).block();
+
+        StepVerifier.create(betRepository.findById("bet-1")).expectNextCount(1).verifyComplete();
+        StepVerifier.create(betRepository.findById("bet-unknown")).verifyComplete();
+
+        assertEquals(1, betRepository.getStats().hitCount());
+        assertEquals(1, betRepository.getStats().missCount());
+    }
+
+    @Test
+    void testCacheStatisticsAreExported() {
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        betRepository.bindTo(registry);
+        betRepository.save(bet("bet-1")).block();
+
+        betRepository.findById("bet-1").block();
+        betRepository.findById("bet-unknown").block();
+
+        assertEquals(1, registry.get("cache.gets").tag("cache", "bets").tag("result", "hit").functionCounter().count());
+        assertEquals(1, registry.get("cache.gets").tag("cache", "bets").tag("result", "miss").functionCounter().count());
+        assertEquals(1, registry.get("cache.size").tag("cache", "bets").gauge().value());
+    }
+
+    private Bet bet(String betId) {
+        return new Bet(betId, "user-1", "JP-1", BigDecimal.TEN, LocalDateTime.now());
+    }
+}
@@ -0,0 +1,49 @@
+package com.sportygroup.jackpot.repository;
+
+import com.sportygroup.jackpot.model.BetOutcome;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import reactor.test.StepVerifier;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Unit tests for InMemBetOutcomeRepository.
+ * Uses a manual ticker and a same-thread executor so expiry is deterministic.
+ */
+public class InMemBetOutcomeRepositoryTest {
+
+    private final AtomicLong nanos = new AtomicLong();
+
+    private InMemBetOutcomeRepository betOutcomeRepository;
+
+    @BeforeEach
+    void setUp() {
+        betOutcomeRepository = new InMemBetOutcomeRepository(100, Duration.ofMinutes(10), nanos::get, Runnable::run);
+    }
+
+    @Test
+    void testFirstOutcomeOfABetIsKept() {
+        betOutcomeRepository.save(outcome("bet-1", true)).block();
+
+        StepVerifier.create(betOutcomeRepository.save(outcome("bet-1", false)))
+                .expectNextMatches(BetOutcome::isWon)
+                .verifyComplete();
+    }
+
+    @Test
+    void testOutcomeExpiresAfterTimeToLive() {
+        betOutcomeRepository.save(outcome("bet-1", false)).block();
+
+        nanos.addAndGet(Duration.ofMinutes(11).toNanos());
+
+        StepVerifier.create(betOutcomeRepository.findByBetId("bet-1")).verifyComplete();
+    }
+
+    private static BetOutcome outcome(String betId, boolean won) {
+        return new BetOutcome(betId, "user-1", "JP-1", won, won ? BigDecimal.valueOf(1000) : null, LocalDateTime.now());
+    }
+}
@@ -0,0 +1,64 @@
+package com.sportygroup.jackpot.repository;
+
+import com.sportygroup.jackpot.model.JackpotContribution;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import reactor.test.StepVerifier;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Unit tests for the secondary indexes of InMemJackpotContributionRepository.
+ */
+public class InMemJackpotContributionRepositoryTest {
+
+    private InMemJackpotContributionRepository contributionRepository;
+
+    @BeforeEach
+    void setUp() {
+        contributionRepository = new InMemJackpotContributionRepository();
+        contributionRepository.saveAll(List.of(
+                contribution("bet-1", "user-a", "JP-1", "1.00"),
+                contribution("bet-1", "user-a", "JP-2", "2.00"),
+                contribution("bet-2", "user-b", "JP-1", "3.00")
+        )).blockLast();
+    }
+
+    @Test
+    void testFindByBetIdUsesIndex() {
+        StepVerifier.create(contributionRepository.findByBetId("bet-1"))
+                .expectNextCount(2)
+                .verifyComplete();
+        StepVerifier.create(contributionRepository.findByBetId("bet-missing"))
+                .verifyComplete();
+    }
+
+    @Test
+    void testFindByJackpotIdAndUserId() {
+        StepVerifier.create(contributionRepository.findByJackpotId("JP-1").map(JackpotContribution::getBetId).collectList())
+                .expectNextMatches(betIds -> betIds.size() == 2 && betIds.containsAll(List.of("bet-1", "bet-2")))
+                .verifyComplete();
+        StepVerifier.create(contributionRepository.findByUserId("user-b"))
+                .expectNextMatches(c -> c.getBetId().equals("bet-2"))
+                .verifyComplete();
+    }
+
+    @Test
+    void testSavingSameKeyReplacesIndexedRecord() {
+        contributionRepository.save(contribution("bet-2", "user-b", "JP-1", "9.00")).block();
+
+        StepVerifier.create(contributionRepository.findByUserId("user-b"))
+                .expectNextMatches(c -> c.getContributionAmount().compareTo(new BigDecimal("9.00")) == 0)
+                .verifyComplete();
+        StepVerifier.create(contributionRepository.findByBetId("bet-2"))
+                .expectNextMatches(c -> c.getContributionAmount().compareTo(new BigDecimal("9.00")) == 0)
+                .verifyComplete();
+    }
+
+    private JackpotContribution contribution(String betId, String userId, String jackpotId, String amount) {
+        return new JackpotContribution(betId, userId, jackpotId, BigDecimal.TEN, new BigDecimal(amount),
+                BigDecimal.valueOf(1000.00), LocalDateTime.now());
+    }
+}
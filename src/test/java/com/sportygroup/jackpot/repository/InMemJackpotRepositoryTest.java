@@ -0,0 +1,278 @@
+package com.sportygroup.jackpot.repository;
+
+import com.sportygroup.jackpot.metrics.JackpotMetrics;
+import com.sportygroup.jackpot.model.Jackpot;
+import com.sportygroup.jackpot.model.JackpotConfig;
+import com.sportygroup.jackpot.model.StripedPoolCounter;
+import com.sportygroup.jackpot.model.enums.ContributionStrategyType;
+import com.sportygroup.jackpot.model.enums.PoolCounterType;
+import com.sportygroup.jackpot.model.enums.RewardStrategyType;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import reactor.test.StepVerifier;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Concurrency tests for InMemJackpotRepository.
+ * Verifies that pool deltas applied from many threads are never lost, and pools never paid out twice,
+ * for both pool counter types.
+ */
+public class InMemJackpotRepositoryTest {
+
+    private static final int THREADS = 8;
+    private static final int CONTRIBUTIONS_PER_THREAD = 20_000;
+
+    private InMemJackpotRepository jackpotRepository;
+    private JackpotConfig config;
+
+    @BeforeEach
+    void setUp() {
+        jackpotRepository = new InMemJackpotRepository();
+        config = new JackpotConfig(
+                ContributionStrategyType.FIXED_CONTRIBUTION_STRATEGY,
+                RewardStrategyType.FIXED_CHANCE_REWARD_STRATEGY,
+                0.01, 0, 0, 0.001, 0, 0, BigDecimal.ZERO
+        );
+        jackpotRepository.save(new Jackpot("JP-HOT", BigDecimal.valueOf(1000.00), BigDecimal.valueOf(1000.00), config, LocalDateTime.now())).block();
+    }
+
+    @Test
+    void testAddToPoolLosesNoUpdatesUnderContention() throws Exception {
+        BigDecimal delta = new BigDecimal("0.25");
+
+        runConcurrently(() -> jackpotRepository.addToPool("JP-HOT", delta).block());
+
+        BigDecimal expected = BigDecimal.valueOf(1000.00)
+                .add(delta.multiply(BigDecimal.valueOf((long) THREADS * CONTRIBUTIONS_PER_THREAD)));
+        Jackpot jackpot = jackpotRepository.findById("JP-HOT").block();
+        assertEquals(0, expected.compareTo(jackpot.getCurrentPoolAmount()));
+    }
+
+    @Test
+    void testResetIfUnchangedSucceedsOnObservedState() {
+        Jackpot observed = jackpotRepository.addToPool("JP-HOT", BigDecimal.TEN).block();
+
+        StepVerifier.create(jackpotRepository.resetIfUnchanged(observed))
+                .expectNextMatches(reset -> reset.getCurrentPoolAmount().compareTo(BigDecimal.valueOf(1000.00)) == 0)
+                .verifyComplete();
+    }
+
+    @Test
+    void testResetIfUnchangedIsEmptyAfterConcurrentContribution() {
+        Jackpot observed = jackpotRepository.findById("JP-HOT").block();
+        jackpotRepository.addToPool("JP-HOT", BigDecimal.ONE).block();
+
+        StepVerifier.create(jackpotRepository.resetIfUnchanged(observed))
+                .verifyComplete();
+        assertEquals(0, BigDecimal.valueOf(1001.00).compareTo(jackpotRepository.findById("JP-HOT").block().getCurrentPoolAmount()));
+    }
+
+    @Test
+    void testStripedAddToPoolIsExactUnderContention() throws Exception {
+        saveStripedJackpot();
+        BigDecimal delta = new BigDecimal("0.37");
+
+        runConcurrently(() -> jackpotRepository.addToPool("JP-STRIPED", delta).block());
+
+        BigDecimal expected = BigDecimal.valueOf(500.00)
+                .add(delta.multiply(BigDecimal.valueOf((long) THREADS * CONTRIBUTIONS_PER_THREAD)));
+        Jackpot jackpot = jackpotRepository.findById("JP-STRIPED").block();
+        assertEquals(0, expected.compareTo(jackpot.getCurrentPoolAmount()));
+    }
+
+    @Test
+    void testStripedResetsStayExactWithConcurrentContributions() throws Exception {
+        saveStripedJackpot();
+        AtomicLong contributedMinorUnits = new AtomicLong();
+        AtomicLong paidAboveInitialMinorUnits = new AtomicLong();
+        AtomicLong wins = new AtomicLong();
+
+        runConcurrently(() -> {
+            long cents = ThreadLocalRandom.current().nextLong(1, 500);
+            jackpotRepository.addToPool("JP-STRIPED", StripedPoolCounter.fromMinorUnits(cents)).block();
+            contributedMinorUnits.addAndGet(cents);
+
+            if (ThreadLocalRandom.current().nextInt(1000) == 0) {
+                Jackpot observed = jackpotRepository.findById("JP-STRIPED").block();
+                BigDecimal paid = observed.getCurrentPoolAmount();
+                if (jackpotRepository.resetIfUnchanged(observed).block() != null) {
+                    paidAboveInitialMinorUnits.addAndGet(StripedPoolCounter.toMinorUnits(paid.subtract(observed.getInitialPoolValue())));
+                    wins.incrementAndGet();
+                }
+            }
+        });
+
+        assertTrue(wins.get() > 0);
+        BigDecimal expected = BigDecimal.valueOf(500.00)
+                .add(StripedPoolCounter.fromMinorUnits(contributedMinorUnits.get() - paidAboveInitialMinorUnits.get()));
+        Jackpot jackpot = jackpotRepository.findById("JP-STRIPED").block();
+        assertEquals(0, expected.compareTo(jackpot.getCurrentPoolAmount()));
+    }
+
+    @Test
+    void testStripedResetIfUnchangedRejectsSecondWinner() {
+        saveStripedJackpot();
+        jackpotRepository.addToPool("JP-STRIPED", BigDecimal.TEN).block();
+        Jackpot firstObserved = jackpotRepository.findById("JP-STRIPED").block();
+        Jackpot secondObserved = jackpotRepository.findById("JP-STRIPED").block();
+        firstObserved.getCurrentPoolAmount();
+        secondObserved.getCurrentPoolAmount();
+
+        StepVerifier.create(jackpotRepository.resetIfUnchanged(firstObserved))
+                .expectNextCount(1)
+                .verifyComplete();
+        StepVerifier.create(jackpotRepository.resetIfUnchanged(secondObserved))
+                .verifyComplete();
+        assertEquals(0, BigDecimal.valueOf(500.00).compareTo(jackpotRepository.findById("JP-STRIPED").block().getCurrentPoolAmount()));
+    }
+
+    @Test
+    void testTransitionPoolPaysEachPoolOnceUnderContention() throws Exception {
+        assertTransitionsBalance("JP-HOT", BigDecimal.valueOf(1000.00));
+    }
+
+    @Test
+    void testStripedTransitionPoolPaysEachPoolOnceUnderContention() throws Exception {
+        saveStripedJackpot();
+        assertTransitionsBalance("JP-STRIPED", BigDecimal.valueOf(500.00));
+    }
+
+    @Test
+    void testBoundedStaleStripedTransitionPoolPaysEachPoolOnceUnderContention() throws Exception {
+        jackpotRepository = new InMemJackpotRepository(JackpotMetrics.disabled(), Duration.ofMillis(5));
+        saveStripedJackpot();
+        assertTransitionsBalance("JP-STRIPED", BigDecimal.valueOf(500.00));
+    }
+
+    @Test
+    void testStaleStripedReadKeepsMissedContributionsAcrossReset() {
+        jackpotRepository = new InMemJackpotRepository(JackpotMetrics.disabled(), Duration.ofHours(1));
+        saveStripedJackpot();
+        jackpotRepository.addToPool("JP-STRIPED", BigDecimal.TEN).block();
+        assertEquals(0, BigDecimal.valueOf(510.00).compareTo(jackpotRepository.findById("JP-STRIPED").block().getCurrentPoolAmount()));
+
+        jackpotRepository.addToPool("JP-STRIPED", BigDecimal.ONE).block();
+        Jackpot observed = jackpotRepository.findById("JP-STRIPED").block();
+        assertEquals(0, BigDecimal.valueOf(510.00).compareTo(observed.getCurrentPoolAmount()));
+
+        StepVerifier.create(jackpotRepository.resetIfUnchanged(observed))
+                .expectNextCount(1)
+                .verifyComplete();
+        // The reset drained the 10.00 it observed; the 1.00 it missed stays, and the new round reads exactly.
+        assertEquals(0, BigDecimal.valueOf(501.00).compareTo(jackpotRepository.findById("JP-STRIPED").block().getCurrentPoolAmount()));
+    }
+
+    @Test
+    void testTransitionPoolUnknownJackpot() {
+        StepVerifier.create(jackpotRepository.transitionPool("JP-MISSING", jackpot -> new Contribution(jackpot, BigDecimal.ONE, BigDecimal.TEN)))
+                .verifyComplete();
+    }
+
+    @Test
+    void testAddToPoolUnknownJackpot() {
+        StepVerifier.create(jackpotRepository.addToPool("JP-MISSING", BigDecimal.ONE))
+                .expectError(IllegalArgumentException.class)
+                .verify();
+    }
+
+    /**
+     * Every transition contributes 0.25 and resets the pool once it reaches initial + 50, so the final
+     * pool must equal the initial pool plus all contributions minus everything paid above the initial pool.
+     */
+    private void assertTransitionsBalance(String jackpotId, BigDecimal initialPool) throws Exception {
+        BigDecimal contribution = new BigDecimal("0.25");
+        BigDecimal resetThreshold = initialPool.add(BigDecimal.valueOf(50));
+        AtomicLong paidAboveInitialMinorUnits = new AtomicLong();
+        AtomicLong wins = new AtomicLong();
+
+        runConcurrently(() -> {
+            Contribution committed = jackpotRepository.transitionPool(jackpotId,
+                    jackpot -> new Contribution(jackpot, contribution, resetThreshold)).block();
+            if (committed.isReset()) {
+                paidAboveInitialMinorUnits.addAndGet(StripedPoolCounter.toMinorUnits(committed.poolAfterContribution.subtract(initialPool)));
+                wins.incrementAndGet();
+            }
+        });
+
+        assertTrue(wins.get() > 0);
+        long contributedMinorUnits = StripedPoolCounter.toMinorUnits(contribution) * THREADS * CONTRIBUTIONS_PER_THREAD;
+        BigDecimal expected = initialPool.add(StripedPoolCounter.fromMinorUnits(contributedMinorUnits - paidAboveInitialMinorUnits.get()));
+        assertEquals(0, expected.compareTo(jackpotRepository.findById(jackpotId).block().getCurrentPoolAmount()));
+    }
+
+    private static final class Contribution implements PoolTransition {
+        private final BigDecimal observedPool;
+        private final BigDecimal poolAfterContribution;
+        private final boolean reset;
+        private final BigDecimal newPool;
+
+        private Contribution(Jackpot jackpot, BigDecimal amount, BigDecimal resetThreshold) {
+            this.observedPool = jackpot.getCurrentPoolAmount();
+            this.poolAfterContribution = observedPool.add(amount);
+            this.reset = poolAfterContribution.compareTo(resetThreshold) >= 0;
+            this.newPool = reset ? jackpot.getInitialPoolValue() : poolAfterContribution;
+        }
+
+        @Override
+        public BigDecimal getObservedPool() {
+            return observedPool;
+        }
+
+        @Override
+        public BigDecimal getNewPool() {
+            return newPool;
+        }
+
+        @Override
+        public boolean isReset() {
+            return reset;
+        }
+    }
+
+    private void saveStripedJackpot() {
+        JackpotConfig stripedConfig = new JackpotConfig(
+                ContributionStrategyType.FIXED_CONTRIBUTION_STRATEGY,
+                RewardStrategyType.FIXED_CHANCE_REWARD_STRATEGY,
+                0.01, 0, 0, 0.001, 0, 0, BigDecimal.ZERO
+        );
+        stripedConfig.setPoolCounterType(PoolCounterType.STRIPED);
+        jackpotRepository.save(new Jackpot("JP-STRIPED", BigDecimal.valueOf(500.00), BigDecimal.valueOf(500.00), stripedConfig, LocalDateTime.now())).block();
+    }
+
+    private void runConcurrently(Runnable contribution) throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<?>> futures = new ArrayList<>();
+        try {
+            for (int t = 0; t < THREADS; t++) {
+                futures.add(executor.submit(() -> {
+                    start.await();
+                    for (int i = 0; i < CONTRIBUTIONS_PER_THREAD; i++) {
+                        contribution.run();
+                    }
+                    return null;
+                }));
+            }
+            start.countDown();
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+}
@@ -0,0 +1,72 @@
+package com.sportygroup.jackpot.repository;
+
+import com.sportygroup.jackpot.model.JackpotContribution;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import reactor.core.publisher.Flux;
+import reactor.core.scheduler.Schedulers;
+import reactor.test.StepVerifier;
+
+import java.math.BigDecimal;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Unit tests for MappedJackpotContributionRepository.
+ * Uses small segments so that concurrent appends roll over several segment files.
+ */
+public class MappedJackpotContributionRepositoryTest {
+
+    private static final int RECORDS_PER_SEGMENT = 64;
+
+    @TempDir
+    Path ledgerDirectory;
+
+    @Test
+    void testConcurrentAppendsAcrossSegmentsAreAllReadable() {
+        MappedJackpotContributionRepository ledger = new MappedJackpotContributionRepository(ledgerDirectory, RECORDS_PER_SEGMENT);
+
+        Flux.range(0, 1000)
+                .parallel(8)
+                .runOn(Schedulers.parallel())
+                .flatMap(i -> ledger.save(contribution("bet-" + i, "user-" + (i % 10), "JP-" + (i % 3), "0.50")))
+                .sequential()
+                .blockLast();
+
+        assertEquals(1000, ledger.findAll().count().block());
+        assertEquals(100, ledger.findByUserId("user-7").count().block());
+        assertEquals(334, ledger.findByJackpotId("JP-0").count().block());
+        StepVerifier.create(ledger.findByBetId("bet-999"))
+                .expectNextMatches(c -> c.getUserId().equals("user-9")
+                        && c.getContributionAmount().equals(new BigDecimal("0.50"))
+                        && c.getCurrentJackpotAmountAfterContribution().equals(new BigDecimal("1000.50")))
+                .verifyComplete();
+    }
+
+    @Test
+    void testLedgerIsRecoveredAfterReopen() {
+        MappedJackpotContributionRepository ledger = new MappedJackpotContributionRepository(ledgerDirectory, RECORDS_PER_SEGMENT);
+        ledger.saveAll(List.of(
+                contribution("bet-1", "user-a", "JP-1", "1.25"),
+                contribution("bet-2", "user-b", "JP-2", "2.50")
+        )).blockLast();
+        ledger.close();
+
+        MappedJackpotContributionRepository reopened = new MappedJackpotContributionRepository(ledgerDirectory, RECORDS_PER_SEGMENT);
+        assertEquals(2, reopened.getRecordCount());
+        reopened.save(contribution("bet-3", "user-a", "JP-1", "3.75")).block();
+
+        StepVerifier.create(reopened.findByBetIdAndJackpotId("bet-2", "JP-2"))
+                .expectNextMatches(c -> c.getContributionAmount().equals(new BigDecimal("2.50")))
+                .verifyComplete();
+        assertEquals(2, reopened.findByUserId("user-a").count().block());
+    }
+
+    private JackpotContribution contribution(String betId, String userId, String jackpotId, String amount) {
+        return new JackpotContribution(betId, userId, jackpotId, BigDecimal.valueOf(50.00), new BigDecimal(amount),
+                new BigDecimal("1000.00").add(new BigDecimal(amount)), LocalDateTime.now());
+    }
+}
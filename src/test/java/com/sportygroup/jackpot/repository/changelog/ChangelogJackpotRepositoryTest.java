@@ -0,0 +1,202 @@
+package com.sportygroup.jackpot.repository.changelog;
+
+import com.sportygroup.jackpot.consumer.ChangelogRebalanceListener;
+import com.sportygroup.jackpot.model.Bet;
+import com.sportygroup.jackpot.model.Jackpot;
+import com.sportygroup.jackpot.model.JackpotConfig;
+import com.sportygroup.jackpot.model.enums.ContributionStrategyType;
+import com.sportygroup.jackpot.model.enums.PoolCounterType;
+import com.sportygroup.jackpot.model.enums.RewardStrategyType;
+import com.sportygroup.jackpot.repository.InMemJackpotContributionRepository;
+import com.sportygroup.jackpot.repository.InMemJackpotRepository;
+import com.sportygroup.jackpot.repository.InMemJackpotRewardRepository;
+import com.sportygroup.jackpot.service.JackpotService;
+import com.sportygroup.jackpot.service.contribution.FixedContributionStrategy;
+import com.sportygroup.jackpot.service.reward.FixedChanceRewardStrategy;
+import com.sportygroup.jackpot.service.settlement.SettlementEngine;
+import org.apache.kafka.common.TopicPartition;
+import org.apache.kafka.common.utils.Utils;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.kafka.test.EmbeddedKafkaBroker;
+import org.springframework.kafka.test.context.EmbeddedKafka;
+
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Integration tests for ChangelogJackpotRepository, JackpotChangelog and ChangelogRebalanceListener against
+ * an embedded broker, with and without settlement shards. Each test uses its own topics, so state never leaks between tests.
+ */
+@EmbeddedKafka(partitions = 3, topics = {"bets-1", "changelog-1", "bets-2", "changelog-2", "bets-3", "changelog-3", "bets-4", "changelog-4"})
+public class ChangelogJackpotRepositoryTest {
+
+    private static final int PARTITIONS = 3;
+
+    private final List<JackpotChangelog> changelogs = new ArrayList<>();
+    private final List<SettlementEngine> settlementEngines = new ArrayList<>();
+
+    @AfterEach
+    void tearDown() {
+        settlementEngines.forEach(SettlementEngine::shutdown);
+        changelogs.forEach(JackpotChangelog::close);
+    }
+
+    @Test
+    void testNewOwnerRebuildsStateBeforeConsuming(EmbeddedKafkaBroker broker) {
+        JackpotChangelog ownerChangelog = changelog(broker, "changelog-1", "bets-1");
+        ChangelogJackpotRepository owner = repository(ownerChangelog);
+        owner.save(jackpot("JP-1", "1000.00")).block();
+        owner.save(jackpot("JP-2", "500.00")).block();
+        new ChangelogRebalanceListener(ownerChangelog, owner, "bets-1").onPartitionsAssigned(null, allPartitions("bets-1"));
+        owner.addToPool("JP-1", new BigDecimal("25.00")).block();
+        owner.addToPool("JP-1", new BigDecimal("25.00")).block();
+        Jackpot observed = owner.addToPool("JP-2", new BigDecimal("100.00")).block();
+        owner.resetIfUnchanged(observed).block();
+        owner.addToPool("JP-2", new BigDecimal("10.00")).block();
+
+        JackpotChangelog newChangelog = changelog(broker, "changelog-1", "bets-1");
+        ChangelogJackpotRepository newOwner = repository(newChangelog);
+        newOwner.save(jackpot("JP-1", "1000.00")).block();
+        ChangelogRebalanceListener listener = new ChangelogRebalanceListener(newChangelog, newOwner, "bets-1");
+        listener.onPartitionsAssigned(null, allPartitions("bets-1"));
+
+        assertEquals(new BigDecimal("1050.00"), newOwner.findById("JP-1").block().getCurrentPoolAmount());
+        assertEquals(new BigDecimal("510.00"), newOwner.save(jackpot("JP-2", "500.00")).block().getCurrentPoolAmount());
+        assertEquals(Set.of(0, 1, 2), listener.getOwnedPartitions());
+
+        listener.onPartitionsRevokedAfterCommit(null, List.of(new TopicPartition("bets-1", 1)));
+        assertEquals(Set.of(0, 2), listener.getOwnedPartitions());
+    }
+
+    @Test
+    void testPoolsAreWrittenToTheirBetsPartitionAndRegistrationDoesNotOverwriteThem(EmbeddedKafkaBroker broker) {
+        JackpotChangelog ownerChangelog = changelog(broker, "changelog-2", "bets-2");
+        ChangelogJackpotRepository owner = repository(ownerChangelog);
+        owner.save(jackpot("JP-1", "1000.00")).block();
+        new ChangelogRebalanceListener(ownerChangelog, owner, "bets-2").onPartitionsAssigned(null, allPartitions("bets-2"));
+        owner.addToPool("JP-1", new BigDecimal("5.00")).block();
+        repository(changelog(broker, "changelog-2", "bets-2")).save(jackpot("JP-1", "1000.00")).block();
+
+        int betsPartition = betsPartitionOf("JP-1");
+        JackpotChangelog reader = changelog(broker, "changelog-2", "bets-2");
+        Map<String, BigDecimal> owned = reader.restore(List.of(betsPartition));
+        assertEquals(new BigDecimal("1005.00"), owned.get("JP-1"));
+        for (int partition = 0; partition < PARTITIONS; partition++) {
+            if (partition != betsPartition) {
+                assertFalse(reader.restore(List.of(partition)).containsKey("JP-1"));
+            }
+        }
+        assertTrue(reader.restore(List.of()).isEmpty());
+    }
+
+    @Test
+    void testShardSettlementsAreWrittenAndOwnershipCanMoveBackAndForth(EmbeddedKafkaBroker broker) {
+        JackpotChangelog ownerChangelog = changelog(broker, "changelog-3", "bets-3");
+        ChangelogJackpotRepository owner = repository(ownerChangelog);
+        owner.save(settledJackpot()).block();
+        SettlementEngine ownerShards = settlementEngine(owner);
+        ChangelogRebalanceListener ownerListener = new ChangelogRebalanceListener(ownerChangelog, owner, "bets-3", ownerShards);
+        ownerListener.onPartitionsAssigned(null, allPartitions("bets-3"));
+        ownerShards.settle(bet("bet-1")).block();
+        ownerShards.settle(bet("bet-2")).block();
+
+        JackpotChangelog otherChangelog = changelog(broker, "changelog-3", "bets-3");
+        ChangelogJackpotRepository other = repository(otherChangelog);
+        other.save(settledJackpot()).block();
+        SettlementEngine otherShards = settlementEngine(other);
+        new ChangelogRebalanceListener(otherChangelog, other, "bets-3", otherShards).onPartitionsAssigned(null, allPartitions("bets-3"));
+        assertEquals(new BigDecimal("1002.00"), other.findById("JP-1").block().getCurrentPoolAmount());
+        otherShards.settle(bet("bet-3")).block();
+
+        ownerListener.onPartitionsAssigned(null, allPartitions("bets-3"));
+        assertEquals(new BigDecimal("1003.00"), owner.findById("JP-1").block().getCurrentPoolAmount());
+        ownerShards.settle(bet("bet-4")).block();
+
+        assertEquals(new BigDecimal("1004.00"), owner.findById("JP-1").block().getCurrentPoolAmount());
+        assertEquals(new BigDecimal("1004.00"), changelog(broker, "changelog-3", "bets-3").restore(List.of(0, 1, 2)).get("JP-1"));
+    }
+
+    @Test
+    void testChangesAreOnlyAcceptedForOwnedPartitionsAndStripedPoolsAreRejected(EmbeddedKafkaBroker broker) {
+        JackpotChangelog changelog = changelog(broker, "changelog-4", "bets-4");
+        ChangelogJackpotRepository repository = repository(changelog);
+        repository.save(jackpot("JP-1", "1000.00")).block();
+        assertThrows(IllegalStateException.class, () -> repository.addToPool("JP-1", BigDecimal.ONE).block());
+
+        ChangelogRebalanceListener listener = new ChangelogRebalanceListener(changelog, repository, "bets-4");
+        listener.onPartitionsAssigned(null, allPartitions("bets-4"));
+        repository.addToPool("JP-1", new BigDecimal("5.00")).block();
+
+        listener.onPartitionsRevokedAfterCommit(null, List.of(new TopicPartition("bets-4", betsPartitionOf("JP-1"))));
+        assertThrows(IllegalStateException.class, () -> repository.addToPool("JP-1", BigDecimal.ONE).block());
+        assertEquals(new BigDecimal("1005.00"), repository.findById("JP-1").block().getCurrentPoolAmount());
+
+        JackpotConfig stripedConfig = new JackpotConfig();
+        stripedConfig.setPoolCounterType(PoolCounterType.STRIPED);
+        assertThrows(IllegalArgumentException.class, () -> repository.save(new Jackpot("JP-2", new BigDecimal("1000.00"),
+                new BigDecimal("1000.00"), stripedConfig, LocalDateTime.now())).block());
+    }
+
+    private JackpotChangelog changelog(EmbeddedKafkaBroker broker, String topic, String betsTopic) {
+        JackpotChangelog changelog = new JackpotChangelog(broker.getBrokersAsString(), topic, betsTopic);
+        changelogs.add(changelog);
+        return changelog;
+    }
+
+    private ChangelogJackpotRepository repository(JackpotChangelog changelog) {
+        return new ChangelogJackpotRepository(new InMemJackpotRepository(), changelog);
+    }
+
+    private SettlementEngine settlementEngine(ChangelogJackpotRepository jackpotRepository) {
+        JackpotService jackpotService = new JackpotService(jackpotRepository, new InMemJackpotContributionRepository(),
+                new InMemJackpotRewardRepository(),
+                Map.of(ContributionStrategyType.FIXED_CONTRIBUTION_STRATEGY.getValue(), new FixedContributionStrategy()),
+                Map.of(RewardStrategyType.FIXED_CHANCE_REWARD_STRATEGY.getValue(), new FixedChanceRewardStrategy()));
+        SettlementEngine settlementEngine = new SettlementEngine(jackpotRepository, new InMemJackpotContributionRepository(),
+                new InMemJackpotRewardRepository(), jackpotService::planOf, 2, 16);
+        settlementEngines.add(settlementEngine);
+        return settlementEngine;
+    }
+
+    /**
+     * A jackpot taking 1% of every bet that never pays out.
+     */
+    private Jackpot settledJackpot() {
+        return new Jackpot("JP-1", new BigDecimal("1000.00"), new BigDecimal("1000.00"), new JackpotConfig(
+                ContributionStrategyType.FIXED_CONTRIBUTION_STRATEGY,
+                RewardStrategyType.FIXED_CHANCE_REWARD_STRATEGY,
+                0.01, 0, 0, 0, 0, 0, BigDecimal.ZERO
+        ), LocalDateTime.now());
+    }
+
+    private Bet bet(String betId) {
+        return new Bet(betId, "user-1", "JP-1", BigDecimal.valueOf(100), LocalDateTime.now());
+    }
+
+    private Jackpot jackpot(String jackpotId, String pool) {
+        return new Jackpot(jackpotId, new BigDecimal(pool), new BigDecimal(pool), new JackpotConfig(), LocalDateTime.now());
+    }
+
+    private static int betsPartitionOf(String jackpotId) {
+        return Utils.toPositive(Utils.murmur2(jackpotId.getBytes(StandardCharsets.UTF_8))) % PARTITIONS;
+    }
+
+    private List<TopicPartition> allPartitions(String topic) {
+        List<TopicPartition> partitions = new ArrayList<>();
+        for (int partition = 0; partition < PARTITIONS; partition++) {
+            partitions.add(new TopicPartition(topic, partition));
+        }
+        return partitions;
+    }
+}
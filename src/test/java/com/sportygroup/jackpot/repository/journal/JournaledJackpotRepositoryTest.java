@@ -0,0 +1,139 @@
+package com.sportygroup.jackpot.repository.journal;
+
+import com.sportygroup.jackpot.model.Jackpot;
+import com.sportygroup.jackpot.model.JackpotConfig;
+import com.sportygroup.jackpot.model.enums.ContributionStrategyType;
+import com.sportygroup.jackpot.model.enums.RewardStrategyType;
+import com.sportygroup.jackpot.repository.InMemJackpotRepository;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import reactor.core.publisher.Flux;
+import reactor.test.StepVerifier;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDateTime;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * Recovery tests for JournaledJackpotRepository.
+ * Each test writes through one repository instance and restores the state into a fresh one,
+ * the way a restart would.
+ */
+public class JournaledJackpotRepositoryTest {
+
+    @TempDir
+    Path journalDirectory;
+
+    private final JackpotConfig config = new JackpotConfig(
+            ContributionStrategyType.FIXED_CONTRIBUTION_STRATEGY,
+            RewardStrategyType.FIXED_CHANCE_REWARD_STRATEGY,
+            0.01, 0, 0, 0.001, 0, 0, BigDecimal.ZERO
+    );
+
+    @Test
+    void testPoolsSurviveRestart() {
+        JournaledJackpotRepository jackpotRepository = open(1_000_000);
+        jackpotRepository.save(seed()).block();
+        Flux.range(0, 2000)
+                .flatMap(i -> jackpotRepository.addToPool("JP-1", new BigDecimal("0.25")))
+                .blockLast();
+        Jackpot observed = jackpotRepository.findById("JP-1").block();
+        jackpotRepository.resetIfUnchanged(observed).block();
+        jackpotRepository.addToPool("JP-1", new BigDecimal("3.00")).block();
+        jackpotRepository.close();
+
+        JournaledJackpotRepository restarted = open(1_000_000);
+        Jackpot restored = restarted.save(seed()).block();
+        assertEquals(0, new BigDecimal("1003.00").compareTo(restored.getCurrentPoolAmount()));
+        restarted.close();
+    }
+
+    @Test
+    void testRecoveryFromSnapshotAndWalTailAfterCrash() throws IOException {
+        JournaledJackpotRepository jackpotRepository = open(100);
+        jackpotRepository.save(seed()).block();
+        for (int i = 0; i < 1050; i++) {
+            jackpotRepository.addToPool("JP-1", BigDecimal.ONE).block();
+        }
+        // Simulate a crash in the middle of writing an entry: no close, and a torn entry at the tail.
+        Path lastSegment;
+        try (Stream<Path> files = Files.list(journalDirectory)) {
+            lastSegment = files.filter(path -> path.getFileName().toString().endsWith(".log")).sorted().reduce((first, second) -> second).orElseThrow();
+        }
+        Files.write(lastSegment, new byte[]{0, 0, 0, 40, 1, 2, 3}, StandardOpenOption.APPEND);
+
+        JournaledJackpotRepository restarted = open(100);
+        Jackpot restored = restarted.save(seed()).block();
+        assertEquals(0, new BigDecimal("2050.00").compareTo(restored.getCurrentPoolAmount()));
+        restarted.close();
+    }
+
+    @Test
+    void testSaturatedJournalRejectsChangesBeforeApplyingThem() {
+        JackpotJournal jackpotJournal = new JackpotJournal(journalDirectory, 1, 256, 1_000_000);
+        JournaledJackpotRepository jackpotRepository = new JournaledJackpotRepository(new InMemJackpotRepository(), jackpotJournal, true);
+        jackpotRepository.save(seed()).block();
+
+        JackpotJournal.Slot heldSlot = jackpotJournal.tryReserve();
+        assertNull(jackpotJournal.tryReserve());
+        StepVerifier.create(jackpotRepository.addToPool("JP-1", BigDecimal.ONE))
+                .expectError(RejectedExecutionException.class)
+                .verify();
+        assertEquals(0, new BigDecimal("1000.00").compareTo(jackpotRepository.findById("JP-1").block().getCurrentPoolAmount()));
+
+        heldSlot.release();
+        StepVerifier.create(jackpotRepository.addToPool("JP-1", BigDecimal.ONE))
+                .expectNextMatches(jackpot -> jackpot.getCurrentPoolAmount().compareTo(new BigDecimal("1001.00")) == 0)
+                .verifyComplete();
+        assertNotNull(jackpotJournal.tryReserve());
+        jackpotRepository.close();
+    }
+
+    @Test
+    void testUnencodableChangeIsRejectedBeforeItIsApplied() {
+        InMemJackpotRepository delegate = new InMemJackpotRepository();
+        JournaledJackpotRepository jackpotRepository = new JournaledJackpotRepository(delegate,
+                new JackpotJournal(journalDirectory, 1024, 256, 1_000_000), false);
+        jackpotRepository.save(seed()).block();
+
+        StepVerifier.create(jackpotRepository.addToPool("JP-1", BigDecimal.TEN.pow(400)))
+                .expectError(IllegalArgumentException.class)
+                .verify();
+        assertEquals(0, new BigDecimal("1000.00").compareTo(delegate.findById("JP-1").block().getCurrentPoolAmount()));
+        jackpotRepository.close();
+    }
+
+    @Test
+    void testClosedJournalRejectsChangesBeforeApplyingThem() {
+        InMemJackpotRepository delegate = new InMemJackpotRepository();
+        JackpotJournal jackpotJournal = new JackpotJournal(journalDirectory, 1024, 256, 1_000_000);
+        JournaledJackpotRepository jackpotRepository = new JournaledJackpotRepository(delegate, jackpotJournal, false);
+        jackpotRepository.save(seed()).block();
+        jackpotRepository.close();
+
+        StepVerifier.create(jackpotRepository.addToPool("JP-1", BigDecimal.ONE))
+                .expectError(IllegalStateException.class)
+                .verify();
+        assertEquals(0, new BigDecimal("1000.00").compareTo(delegate.findById("JP-1").block().getCurrentPoolAmount()));
+        assertThrows(IllegalStateException.class, jackpotJournal::tryReserve);
+    }
+
+    private JournaledJackpotRepository open(long snapshotEveryEntries) {
+        JackpotJournal jackpotJournal = new JackpotJournal(journalDirectory, 1024, 256, snapshotEveryEntries);
+        return new JournaledJackpotRepository(new InMemJackpotRepository(), jackpotJournal, true);
+    }
+
+    private Jackpot seed() {
+        return new Jackpot("JP-1", new BigDecimal("1000.00"), new BigDecimal("1000.00"), config, LocalDateTime.now());
+    }
+}
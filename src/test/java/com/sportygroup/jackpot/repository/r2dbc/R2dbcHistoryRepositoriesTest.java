@@ -0,0 +1,91 @@
+package com.sportygroup.jackpot.repository.r2dbc;
+
+import com.sportygroup.jackpot.model.Bet;
+import com.sportygroup.jackpot.model.JackpotContribution;
+import com.sportygroup.jackpot.model.JackpotReward;
+import io.r2dbc.spi.ConnectionFactories;
+import io.r2dbc.spi.ConnectionFactory;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.r2dbc.connection.init.ResourceDatabasePopulator;
+import reactor.core.publisher.Flux;
+import reactor.core.scheduler.Schedulers;
+import reactor.test.StepVerifier;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Unit tests for the R2DBC bet, contribution and reward repositories against an embedded H2 database.
+ * Uses a small insert size so that batches are split over several multi-row statements.
+ */
+public class R2dbcHistoryRepositoriesTest {
+
+    private static final int MAX_ROWS_PER_INSERT = 16;
+
+    private ConnectionFactory connectionFactory;
+
+    @BeforeEach
+    void setUp() {
+        connectionFactory = ConnectionFactories.get("r2dbc:h2:mem:///" + UUID.randomUUID() + ";DB_CLOSE_DELAY=-1");
+        new ResourceDatabasePopulator(new ClassPathResource("schema.sql")).populate(connectionFactory).block();
+    }
+
+    @Test
+    void testSaveAllAndConcurrentSavesAreAllStored() {
+        R2dbcBetRepository betRepository = new R2dbcBetRepository(connectionFactory, MAX_ROWS_PER_INSERT);
+        List<Bet> batch = IntStream.range(0, 100)
+                .mapToObj(i -> new Bet("batch-" + i, "user-" + (i % 5), "JP-1", new BigDecimal("10.00"), LocalDateTime.now()))
+                .toList();
+
+        StepVerifier.create(betRepository.saveAll(batch).count()).expectNext(100L).verifyComplete();
+        Flux.range(0, 100)
+                .parallel(8)
+                .runOn(Schedulers.parallel())
+                .flatMap(i -> betRepository.save(new Bet("single-" + i, null, "JP-2", new BigDecimal("5.00"), LocalDateTime.now())))
+                .sequential()
+                .blockLast();
+
+        assertEquals(200, betRepository.findAll().count().block());
+        StepVerifier.create(betRepository.findById("single-42"))
+                .expectNextMatches(b -> b.getUserId() == null && b.getBetAmount().compareTo(new BigDecimal("5.00")) == 0)
+                .verifyComplete();
+        StepVerifier.create(betRepository.findById("unknown")).verifyComplete();
+    }
+
+    @Test
+    void testContributionsAreFoundByBetJackpotAndUser() {
+        R2dbcJackpotContributionRepository contributionRepository = new R2dbcJackpotContributionRepository(connectionFactory, MAX_ROWS_PER_INSERT);
+        contributionRepository.saveAll(IntStream.range(0, 60)
+                .mapToObj(i -> new JackpotContribution("bet-" + i, "user-" + (i % 3), "JP-" + (i % 2), new BigDecimal("10.00"),
+                        new BigDecimal("0.50"), new BigDecimal("1000.50"), LocalDateTime.now()))
+                .toList()).blockLast();
+
+        assertEquals(20, contributionRepository.findByUserId("user-1").count().block());
+        assertEquals(30, contributionRepository.findByJackpotId("JP-0").count().block());
+        StepVerifier.create(contributionRepository.findByBetIdAndJackpotId("bet-7", "JP-1"))
+                .expectNextMatches(c -> c.getContributionAmount().compareTo(new BigDecimal("0.50")) == 0
+                        && c.getCurrentJackpotAmountAfterContribution().compareTo(new BigDecimal("1000.50")) == 0)
+                .verifyComplete();
+        StepVerifier.create(contributionRepository.findByBetId("bet-7").count()).expectNext(1L).verifyComplete();
+    }
+
+    @Test
+    void testRewardsAreFoundByBetJackpotAndUser() {
+        R2dbcJackpotRewardRepository rewardRepository = new R2dbcJackpotRewardRepository(connectionFactory);
+        rewardRepository.save(new JackpotReward("bet-1", "user-1", "JP-1", new BigDecimal("1200.00"), LocalDateTime.now())).block();
+        rewardRepository.save(new JackpotReward("bet-2", "user-1", "JP-2", new BigDecimal("800.00"), LocalDateTime.now())).block();
+
+        assertEquals(2, rewardRepository.findByUserId("user-1").count().block());
+        StepVerifier.create(rewardRepository.findByBetIdAndJackpotId("bet-2", "JP-2"))
+                .expectNextMatches(r -> r.getJackpotRewardAmount().compareTo(new BigDecimal("800.00")) == 0)
+                .verifyComplete();
+        StepVerifier.create(rewardRepository.findByJackpotId("JP-3")).verifyComplete();
+    }
+}
@@ -0,0 +1,158 @@
+package com.sportygroup.jackpot.repository.r2dbc;
+
+import com.sportygroup.jackpot.model.Jackpot;
+import com.sportygroup.jackpot.model.JackpotConfig;
+import com.sportygroup.jackpot.model.enums.ContributionStrategyType;
+import com.sportygroup.jackpot.model.enums.RewardStrategyType;
+import com.sportygroup.jackpot.repository.PoolTransition;
+import io.r2dbc.spi.ConnectionFactories;
+import io.r2dbc.spi.ConnectionFactory;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.r2dbc.connection.init.ResourceDatabasePopulator;
+import reactor.core.publisher.Flux;
+import reactor.core.scheduler.Schedulers;
+import reactor.test.StepVerifier;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+/**
+ * Unit tests for R2dbcJackpotRepository against an embedded H2 database created from schema.sql.
+ */
+public class R2dbcJackpotRepositoryTest {
+
+    private ConnectionFactory connectionFactory;
+    private R2dbcJackpotRepository jackpotRepository;
+    private JackpotConfig config;
+
+    @BeforeEach
+    void setUp() {
+        connectionFactory = ConnectionFactories.get("r2dbc:h2:mem:///" + UUID.randomUUID() + ";DB_CLOSE_DELAY=-1;LOCK_TIMEOUT=10000");
+        new ResourceDatabasePopulator(new ClassPathResource("schema.sql")).populate(connectionFactory).block();
+        jackpotRepository = new R2dbcJackpotRepository(connectionFactory);
+        config = new JackpotConfig(ContributionStrategyType.FIXED_CONTRIBUTION_STRATEGY, RewardStrategyType.FIXED_CHANCE_REWARD_STRATEGY,
+                0.05, 0, 0, 0.01, 0, 0, null);
+        jackpotRepository.save(new Jackpot("JP-1", new BigDecimal("1000.00"), new BigDecimal("1000.00"), config, LocalDateTime.now())).block();
+    }
+
+    @Test
+    void testConcurrentAddToPoolLosesNoContribution() {
+        Flux.range(0, 400)
+                .parallel(8)
+                .runOn(Schedulers.parallel())
+                .flatMap(i -> jackpotRepository.addToPool("JP-1", new BigDecimal("0.25")))
+                .sequential()
+                .blockLast();
+
+        StepVerifier.create(jackpotRepository.findById("JP-1"))
+                .expectNextMatches(j -> j.getCurrentPoolAmount().compareTo(new BigDecimal("1100.00")) == 0 && j.getVersion() == 400)
+                .verifyComplete();
+    }
+
+    @Test
+    void testConcurrentFirstSavesDoNotCollide() {
+        Flux.range(0, 8)
+                .parallel(8)
+                .runOn(Schedulers.parallel())
+                .flatMap(i -> new R2dbcJackpotRepository(connectionFactory)
+                        .save(new Jackpot("JP-2", new BigDecimal("500.00"), new BigDecimal("500.00"), config, LocalDateTime.now())))
+                .sequential()
+                .blockLast();
+
+        StepVerifier.create(jackpotRepository.findAll().filter(j -> j.getJackpotId().equals("JP-2")).count())
+                .expectNext(1L)
+                .verifyComplete();
+    }
+
+    @Test
+    void testAddToPoolFailsForUnknownJackpot() {
+        StepVerifier.create(jackpotRepository.addToPool("JP-X", BigDecimal.ONE))
+                .expectError(IllegalArgumentException.class)
+                .verify();
+    }
+
+    @Test
+    void testResetIfUnchangedRejectsStaleVersion() {
+        Jackpot observed = jackpotRepository.addToPool("JP-1", new BigDecimal("50.00")).block();
+        jackpotRepository.addToPool("JP-1", new BigDecimal("1.00")).block();
+
+        StepVerifier.create(jackpotRepository.resetIfUnchanged(observed)).verifyComplete();
+
+        Jackpot current = jackpotRepository.findById("JP-1").block();
+        StepVerifier.create(jackpotRepository.resetIfUnchanged(current))
+                .expectNextMatches(j -> j.getCurrentPoolAmount().compareTo(new BigDecimal("1000.00")) == 0)
+                .verifyComplete();
+        assertEquals(0, jackpotRepository.findById("JP-1").block().getCurrentPoolAmount().compareTo(new BigDecimal("1000.00")));
+    }
+
+    @Test
+    void testTransitionPoolResetsOnceAndAppliesContributions() {
+        Flux.range(0, 200)
+                .parallel(8)
+                .runOn(Schedulers.parallel())
+                .flatMap(i -> jackpotRepository.transitionPool("JP-1", jackpot -> {
+                    BigDecimal newPool = jackpot.getCurrentPoolAmount().add(BigDecimal.ONE);
+                    boolean reset = newPool.compareTo(new BigDecimal("1150.00")) >= 0;
+                    return new TestTransition(jackpot.getCurrentPoolAmount(), reset ? jackpot.getInitialPoolValue() : newPool, reset);
+                }))
+                .sequential()
+                .blockLast();
+
+        // 149 contributions grow the pool to 1149, the 150th resets it, and the remaining 50 grow it again.
+        assertEquals(0, jackpotRepository.findById("JP-1").block().getCurrentPoolAmount().compareTo(new BigDecimal("1050.00")));
+        StepVerifier.create(jackpotRepository.transitionPool("JP-X", jackpot -> new TestTransition(BigDecimal.ZERO, BigDecimal.ONE, false)))
+                .verifyComplete();
+    }
+
+    @Test
+    void testFirstSaveKeepsStoredPoolAndReadsShareTheConfig() {
+        jackpotRepository.addToPool("JP-1", new BigDecimal("25.00")).block();
+
+        R2dbcJackpotRepository restarted = new R2dbcJackpotRepository(connectionFactory);
+        StepVerifier.create(restarted.save(new Jackpot("JP-1", new BigDecimal("1000.00"), new BigDecimal("1000.00"), config, LocalDateTime.now())))
+                .expectNextMatches(j -> j.getCurrentPoolAmount().compareTo(new BigDecimal("1025.00")) == 0)
+                .verifyComplete();
+        assertSame(config, restarted.findById("JP-1").block().getConfig());
+
+        StepVerifier.create(restarted.save(new Jackpot("JP-1", new BigDecimal("1000.00"), new BigDecimal("1000.00"), config, LocalDateTime.now())))
+                .expectNextMatches(j -> j.getCurrentPoolAmount().compareTo(new BigDecimal("1000.00")) == 0)
+                .verifyComplete();
+
+        Jackpot recovered = new R2dbcJackpotRepository(connectionFactory).findById("JP-1").block();
+        assertEquals(ContributionStrategyType.FIXED_CONTRIBUTION_STRATEGY, recovered.getConfig().getContributionStrategyType());
+        assertEquals(0.05, recovered.getConfig().getContributionFixedPercentage());
+    }
+
+    private static final class TestTransition implements PoolTransition {
+        private final BigDecimal observedPool;
+        private final BigDecimal newPool;
+        private final boolean reset;
+
+        private TestTransition(BigDecimal observedPool, BigDecimal newPool, boolean reset) {
+            this.observedPool = observedPool;
+            this.newPool = newPool;
+            this.reset = reset;
+        }
+
+        @Override
+        public BigDecimal getObservedPool() {
+            return observedPool;
+        }
+
+        @Override
+        public BigDecimal getNewPool() {
+            return newPool;
+        }
+
+        @Override
+        public boolean isReset() {
+            return reset;
+        }
+    }
+}
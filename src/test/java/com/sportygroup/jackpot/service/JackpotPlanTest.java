@@ -0,0 +1,127 @@
+package com.sportygroup.jackpot.service;
+
+import com.sportygroup.jackpot.model.JackpotConfig;
+import com.sportygroup.jackpot.model.enums.ContributionStrategyType;
+import com.sportygroup.jackpot.model.enums.RewardStrategyType;
+import com.sportygroup.jackpot.service.contribution.ContributionPlan;
+import com.sportygroup.jackpot.service.contribution.ContributionStrategy;
+import com.sportygroup.jackpot.service.contribution.FixedContributionStrategy;
+import com.sportygroup.jackpot.service.contribution.VariableContributionStrategy;
+import com.sportygroup.jackpot.service.reward.FixedChanceRewardStrategy;
+import com.sportygroup.jackpot.service.reward.RewardPlan;
+import com.sportygroup.jackpot.service.reward.RewardStrategy;
+import com.sportygroup.jackpot.service.reward.VariableChanceRewardStrategy;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Unit tests for JackpotPlan and the plans compiled by the strategies.
+ */
+public class JackpotPlanTest {
+
+    private final Map<String, ContributionStrategy> contributionStrategies = Map.of(
+            ContributionStrategyType.FIXED_CONTRIBUTION_STRATEGY.getValue(), new FixedContributionStrategy(),
+            ContributionStrategyType.VARIABLE_CONTRIBUTION_STRATEGY.getValue(), new VariableContributionStrategy());
+    private final Map<String, RewardStrategy> rewardStrategies = Map.of(
+            RewardStrategyType.FIXED_CHANCE_REWARD_STRATEGY.getValue(), new FixedChanceRewardStrategy(),
+            RewardStrategyType.VARIABLE_CHANCE_REWARD_STRATEGY.getValue(), new VariableChanceRewardStrategy());
+
+    @Test
+    void testVariableContributionMatchesPerBetFormula() {
+        JackpotConfig config = variableConfig(0.00001, 0.000001, BigDecimal.valueOf(100000.00));
+        ContributionPlan plan = JackpotPlan.compile(config, contributionStrategies, rewardStrategies).getContributionPlan();
+        BigDecimal betAmount = new BigDecimal("50.00");
+
+        // 0.05 initial, 0.0001 per thousand: the 0.1% minimum is reached at a pool of 490,000.
+        for (long pool = 0; pool <= 1_000_000; pool += 997) {
+            BigDecimal poolAmount = BigDecimal.valueOf(pool).add(new BigDecimal("0.37"));
+            BigDecimal expectedPercentage = BigDecimal.valueOf(0.05)
+                    .subtract(poolAmount.divide(BigDecimal.valueOf(1000.0), 4, RoundingMode.HALF_UP).multiply(BigDecimal.valueOf(0.0001)))
+                    .max(BigDecimal.valueOf(0.001));
+            BigDecimal expected = betAmount.multiply(expectedPercentage).setScale(2, RoundingMode.HALF_UP);
+
+            assertEquals(expected, plan.calculateContribution(betAmount, poolAmount), "pool " + poolAmount);
+        }
+    }
+
+    @Test
+    void testVariableChanceWinsFromPoolWhereChanceReachesOne() {
+        // 50% initial chance plus 50% per thousand reaches 100% at a pool of 1,000, long before the limit.
+        JackpotConfig config = variableConfig(0.5, 0.5, BigDecimal.valueOf(100000.00));
+        RewardPlan plan = JackpotPlan.compile(config, contributionStrategies, rewardStrategies).getRewardPlan();
+
+        for (int i = 0; i < 1000; i++) {
+            assertTrue(plan.checkWin(BigDecimal.TEN, BigDecimal.valueOf(1000)));
+        }
+    }
+
+    @Test
+    void testVariableChanceWinsFromChanceLimit() {
+        JackpotConfig config = variableConfig(0.00001, 0.000001, BigDecimal.valueOf(100000.00));
+        RewardPlan plan = JackpotPlan.compile(config, contributionStrategies, rewardStrategies).getRewardPlan();
+
+        assertTrue(plan.checkWin(BigDecimal.TEN, BigDecimal.valueOf(100000.00)));
+    }
+
+    @Test
+    void testInvalidContributionConfigOnlyFailsContribution() {
+        JackpotConfig config = new JackpotConfig(
+                ContributionStrategyType.FIXED_CONTRIBUTION_STRATEGY,
+                RewardStrategyType.FIXED_CHANCE_REWARD_STRATEGY,
+                0, 0, 0, 100.0, 0, 0, BigDecimal.ZERO
+        );
+        JackpotPlan plan = JackpotPlan.compile(config, contributionStrategies, rewardStrategies);
+
+        IllegalArgumentException e = assertThrows(IllegalArgumentException.class,
+                () -> plan.getContributionPlan().calculateContribution(BigDecimal.TEN, BigDecimal.TEN));
+        assertEquals("FixedContributionStrategy requires a valid fixed percentage in config.", e.getMessage());
+        assertTrue(plan.getRewardPlan().checkWin(BigDecimal.TEN, BigDecimal.TEN));
+    }
+
+    @Test
+    void testMissingStrategyFailsOnUse() {
+        JackpotConfig config = variableConfig(0.00001, 0.000001, BigDecimal.valueOf(100000.00));
+        JackpotPlan plan = JackpotPlan.compile(config, contributionStrategies, Map.of());
+
+        IllegalArgumentException e = assertThrows(IllegalArgumentException.class,
+                () -> plan.getRewardPlan().checkWin(BigDecimal.TEN, BigDecimal.TEN));
+        assertEquals("No reward strategy found for type: " + RewardStrategyType.VARIABLE_CHANCE_REWARD_STRATEGY, e.getMessage());
+    }
+
+    @Test
+    void testInvalidConfigIsRejectedOnRegistration() {
+        JackpotConfig invalid = new JackpotConfig(
+                ContributionStrategyType.FIXED_CONTRIBUTION_STRATEGY,
+                RewardStrategyType.FIXED_CHANCE_REWARD_STRATEGY,
+                0, 0, 0, 100.0, 0, 0, BigDecimal.ZERO
+        );
+        JackpotConfig unknownStrategy = variableConfig(0.00001, 0.000001, BigDecimal.valueOf(100000.00));
+
+        assertThrows(IllegalArgumentException.class, () -> JackpotPlan.compileValid(invalid, contributionStrategies, rewardStrategies));
+        assertThrows(IllegalArgumentException.class, () -> JackpotPlan.compileValid(unknownStrategy, contributionStrategies, Map.of()));
+    }
+
+    @Test
+    void testInvalidRewardConfigNeverWins() {
+        JackpotConfig config = variableConfig(0, 0.000001, BigDecimal.ONE);
+        RewardPlan plan = JackpotPlan.compile(config, contributionStrategies, rewardStrategies).getRewardPlan();
+
+        assertFalse(plan.checkWin(BigDecimal.TEN, BigDecimal.valueOf(100000.00)));
+    }
+
+    private static JackpotConfig variableConfig(double initialChance, double increaseRate, BigDecimal chanceLimit) {
+        return new JackpotConfig(
+                ContributionStrategyType.VARIABLE_CONTRIBUTION_STRATEGY,
+                RewardStrategyType.VARIABLE_CHANCE_REWARD_STRATEGY,
+                0, 0.05, 0.0001, 0, initialChance, increaseRate, chanceLimit
+        );
+    }
+}
@@ -1,5 +1,8 @@
 package com.sportygroup.jackpot.service;
 
+import com.sportygroup.jackpot.model.Bet;
+import com.sportygroup.jackpot.model.JackpotContribution;
+import com.sportygroup.jackpot.model.JackpotReward;
 import com.sportygroup.jackpot.model.Jackpot;
 import com.sportygroup.jackpot.model.JackpotConfig;
 import com.sportygroup.jackpot.model.enums.ContributionStrategyType;
@@ -7,6 +10,7 @@ import com.sportygroup.jackpot.model.enums.RewardStrategyType;
 import com.sportygroup.jackpot.repository.JackpotContributionRepository;
 import com.sportygroup.jackpot.repository.JackpotRepository;
 import com.sportygroup.jackpot.repository.JackpotRewardRepository;
+import com.sportygroup.jackpot.repository.PoolTransition;
 import com.sportygroup.jackpot.service.contribution.ContributionStrategy;
 import com.sportygroup.jackpot.service.reward.RewardStrategy;
 import org.junit.jupiter.api.BeforeEach;
@@ -14,14 +18,27 @@ import org.junit.jupiter.api.Test;
 import org.mockito.Mock;
 import org.mockito.Mockito;
 import org.mockito.MockitoAnnotations;
+import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
 
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Function;
 
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 /**
@@ -50,6 +67,7 @@ public class JackpotServiceTest {
 
     private Map<String, ContributionStrategy> contributionStrategies;
     private Map<String, RewardStrategy> rewardStrategies;
+    private PoolTransition committedPool;
 
     @BeforeEach
     void setUp() {
@@ -79,36 +97,194 @@ public class JackpotServiceTest {
     }
 
     @Test
-    void testContributeToJackpotSuccessFixed() {
+    @SuppressWarnings("unchecked")
+    void testPlanIsCompiledOncePerConfigAndAgainForAReplacedConfig() {
+        JackpotConfig config = new JackpotConfig(
+                ContributionStrategyType.FIXED_CONTRIBUTION_STRATEGY,
+                RewardStrategyType.FIXED_CHANCE_REWARD_STRATEGY,
+                0.01, 0, 0, 0.001, 0, 0, BigDecimal.ZERO
+        );
+        JackpotConfig replacedConfig = new JackpotConfig(
+                ContributionStrategyType.FIXED_CONTRIBUTION_STRATEGY,
+                RewardStrategyType.FIXED_CHANCE_REWARD_STRATEGY,
+                0.02, 0, 0, 0.001, 0, 0, BigDecimal.ZERO
+        );
+        Jackpot jackpot = new Jackpot("JP-1", new BigDecimal("1000.00"), new BigDecimal("1000.00"), config, LocalDateTime.now());
+        Jackpot replaced = new Jackpot("JP-1", new BigDecimal("1000.00"), new BigDecimal("1000.00"), replacedConfig, LocalDateTime.now());
+        List<Jackpot> states = List.of(jackpot, jackpot, replaced);
+        AtomicInteger transitions = new AtomicInteger();
+        List<Bet> bets = List.of(new Bet("bet-1", "user-1", "JP-1", BigDecimal.valueOf(100), LocalDateTime.now()));
+
+        when(fixedContributionStrategy.compile(any(JackpotConfig.class))).thenReturn((betAmount, pool) -> new BigDecimal("1.00"));
+        when(fixedChanceRewardStrategy.compile(any(JackpotConfig.class))).thenReturn((betAmount, pool) -> false);
+        when(jackpotRepository.transitionPool(eq("JP-1"), any())).thenAnswer(invocation -> Mono.just(
+                ((Function<Jackpot, PoolTransition>) invocation.getArgument(1)).apply(states.get(transitions.getAndIncrement()))));
+        when(jackpotContributionRepository.saveAll(anyList())).thenAnswer(invocation -> Flux.fromIterable(invocation.getArgument(0)));
+
+        for (int i = 0; i < 3; i++) {
+            jackpotService.settle("JP-1", bets).blockLast();
+        }
+
+        verify(fixedContributionStrategy, times(1)).compile(config);
+        verify(fixedContributionStrategy, times(1)).compile(replacedConfig);
     }
 
     @Test
-    void testContributeToJackpotNotFound() {
+    void testRegisteredConfigIsNotCompiledAgainOnSettlement() {
+        Jackpot jackpot = stubSettlement("900.00");
+
+        jackpotService.register(jackpot.getConfig());
+        jackpotService.settle(new Bet("bet-1", "user-1", "JP-1", BigDecimal.valueOf(100), LocalDateTime.now())).block();
+
+        verify(fixedContributionStrategy, times(1)).compile(jackpot.getConfig());
+        verify(fixedChanceRewardStrategy, times(1)).compile(jackpot.getConfig());
     }
 
     @Test
-    void testContributeToJackpotMissingConfig() {
-    }
+    @SuppressWarnings("unchecked")
+    void testSettleBatchEndsEachTransitionAtTheFirstWin() {
+        JackpotConfig config = new JackpotConfig(
+                ContributionStrategyType.FIXED_CONTRIBUTION_STRATEGY,
+                RewardStrategyType.FIXED_CHANCE_REWARD_STRATEGY,
+                0.01, 0, 0, 0.001, 0, 0, BigDecimal.ZERO
+        );
+        AtomicReference<Jackpot> stored = new AtomicReference<>(
+                new Jackpot("JP-1", new BigDecimal("1000.00"), new BigDecimal("990.00"), config, LocalDateTime.now()));
+        List<Bet> bets = List.of(
+                new Bet("bet-1", "user-1", "JP-1", BigDecimal.valueOf(100), LocalDateTime.now()),
+                new Bet("bet-2", "user-2", "JP-1", BigDecimal.valueOf(100), LocalDateTime.now()),
+                new Bet("bet-3", "user-3", "JP-1", BigDecimal.valueOf(100), LocalDateTime.now()),
+                new Bet("bet-4", "user-4", "JP-1", BigDecimal.valueOf(100), LocalDateTime.now())
+        );
+        List<JackpotContribution> contributions = new ArrayList<>();
+        List<BigDecimal> committedPools = new ArrayList<>();
 
+        when(fixedContributionStrategy.compile(config)).thenReturn((betAmount, currentPool) -> new BigDecimal("1.00"));
+        // Only the second bet wins: it is the only one contributing to a pool of exactly 1002.00.
+        when(fixedChanceRewardStrategy.compile(config)).thenReturn((betAmount, currentPool) -> currentPool.compareTo(new BigDecimal("1002.00")) == 0);
+        when(jackpotRepository.transitionPool(eq("JP-1"), any())).thenAnswer(invocation -> {
+            Jackpot current = stored.get();
+            PoolTransition transition = ((Function<Jackpot, PoolTransition>) invocation.getArgument(1)).apply(current);
+            committedPools.add(transition.getNewPool());
+            stored.set(new Jackpot("JP-1", transition.getNewPool(), current.getInitialPoolValue(), config, current.getCreatedAt()));
+            return Mono.just(transition);
+        });
+        when(jackpotContributionRepository.saveAll(anyList())).thenAnswer(invocation -> {
+            List<JackpotContribution> saved = invocation.getArgument(0);
+            contributions.addAll(saved);
+            return Flux.fromIterable(saved);
+        });
+        when(jackpotRewardRepository.save(any(JackpotReward.class))).thenAnswer(invocation -> Mono.just(invocation.getArgument(0)));
 
-    @Test
-    void testEvaluateRewardWinFixedChance() {
+        StepVerifier.create(jackpotService.settle("JP-1", bets).collectList())
+                .expectNextMatches(rewards -> rewards.size() == 4
+                        && rewards.get(0).isEmpty()
+                        && rewards.get(1).isPresent()
+                        && rewards.get(1).get().getBetId().equals("bet-2")
+                        && rewards.get(1).get().getJackpotRewardAmount().compareTo(new BigDecimal("1002.00")) == 0
+                        && rewards.get(2).isEmpty()
+                        && rewards.get(3).isEmpty())
+                .verifyComplete();
+
+        assertEquals(List.of(new BigDecimal("990.00"), new BigDecimal("992.00")), committedPools);
+        assertEquals(4, contributions.size());
+        assertEquals(0, new BigDecimal("1001.00").compareTo(contributions.get(0).getCurrentJackpotAmountAfterContribution()));
+        assertEquals(0, new BigDecimal("1002.00").compareTo(contributions.get(1).getCurrentJackpotAmountAfterContribution()));
+        assertEquals(0, new BigDecimal("991.00").compareTo(contributions.get(2).getCurrentJackpotAmountAfterContribution()));
+        assertEquals(0, new BigDecimal("992.00").compareTo(contributions.get(3).getCurrentJackpotAmountAfterContribution()));
+        verify(jackpotRewardRepository, times(1)).save(any(JackpotReward.class));
     }
 
     @Test
-    void testEvaluateRewardLossFixedChance() {
+    void testSettleWinsAgainstPoolIncludingContribution() {
+        Jackpot jackpot = stubSettlement("1000.00");
+
+        StepVerifier.create(jackpotService.settle(new Bet("bet-1", "user-1", "JP-1", BigDecimal.valueOf(100), LocalDateTime.now())))
+                .expectNextMatches(settlement -> settlement.isWon()
+                        && settlement.getContribution().getCurrentJackpotAmountAfterContribution().compareTo(new BigDecimal("1001.00")) == 0
+                        && settlement.getReward().get().getJackpotRewardAmount().compareTo(new BigDecimal("1001.00")) == 0)
+                .verifyComplete();
+
+        verify(jackpotRepository, never()).findById(any());
+        verify(jackpotRewardRepository, times(1)).save(any(JackpotReward.class));
+        assertEquals(0, jackpot.getInitialPoolValue().compareTo(committedPool.getNewPool()));
     }
 
     @Test
-    void testEvaluateRewardJackpotNotFound() {
+    void testSettleLossOnlyRaisesPool() {
+        stubSettlement("900.00");
+
+        StepVerifier.create(jackpotService.settle(new Bet("bet-1", "user-1", "JP-1", BigDecimal.valueOf(100), LocalDateTime.now())))
+                .expectNextMatches(settlement -> !settlement.isWon()
+                        && settlement.getContribution().getContributionAmount().compareTo(new BigDecimal("1.00")) == 0)
+                .verifyComplete();
+
+        verify(jackpotRewardRepository, never()).save(any(JackpotReward.class));
+        assertEquals(0, new BigDecimal("901.00").compareTo(committedPool.getNewPool()));
     }
 
     @Test
-    void testEvaluateRewardMissingConfig() {
+    @SuppressWarnings("unchecked")
+    void testSettleKeepsDrawnOutcomeWhenTransitionIsRetried() {
+        JackpotConfig config = new JackpotConfig(
+                ContributionStrategyType.FIXED_CONTRIBUTION_STRATEGY,
+                RewardStrategyType.FIXED_CHANCE_REWARD_STRATEGY,
+                0.01, 0, 0, 0.001, 0, 0, BigDecimal.ZERO
+        );
+        Jackpot lostRace = new Jackpot("JP-1", new BigDecimal("1000.00"), new BigDecimal("1000.00"), config, LocalDateTime.now());
+        Jackpot fresh = new Jackpot("JP-1", new BigDecimal("1010.00"), new BigDecimal("1000.00"), config, LocalDateTime.now());
+        AtomicInteger draws = new AtomicInteger();
+
+        when(fixedContributionStrategy.compile(config)).thenReturn((betAmount, currentPool) -> new BigDecimal("1.00"));
+        when(fixedChanceRewardStrategy.compile(config)).thenReturn((betAmount, currentPool) -> draws.incrementAndGet() == 1);
+        when(jackpotRepository.transitionPool(eq("JP-1"), any())).thenAnswer(invocation -> {
+            Function<Jackpot, PoolTransition> transition = (Function<Jackpot, PoolTransition>) invocation.getArgument(1);
+            transition.apply(lostRace);
+            committedPool = transition.apply(fresh);
+            return Mono.just(committedPool);
+        });
+        when(jackpotContributionRepository.save(any(JackpotContribution.class))).thenAnswer(invocation -> Mono.just(invocation.getArgument(0)));
+        when(jackpotRewardRepository.save(any(JackpotReward.class))).thenAnswer(invocation -> Mono.just(invocation.getArgument(0)));
+
+        StepVerifier.create(jackpotService.settle(new Bet("bet-1", "user-1", "JP-1", BigDecimal.valueOf(100), LocalDateTime.now())))
+                .expectNextMatches(settlement -> settlement.isWon()
+                        && settlement.getReward().get().getJackpotRewardAmount().compareTo(new BigDecimal("1011.00")) == 0)
+                .verifyComplete();
+
+        assertEquals(1, draws.get());
+        assertEquals(0, new BigDecimal("1000.00").compareTo(committedPool.getNewPool()));
     }
 
     @Test
-    void testEvaluateRewardStrategyNotFound() {
+    void testSettleJackpotNotFound() {
+        when(jackpotRepository.transitionPool(eq("JP-MISSING"), any())).thenReturn(Mono.empty());
+
+        StepVerifier.create(jackpotService.settle(new Bet("bet-1", "user-1", "JP-MISSING", BigDecimal.valueOf(100), LocalDateTime.now())))
+                .expectError(IllegalArgumentException.class)
+                .verify();
+    }
+
+    /**
+     * Stubs a fixed 1.00 contribution, a win from a pool of 1001.00 on, and a repository applying
+     * the transition to a jackpot with the given pool and an initial pool of 1000.00.
+     */
+    @SuppressWarnings("unchecked")
+    private Jackpot stubSettlement(String pool) {
+        JackpotConfig config = new JackpotConfig(
+                ContributionStrategyType.FIXED_CONTRIBUTION_STRATEGY,
+                RewardStrategyType.FIXED_CHANCE_REWARD_STRATEGY,
+                0.01, 0, 0, 0.001, 0, 0, BigDecimal.ZERO
+        );
+        Jackpot jackpot = new Jackpot("JP-1", new BigDecimal(pool), new BigDecimal("1000.00"), config, LocalDateTime.now());
 
+        when(fixedContributionStrategy.compile(config)).thenReturn((betAmount, currentPool) -> new BigDecimal("1.00"));
+        when(fixedChanceRewardStrategy.compile(config)).thenReturn((betAmount, currentPool) -> currentPool.compareTo(new BigDecimal("1001.00")) >= 0);
+        when(jackpotRepository.transitionPool(eq("JP-1"), any())).thenAnswer(invocation -> {
+            committedPool = ((Function<Jackpot, PoolTransition>) invocation.getArgument(1)).apply(jackpot);
+            return Mono.just(committedPool);
+        });
+        when(jackpotContributionRepository.save(any(JackpotContribution.class))).thenAnswer(invocation -> Mono.just(invocation.getArgument(0)));
+        when(jackpotRewardRepository.save(any(JackpotReward.class))).thenAnswer(invocation -> Mono.just(invocation.getArgument(0)));
+        return jackpot;
     }
 }
@@ -0,0 +1,163 @@
+package com.sportygroup.jackpot.service.admission;
+
+import com.sportygroup.jackpot.metrics.JackpotMetrics;
+import com.sportygroup.jackpot.model.JackpotConfig;
+import com.sportygroup.jackpot.service.JackpotConfigLoader;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Unit tests for AdmissionLimiter.
+ * Uses a manual clock, so every bet takes exactly the latency a test gives it.
+ */
+public class AdmissionLimiterTest {
+
+    private final AtomicLong nanoTime = new AtomicLong();
+    private final AtomicInteger settlementBacklog = new AtomicInteger();
+    private MeterRegistry meterRegistry;
+    private AdmissionLimiter admissionLimiter;
+
+    @BeforeEach
+    void setUp() {
+        JackpotConfigLoader jackpotConfigLoader = new JackpotConfigLoader();
+        jackpotConfigLoader.addJackpotConfig("JP-1", new JackpotConfig());
+        jackpotConfigLoader.addJackpotConfig("JP-2", new JackpotConfig());
+
+        meterRegistry = new SimpleMeterRegistry();
+        admissionLimiter = new AdmissionLimiter(new AdmissionLimits(20, 2, 100, 2.0, 100), jackpotConfigLoader,
+                settlementBacklog::get, Duration.ofSeconds(1), new JackpotMetrics(meterRegistry, 10), nanoTime::get);
+        admissionLimiter.addJackpotLimits("JP-2", new AdmissionLimits(2, 1, 2, 2.0, 100));
+    }
+
+    @Test
+    void testRejectsBeyondLimitUntilAPermitIsReleased() {
+        List<AdmissionLimiter.Permit> permits = acquireAll("JP-1");
+
+        assertEquals(20, permits.size());
+        assertNull(admissionLimiter.tryAcquire("JP-1"));
+
+        permits.get(0).release();
+        assertNotNull(admissionLimiter.tryAcquire("JP-1"));
+        assertEquals(2, meterRegistry.get("jackpot.admission.decisions")
+                .tag("jackpot", "JP-1").tag("decision", "rejected").counter().count());
+        assertEquals(21, meterRegistry.get("jackpot.admission.decisions")
+                .tag("jackpot", "JP-1").tag("decision", "admitted").counter().count());
+    }
+
+    @Test
+    void testJackpotLimitsOverrideDefaults() {
+        assertEquals(2, acquireAll("JP-2").size());
+        assertEquals(20, admissionLimiter.getLimit("JP-1"));
+    }
+
+    @Test
+    void testLimitGrowsWhileLatencyStaysAtBaseline() {
+        for (int round = 0; round < 20; round++) {
+            completeRound("JP-1", 1);
+        }
+
+        assertTrue(admissionLimiter.getLimit("JP-1") > 20);
+    }
+
+    @Test
+    void testLimitShrinksWhenLatencyRises() {
+        for (int round = 0; round < 5; round++) {
+            completeRound("JP-1", 1);
+        }
+        int limitAtBaseline = admissionLimiter.getLimit("JP-1");
+
+        for (int round = 0; round < 5; round++) {
+            completeRound("JP-1", 50);
+        }
+
+        assertTrue(admissionLimiter.getLimit("JP-1") < limitAtBaseline);
+    }
+
+    @Test
+    void testSettlementBacklogShrinksLimitAtSteadyLatency() {
+        for (int round = 0; round < 5; round++) {
+            completeRound("JP-1", 1);
+        }
+        int limitAtBaseline = admissionLimiter.getLimit("JP-1");
+
+        settlementBacklog.set(1_000);
+        for (int round = 0; round < 5; round++) {
+            completeRound("JP-1", 1);
+        }
+
+        assertTrue(admissionLimiter.getLimit("JP-1") < limitAtBaseline);
+    }
+
+    @Test
+    void testFailedPublicationBacksLimitOff() {
+        admissionLimiter.tryAcquire("JP-1").drop();
+
+        assertEquals(18, admissionLimiter.getLimit("JP-1"));
+        assertEquals(0, admissionLimiter.getInFlight("JP-1"));
+    }
+
+    @Test
+    void testPermitIsCompletedOnlyOnce() {
+        AdmissionLimiter.Permit permit = admissionLimiter.tryAcquire("JP-1");
+        admissionLimiter.tryAcquire("JP-1");
+
+        permit.ignore();
+        permit.release();
+        permit.drop();
+
+        assertEquals(1, admissionLimiter.getInFlight("JP-1"));
+        assertEquals(20, admissionLimiter.getLimit("JP-1"));
+    }
+
+    @Test
+    void testJackpotLimitsKeepTheDefaultsTheyDoNotSet() {
+        AdmissionLimits limits = new AdmissionLimits(20, 2, 100, 2.0, 100).with(null, null, 50, null, 10);
+
+        assertEquals(20, limits.getInitialLimit());
+        assertEquals(2, limits.getMinLimit());
+        assertEquals(50, limits.getMaxLimit());
+        assertEquals(10, limits.getMaxSettlementBacklog());
+    }
+
+    @Test
+    void testUnknownJackpotsShareOneLimiter() {
+        List<AdmissionLimiter.Permit> permits = acquireAll("unknown-1");
+
+        assertEquals(20, permits.size());
+        assertNull(admissionLimiter.tryAcquire("unknown-2"));
+        assertEquals(2, meterRegistry.get("jackpot.admission.decisions")
+                .tag("jackpot", JackpotMetrics.OTHER_JACKPOTS).tag("decision", "rejected").counter().count());
+    }
+
+    /**
+     * Admits bets until the limit is reached, so the limiter is never app-limited, then completes them all
+     * after the given latency.
+     */
+    private void completeRound(String jackpotId, long latencyMillis) {
+        List<AdmissionLimiter.Permit> permits = acquireAll(jackpotId);
+        nanoTime.addAndGet(Duration.ofMillis(latencyMillis).toNanos());
+        permits.forEach(AdmissionLimiter.Permit::release);
+    }
+
+    private List<AdmissionLimiter.Permit> acquireAll(String jackpotId) {
+        List<AdmissionLimiter.Permit> permits = new ArrayList<>();
+        AdmissionLimiter.Permit permit;
+        while ((permit = admissionLimiter.tryAcquire(jackpotId)) != null) {
+            permits.add(permit);
+        }
+        return permits;
+    }
+}
@@ -0,0 +1,81 @@
+package com.sportygroup.jackpot.service.execution;
+
+import com.sportygroup.jackpot.model.enums.ExecutionMode;
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Scheduler;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Unit tests for ExecutionSchedulers.
+ * Verifies on which threads work subscribed on each mode's scheduler runs.
+ */
+public class ExecutionSchedulersTest {
+
+    @Test
+    void testEventLoopModeRunsOnSubscribingThread() {
+        Thread worker = runOn(ExecutionSchedulers.create(ExecutionMode.EVENT_LOOP, "test"));
+
+        assertEquals(Thread.currentThread(), worker);
+    }
+
+    @Test
+    void testPooledModesRunOffSubscribingThread() {
+        for (ExecutionMode mode : new ExecutionMode[]{ExecutionMode.PARALLEL, ExecutionMode.BOUNDED_ELASTIC}) {
+            Scheduler scheduler = ExecutionSchedulers.create(mode, "test-" + mode.getValue());
+            try {
+                Thread worker = runOn(scheduler);
+
+                assertNotEquals(Thread.currentThread(), worker);
+                assertFalse(worker.isVirtual());
+                assertTrue(worker.getName().startsWith("test-" + mode.getValue()));
+            } finally {
+                scheduler.dispose();
+            }
+        }
+    }
+
+    @Test
+    void testVirtualThreadModeRunsEachTaskOnVirtualThread() {
+        Scheduler scheduler = ExecutionSchedulers.create(ExecutionMode.VIRTUAL_THREADS, "test-vt");
+        try {
+            Thread first = runOn(scheduler);
+            Thread second = runOn(scheduler);
+
+            assertTrue(first.isVirtual());
+            assertNotEquals(first, second);
+        } finally {
+            scheduler.dispose();
+        }
+    }
+
+    @Test
+    void testModesAreParsedFromPropertyValues() {
+        assertEquals(ExecutionMode.BOUNDED_ELASTIC, ExecutionMode.fromValue("bounded-elastic"));
+        assertEquals(ExecutionMode.VIRTUAL_THREADS, ExecutionMode.fromValue(" Virtual-Threads "));
+        assertThrows(IllegalArgumentException.class, () -> ExecutionMode.fromValue("elastic"));
+    }
+
+    @Test
+    void testSettlementModeDefaultsToBoundedElasticForBlockingStores() {
+        assertEquals(ExecutionMode.PARALLEL, ExecutionSchedulers.settlementMode("", false));
+        assertEquals(ExecutionMode.BOUNDED_ELASTIC, ExecutionSchedulers.settlementMode(null, true));
+        assertEquals(ExecutionMode.EVENT_LOOP, ExecutionSchedulers.settlementMode("event-loop", false));
+        assertEquals(ExecutionMode.VIRTUAL_THREADS, ExecutionSchedulers.settlementMode("virtual-threads", true));
+    }
+
+    @Test
+    void testNonBlockingSettlementModesAreRefusedForBlockingStores() {
+        assertThrows(IllegalStateException.class, () -> ExecutionSchedulers.settlementMode("parallel", true));
+        assertThrows(IllegalStateException.class, () -> ExecutionSchedulers.settlementMode("event-loop", true));
+    }
+
+    private static Thread runOn(Scheduler scheduler) {
+        return Mono.fromCallable(Thread::currentThread).subscribeOn(scheduler).block();
+    }
+}
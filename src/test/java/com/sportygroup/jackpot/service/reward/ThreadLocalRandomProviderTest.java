@@ -0,0 +1,86 @@
+package com.sportygroup.jackpot.service.reward;
+
+import com.sportygroup.jackpot.model.JackpotConfig;
+import com.sportygroup.jackpot.model.enums.ContributionStrategyType;
+import com.sportygroup.jackpot.model.enums.RewardStrategyType;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.util.Arrays;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.random.RandomGenerator;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+/**
+ * Unit tests for ThreadLocalRandomProvider and the reward strategies drawing from it.
+ */
+public class ThreadLocalRandomProviderTest {
+
+    @Test
+    void testEachThreadGetsItsOwnGenerator() throws Exception {
+        RandomProvider provider = ThreadLocalRandomProvider.unseeded();
+        RandomGenerator mine = provider.current();
+
+        assertSame(mine, provider.current());
+        assertNotSame(mine, CompletableFuture.supplyAsync(provider::current).get());
+    }
+
+    @Test
+    void testSeededProvidersReplayTheSameNumbers() {
+        double[] first = draw(ThreadLocalRandomProvider.seeded(42L).current(), 100);
+        double[] second = draw(ThreadLocalRandomProvider.seeded(42L).current(), 100);
+
+        assertArrayEquals(first, second);
+        assertFalse(Arrays.equals(first, draw(ThreadLocalRandomProvider.seeded(43L).current(), 100)));
+    }
+
+    @Test
+    void testSeededStreamsDependOnTheThreadName() throws Exception {
+        RandomProvider provider = ThreadLocalRandomProvider.seeded(42L);
+        ExecutorService shard0 = Executors.newSingleThreadExecutor(r -> new Thread(r, "settlement-shard-0"));
+        ExecutorService shard1 = Executors.newSingleThreadExecutor(r -> new Thread(r, "settlement-shard-1"));
+        ExecutorService replayedShard0 = Executors.newSingleThreadExecutor(r -> new Thread(r, "settlement-shard-0"));
+        try {
+            double[] fromShard0 = shard0.submit(() -> draw(provider.current(), 10)).get();
+            double[] fromShard1 = shard1.submit(() -> draw(provider.current(), 10)).get();
+            double[] replayed = replayedShard0.submit(() -> draw(ThreadLocalRandomProvider.seeded(42L).current(), 10)).get();
+
+            assertFalse(Arrays.equals(fromShard0, fromShard1));
+            assertArrayEquals(fromShard0, replayed);
+        } finally {
+            shard0.shutdownNow();
+            shard1.shutdownNow();
+            replayedShard0.shutdownNow();
+        }
+    }
+
+    @Test
+    void testSeededStrategyReplaysTheSameOutcomes() {
+        JackpotConfig config = new JackpotConfig(
+                ContributionStrategyType.FIXED_CONTRIBUTION_STRATEGY,
+                RewardStrategyType.FIXED_CHANCE_REWARD_STRATEGY,
+                0.01, 0, 0, 0.5, 0, 0, BigDecimal.ZERO
+        );
+        RewardPlan first = new FixedChanceRewardStrategy(ThreadLocalRandomProvider.seeded(7L)).compile(config);
+        RewardPlan second = new FixedChanceRewardStrategy(ThreadLocalRandomProvider.seeded(7L)).compile(config);
+
+        for (int i = 0; i < 1000; i++) {
+            assertEquals(first.checkWin(BigDecimal.TEN, BigDecimal.TEN), second.checkWin(BigDecimal.TEN, BigDecimal.TEN));
+        }
+    }
+
+    private static double[] draw(RandomGenerator generator, int count) {
+        double[] values = new double[count];
+        for (int i = 0; i < count; i++) {
+            values[i] = generator.nextDouble();
+        }
+        return values;
+    }
+}
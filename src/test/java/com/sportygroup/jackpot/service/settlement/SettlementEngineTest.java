@@ -0,0 +1,138 @@
+package com.sportygroup.jackpot.service.settlement;
+
+import com.sportygroup.jackpot.metrics.JackpotMetrics;
+import com.sportygroup.jackpot.model.Bet;
+import com.sportygroup.jackpot.model.Jackpot;
+import com.sportygroup.jackpot.model.JackpotConfig;
+import com.sportygroup.jackpot.model.JackpotReward;
+import com.sportygroup.jackpot.model.enums.ContributionStrategyType;
+import com.sportygroup.jackpot.model.enums.RewardStrategyType;
+import com.sportygroup.jackpot.repository.InMemJackpotContributionRepository;
+import com.sportygroup.jackpot.repository.InMemJackpotRepository;
+import com.sportygroup.jackpot.repository.InMemJackpotRewardRepository;
+import com.sportygroup.jackpot.service.JackpotService;
+import com.sportygroup.jackpot.service.contribution.FixedContributionStrategy;
+import com.sportygroup.jackpot.service.reward.FixedChanceRewardStrategy;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Unit tests for SettlementEngine over the in-memory repositories.
+ */
+public class SettlementEngineTest {
+
+    private final InMemJackpotRepository jackpotRepository = new InMemJackpotRepository();
+    private final InMemJackpotContributionRepository contributionRepository = new InMemJackpotContributionRepository();
+    private final InMemJackpotRewardRepository rewardRepository = new InMemJackpotRewardRepository();
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private SettlementEngine settlementEngine;
+
+    @AfterEach
+    void tearDown() {
+        settlementEngine.shutdown();
+    }
+
+    @Test
+    void testExternalWriteIsNotOverwrittenByTheShard() {
+        start(0);
+
+        settlementEngine.settle(newBet("bet-1")).block();
+        assertPool("1001.00");
+
+        setPool("5000.00");
+
+        settlementEngine.settle(newBet("bet-2")).block();
+        assertPool("5001.00");
+    }
+
+    @Test
+    void testInvalidatedJackpotIsReloadedBeforeItsNextBet() {
+        start(1.0);
+
+        settlementEngine.settle(newBet("bet-1")).block();
+        setPool("5000.00");
+        settlementEngine.invalidate(List.of("JP-1"));
+
+        Optional<JackpotReward> reward = settlementEngine.settle(newBet("bet-2")).block();
+
+        assertEquals(0, new BigDecimal("5001.00").compareTo(reward.get().getJackpotRewardAmount()));
+        assertPool("1000.00");
+    }
+
+    @Test
+    void testConcurrentBetsAreAllWrittenThrough() {
+        start(0);
+
+        List<Mono<Optional<JackpotReward>>> settlements = new ArrayList<>();
+        for (int i = 0; i < 200; i++) {
+            settlements.add(settlementEngine.settle(newBet("bet-" + i)));
+        }
+        Flux.merge(settlements).blockLast();
+
+        assertPool("1200.00");
+        assertEquals(200, contributionRepository.findByJackpotId("JP-1").count().block());
+    }
+
+    @Test
+    void testWinPaysPoolIncludingContributionAndResetsStoredPool() {
+        start(1.0);
+
+        Optional<JackpotReward> reward = settlementEngine.settle(newBet("bet-1")).block();
+
+        assertTrue(reward.isPresent());
+        assertEquals(0, new BigDecimal("1001.00").compareTo(reward.get().getJackpotRewardAmount()));
+        assertPool("1000.00");
+    }
+
+    @Test
+    void testSettlementsAreTimedAndCounted() {
+        start(1.0);
+
+        settlementEngine.settle(newBet("bet-1")).block();
+        settlementEngine.settle(newBet("bet-2")).block();
+
+        assertEquals(2, meterRegistry.get("jackpot.settlement").timer().count());
+        assertEquals(2, meterRegistry.get("jackpot.contributions").tag("jackpot", "JP-1").counter().count());
+        assertEquals(2, meterRegistry.get("jackpot.wins").tag("jackpot", "JP-1").counter().count());
+    }
+
+    private void start(double rewardChance) {
+        jackpotRepository.save(new Jackpot("JP-1", new BigDecimal("1000.00"), new BigDecimal("1000.00"), new JackpotConfig(
+                ContributionStrategyType.FIXED_CONTRIBUTION_STRATEGY,
+                RewardStrategyType.FIXED_CHANCE_REWARD_STRATEGY,
+                0.01, 0, 0, rewardChance, 0, 0, BigDecimal.ZERO
+        ), LocalDateTime.now())).block();
+        JackpotService jackpotService = new JackpotService(jackpotRepository, contributionRepository, rewardRepository,
+                Map.of(ContributionStrategyType.FIXED_CONTRIBUTION_STRATEGY.getValue(), new FixedContributionStrategy()),
+                Map.of(RewardStrategyType.FIXED_CHANCE_REWARD_STRATEGY.getValue(), new FixedChanceRewardStrategy()));
+        settlementEngine = new SettlementEngine(jackpotRepository, contributionRepository, rewardRepository,
+                jackpotService::planOf, 1, 256, new JackpotMetrics(meterRegistry, 10));
+    }
+
+    private void setPool(String pool) {
+        Jackpot jackpot = jackpotRepository.findById("JP-1").block();
+        jackpotRepository.update(new Jackpot("JP-1", new BigDecimal(pool), jackpot.getInitialPoolValue(),
+                jackpot.getConfig(), jackpot.getCreatedAt())).block();
+    }
+
+    private void assertPool(String expected) {
+        assertEquals(0, new BigDecimal(expected).compareTo(jackpotRepository.findById("JP-1").block().getCurrentPoolAmount()));
+    }
+
+    private static Bet newBet(String betId) {
+        return new Bet(betId, "user-1", "JP-1", BigDecimal.valueOf(100), LocalDateTime.now());
+    }
+}
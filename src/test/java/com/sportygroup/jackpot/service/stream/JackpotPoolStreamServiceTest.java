@@ -0,0 +1,91 @@
+package com.sportygroup.jackpot.service.stream;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sportygroup.jackpot.model.Jackpot;
+import com.sportygroup.jackpot.model.JackpotConfig;
+import com.sportygroup.jackpot.model.enums.ContributionStrategyType;
+import com.sportygroup.jackpot.model.enums.RewardStrategyType;
+import com.sportygroup.jackpot.repository.InMemJackpotRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.codec.ServerSentEvent;
+import reactor.test.StepVerifier;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Unit tests for JackpotPoolStreamService using an in-memory repository.
+ */
+public class JackpotPoolStreamServiceTest {
+
+    private InMemJackpotRepository jackpotRepository;
+    private JackpotPoolStreamService jackpotPoolStreamService;
+
+    @BeforeEach
+    void setUp() {
+        jackpotRepository = new InMemJackpotRepository();
+        JackpotConfig config = new JackpotConfig(
+                ContributionStrategyType.FIXED_CONTRIBUTION_STRATEGY,
+                RewardStrategyType.FIXED_CHANCE_REWARD_STRATEGY,
+                0.01, 0, 0, 0.001, 0, 0, BigDecimal.ZERO
+        );
+        jackpotRepository.save(new Jackpot("JP-1", BigDecimal.valueOf(1000.00), BigDecimal.valueOf(1000.00), config, LocalDateTime.now())).block();
+        jackpotPoolStreamService = new JackpotPoolStreamService(jackpotRepository, new ObjectMapper().findAndRegisterModules(), 10);
+    }
+
+    @AfterEach
+    void tearDown() {
+        jackpotPoolStreamService.shutdown();
+    }
+
+    @Test
+    void testStreamStartsWithCurrentPoolAndCoalescesContributions() {
+        StepVerifier.create(jackpotPoolStreamService.streamJackpot("JP-1"))
+                .assertNext(event -> assertTrue(event.data().contains("\"currentPoolAmount\":1000")))
+                .then(() -> {
+                    for (int i = 0; i < 1000; i++) {
+                        jackpotRepository.addToPool("JP-1", BigDecimal.ONE).block();
+                    }
+                })
+                .expectNextMatches(event -> event.data().contains("\"jackpotId\":\"JP-1\""))
+                .thenCancel()
+                .verify(Duration.ofSeconds(5));
+
+        List<ServerSentEvent<String>> updates = new ArrayList<>();
+        jackpotPoolStreamService.streamJackpot("JP-1")
+                .take(Duration.ofMillis(500))
+                .doOnNext(updates::add)
+                .blockLast();
+        assertTrue(updates.size() <= 2, "Contributions should be coalesced, got " + updates.size() + " updates");
+        assertTrue(updates.get(updates.size() - 1).data().contains("\"currentPoolAmount\":2000"));
+    }
+
+    @Test
+    void testSlowSubscriberSkipsToTheLatestPool() {
+        StepVerifier.create(jackpotPoolStreamService.streamJackpot("JP-1"), 1)
+                .assertNext(event -> assertTrue(event.data().contains("\"currentPoolAmount\":1000")))
+                .then(() -> jackpotRepository.addToPool("JP-1", BigDecimal.valueOf(500)).block())
+                .thenAwait(Duration.ofMillis(300))
+                .then(() -> jackpotRepository.addToPool("JP-1", BigDecimal.valueOf(500)).block())
+                .thenAwait(Duration.ofMillis(300))
+                .thenRequest(1)
+                .assertNext(event -> assertTrue(event.data().contains("\"currentPoolAmount\":2000")))
+                .thenCancel()
+                .verify(Duration.ofSeconds(5));
+    }
+
+    @Test
+    void testSubscribersShareSerializedEvents() {
+        ServerSentEvent<String> first = jackpotPoolStreamService.streamJackpot("JP-1").blockFirst(Duration.ofSeconds(5));
+        ServerSentEvent<String> second = jackpotPoolStreamService.streamAllJackpots().blockFirst(Duration.ofSeconds(5));
+        assertSame(first, second);
+    }
+}